@@ -0,0 +1,561 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.client.advisor.vectorstore;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.ai.chat.client.ChatClientMessageAggregator;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.BaseAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.metadata.ChatGenerationMetadata;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.content.Media;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.observation.CacheMetrics;
+import org.springframework.ai.observation.CacheStatistics;
+import org.springframework.ai.observation.conventions.AiObservationAttributes;
+import org.springframework.ai.observation.conventions.AiOperationType;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Serves chat responses from a {@link VectorStore} when a semantically similar user
+ * prompt has been answered before.
+ *
+ * <p>
+ * The last user message of the prompt is looked up in the vector store. A cached response
+ * is returned, without calling the model, when its prompt is at least as similar as the
+ * configured threshold, it is younger than the time to live, and it was produced for the
+ * same tenant, the same system prompt, the same earlier messages, the same media, the
+ * same chat options and the same tools. Streaming callers get the cached response as a
+ * single element {@link Flux}. Otherwise the request goes down the chain and the response
+ * is added to the vector store, unless it asks for tool calls. Requests whose chat
+ * options cannot be serialized are never cached.
+ *
+ * <p>
+ * The tenant is read from the {@link #TENANT_ID} advisor parameter, so that cached
+ * responses never cross tenants. Expired entries are deleted from the vector store when
+ * they are found.
+ *
+ * <p>
+ * The text of the last user message is looked up by similarity, while the messages that
+ * precede it must match exactly. With the default order, the advisor runs after the chat
+ * memory advisors, so that a follow-up question is only answered from the cache when the
+ * conversation leading to it is the same. Ordering the advisor before the chat memory
+ * advisors lets follow-up questions share cached responses across conversations, and a
+ * cache hit then skips the chat memory, which does not record the exchange.
+ *
+ * <p>
+ * When a {@link MeterRegistry} is configured, the standard Micrometer cache metrics are
+ * exposed under the {@code chat.response} cache name, along with the number of tokens
+ * that cache hits saved ({@code cache.tokens.saved}).
+ *
+ * @since 2.0.0
+ */
+public final class SemanticCacheAdvisor implements CallAdvisor, StreamAdvisor {
+
+	/**
+	 * Advisor parameter holding the tenant the cached responses are scoped to.
+	 */
+	public static final String TENANT_ID = "semantic_cache_tenant_id";
+
+	/**
+	 * Context entry set to {@code true} on responses served from the cache.
+	 */
+	public static final String CACHE_HIT = "semantic_cache_hit";
+
+	public static final String DEFAULT_TENANT_ID = "default";
+
+	public static final double DEFAULT_SIMILARITY_THRESHOLD = 0.95;
+
+	public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofHours(24);
+
+	static final String METADATA_TENANT_ID = "semantic_cache_tenant_id";
+
+	static final String METADATA_FINGERPRINT = "semantic_cache_fingerprint";
+
+	static final String METADATA_CREATED_AT = "semantic_cache_created_at";
+
+	static final String METADATA_RESPONSE = "semantic_cache_response";
+
+	static final String METADATA_FINISH_REASON = "semantic_cache_finish_reason";
+
+	static final String METADATA_MODEL = "semantic_cache_model";
+
+	static final String METADATA_TOTAL_TOKENS = "semantic_cache_total_tokens";
+
+	private static final String CACHE_NAME = "chat.response";
+
+	private static final int DEFAULT_ORDER = 0;
+
+	private static final Logger logger = LoggerFactory.getLogger(SemanticCacheAdvisor.class);
+
+	private final VectorStore vectorStore;
+
+	private final double similarityThreshold;
+
+	private final Duration timeToLive;
+
+	private final Clock clock;
+
+	private final Scheduler scheduler;
+
+	private final int order;
+
+	private final CacheStatistics statistics = new CacheStatistics();
+
+	private final LongAdder savedTokenCount = new LongAdder();
+
+	private SemanticCacheAdvisor(Builder builder) {
+		this.vectorStore = builder.vectorStore;
+		this.similarityThreshold = builder.similarityThreshold;
+		this.timeToLive = builder.timeToLive;
+		this.clock = builder.clock;
+		this.scheduler = builder.scheduler;
+		this.order = builder.order;
+		if (builder.meterRegistry != null) {
+			Tags tags = Tags.of(AiObservationAttributes.AI_OPERATION_TYPE.value(), AiOperationType.CHAT.value());
+			CacheMetrics.builder(this, CACHE_NAME, SemanticCacheAdvisor::statistics)
+				.tags(tags)
+				.counter("cache.tokens.saved",
+						"The number of tokens the responses served from the cache used when first generated", "tokens",
+						SemanticCacheAdvisor::savedTokenCount)
+				.build()
+				.bindTo(builder.meterRegistry);
+		}
+	}
+
+	public static Builder builder(VectorStore vectorStore) {
+		return new Builder(vectorStore);
+	}
+
+	@Override
+	public String getName() {
+		return this.getClass().getSimpleName();
+	}
+
+	@Override
+	public int getOrder() {
+		return this.order;
+	}
+
+	@Override
+	public ChatClientResponse adviseCall(ChatClientRequest chatClientRequest, CallAdvisorChain callAdvisorChain) {
+		Assert.notNull(chatClientRequest, "chatClientRequest cannot be null");
+		Assert.notNull(callAdvisorChain, "callAdvisorChain cannot be null");
+
+		CacheKey cacheKey = cacheKey(chatClientRequest);
+		if (cacheKey == null) {
+			return callAdvisorChain.nextCall(chatClientRequest);
+		}
+
+		ChatResponse cachedResponse = lookup(cacheKey);
+		if (cachedResponse != null) {
+			return cachedChatClientResponse(chatClientRequest, cachedResponse);
+		}
+
+		ChatClientResponse chatClientResponse = callAdvisorChain.nextCall(chatClientRequest);
+		store(cacheKey, chatClientResponse);
+		return chatClientResponse;
+	}
+
+	@Override
+	public Flux<ChatClientResponse> adviseStream(ChatClientRequest chatClientRequest,
+			StreamAdvisorChain streamAdvisorChain) {
+		Assert.notNull(chatClientRequest, "chatClientRequest cannot be null");
+		Assert.notNull(streamAdvisorChain, "streamAdvisorChain cannot be null");
+
+		CacheKey cacheKey = cacheKey(chatClientRequest);
+		if (cacheKey == null) {
+			return streamAdvisorChain.nextStream(chatClientRequest);
+		}
+
+		return Mono.fromCallable(() -> Optional.ofNullable(lookup(cacheKey)))
+			.subscribeOn(this.scheduler)
+			.flatMapMany(cachedResponse -> cachedResponse
+				.map(response -> Flux.just(cachedChatClientResponse(chatClientRequest, response)))
+				.orElseGet(() -> new ChatClientMessageAggregator().aggregateChatClientResponse(
+						streamAdvisorChain.nextStream(chatClientRequest),
+						// Embedding the prompt blocks, so the response is stored
+						// aside from the stream
+						chatClientResponse -> Mono.fromRunnable(() -> store(cacheKey, chatClientResponse))
+							.subscribeOn(this.scheduler)
+							.subscribe())));
+	}
+
+	@Nullable
+	private CacheKey cacheKey(ChatClientRequest chatClientRequest) {
+		Prompt prompt = chatClientRequest.prompt();
+		String query = prompt.getUserMessage().getText();
+		if (!StringUtils.hasText(query)) {
+			return null;
+		}
+		String fingerprint = fingerprint(prompt);
+		if (fingerprint == null) {
+			return null;
+		}
+		Object tenantId = chatClientRequest.context().get(TENANT_ID);
+		return new CacheKey(query, tenantId != null ? tenantId.toString() : DEFAULT_TENANT_ID, fingerprint);
+	}
+
+	@Nullable
+	private ChatResponse lookup(CacheKey cacheKey) {
+		Document document;
+		try {
+			document = this.vectorStore
+				.similaritySearch(SearchRequest.builder()
+					.query(cacheKey.query())
+					.topK(1)
+					.similarityThreshold(this.similarityThreshold)
+					.filterExpression(cacheKey.filterExpression())
+					.build())
+				.stream()
+				.findFirst()
+				.orElse(null);
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Failed to look up a cached chat response", ex);
+			document = null;
+		}
+
+		if (document != null && isExpired(document)) {
+			this.statistics.recordEvictions(1);
+			delete(document);
+			document = null;
+		}
+		if (document == null) {
+			this.statistics.recordMisses(1);
+			return null;
+		}
+
+		this.statistics.recordHits(1);
+		Map<String, Object> metadata = document.getMetadata();
+		if (metadata.get(METADATA_TOTAL_TOKENS) instanceof Number totalTokens) {
+			this.savedTokenCount.add(totalTokens.longValue());
+		}
+		return toChatResponse(metadata);
+	}
+
+	private boolean isExpired(Document document) {
+		if (!(document.getMetadata().get(METADATA_CREATED_AT) instanceof Number createdAt)) {
+			return true;
+		}
+		return this.clock.millis() - createdAt.longValue() >= this.timeToLive.toMillis();
+	}
+
+	private void delete(Document document) {
+		try {
+			this.vectorStore.delete(List.of(document.getId()));
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Failed to delete the expired cached chat response {}", document.getId(), ex);
+		}
+	}
+
+	private void store(CacheKey cacheKey, ChatClientResponse chatClientResponse) {
+		ChatResponse chatResponse = chatClientResponse.chatResponse();
+		if (chatResponse == null || chatResponse.getResults().size() != 1 || chatResponse.hasToolCalls()) {
+			return;
+		}
+		Generation generation = chatResponse.getResult();
+		String text = generation.getOutput().getText();
+		if (!StringUtils.hasText(text)) {
+			return;
+		}
+
+		Map<String, Object> metadata = new HashMap<>();
+		metadata.put(METADATA_TENANT_ID, cacheKey.tenantId());
+		metadata.put(METADATA_FINGERPRINT, cacheKey.fingerprint());
+		metadata.put(METADATA_CREATED_AT, this.clock.millis());
+		metadata.put(METADATA_RESPONSE, text);
+		String finishReason = generation.getMetadata().getFinishReason();
+		if (finishReason != null) {
+			metadata.put(METADATA_FINISH_REASON, finishReason);
+		}
+		ChatResponseMetadata responseMetadata = chatResponse.getMetadata();
+		if (StringUtils.hasText(responseMetadata.getModel())) {
+			metadata.put(METADATA_MODEL, responseMetadata.getModel());
+		}
+		Usage usage = responseMetadata.getUsage();
+		if (usage != null && usage.getTotalTokens() != null) {
+			metadata.put(METADATA_TOTAL_TOKENS, usage.getTotalTokens());
+		}
+
+		try {
+			this.vectorStore.add(List.of(new Document(cacheKey.query(), metadata)));
+			this.statistics.recordPuts(1);
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Failed to cache the chat response", ex);
+		}
+	}
+
+	private static ChatResponse toChatResponse(Map<String, Object> metadata) {
+		ChatGenerationMetadata.Builder generationMetadata = ChatGenerationMetadata.builder();
+		if (metadata.get(METADATA_FINISH_REASON) instanceof String finishReason) {
+			generationMetadata.finishReason(finishReason);
+		}
+		ChatResponseMetadata.Builder responseMetadata = ChatResponseMetadata.builder();
+		if (metadata.get(METADATA_MODEL) instanceof String model) {
+			responseMetadata.model(model);
+		}
+		AssistantMessage assistantMessage = new AssistantMessage(String.valueOf(metadata.get(METADATA_RESPONSE)));
+		return ChatResponse.builder()
+			.generations(List.of(new Generation(assistantMessage, generationMetadata.build())))
+			.metadata(responseMetadata.build())
+			.build();
+	}
+
+	private static ChatClientResponse cachedChatClientResponse(ChatClientRequest chatClientRequest,
+			ChatResponse chatResponse) {
+		Map<String, Object> context = new HashMap<>(chatClientRequest.context());
+		context.put(CACHE_HIT, true);
+		return ChatClientResponse.builder().chatResponse(chatResponse).context(context).build();
+	}
+
+	/**
+	 * Digest of everything but the text of the last user message that shapes the
+	 * response: the system messages, the other messages of the conversation, the media of
+	 * the last user message, the chat options and the names of the tools. Returns
+	 * {@code null} when the chat options cannot be serialized.
+	 */
+	@Nullable
+	static String fingerprint(Prompt prompt) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+		UserMessage userMessage = prompt.getUserMessage();
+		for (Message message : prompt.getInstructions()) {
+			if (message == userMessage) {
+				update(digest, "user");
+				for (Media media : userMessage.getMedia()) {
+					byte[] data = (media.getData() instanceof byte[] bytes) ? bytes
+							: String.valueOf(media.getData()).getBytes(StandardCharsets.UTF_8);
+					update(digest, "media=" + media.getMimeType() + ";" + data.length);
+					digest.update(data);
+				}
+			}
+			else {
+				update(digest, message.getMessageType().getValue() + "=" + message.getText());
+				if (message instanceof AssistantMessage assistantMessage) {
+					for (AssistantMessage.ToolCall toolCall : assistantMessage.getToolCalls()) {
+						update(digest, "tool_call=" + toolCall.name() + ";" + toolCall.arguments());
+					}
+				}
+				else if (message instanceof ToolResponseMessage toolResponseMessage) {
+					for (ToolResponseMessage.ToolResponse toolResponse : toolResponseMessage.getResponses()) {
+						update(digest, "tool_response=" + toolResponse.name() + ";" + toolResponse.responseData());
+					}
+				}
+			}
+		}
+		ChatOptions options = prompt.getOptions();
+		if (options != null) {
+			String serializedOptions = serialize(options);
+			if (serializedOptions == null) {
+				return null;
+			}
+			update(digest, "type=" + options.getClass().getName());
+			update(digest, "options=" + serializedOptions);
+			if (options instanceof ToolCallingChatOptions toolCallingChatOptions) {
+				TreeSet<String> toolNames = new TreeSet<>(toolCallingChatOptions.getToolNames());
+				for (ToolCallback toolCallback : toolCallingChatOptions.getToolCallbacks()) {
+					toolNames.add(toolCallback.getToolDefinition().name());
+				}
+				update(digest, "tools=" + toolNames);
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) '\n');
+	}
+
+	/**
+	 * Serializes the chat options with the entries of their maps in a stable order. The
+	 * tools are left out, as they are identified by their names.
+	 */
+	@Nullable
+	private static String serialize(ChatOptions options) {
+		try {
+			Map<String, Object> properties = ModelOptionsUtils.objectToMap(options);
+			properties.remove("toolCallbacks");
+			properties.remove("toolNames");
+			return ModelOptionsUtils.OBJECT_MAPPER.writer()
+				.with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+				.writeValueAsString(properties);
+		}
+		catch (JsonProcessingException | RuntimeException ex) {
+			logger.debug("Failed to serialize the chat options, the response is not cached", ex);
+			return null;
+		}
+	}
+
+	CacheStatistics statistics() {
+		return this.statistics;
+	}
+
+	long savedTokenCount() {
+		return this.savedTokenCount.sum();
+	}
+
+	private record CacheKey(String query, String tenantId, String fingerprint) {
+
+		Filter.Expression filterExpression() {
+			FilterExpressionBuilder b = new FilterExpressionBuilder();
+			return b.and(b.eq(METADATA_TENANT_ID, this.tenantId), b.eq(METADATA_FINGERPRINT, this.fingerprint)).build();
+		}
+
+	}
+
+	public static final class Builder {
+
+		private final VectorStore vectorStore;
+
+		private double similarityThreshold = DEFAULT_SIMILARITY_THRESHOLD;
+
+		private Duration timeToLive = DEFAULT_TIME_TO_LIVE;
+
+		private Clock clock = Clock.systemUTC();
+
+		private Scheduler scheduler = BaseAdvisor.DEFAULT_SCHEDULER;
+
+		private int order = DEFAULT_ORDER;
+
+		@Nullable
+		private MeterRegistry meterRegistry;
+
+		private Builder(VectorStore vectorStore) {
+			Assert.notNull(vectorStore, "vectorStore cannot be null");
+			this.vectorStore = vectorStore;
+		}
+
+		/**
+		 * Set the minimum similarity between the user message and a cached prompt for the
+		 * cached response to be returned.
+		 * @param similarityThreshold the threshold, between 0 and 1
+		 * @return this builder
+		 */
+		public Builder similarityThreshold(double similarityThreshold) {
+			Assert.isTrue(similarityThreshold >= 0 && similarityThreshold <= 1,
+					"similarityThreshold must be between 0 and 1");
+			this.similarityThreshold = similarityThreshold;
+			return this;
+		}
+
+		/**
+		 * Set how long a cached response is returned after it was stored.
+		 * @param timeToLive the time to live
+		 * @return this builder
+		 */
+		public Builder timeToLive(Duration timeToLive) {
+			Assert.notNull(timeToLive, "timeToLive cannot be null");
+			Assert.isTrue(timeToLive.isPositive(), "timeToLive must be positive");
+			this.timeToLive = timeToLive;
+			return this;
+		}
+
+		public Builder clock(Clock clock) {
+			Assert.notNull(clock, "clock cannot be null");
+			this.clock = clock;
+			return this;
+		}
+
+		public Builder protectFromBlocking(boolean protectFromBlocking) {
+			this.scheduler = protectFromBlocking ? BaseAdvisor.DEFAULT_SCHEDULER : Schedulers.immediate();
+			return this;
+		}
+
+		public Builder scheduler(Scheduler scheduler) {
+			Assert.notNull(scheduler, "scheduler cannot be null");
+			this.scheduler = scheduler;
+			return this;
+		}
+
+		public Builder order(int order) {
+			this.order = order;
+			return this;
+		}
+
+		/**
+		 * Set the registry to bind the cache metrics to.
+		 * @param meterRegistry the meter registry
+		 * @return this builder
+		 */
+		public Builder meterRegistry(MeterRegistry meterRegistry) {
+			Assert.notNull(meterRegistry, "meterRegistry cannot be null");
+			this.meterRegistry = meterRegistry;
+			return this;
+		}
+
+		public SemanticCacheAdvisor build() {
+			return new SemanticCacheAdvisor(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,432 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.client.advisor.vectorstore;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.metadata.ChatGenerationMetadata;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.DefaultChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.content.Media;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.tool.function.FunctionToolCallback;
+import org.springframework.ai.vectorstore.SimpleVectorStore;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.util.MimeTypeUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link SemanticCacheAdvisor}.
+ */
+@ExtendWith(MockitoExtension.class)
+class SemanticCacheAdvisorTests {
+
+	@Mock
+	ChatModel chatModel;
+
+	private final SimpleVectorStore vectorStore = SimpleVectorStore.builder(new LetterEmbeddingModel()).build();
+
+	private final MutableClock clock = new MutableClock();
+
+	@Test
+	void servesSimilarPromptFromCache() {
+		given(this.chatModel.call(any(Prompt.class))).willReturn(chatResponse("Spring AI is a framework.", 30));
+		ChatClient chatClient = chatClient(SemanticCacheAdvisor.builder(this.vectorStore).build());
+
+		ChatClientResponse first = chatClient.prompt().user("What is Spring AI?").call().chatClientResponse();
+		ChatClientResponse second = chatClient.prompt().user("what is spring ai").call().chatClientResponse();
+
+		assertThat(first.context()).doesNotContainKey(SemanticCacheAdvisor.CACHE_HIT);
+		assertThat(second.context()).containsEntry(SemanticCacheAdvisor.CACHE_HIT, true);
+		assertThat(second.chatResponse().getResult().getOutput().getText()).isEqualTo("Spring AI is a framework.");
+		assertThat(second.chatResponse().getResult().getMetadata().getFinishReason()).isEqualTo("STOP");
+		assertThat(second.chatResponse().getMetadata().getModel()).isEqualTo("model1");
+		verify(this.chatModel, times(1)).call(any(Prompt.class));
+	}
+
+	@Test
+	void callsModelForDissimilarPrompt() {
+		given(this.chatModel.call(any(Prompt.class))).willReturn(chatResponse("An answer.", 30));
+		ChatClient chatClient = chatClient(SemanticCacheAdvisor.builder(this.vectorStore).build());
+
+		chatClient.prompt().user("What is Spring AI?").call().content();
+		chatClient.prompt().user("How do I cook pasta quickly?").call().content();
+
+		verify(this.chatModel, times(2)).call(any(Prompt.class));
+	}
+
+	@Test
+	void callsModelWhenSystemPromptOrOptionsDiffer() {
+		given(this.chatModel.call(any(Prompt.class))).willReturn(chatResponse("An answer.", 30));
+		ChatClient chatClient = chatClient(SemanticCacheAdvisor.builder(this.vectorStore).build());
+
+		chatClient.prompt().system("Be brief.").user("What is Spring AI?").call().content();
+		chatClient.prompt().system("Be verbose.").user("What is Spring AI?").call().content();
+		chatClient.prompt()
+			.system("Be brief.")
+			.user("What is Spring AI?")
+			.options(ChatOptions.builder().temperature(0.2).build())
+			.call()
+			.content();
+		chatClient.prompt().system("Be brief.").user("What is Spring AI?").call().content();
+
+		verify(this.chatModel, times(3)).call(any(Prompt.class));
+	}
+
+	@Test
+	void sharesFollowUpQuestionsOnlyAcrossIdenticalConversations() {
+		given(this.chatModel.call(any(Prompt.class))).willReturn(chatResponse("Mercury, Venus and Earth.", 30));
+		ChatMemory chatMemory = MessageWindowChatMemory.builder().build();
+		ChatClient chatClient = ChatClient.builder(this.chatModel)
+			.defaultAdvisors(MessageChatMemoryAdvisor.builder(chatMemory).build(),
+					SemanticCacheAdvisor.builder(this.vectorStore).build())
+			.build();
+
+		ask(chatClient, "1", "List the inner planets");
+		ask(chatClient, "1", "And the second one?");
+		given(this.chatModel.call(any(Prompt.class))).willReturn(chatResponse("Io, Europa and Ganymede.", 30));
+		ask(chatClient, "2", "List the moons of Jupiter");
+		ChatClientResponse otherConversation = ask(chatClient, "2", "And the second one?");
+		ask(chatClient, "3", "List the inner planets");
+		ChatClientResponse sameConversation = ask(chatClient, "3", "And the second one?");
+
+		assertThat(otherConversation.context()).doesNotContainKey(SemanticCacheAdvisor.CACHE_HIT);
+		assertThat(sameConversation.context()).containsEntry(SemanticCacheAdvisor.CACHE_HIT, true);
+		verify(this.chatModel, times(4)).call(any(Prompt.class));
+	}
+
+	@Test
+	void fingerprintsMediaAndAllOptions() {
+		Prompt prompt = new Prompt(userMessage(new byte[] { 1 }), new ReasoningChatOptions("low"));
+
+		assertThat(SemanticCacheAdvisor.fingerprint(prompt))
+			.isEqualTo(SemanticCacheAdvisor
+				.fingerprint(new Prompt(userMessage(new byte[] { 1 }), new ReasoningChatOptions("low"))))
+			.isNotEqualTo(SemanticCacheAdvisor
+				.fingerprint(new Prompt(userMessage(new byte[] { 2 }), new ReasoningChatOptions("low"))))
+			.isNotEqualTo(SemanticCacheAdvisor
+				.fingerprint(new Prompt(userMessage(new byte[] { 1 }), new ReasoningChatOptions("high"))));
+	}
+
+	@Test
+	void fingerprintsToolCallingOptions() {
+		ToolCallingChatOptions options = ToolCallingChatOptions.builder()
+			.toolCallbacks(FunctionToolCallback.builder("weather", (String location) -> "sunny")
+				.description("Get the weather")
+				.inputType(String.class)
+				.build())
+			.toolContext("userId", "42")
+			.build();
+
+		assertThat(SemanticCacheAdvisor.fingerprint(new Prompt("What is the weather?", options))).isNotNull();
+	}
+
+	@Test
+	void scopesCachedResponsesToTenant() {
+		given(this.chatModel.call(any(Prompt.class))).willReturn(chatResponse("An answer.", 30));
+		ChatClient chatClient = chatClient(SemanticCacheAdvisor.builder(this.vectorStore).build());
+
+		chatClient.prompt()
+			.user("What is Spring AI?")
+			.advisors(a -> a.param(SemanticCacheAdvisor.TENANT_ID, "acme"))
+			.call()
+			.content();
+		ChatClientResponse otherTenant = chatClient.prompt()
+			.user("What is Spring AI?")
+			.advisors(a -> a.param(SemanticCacheAdvisor.TENANT_ID, "globex"))
+			.call()
+			.chatClientResponse();
+		ChatClientResponse sameTenant = chatClient.prompt()
+			.user("What is Spring AI?")
+			.advisors(a -> a.param(SemanticCacheAdvisor.TENANT_ID, "acme"))
+			.call()
+			.chatClientResponse();
+
+		assertThat(otherTenant.context()).doesNotContainKey(SemanticCacheAdvisor.CACHE_HIT);
+		assertThat(sameTenant.context()).containsEntry(SemanticCacheAdvisor.CACHE_HIT, true);
+		verify(this.chatModel, times(2)).call(any(Prompt.class));
+	}
+
+	@Test
+	void deletesExpiredResponses() {
+		given(this.chatModel.call(any(Prompt.class))).willReturn(chatResponse("An answer.", 30));
+		SemanticCacheAdvisor advisor = SemanticCacheAdvisor.builder(this.vectorStore)
+			.timeToLive(Duration.ofMinutes(10))
+			.clock(this.clock)
+			.build();
+		ChatClient chatClient = chatClient(advisor);
+
+		chatClient.prompt().user("What is Spring AI?").call().content();
+		this.clock.advance(Duration.ofMinutes(9));
+		chatClient.prompt().user("What is Spring AI?").call().content();
+		this.clock.advance(Duration.ofMinutes(1));
+		chatClient.prompt().user("What is Spring AI?").call().content();
+		chatClient.prompt().user("What is Spring AI?").call().content();
+
+		assertThat(advisor.statistics().evictionCount()).isEqualTo(1);
+		assertThat(advisor.statistics().hitCount()).isEqualTo(2);
+		verify(this.chatModel, times(2)).call(any(Prompt.class));
+	}
+
+	@Test
+	void doesNotCacheToolCalls() {
+		AssistantMessage toolCall = AssistantMessage.builder()
+			.content("")
+			.toolCalls(List.of(new AssistantMessage.ToolCall("1", "function", "weather", "{}")))
+			.build();
+		given(this.chatModel.call(any(Prompt.class))).willReturn(new ChatResponse(List.of(new Generation(toolCall))));
+		SemanticCacheAdvisor advisor = SemanticCacheAdvisor.builder(this.vectorStore).build();
+		ChatClient chatClient = chatClient(advisor);
+
+		chatClient.prompt().user("What is the weather?").call().chatResponse();
+		chatClient.prompt().user("What is the weather?").call().chatResponse();
+
+		assertThat(advisor.statistics().putCount()).isZero();
+		verify(this.chatModel, times(2)).call(any(Prompt.class));
+	}
+
+	@Test
+	void replaysCachedResponseToStreamingCallers() {
+		given(this.chatModel.stream(any(Prompt.class)))
+			.willReturn(Flux.just(chatResponse("Spring AI ", null), chatResponse("is a framework.", 30)));
+		ChatClient chatClient = chatClient(
+				SemanticCacheAdvisor.builder(this.vectorStore).scheduler(Schedulers.immediate()).build());
+
+		List<String> first = chatClient.prompt().user("What is Spring AI?").stream().content().collectList().block();
+		List<ChatClientResponse> second = chatClient.prompt()
+			.user("What is Spring AI?")
+			.stream()
+			.chatClientResponse()
+			.collectList()
+			.block();
+
+		assertThat(first).containsExactly("Spring AI ", "is a framework.");
+		assertThat(second).singleElement().satisfies(response -> {
+			assertThat(response.chatResponse().getResult().getOutput().getText())
+				.isEqualTo("Spring AI is a framework.");
+			assertThat(response.context()).containsEntry(SemanticCacheAdvisor.CACHE_HIT, true);
+		});
+		verify(this.chatModel, times(1)).stream(any(Prompt.class));
+	}
+
+	@Test
+	void storesStreamedResponseOnScheduler() {
+		SimpleVectorStore vectorStore = spy(this.vectorStore);
+		List<String> storingThreads = new CopyOnWriteArrayList<>();
+		willAnswer(invocation -> {
+			storingThreads.add(Thread.currentThread().getName());
+			return invocation.callRealMethod();
+		}).given(vectorStore).add(anyList());
+		Scheduler modelScheduler = Schedulers.newSingle("model");
+		Scheduler cacheScheduler = Schedulers.newSingle("semantic-cache");
+		given(this.chatModel.stream(any(Prompt.class)))
+			.willReturn(Flux.just(chatResponse("Spring AI ", null), chatResponse("is a framework.", 30))
+				.publishOn(modelScheduler));
+		ChatClient chatClient = chatClient(SemanticCacheAdvisor.builder(vectorStore).scheduler(cacheScheduler).build());
+
+		try {
+			chatClient.prompt().user("What is Spring AI?").stream().content().collectList().block();
+
+			verify(vectorStore, timeout(5000)).add(anyList());
+			assertThat(storingThreads).singleElement().asString().startsWith("semantic-cache");
+		}
+		finally {
+			modelScheduler.dispose();
+			cacheScheduler.dispose();
+		}
+	}
+
+	@Test
+	void exposesCacheMetrics() {
+		given(this.chatModel.call(any(Prompt.class))).willReturn(chatResponse("An answer.", 30));
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		ChatClient chatClient = chatClient(
+				SemanticCacheAdvisor.builder(this.vectorStore).meterRegistry(meterRegistry).build());
+
+		chatClient.prompt().user("What is Spring AI?").call().content();
+		chatClient.prompt().user("What is Spring AI?").call().content();
+		chatClient.prompt().user("What is Spring AI?").call().content();
+
+		assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+		assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("cache.puts").tag("cache", "chat.response").functionCounter().count())
+			.isEqualTo(1);
+		assertThat(
+				meterRegistry.get("cache.tokens.saved").tag("gen_ai.operation.name", "chat").functionCounter().count())
+			.isEqualTo(60);
+	}
+
+	@Test
+	void whenSimilarityThresholdIsOutOfRangeThenThrow() {
+		assertThatThrownBy(() -> SemanticCacheAdvisor.builder(this.vectorStore).similarityThreshold(1.5))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("similarityThreshold must be between 0 and 1");
+	}
+
+	@Test
+	void whenTimeToLiveIsNotPositiveThenThrow() {
+		assertThatThrownBy(() -> SemanticCacheAdvisor.builder(this.vectorStore).timeToLive(Duration.ZERO))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("timeToLive must be positive");
+	}
+
+	private static ChatClientResponse ask(ChatClient chatClient, String conversationId, String question) {
+		return chatClient.prompt()
+			.user(question)
+			.advisors(advisors -> advisors.param(ChatMemory.CONVERSATION_ID, conversationId))
+			.call()
+			.chatClientResponse();
+	}
+
+	private ChatClient chatClient(SemanticCacheAdvisor advisor) {
+		return ChatClient.builder(this.chatModel).defaultAdvisors(advisor).build();
+	}
+
+	private static ChatResponse chatResponse(String text, Integer totalTokens) {
+		ChatResponseMetadata.Builder metadata = ChatResponseMetadata.builder().model("model1");
+		if (totalTokens != null) {
+			metadata.usage(new DefaultUsage(totalTokens / 3, totalTokens - totalTokens / 3));
+		}
+		return new ChatResponse(
+				List.of(new Generation(new AssistantMessage(text),
+						ChatGenerationMetadata.builder().finishReason(totalTokens != null ? "STOP" : null).build())),
+				metadata.build());
+	}
+
+	private static UserMessage userMessage(byte[] image) {
+		return UserMessage.builder()
+			.text("Describe the image")
+			.media(new Media(MimeTypeUtils.IMAGE_PNG, new ByteArrayResource(image)))
+			.build();
+	}
+
+	/**
+	 * Chat options with a provider specific option.
+	 */
+	static final class ReasoningChatOptions extends DefaultChatOptions {
+
+		private final String reasoningEffort;
+
+		ReasoningChatOptions(String reasoningEffort) {
+			this.reasoningEffort = reasoningEffort;
+		}
+
+		public String getReasoningEffort() {
+			return this.reasoningEffort;
+		}
+
+	}
+
+	/**
+	 * Embeds a text as the counts of its letters, so that texts differing only in case
+	 * and punctuation are identical.
+	 */
+	private static final class LetterEmbeddingModel implements EmbeddingModel {
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				float[] vector = new float[26];
+				for (char c : text.toLowerCase(Locale.ROOT).toCharArray()) {
+					if (c >= 'a' && c <= 'z') {
+						vector[c - 'a']++;
+					}
+				}
+				embeddings.add(new Embedding(vector, embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			return embed(document.getText());
+		}
+
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant instant = Instant.parse("2025-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			this.instant = this.instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+
+	}
+
+}
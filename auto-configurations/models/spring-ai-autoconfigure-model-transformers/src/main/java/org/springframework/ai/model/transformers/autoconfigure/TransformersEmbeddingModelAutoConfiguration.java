@@ -65,6 +65,15 @@ public class TransformersEmbeddingModelAutoConfiguration {
 
 		embeddingModel.setModelOutputName(properties.getOnnx().getModelOutputName());
 
+		embeddingModel.setIntraOpNumThreads(properties.getOnnx().getIntraOpNumThreads());
+		embeddingModel.setInterOpNumThreads(properties.getOnnx().getInterOpNumThreads());
+		embeddingModel.setOptimizationLevel(properties.getOnnx().getOptimizationLevel());
+		embeddingModel.setCpuArenaAllocator(properties.getOnnx().isCpuArenaAllocator());
+		embeddingModel.setNormalize(properties.getOnnx().isNormalize());
+
+		embeddingModel.setMaxBatchSize(properties.getOnnx().getMaxBatchSize());
+		embeddingModel.setMaxBatchWait(properties.getOnnx().getMaxBatchWait());
+
 		observationConvention.ifAvailable(embeddingModel::setObservationConvention);
 
 		return embeddingModel;
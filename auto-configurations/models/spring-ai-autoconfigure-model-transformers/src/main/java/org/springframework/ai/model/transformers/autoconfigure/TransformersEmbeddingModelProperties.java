@@ -17,11 +17,13 @@
 package org.springframework.ai.model.transformers.autoconfigure;
 
 import java.io.File;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
+import ai.onnxruntime.OrtSession;
 
 import org.springframework.ai.document.Document;
 import org.springframework.ai.document.MetadataMode;
@@ -173,6 +175,45 @@ public class TransformersEmbeddingModelProperties {
 		 */
 		private int gpuDeviceId = -1;
 
+		/**
+		 * Number of threads used to parallelize the execution within nodes. Uses the ONNX
+		 * runtime default if not positive.
+		 */
+		private int intraOpNumThreads = 0;
+
+		/**
+		 * Number of threads used to parallelize the execution of the graph across nodes.
+		 * Uses the ONNX runtime default if not positive.
+		 */
+		private int interOpNumThreads = 0;
+
+		/**
+		 * Graph optimization level. Uses the ONNX runtime default if not set.
+		 */
+		private OrtSession.SessionOptions.OptLevel optimizationLevel;
+
+		/**
+		 * Whether the CPU memory arena allocator is used.
+		 */
+		private boolean cpuArenaAllocator = true;
+
+		/**
+		 * Whether the embeddings are normalized to unit length (L2 norm).
+		 */
+		private boolean normalize = false;
+
+		/**
+		 * Maximum number of texts embedded in a single ONNX session run. Texts of
+		 * concurrent calls are sorted by length and embedded in batches of this size.
+		 */
+		private int maxBatchSize = TransformersEmbeddingModel.DEFAULT_MAX_BATCH_SIZE;
+
+		/**
+		 * How long an embedding call waits for concurrent calls to share its ONNX session
+		 * runs.
+		 */
+		private Duration maxBatchWait = Duration.ZERO;
+
 		public String getModelUri() {
 			return this.modelUri;
 		}
@@ -197,6 +238,62 @@ public class TransformersEmbeddingModelProperties {
 			this.modelOutputName = modelOutputName;
 		}
 
+		public int getIntraOpNumThreads() {
+			return this.intraOpNumThreads;
+		}
+
+		public void setIntraOpNumThreads(int intraOpNumThreads) {
+			this.intraOpNumThreads = intraOpNumThreads;
+		}
+
+		public int getInterOpNumThreads() {
+			return this.interOpNumThreads;
+		}
+
+		public void setInterOpNumThreads(int interOpNumThreads) {
+			this.interOpNumThreads = interOpNumThreads;
+		}
+
+		public OrtSession.SessionOptions.OptLevel getOptimizationLevel() {
+			return this.optimizationLevel;
+		}
+
+		public void setOptimizationLevel(OrtSession.SessionOptions.OptLevel optimizationLevel) {
+			this.optimizationLevel = optimizationLevel;
+		}
+
+		public boolean isCpuArenaAllocator() {
+			return this.cpuArenaAllocator;
+		}
+
+		public void setCpuArenaAllocator(boolean cpuArenaAllocator) {
+			this.cpuArenaAllocator = cpuArenaAllocator;
+		}
+
+		public boolean isNormalize() {
+			return this.normalize;
+		}
+
+		public void setNormalize(boolean normalize) {
+			this.normalize = normalize;
+		}
+
+		public int getMaxBatchSize() {
+			return this.maxBatchSize;
+		}
+
+		public void setMaxBatchSize(int maxBatchSize) {
+			this.maxBatchSize = maxBatchSize;
+		}
+
+		public Duration getMaxBatchWait() {
+			return this.maxBatchWait;
+		}
+
+		public void setMaxBatchWait(Duration maxBatchWait) {
+			this.maxBatchWait = maxBatchWait;
+		}
+
 	}
 
 }
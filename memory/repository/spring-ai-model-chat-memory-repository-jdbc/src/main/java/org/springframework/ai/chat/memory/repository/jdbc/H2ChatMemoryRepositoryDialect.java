@@ -43,4 +43,19 @@ public class H2ChatMemoryRepositoryDialect implements JdbcChatMemoryRepositoryDi
 		return "SELECT DISTINCT conversation_id FROM SPRING_AI_CHAT_MEMORY";
 	}
 
+	@Override
+	public String getSelectLastTimestampSql() {
+		return "SELECT MAX(timestamp) FROM SPRING_AI_CHAT_MEMORY WHERE conversation_id = ?";
+	}
+
+	@Override
+	public String getSelectEvictableTimestampsSql() {
+		return "SELECT timestamp FROM SPRING_AI_CHAT_MEMORY WHERE conversation_id = ? AND type <> 'SYSTEM' ORDER BY timestamp DESC";
+	}
+
+	@Override
+	public String getDeleteEvictableMessagesSql() {
+		return "DELETE FROM SPRING_AI_CHAT_MEMORY WHERE conversation_id = ? AND type <> 'SYSTEM' AND timestamp <= ?";
+	}
+
 }
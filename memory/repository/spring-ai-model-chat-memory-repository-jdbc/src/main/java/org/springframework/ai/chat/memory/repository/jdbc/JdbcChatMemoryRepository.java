@@ -29,6 +29,7 @@ import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.ai.chat.memory.AppendableChatMemoryRepository;
 import org.springframework.ai.chat.memory.ChatMemoryRepository;
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
@@ -38,6 +39,7 @@ import org.springframework.ai.chat.messages.ToolResponseMessage;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.lang.Nullable;
@@ -47,6 +49,10 @@ import org.springframework.util.Assert;
 
 /**
  * An implementation of {@link ChatMemoryRepository} for JDBC.
+ * <p>
+ * As an {@link AppendableChatMemoryRepository}, it inserts only the new messages of a
+ * conversation and deletes only the evicted ones, instead of deleting and inserting back
+ * the whole conversation on each update.
  *
  * @author Jonathan Leijendekker
  * @author Thomas Vitale
@@ -55,7 +61,7 @@ import org.springframework.util.Assert;
  * @author Yanming Zhou
  * @since 1.0.0
  */
-public final class JdbcChatMemoryRepository implements ChatMemoryRepository {
+public final class JdbcChatMemoryRepository implements AppendableChatMemoryRepository {
 
 	private final JdbcTemplate jdbcTemplate;
 
@@ -100,6 +106,77 @@ public final class JdbcChatMemoryRepository implements ChatMemoryRepository {
 		});
 	}
 
+	@Override
+	public void appendAll(String conversationId, List<Message> messages) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		Assert.notNull(messages, "messages cannot be null");
+		Assert.noNullElements(messages, "messages cannot contain null elements");
+		if (messages.isEmpty()) {
+			return;
+		}
+
+		this.transactionTemplate.execute(status -> {
+			// The timestamps are sequence numbers, which saveAll may have assigned ahead
+			// of the current time, so the new messages must be placed after the last one.
+			long sequenceId = Instant.now().getEpochSecond();
+			Timestamp lastTimestamp = this.jdbcTemplate.queryForObject(this.dialect.getSelectLastTimestampSql(),
+					Timestamp.class, conversationId);
+			if (lastTimestamp != null) {
+				sequenceId = Math.max(sequenceId, lastTimestamp.getTime() / 1000L + 1);
+			}
+			this.jdbcTemplate.batchUpdate(this.dialect.getInsertMessageSql(),
+					new AddBatchPreparedStatement(conversationId, messages, new AtomicLong(sequenceId)));
+			return null;
+		});
+	}
+
+	/**
+	 * Deletes the oldest non-system messages of a conversation until at most
+	 * {@code maxMessages} messages are left. The messages to keep are chosen from the
+	 * newest ones, and only the messages older than them are deleted, so that concurrent
+	 * appends and trims of the same conversation can at worst leave more messages than
+	 * the limit until the next trim, but never evict messages that should be kept.
+	 * @param conversationId the conversation ID
+	 * @param maxMessages the maximum number of messages to keep
+	 */
+	@Override
+	public void trim(String conversationId, int maxMessages) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		Assert.isTrue(maxMessages > 0, "maxMessages must be greater than 0");
+
+		this.transactionTemplate.execute(status -> {
+			Integer systemMessages = this.jdbcTemplate.queryForObject(this.dialect.getCountSystemMessagesSql(),
+					Integer.class, conversationId);
+			int messagesToKeep = Math.max(0, maxMessages - ((systemMessages != null) ? systemMessages : 0));
+			Timestamp newestEvictedTimestamp = this.jdbcTemplate.query(connection -> {
+				PreparedStatement ps = connection.prepareStatement(this.dialect.getSelectEvictableTimestampsSql());
+				ps.setString(1, conversationId);
+				ps.setMaxRows(messagesToKeep + 1);
+				return ps;
+			}, timestampAtExtractor(messagesToKeep));
+			if (newestEvictedTimestamp != null) {
+				this.jdbcTemplate.update(this.dialect.getDeleteEvictableMessagesSql(), conversationId,
+						newestEvictedTimestamp);
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * Extracts the timestamp of the row at the given index, or {@code null} when there
+	 * are not that many rows.
+	 */
+	private static ResultSetExtractor<Timestamp> timestampAtExtractor(int index) {
+		return rs -> {
+			for (int i = 0; rs.next(); i++) {
+				if (i == index) {
+					return rs.getTimestamp(1);
+				}
+			}
+			return null;
+		};
+	}
+
 	@Override
 	public void deleteByConversationId(String conversationId) {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
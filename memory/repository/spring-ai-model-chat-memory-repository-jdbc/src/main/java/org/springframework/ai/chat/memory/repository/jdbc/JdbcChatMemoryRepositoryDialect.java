@@ -53,6 +53,39 @@ public interface JdbcChatMemoryRepositoryDialect {
 	 */
 	String getDeleteMessagesSql();
 
+	/**
+	 * Returns the SQL to fetch the timestamp of the latest message of a conversation. The
+	 * default implementation uses the PostgreSQL syntax.
+	 */
+	default String getSelectLastTimestampSql() {
+		return "SELECT MAX(\"timestamp\") FROM SPRING_AI_CHAT_MEMORY WHERE conversation_id = ?";
+	}
+
+	/**
+	 * Returns the SQL to count the system messages of a conversation.
+	 */
+	default String getCountSystemMessagesSql() {
+		return "SELECT COUNT(*) FROM SPRING_AI_CHAT_MEMORY WHERE conversation_id = ? AND type = 'SYSTEM'";
+	}
+
+	/**
+	 * Returns the SQL to fetch the timestamps of the messages of a conversation that can
+	 * be evicted, that is all but the system messages, newest first. The default
+	 * implementation uses the PostgreSQL syntax.
+	 */
+	default String getSelectEvictableTimestampsSql() {
+		return "SELECT \"timestamp\" FROM SPRING_AI_CHAT_MEMORY WHERE conversation_id = ? AND type <> 'SYSTEM' ORDER BY \"timestamp\" DESC";
+	}
+
+	/**
+	 * Returns the SQL to delete the messages of a conversation that can be evicted, up to
+	 * and including the given timestamp. The default implementation uses the PostgreSQL
+	 * syntax.
+	 */
+	default String getDeleteEvictableMessagesSql() {
+		return "DELETE FROM SPRING_AI_CHAT_MEMORY WHERE conversation_id = ? AND type <> 'SYSTEM' AND \"timestamp\" <= ?";
+	}
+
 	/**
 	 * Detects the dialect from the DataSource.
 	 */
@@ -46,4 +46,19 @@ public class OracleChatMemoryRepositoryDialect implements JdbcChatMemoryReposito
 		return "DELETE FROM SPRING_AI_CHAT_MEMORY WHERE CONVERSATION_ID = ?";
 	}
 
+	@Override
+	public String getSelectLastTimestampSql() {
+		return "SELECT MAX(\"TIMESTAMP\") FROM SPRING_AI_CHAT_MEMORY WHERE CONVERSATION_ID = ?";
+	}
+
+	@Override
+	public String getSelectEvictableTimestampsSql() {
+		return "SELECT \"TIMESTAMP\" FROM SPRING_AI_CHAT_MEMORY WHERE CONVERSATION_ID = ? AND TYPE <> 'SYSTEM' ORDER BY \"TIMESTAMP\" DESC";
+	}
+
+	@Override
+	public String getDeleteEvictableMessagesSql() {
+		return "DELETE FROM SPRING_AI_CHAT_MEMORY WHERE CONVERSATION_ID = ? AND TYPE <> 'SYSTEM' AND \"TIMESTAMP\" <= ?";
+	}
+
 }
@@ -44,4 +44,19 @@ public class SqlServerChatMemoryRepositoryDialect implements JdbcChatMemoryRepos
 		return "DELETE FROM SPRING_AI_CHAT_MEMORY WHERE conversation_id = ?";
 	}
 
+	@Override
+	public String getSelectLastTimestampSql() {
+		return "SELECT MAX([timestamp]) FROM SPRING_AI_CHAT_MEMORY WHERE conversation_id = ?";
+	}
+
+	@Override
+	public String getSelectEvictableTimestampsSql() {
+		return "SELECT [timestamp] FROM SPRING_AI_CHAT_MEMORY WHERE conversation_id = ? AND type <> 'SYSTEM' ORDER BY [timestamp] DESC";
+	}
+
+	@Override
+	public String getDeleteEvictableMessagesSql() {
+		return "DELETE FROM SPRING_AI_CHAT_MEMORY WHERE conversation_id = ? AND type <> 'SYSTEM' AND [timestamp] <= ?";
+	}
+
 }
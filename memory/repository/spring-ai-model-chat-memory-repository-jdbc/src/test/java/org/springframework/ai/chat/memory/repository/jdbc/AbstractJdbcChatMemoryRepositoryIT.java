@@ -209,6 +209,58 @@ public abstract class AbstractJdbcChatMemoryRepositoryIT {
 		}
 	}
 
+	@Test
+	void appendAllPlacesMessagesAfterSavedOnes() {
+		var conversationId = UUID.randomUUID().toString();
+		List<Message> savedMessages = new java.util.ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			savedMessages.add(new UserMessage("Message " + i));
+		}
+
+		// saveAll assigns sequence numbers ahead of the current time
+		this.chatMemoryRepository.saveAll(conversationId, savedMessages);
+		this.chatMemoryRepository.appendAll(conversationId, List.of(new AssistantMessage("Message 5")));
+		this.chatMemoryRepository.appendAll(conversationId, List.of(new UserMessage("Message 6")));
+
+		List<String> retrievedContents = this.chatMemoryRepository.findByConversationId(conversationId)
+			.stream()
+			.map(Message::getText)
+			.toList();
+		assertThat(retrievedContents).containsExactly("Message 0", "Message 1", "Message 2", "Message 3", "Message 4",
+				"Message 5", "Message 6");
+	}
+
+	@Test
+	void trimEvictsOldestNonSystemMessages() {
+		var conversationId = UUID.randomUUID().toString();
+		this.chatMemoryRepository.saveAll(conversationId,
+				List.of(new SystemMessage("System instruction"), new UserMessage("Message 1"),
+						new AssistantMessage("Response 1"), new UserMessage("Message 2"),
+						new AssistantMessage("Response 2")));
+
+		this.chatMemoryRepository.trim(conversationId, 3);
+
+		assertThat(this.chatMemoryRepository.findByConversationId(conversationId)).containsExactly(
+				new SystemMessage("System instruction"), new UserMessage("Message 2"),
+				new AssistantMessage("Response 2"));
+
+		this.chatMemoryRepository.trim(conversationId, 3);
+
+		assertThat(this.chatMemoryRepository.findByConversationId(conversationId)).hasSize(3);
+	}
+
+	@Test
+	void trimKeepsOnlySystemMessagesWhenTheyExceedTheLimit() {
+		var conversationId = UUID.randomUUID().toString();
+		this.chatMemoryRepository.saveAll(conversationId, List.of(new SystemMessage("System instruction"),
+				new SystemMessage("Other instruction"), new UserMessage("Message 1")));
+
+		this.chatMemoryRepository.trim(conversationId, 1);
+
+		assertThat(this.chatMemoryRepository.findByConversationId(conversationId))
+			.containsExactly(new SystemMessage("System instruction"), new SystemMessage("Other instruction"));
+	}
+
 	/**
 	 * Base configuration for all integration tests.
 	 */
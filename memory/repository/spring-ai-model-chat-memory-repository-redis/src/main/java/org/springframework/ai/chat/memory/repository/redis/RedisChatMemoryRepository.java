@@ -6,6 +6,7 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.memory.AppendableChatMemoryRepository;
 import org.springframework.ai.chat.memory.ChatMemoryRepository;
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
@@ -50,7 +51,8 @@ import java.util.concurrent.atomic.AtomicLong;
  *
  * @author Brian Sam-Bodden
  */
-public final class RedisChatMemoryRepository implements ChatMemoryRepository, AdvancedRedisChatMemoryRepository {
+public final class RedisChatMemoryRepository
+		implements AppendableChatMemoryRepository, AdvancedRedisChatMemoryRepository {
 
 	private static final Logger logger = LoggerFactory.getLogger(RedisChatMemoryRepository.class);
 
@@ -707,6 +709,62 @@ public final class RedisChatMemoryRepository implements ChatMemoryRepository, Ad
 		clear(conversationId);
 	}
 
+	@Override
+	public void appendAll(String conversationId, List<Message> messages) {
+		// Messages are stored as separate documents, so adding them is an append
+		add(conversationId, messages);
+	}
+
+	/**
+	 * Deletes the oldest non-system messages of a conversation until at most
+	 * {@code maxMessages} messages are left. The messages to keep are chosen from the
+	 * newest ones, and only the messages past them are deleted, so that concurrent
+	 * appends and trims of the same conversation can at worst leave more messages than
+	 * the limit until the next trim, but never evict messages that should be kept.
+	 * Message keys are never reused, so deleting a message that was concurrently cleared
+	 * has no effect.
+	 * @param conversationId the conversation ID
+	 * @param maxMessages the maximum number of messages to keep
+	 */
+	@Override
+	public void trim(String conversationId, int maxMessages) {
+		Assert.notNull(conversationId, "Conversation ID must not be null");
+		Assert.isTrue(maxMessages > 0, "Max messages must be greater than 0");
+
+		QueryNode conversationNode = QueryBuilders.intersect("conversation_id",
+				Values.tags(RediSearchUtil.escape(conversationId)));
+		QueryNode systemNode = QueryBuilders.intersect(conversationNode,
+				QueryBuilders.intersect("type", Values.value(MessageType.SYSTEM.toString())));
+		long systemMessages = jedis
+			.ftSearch(config.getIndexName(), new Query(systemNode.toString()).setNoContent().limit(0, 0))
+			.getTotalResults();
+		int messagesToKeep = (int) Math.max(0, maxMessages - systemMessages);
+
+		QueryNode evictableNode = QueryBuilders.intersect(conversationNode,
+				QueryBuilders.disjunct("type", Values.value(MessageType.SYSTEM.toString())));
+		long evictableMessages = jedis
+			.ftSearch(config.getIndexName(), new Query(evictableNode.toString()).setNoContent().limit(0, 0))
+			.getTotalResults();
+		if (evictableMessages <= messagesToKeep) {
+			return;
+		}
+
+		// Newest first, skipping the messages to keep
+		Query evictedQuery = new Query(evictableNode.toString()).setSortBy("timestamp", false)
+			.setNoContent()
+			.limit(messagesToKeep, (int) (evictableMessages - messagesToKeep));
+		SearchResult result = jedis.ftSearch(config.getIndexName(), evictedQuery);
+
+		if (logger.isDebugEnabled()) {
+			logger.debug("Evicting {} messages from conversation: {}", result.getDocuments().size(), conversationId);
+		}
+
+		try (Pipeline pipeline = jedis.pipelined()) {
+			result.getDocuments().forEach(doc -> pipeline.del(doc.getId()));
+			pipeline.sync();
+		}
+	}
+
 	// AdvancedChatMemoryRepository implementation
 
 	/**
@@ -30,6 +30,7 @@ import redis.clients.jedis.JedisPooled;
 import org.springframework.ai.chat.memory.ChatMemoryRepository;
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.boot.SpringBootConfiguration;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
@@ -181,6 +182,23 @@ class RedisChatMemoryRepositoryIT {
 		});
 	}
 
+	@Test
+	void shouldAppendAndTrimConversation() {
+		this.contextRunner.run(context -> {
+			RedisChatMemoryRepository repository = (RedisChatMemoryRepository) chatMemoryRepository;
+			repository.saveAll("test-conversation",
+					List.of(new SystemMessage("System instruction"), new UserMessage("Message 1")));
+			repository.appendAll("test-conversation",
+					List.of(new AssistantMessage("Response 1"), new UserMessage("Message 2")));
+
+			repository.trim("test-conversation", 3);
+
+			List<Message> messages = repository.findByConversationId("test-conversation");
+			assertThat(messages).extracting(Message::getText)
+				.containsExactly("System instruction", "Response 1", "Message 2");
+		});
+	}
+
 	@SpringBootConfiguration
 	@EnableAutoConfiguration(exclude = { DataSourceAutoConfiguration.class })
 	static class TestApplication {
@@ -19,9 +19,7 @@ package org.springframework.ai.deepseek.api;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -36,7 +34,10 @@ import org.springframework.ai.model.ApiKey;
 import org.springframework.ai.model.ChatModelDescription;
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.model.SimpleApiKey;
+import org.springframework.ai.model.streaming.ServerSentEventJsonDecoder;
+import org.springframework.ai.model.streaming.ToolCallChunkAggregator;
 import org.springframework.ai.retry.RetryUtils;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -55,8 +56,6 @@ public class DeepSeekApi {
 
 	public static final DeepSeekApi.ChatModel DEFAULT_CHAT_MODEL = ChatModel.DEEPSEEK_CHAT;
 
-	private static final Predicate<String> SSE_DONE_PREDICATE = "[DONE]"::equals;
-
 	private final String completionsPath;
 
 	private final String betaPrefixPath;
@@ -67,6 +66,13 @@ public class DeepSeekApi {
 
 	private final DeepSeekStreamFunctionCallingHelper chunkMerger = new DeepSeekStreamFunctionCallingHelper();
 
+	private final ServerSentEventJsonDecoder<ChatCompletionChunk> chunkDecoder = new ServerSentEventJsonDecoder<>(
+			ChatCompletionChunk.class);
+
+	private final ToolCallChunkAggregator<ChatCompletionChunk> chunkAggregator = new ToolCallChunkAggregator<>(
+			new ChatCompletionChunk(null, null, null, null, null, null, null, null), this.chunkMerger::merge,
+			this.chunkMerger::isStreamingToolFunctionCall, this.chunkMerger::isStreamingToolFunctionCallFinish);
+
 	/**
 	 * Create a new chat completion api.
 	 * @param baseUrl api base URL.
@@ -165,47 +171,14 @@ public class DeepSeekApi {
 		Assert.notNull(chatRequest, "The request body can not be null.");
 		Assert.isTrue(chatRequest.stream(), "Request must set the stream property to true.");
 
-		AtomicBoolean isInsideTool = new AtomicBoolean(false);
-
 		return this.webClient.post()
 			.uri(this.getEndpoint(chatRequest))
 			.headers(headers -> headers.addAll(HttpHeaders.readOnlyHttpHeaders(additionalHttpHeader)))
 			.body(Mono.just(chatRequest), ChatCompletionRequest.class)
 			.retrieve()
-			.bodyToFlux(String.class)
-			// cancels the flux stream after the "[DONE]" is received.
-			.takeUntil(SSE_DONE_PREDICATE)
-			// filters out the "[DONE]" message.
-			.filter(SSE_DONE_PREDICATE.negate())
-			.map(content -> ModelOptionsUtils.jsonToObject(content, ChatCompletionChunk.class))
-			// Detect is the chunk is part of a streaming function call.
-			.map(chunk -> {
-				if (this.chunkMerger.isStreamingToolFunctionCall(chunk)) {
-					isInsideTool.set(true);
-				}
-				return chunk;
-			})
-			// Group all chunks belonging to the same function call.
-			// Flux<ChatCompletionChunk> -> Flux<Flux<ChatCompletionChunk>>
-			.windowUntil(chunk -> {
-				if (isInsideTool.get() && this.chunkMerger.isStreamingToolFunctionCallFinish(chunk)) {
-					isInsideTool.set(false);
-					return true;
-				}
-				return !isInsideTool.get();
-			})
-			// Merging the window chunks into a single chunk.
-			// Reduce the inner Flux<ChatCompletionChunk> window into a single
-			// Mono<ChatCompletionChunk>,
-			// Flux<Flux<ChatCompletionChunk>> -> Flux<Mono<ChatCompletionChunk>>
-			.concatMapIterable(window -> {
-				Mono<ChatCompletionChunk> monoChunk = window.reduce(
-						new ChatCompletionChunk(null, null, null, null, null, null, null, null),
-						(previous, current) -> this.chunkMerger.merge(previous, current));
-				return List.of(monoChunk);
-			})
-			// Flux<Mono<ChatCompletionChunk>> -> Flux<ChatCompletionChunk>
-			.flatMap(mono -> mono);
+			.bodyToFlux(DataBuffer.class)
+			.transform(this.chunkDecoder::decode)
+			.transform(this.chunkAggregator::aggregate);
 	}
 
 	private String getEndpoint(ChatCompletionRequest request) {
@@ -18,9 +18,7 @@ package org.springframework.ai.minimax.api;
 
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -33,8 +31,11 @@ import reactor.core.publisher.Mono;
 
 import org.springframework.ai.model.ChatModelDescription;
 import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.model.streaming.ServerSentEventJsonDecoder;
+import org.springframework.ai.model.streaming.ToolCallChunkAggregator;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -57,7 +58,6 @@ public class MiniMaxApi {
 
 	public static final String DEFAULT_CHAT_MODEL = ChatModel.ABAB_6_5_G_Chat.getValue();
 	public static final String DEFAULT_EMBEDDING_MODEL = EmbeddingModel.Embo_01.getValue();
-	private static final Predicate<String> SSE_DONE_PREDICATE = "[DONE]"::equals;
 
 	private final RestClient restClient;
 
@@ -65,6 +65,13 @@ public class MiniMaxApi {
 
 	private final MiniMaxStreamFunctionCallingHelper chunkMerger = new MiniMaxStreamFunctionCallingHelper();
 
+	private final ServerSentEventJsonDecoder<ChatCompletionChunk> chunkDecoder = new ServerSentEventJsonDecoder<>(
+			ChatCompletionChunk.class);
+
+	private final ToolCallChunkAggregator<ChatCompletionChunk> chunkAggregator = new ToolCallChunkAggregator<>(
+			new ChatCompletionChunk(null, null, null, null, null, null), this.chunkMerger::merge,
+			this.chunkMerger::isStreamingToolFunctionCall, this.chunkMerger::isStreamingToolFunctionCallFinish);
+
 	/**
 	 * Create a new chat completion api with default base URL.
 	 *
@@ -158,36 +165,13 @@ public class MiniMaxApi {
 		Assert.notNull(chatRequest, "The request body can not be null.");
 		Assert.isTrue(chatRequest.stream(), "Request must set the stream property to true.");
 
-		AtomicBoolean isInsideTool = new AtomicBoolean(false);
-
 		return this.webClient.post()
 				.uri("/v1/text/chatcompletion_v2")
 				.body(Mono.just(chatRequest), ChatCompletionRequest.class)
 				.retrieve()
-				.bodyToFlux(String.class)
-				.takeUntil(SSE_DONE_PREDICATE)
-				.filter(SSE_DONE_PREDICATE.negate())
-				.map(content -> ModelOptionsUtils.jsonToObject(content, ChatCompletionChunk.class))
-				.map(chunk -> {
-					if (this.chunkMerger.isStreamingToolFunctionCall(chunk)) {
-						isInsideTool.set(true);
-					}
-					return chunk;
-				})
-				.windowUntil(chunk -> {
-					if (isInsideTool.get() && this.chunkMerger.isStreamingToolFunctionCallFinish(chunk)) {
-						isInsideTool.set(false);
-						return true;
-					}
-					return !isInsideTool.get();
-				})
-				.concatMapIterable(window -> {
-					Mono<ChatCompletionChunk> monoChunk = window.reduce(
-							new ChatCompletionChunk(null, null, null, null, null, null),
-							(previous, current) -> this.chunkMerger.merge(previous, current));
-					return List.of(monoChunk);
-				})
-				.flatMap(mono -> mono);
+				.bodyToFlux(DataBuffer.class)
+				.transform(this.chunkDecoder::decode)
+				.transform(this.chunkAggregator::aggregate);
 	}
 
 	/**
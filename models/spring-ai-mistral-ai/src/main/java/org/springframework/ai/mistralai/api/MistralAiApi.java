@@ -20,9 +20,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -34,9 +32,12 @@ import reactor.core.publisher.Mono;
 
 import org.springframework.ai.model.ChatModelDescription;
 import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.model.streaming.ServerSentEventJsonDecoder;
+import org.springframework.ai.model.streaming.ToolCallChunkAggregator;
 import org.springframework.ai.observation.conventions.AiProvider;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -75,14 +76,19 @@ public class MistralAiApi {
 
 	private static final String DEFAULT_BASE_URL = "https://api.mistral.ai";
 
-	private static final Predicate<String> SSE_DONE_PREDICATE = "[DONE]"::equals;
-
 	private final RestClient restClient;
 
 	private final WebClient webClient;
 
 	private final MistralAiStreamFunctionCallingHelper chunkMerger = new MistralAiStreamFunctionCallingHelper();
 
+	private final ServerSentEventJsonDecoder<ChatCompletionChunk> chunkDecoder = new ServerSentEventJsonDecoder<>(
+			ChatCompletionChunk.class);
+
+	private final ToolCallChunkAggregator<ChatCompletionChunk> chunkAggregator = new ToolCallChunkAggregator<>(
+			new ChatCompletionChunk(null, null, null, null, null, null), this.chunkMerger::merge,
+			this.chunkMerger::isStreamingToolFunctionCall, this.chunkMerger::isStreamingToolFunctionCallFinish);
+
 	/**
 	 * Create a new client api.
 	 * @param baseUrl api base URL.
@@ -177,36 +183,13 @@ public class MistralAiApi {
 		Assert.notNull(chatRequest, "The request body can not be null.");
 		Assert.isTrue(chatRequest.stream(), "Request must set the stream property to true.");
 
-		AtomicBoolean isInsideTool = new AtomicBoolean(false);
-
 		return this.webClient.post()
 			.uri("/v1/chat/completions")
 			.body(Mono.just(chatRequest), ChatCompletionRequest.class)
 			.retrieve()
-			.bodyToFlux(String.class)
-			.takeUntil(SSE_DONE_PREDICATE)
-			.filter(SSE_DONE_PREDICATE.negate())
-			.map(content -> ModelOptionsUtils.jsonToObject(content, ChatCompletionChunk.class))
-			.map(chunk -> {
-				if (this.chunkMerger.isStreamingToolFunctionCall(chunk)) {
-					isInsideTool.set(true);
-				}
-				return chunk;
-			})
-			.windowUntil(chunk -> {
-				if (isInsideTool.get() && this.chunkMerger.isStreamingToolFunctionCallFinish(chunk)) {
-					isInsideTool.set(false);
-					return true;
-				}
-				return !isInsideTool.get();
-			})
-			.concatMapIterable(window -> {
-				Mono<ChatCompletionChunk> mono1 = window.reduce(
-						new ChatCompletionChunk(null, null, null, null, null, null),
-						(previous, current) -> this.chunkMerger.merge(previous, current));
-				return List.of(mono1);
-			})
-			.flatMap(mono -> mono);
+			.bodyToFlux(DataBuffer.class)
+			.transform(this.chunkDecoder::decode)
+			.transform(this.chunkAggregator::aggregate);
 	}
 
 	/**
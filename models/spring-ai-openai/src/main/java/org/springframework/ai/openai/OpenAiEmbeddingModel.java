@@ -41,8 +41,10 @@ import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.ai.openai.api.OpenAiApi.EmbeddingList;
 import org.springframework.ai.openai.api.common.OpenAiApiConstants;
+import org.springframework.ai.openai.metadata.support.OpenAiResponseHeaderExtractor;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.core.retry.RetryTemplate;
+import org.springframework.http.ResponseEntity;
 import org.springframework.util.Assert;
 
 /**
@@ -164,8 +166,9 @@ public class OpenAiEmbeddingModel extends AbstractEmbeddingModel {
 			.observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
 					this.observationRegistry)
 			.observe(() -> {
-				EmbeddingList<OpenAiApi.Embedding> apiEmbeddingResponse = RetryUtils.execute(this.retryTemplate,
-						() -> this.openAiApi.embeddings(apiRequest).getBody());
+				ResponseEntity<EmbeddingList<OpenAiApi.Embedding>> apiEmbeddingEntity = RetryUtils
+					.execute(this.retryTemplate, () -> this.openAiApi.embeddings(apiRequest));
+				EmbeddingList<OpenAiApi.Embedding> apiEmbeddingResponse = apiEmbeddingEntity.getBody();
 
 				if (apiEmbeddingResponse == null) {
 					logger.warn("No embeddings returned for request: {}", request);
@@ -175,6 +178,7 @@ public class OpenAiEmbeddingModel extends AbstractEmbeddingModel {
 				OpenAiApi.Usage usage = apiEmbeddingResponse.usage();
 				Usage embeddingResponseUsage = usage != null ? getDefaultUsage(usage) : new EmptyUsage();
 				var metadata = new EmbeddingResponseMetadata(apiEmbeddingResponse.model(), embeddingResponseUsage);
+				metadata.setRateLimit(OpenAiResponseHeaderExtractor.extractAiResponseHeaders(apiEmbeddingEntity));
 
 				List<Embedding> embeddings = apiEmbeddingResponse.data()
 					.stream()
@@ -20,9 +20,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
@@ -35,16 +33,18 @@ import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
 
 import org.springframework.ai.model.ApiKey;
 import org.springframework.ai.model.ChatModelDescription;
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.model.NoopApiKey;
 import org.springframework.ai.model.SimpleApiKey;
+import org.springframework.ai.model.streaming.ServerSentEventJsonDecoder;
+import org.springframework.ai.model.streaming.ToolCallChunkAggregator;
 import org.springframework.ai.openai.api.common.OpenAiApiConstants;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -89,8 +89,6 @@ public class OpenAiApi {
 
 	public static final String DEFAULT_EMBEDDING_MODEL = EmbeddingModel.TEXT_EMBEDDING_ADA_002.getValue();
 
-	private static final Predicate<String> SSE_DONE_PREDICATE = "[DONE]"::equals;
-
 	private static final String REQUEST_BODY_NULL_MESSAGE = "The request body can not be null.";
 
 	private static final String STREAM_FALSE_MESSAGE = "Request must set the stream property to false.";
@@ -116,6 +114,13 @@ public class OpenAiApi {
 
 	private final OpenAiStreamFunctionCallingHelper chunkMerger = new OpenAiStreamFunctionCallingHelper();
 
+	private final ServerSentEventJsonDecoder<ChatCompletionChunk> chunkDecoder = new ServerSentEventJsonDecoder<>(
+			ChatCompletionChunk.class);
+
+	private final ToolCallChunkAggregator<ChatCompletionChunk> chunkAggregator = new ToolCallChunkAggregator<>(
+			new ChatCompletionChunk(null, null, null, null, null, null, null, null), this.chunkMerger::merge,
+			this.chunkMerger::isStreamingToolFunctionCall, this.chunkMerger::isStreamingToolFunctionCallFinish);
+
 	/**
 	 * Create a new chat completion api.
 	 * @param baseUrl api base URL.
@@ -260,8 +265,6 @@ public class OpenAiApi {
 		Assert.notNull(chatRequest, REQUEST_BODY_NULL_MESSAGE);
 		Assert.isTrue(chatRequest.stream(), "Request must set the stream property to true.");
 
-		AtomicBoolean isInsideTool = new AtomicBoolean(false);
-
 		// @formatter:off
 		return this.webClient.post()
 			.uri(this.completionsPath)
@@ -271,40 +274,9 @@ public class OpenAiApi {
 			}) // @formatter:on
 			.bodyValue(chatRequest)
 			.retrieve()
-			.bodyToFlux(String.class)
-			// cancels the flux stream after the "[DONE]" is received.
-			.takeUntil(SSE_DONE_PREDICATE)
-			// filters out the "[DONE]" message.
-			.filter(SSE_DONE_PREDICATE.negate())
-			.map(content -> ModelOptionsUtils.jsonToObject(content, ChatCompletionChunk.class))
-			// Detect is the chunk is part of a streaming function call.
-			.map(chunk -> {
-				if (this.chunkMerger.isStreamingToolFunctionCall(chunk)) {
-					isInsideTool.set(true);
-				}
-				return chunk;
-			})
-			// Group all chunks belonging to the same function call.
-			// Flux<ChatCompletionChunk> -> Flux<Flux<ChatCompletionChunk>>
-			.windowUntil(chunk -> {
-				if (isInsideTool.get() && this.chunkMerger.isStreamingToolFunctionCallFinish(chunk)) {
-					isInsideTool.set(false);
-					return true;
-				}
-				return !isInsideTool.get();
-			})
-			// Merging the window chunks into a single chunk.
-			// Reduce the inner Flux<ChatCompletionChunk> window into a single
-			// Mono<ChatCompletionChunk>,
-			// Flux<Flux<ChatCompletionChunk>> -> Flux<Mono<ChatCompletionChunk>>
-			.concatMapIterable(window -> {
-				Mono<ChatCompletionChunk> monoChunk = window.reduce(
-						new ChatCompletionChunk(null, null, null, null, null, null, null, null),
-						(previous, current) -> this.chunkMerger.merge(previous, current));
-				return List.of(monoChunk);
-			})
-			// Flux<Mono<ChatCompletionChunk>> -> Flux<ChatCompletionChunk>
-			.flatMap(mono -> mono);
+			.bodyToFlux(DataBuffer.class)
+			.transform(this.chunkDecoder::decode)
+			.transform(this.chunkAggregator::aggregate);
 	}
 
 	/**
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.transformers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.springframework.util.Assert;
+
+/**
+ * Coalesces the embedding calls of concurrent threads into batches sorted by length.
+ *
+ * <p>
+ * Each call enqueues its inputs. The first waiting caller becomes the leader: it waits up
+ * to {@code maxWait} for more inputs, unless {@code maxBatchSize} inputs are already
+ * queued, then takes every queued input, sorts them by length and embeds them in batches
+ * of at most {@code maxBatchSize} inputs of similar length. The embeddings are handed
+ * back to the waiting callers, in the order of their inputs. Inputs queued while the
+ * leader is embedding are picked up by the next leader, so batches build up under load
+ * even with no wait at all.
+ *
+ * <p>
+ * Sorting by length keeps a long input from padding a whole batch of short ones to its
+ * length.
+ *
+ * @param <T> the type of the inputs
+ * @since 2.0.0
+ */
+final class EmbeddingBatchCoalescer<T> {
+
+	private final Function<List<T>, List<float[]>> batchEmbedder;
+
+	private final ToIntFunction<T> lengthFunction;
+
+	private final int maxBatchSize;
+
+	private final long maxWaitNanos;
+
+	private final Object monitor = new Object();
+
+	/**
+	 * The calls waiting for a leader to embed their inputs. Guarded by the monitor.
+	 */
+	private final ArrayDeque<PendingCall<T>> queue = new ArrayDeque<>();
+
+	/**
+	 * The number of inputs in the queue. Guarded by the monitor.
+	 */
+	private int queuedInputs;
+
+	/**
+	 * Whether a caller is embedding the queued inputs. Guarded by the monitor.
+	 */
+	private boolean leaderActive;
+
+	/**
+	 * Creates a new coalescer.
+	 * @param batchEmbedder embeds a batch of inputs, returning one embedding per input in
+	 * the same order
+	 * @param lengthFunction the length of an input, usually its number of tokens
+	 * @param maxBatchSize the maximum number of inputs embedded in one batch
+	 * @param maxWait how long the leader waits for more inputs before embedding them
+	 */
+	EmbeddingBatchCoalescer(Function<List<T>, List<float[]>> batchEmbedder, ToIntFunction<T> lengthFunction,
+			int maxBatchSize, Duration maxWait) {
+		Assert.notNull(batchEmbedder, "batchEmbedder must not be null");
+		Assert.notNull(lengthFunction, "lengthFunction must not be null");
+		Assert.isTrue(maxBatchSize > 0, "maxBatchSize must be positive");
+		Assert.notNull(maxWait, "maxWait must not be null");
+		Assert.isTrue(!maxWait.isNegative(), "maxWait must not be negative");
+		this.batchEmbedder = batchEmbedder;
+		this.lengthFunction = lengthFunction;
+		this.maxBatchSize = maxBatchSize;
+		this.maxWaitNanos = maxWait.toNanos();
+	}
+
+	/**
+	 * Embeds the given inputs, possibly together with the inputs of other threads.
+	 * @param inputs the inputs to embed
+	 * @return the embeddings, in the order of the inputs
+	 */
+	List<float[]> embed(List<T> inputs) {
+		Assert.notNull(inputs, "inputs must not be null");
+		if (inputs.isEmpty()) {
+			return List.of();
+		}
+		PendingCall<T> call = new PendingCall<>(inputs);
+		synchronized (this.monitor) {
+			this.queue.add(call);
+			this.queuedInputs += inputs.size();
+			this.monitor.notifyAll();
+			try {
+				while (!call.done && this.leaderActive) {
+					this.monitor.wait();
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for the embeddings", ex);
+			}
+			if (call.done) {
+				return call.result();
+			}
+			this.leaderActive = true;
+		}
+
+		List<PendingCall<T>> calls = List.of();
+		try {
+			calls = awaitAndDrain();
+			embedAll(calls);
+		}
+		finally {
+			synchronized (this.monitor) {
+				for (PendingCall<T> drained : calls) {
+					drained.complete();
+				}
+				this.leaderActive = false;
+				this.monitor.notifyAll();
+			}
+		}
+		return call.result();
+	}
+
+	private List<PendingCall<T>> awaitAndDrain() {
+		synchronized (this.monitor) {
+			long deadline = System.nanoTime() + this.maxWaitNanos;
+			long remaining = this.maxWaitNanos;
+			try {
+				while (this.queuedInputs < this.maxBatchSize && remaining > 0) {
+					TimeUnit.NANOSECONDS.timedWait(this.monitor, remaining);
+					remaining = deadline - System.nanoTime();
+				}
+			}
+			catch (InterruptedException ex) {
+				// Embed what has been queued so far, the caller sees the interrupt flag.
+				Thread.currentThread().interrupt();
+			}
+			List<PendingCall<T>> calls = new ArrayList<>(this.queue);
+			this.queue.clear();
+			this.queuedInputs = 0;
+			return calls;
+		}
+	}
+
+	private void embedAll(List<PendingCall<T>> calls) {
+		List<Slot<T>> slots = new ArrayList<>();
+		for (PendingCall<T> call : calls) {
+			for (int i = 0; i < call.inputs.size(); i++) {
+				T input = call.inputs.get(i);
+				slots.add(new Slot<>(call, i, input, this.lengthFunction.applyAsInt(input)));
+			}
+		}
+		slots.sort(Comparator.comparingInt(Slot::length));
+
+		for (int start = 0; start < slots.size(); start += this.maxBatchSize) {
+			List<Slot<T>> batch = slots.subList(start, Math.min(start + this.maxBatchSize, slots.size()));
+			try {
+				List<float[]> embeddings = this.batchEmbedder.apply(batch.stream().map(Slot::input).toList());
+				Assert.isTrue(embeddings.size() == batch.size(),
+						"Embeddings must have the same number as that of the inputs");
+				for (int i = 0; i < batch.size(); i++) {
+					Slot<T> slot = batch.get(i);
+					slot.call.embeddings[slot.index] = embeddings.get(i);
+				}
+			}
+			catch (RuntimeException ex) {
+				for (Slot<T> slot : batch) {
+					slot.call.fail(ex);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The inputs of one call and, once done, their embeddings or the failure to compute
+	 * them. Written by the leader and read by the caller under the monitor.
+	 */
+	private static final class PendingCall<T> {
+
+		private final List<T> inputs;
+
+		private final float[][] embeddings;
+
+		private RuntimeException failure;
+
+		private boolean done;
+
+		PendingCall(List<T> inputs) {
+			this.inputs = inputs;
+			this.embeddings = new float[inputs.size()][];
+		}
+
+		void fail(RuntimeException ex) {
+			if (this.failure == null) {
+				this.failure = ex;
+			}
+		}
+
+		void complete() {
+			if (this.failure == null && Arrays.stream(this.embeddings).anyMatch(embedding -> embedding == null)) {
+				this.failure = new IllegalStateException("Failed to embed the inputs");
+			}
+			this.done = true;
+		}
+
+		List<float[]> result() {
+			if (this.failure != null) {
+				throw this.failure;
+			}
+			return Arrays.asList(this.embeddings);
+		}
+
+	}
+
+	private record Slot<T>(PendingCall<T> call, int index, T input, int length) {
+	}
+
+}
@@ -16,23 +16,24 @@
 
 package org.springframework.ai.transformers;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import ai.djl.huggingface.tokenizers.Encoding;
 import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
 import ai.djl.modality.nlp.preprocess.Tokenizer;
-import ai.djl.ndarray.NDArray;
-import ai.djl.ndarray.NDManager;
-import ai.djl.ndarray.types.DataType;
-import ai.djl.ndarray.types.Shape;
 import ai.onnxruntime.OnnxTensor;
-import ai.onnxruntime.OnnxValue;
 import ai.onnxruntime.OrtEnvironment;
 import ai.onnxruntime.OrtException;
 import ai.onnxruntime.OrtSession;
@@ -89,12 +90,12 @@ public class TransformersEmbeddingModel extends AbstractEmbeddingModel implement
 
 	public static final String DEFAULT_MODEL_OUTPUT_NAME = "last_hidden_state";
 
+	public static final int DEFAULT_MAX_BATCH_SIZE = 32;
+
 	private static final Log logger = LogFactory.getLog(TransformersEmbeddingModel.class);
 
 	private static final EmbeddingModelObservationConvention DEFAULT_OBSERVATION_CONVENTION = new DefaultEmbeddingModelObservationConvention();
 
-	private static final int EMBEDDING_AXIS = 1;
-
 	/**
 	 * Specifies what parts of the {@link Document}'s content and metadata will be used
 	 * for computing the embeddings. Applicable for the {@link #embed(Document)} method
@@ -116,6 +117,33 @@ public class TransformersEmbeddingModel extends AbstractEmbeddingModel implement
 
 	private int gpuDeviceId = -1;
 
+	/**
+	 * Number of threads used to parallelize the execution within nodes. Uses the ONNX
+	 * runtime default if not positive.
+	 */
+	private int intraOpNumThreads = 0;
+
+	/**
+	 * Number of threads used to parallelize the execution of the graph across nodes. Uses
+	 * the ONNX runtime default if not positive.
+	 */
+	private int interOpNumThreads = 0;
+
+	/**
+	 * Graph optimization level. Uses the ONNX runtime default if not set.
+	 */
+	private OrtSession.SessionOptions.OptLevel optimizationLevel;
+
+	/**
+	 * Whether the CPU memory arena allocator is used.
+	 */
+	private boolean cpuArenaAllocator = true;
+
+	/**
+	 * Whether the embeddings are normalized to unit length (L2 norm).
+	 */
+	private boolean normalize = false;
+
 	/**
 	 * DJL, Huggingface tokenizer implementation of the {@link Tokenizer} interface that
 	 * converts sentences into token.
@@ -155,6 +183,28 @@ public class TransformersEmbeddingModel extends AbstractEmbeddingModel implement
 
 	private Set<String> onnxModelInputs;
 
+	/**
+	 * Maximum number of texts embedded in a single ONNX session run.
+	 */
+	private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+	/**
+	 * How long an embedding call waits for concurrent calls to share its ONNX session
+	 * runs. Defaults to no wait: concurrent calls are still batched together while a
+	 * session run is in progress.
+	 */
+	private Duration maxBatchWait = Duration.ZERO;
+
+	/**
+	 * Gathers the texts of concurrent calls and embeds them in batches of similar length.
+	 */
+	private EmbeddingBatchCoalescer<Encoding> batchCoalescer;
+
+	/**
+	 * Direct buffers holding the input tensors, reused across session runs.
+	 */
+	private final ConcurrentLinkedQueue<InputBuffers> inputBuffersPool = new ConcurrentLinkedQueue<>();
+
 	/**
 	 * Conventions to use for generating observations.
 	 */
@@ -215,6 +265,37 @@ public class TransformersEmbeddingModel extends AbstractEmbeddingModel implement
 		this.modelOutputName = modelOutputName;
 	}
 
+	public void setIntraOpNumThreads(int intraOpNumThreads) {
+		this.intraOpNumThreads = intraOpNumThreads;
+	}
+
+	public void setInterOpNumThreads(int interOpNumThreads) {
+		this.interOpNumThreads = interOpNumThreads;
+	}
+
+	public void setOptimizationLevel(OrtSession.SessionOptions.OptLevel optimizationLevel) {
+		this.optimizationLevel = optimizationLevel;
+	}
+
+	public void setCpuArenaAllocator(boolean cpuArenaAllocator) {
+		this.cpuArenaAllocator = cpuArenaAllocator;
+	}
+
+	public void setNormalize(boolean normalize) {
+		this.normalize = normalize;
+	}
+
+	public void setMaxBatchSize(int maxBatchSize) {
+		Assert.isTrue(maxBatchSize > 0, "maxBatchSize must be positive");
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	public void setMaxBatchWait(Duration maxBatchWait) {
+		Assert.notNull(maxBatchWait, "maxBatchWait must not be null");
+		Assert.isTrue(!maxBatchWait.isNegative(), "maxBatchWait must not be negative");
+		this.maxBatchWait = maxBatchWait;
+	}
+
 	@Override
 	public void afterPropertiesSet() throws Exception {
 
@@ -234,6 +315,16 @@ public class TransformersEmbeddingModel extends AbstractEmbeddingModel implement
 				sessionOptions.addCUDA(this.gpuDeviceId); // Run on a GPU or with another
 				// provider
 			}
+			if (this.intraOpNumThreads > 0) {
+				sessionOptions.setIntraOpNumThreads(this.intraOpNumThreads);
+			}
+			if (this.interOpNumThreads > 0) {
+				sessionOptions.setInterOpNumThreads(this.interOpNumThreads);
+			}
+			if (this.optimizationLevel != null) {
+				sessionOptions.setOptimizationLevel(this.optimizationLevel);
+			}
+			sessionOptions.setCPUArenaAllocator(this.cpuArenaAllocator);
 			this.session = this.environment.createSession(getCachedResource(this.modelResource).getContentAsByteArray(),
 					sessionOptions);
 		}
@@ -248,6 +339,9 @@ public class TransformersEmbeddingModel extends AbstractEmbeddingModel implement
 				"The generative output names don't contain expected: " + this.modelOutputName
 						+ ". Consider one of the available model outputs: "
 						+ onnxModelOutputs.stream().collect(Collectors.joining(", ")));
+
+		this.batchCoalescer = new EmbeddingBatchCoalescer<>(this::embedBatch, TransformersEmbeddingModel::tokenCount,
+				this.maxBatchSize, this.maxBatchWait);
 	}
 
 	private Resource getCachedResource(Resource resource) {
@@ -295,69 +389,133 @@ public class TransformersEmbeddingModel extends AbstractEmbeddingModel implement
 			.observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
 					this.observationRegistry)
 			.observe(() -> {
-				List<float[]> resultEmbeddings = new ArrayList<>();
+				Encoding[] encodings = this.tokenizer.batchEncode(request.getInstructions());
+				List<float[]> resultEmbeddings = this.batchCoalescer.embed(Arrays.asList(encodings));
 
-				try {
+				var indexCounter = new AtomicInteger(0);
 
-					Encoding[] encodings = this.tokenizer.batchEncode(request.getInstructions());
+				EmbeddingResponse embeddingResponse = new EmbeddingResponse(
+						resultEmbeddings.stream().map(e -> new Embedding(e, indexCounter.incrementAndGet())).toList());
+				observationContext.setResponse(embeddingResponse);
 
-					long[][] input_ids0 = new long[encodings.length][];
-					long[][] attention_mask0 = new long[encodings.length][];
-					long[][] token_type_ids0 = new long[encodings.length][];
+				return embeddingResponse;
+			});
+	}
 
-					for (int i = 0; i < encodings.length; i++) {
-						input_ids0[i] = encodings[i].getIds();
-						attention_mask0[i] = encodings[i].getAttentionMask();
-						token_type_ids0[i] = encodings[i].getTypeIds();
-					}
+	/**
+	 * Embeds texts of similar length in a single ONNX session run. The inputs are padded
+	 * to the longest text of the batch only, rather than to the padding length of the
+	 * tokenizer.
+	 */
+	private List<float[]> embedBatch(List<Encoding> encodings) {
+		int batchSize = encodings.size();
+		int sequenceLength = encodings.stream().mapToInt(TransformersEmbeddingModel::tokenCount).max().orElse(0);
+		long[] shape = new long[] { batchSize, sequenceLength };
+
+		InputBuffers buffers = acquireInputBuffers(batchSize * sequenceLength);
+		try {
+			for (Encoding encoding : encodings) {
+				buffers.put(encoding, sequenceLength);
+			}
+			buffers.flip();
 
-					try (OnnxTensor inputIds = OnnxTensor.createTensor(this.environment, input_ids0);
-							OnnxTensor attentionMask = OnnxTensor.createTensor(this.environment, attention_mask0);
-							OnnxTensor tokenTypeIds = OnnxTensor.createTensor(this.environment, token_type_ids0);) {
+			try (OnnxTensor inputIds = OnnxTensor.createTensor(this.environment, buffers.inputIds, shape);
+					OnnxTensor attentionMask = OnnxTensor.createTensor(this.environment, buffers.attentionMask, shape);
+					OnnxTensor tokenTypeIds = OnnxTensor.createTensor(this.environment, buffers.tokenTypeIds, shape)) {
 
-						Map<String, OnnxTensor> modelInputs = Map.of("input_ids", inputIds, "attention_mask",
-								attentionMask, "token_type_ids", tokenTypeIds);
+				Map<String, OnnxTensor> modelInputs = Map.of("input_ids", inputIds, "attention_mask", attentionMask,
+						"token_type_ids", tokenTypeIds);
 
-						modelInputs = removeUnknownModelInputs(modelInputs);
+				modelInputs = removeUnknownModelInputs(modelInputs);
 
-						// The Run result object is AutoCloseable to prevent references
-						// from leaking out. Once the Result object is
-						// closed, all it’s child OnnxValues are closed too.
-						try (OrtSession.Result results = this.session.run(modelInputs)) {
+				// The Run result object is AutoCloseable to prevent references
+				// from leaking out. Once the Result object is
+				// closed, all it’s child OnnxValues are closed too.
+				try (OrtSession.Result results = this.session.run(modelInputs)) {
 
-							// OnnxValue lastHiddenState = results.get(0);
-							OnnxValue lastHiddenState = results.get(this.modelOutputName).get();
+					OnnxTensor lastHiddenState = (OnnxTensor) results.get(this.modelOutputName).get();
 
-							// 0 - batch_size (1..x)
-							// 1 - sequence_length (128)
-							// 2 - embedding dimensions (384)
-							float[][][] tokenEmbeddings = (float[][][]) lastHiddenState.getValue();
+					// 0 - batch_size (1..x)
+					// 1 - sequence_length (longest text of the batch)
+					// 2 - embedding dimensions (384)
+					long[] outputShape = lastHiddenState.getInfo().getShape();
+					Assert.isTrue(
+							outputShape.length == 3 && outputShape[0] == batchSize && outputShape[1] == sequenceLength,
+							"Unexpected shape of the model output: " + Arrays.toString(outputShape));
 
-							try (NDManager manager = NDManager.newBaseManager()) {
-								NDArray ndTokenEmbeddings = create(tokenEmbeddings, manager);
-								NDArray ndAttentionMask = manager.create(attention_mask0);
+					return meanPooling(lastHiddenState.getFloatBuffer(), buffers.attentionMask, batchSize,
+							sequenceLength, (int) outputShape[2]);
+				}
+			}
+		}
+		catch (OrtException ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			this.inputBuffersPool.offer(buffers);
+		}
+	}
 
-								NDArray embedding = meanPooling(ndTokenEmbeddings, ndAttentionMask);
+	private InputBuffers acquireInputBuffers(int capacity) {
+		InputBuffers buffers = this.inputBuffersPool.poll();
+		if (buffers == null || buffers.capacity() < capacity) {
+			buffers = new InputBuffers(capacity);
+		}
+		buffers.clear();
+		return buffers;
+	}
 
-								for (int i = 0; i < embedding.size(0); i++) {
-									resultEmbeddings.add(embedding.get(i).toFloatArray());
-								}
-							}
-						}
-					}
+	/**
+	 * Averages the token embeddings of each text over its attended tokens, and normalizes
+	 * the result if requested.
+	 */
+	private List<float[]> meanPooling(FloatBuffer tokenEmbeddings, LongBuffer attentionMask, int batchSize,
+			int sequenceLength, int dimensions) {
+
+		List<float[]> embeddings = new ArrayList<>(batchSize);
+		for (int i = 0; i < batchSize; i++) {
+			float[] embedding = new float[dimensions];
+			int tokens = 0;
+			for (int j = 0; j < sequenceLength; j++) {
+				int token = i * sequenceLength + j;
+				if (attentionMask.get(token) == 0) {
+					continue;
 				}
-				catch (OrtException ex) {
-					throw new RuntimeException(ex);
+				tokens++;
+				int offset = token * dimensions;
+				for (int k = 0; k < dimensions; k++) {
+					embedding[k] += tokenEmbeddings.get(offset + k);
 				}
+			}
 
-				var indexCounter = new AtomicInteger(0);
+			float norm = 0;
+			for (int k = 0; k < dimensions; k++) {
+				embedding[k] /= Math.max(tokens, 1);
+				norm += embedding[k] * embedding[k];
+			}
 
-				EmbeddingResponse embeddingResponse = new EmbeddingResponse(
-						resultEmbeddings.stream().map(e -> new Embedding(e, indexCounter.incrementAndGet())).toList());
-				observationContext.setResponse(embeddingResponse);
+			if (this.normalize) {
+				float scale = 1 / Math.max((float) Math.sqrt(norm), 1e-12f);
+				for (int k = 0; k < dimensions; k++) {
+					embedding[k] *= scale;
+				}
+			}
+			embeddings.add(embedding);
+		}
+		return embeddings;
+	}
 
-				return embeddingResponse;
-			});
+	/**
+	 * Number of tokens of the encoding, up to its last attended token, so that the
+	 * trailing padding added by the tokenizer is not counted.
+	 */
+	private static int tokenCount(Encoding encoding) {
+		long[] attentionMask = encoding.getAttentionMask();
+		int count = attentionMask.length;
+		while (count > 1 && attentionMask[count - 1] == 0) {
+			count--;
+		}
+		return count;
 	}
 
 	private Map<String, OnnxTensor> removeUnknownModelInputs(Map<String, OnnxTensor> modelInputs) {
@@ -369,47 +527,70 @@ public class TransformersEmbeddingModel extends AbstractEmbeddingModel implement
 
 	}
 
-	// Build a NDArray from 3D float array.
-	private NDArray create(float[][][] data3d, NDManager manager) {
+	/**
+	 * Use the provided convention for reporting observation data
+	 * @param observationConvention The provided convention
+	 */
+	public void setObservationConvention(EmbeddingModelObservationConvention observationConvention) {
+		Assert.notNull(observationConvention, "observationConvention cannot be null");
+		this.observationConvention = observationConvention;
+	}
+
+	/**
+	 * Direct buffers holding the input ids, attention mask and token type ids of a batch,
+	 * passed to the ONNX runtime without copying.
+	 */
+	private static final class InputBuffers {
+
+		private final LongBuffer inputIds;
 
-		FloatBuffer buffer = FloatBuffer.allocate(data3d.length * data3d[0].length * data3d[0][0].length);
+		private final LongBuffer attentionMask;
 
-		for (float[][] data2d : data3d) {
-			for (float[] data1d : data2d) {
-				buffer.put(data1d);
-			}
-		}
-		buffer.rewind();
+		private final LongBuffer tokenTypeIds;
 
-		return manager.create(buffer, new Shape(data3d.length, data3d[0].length, data3d[0][0].length));
-	}
+		InputBuffers(int capacity) {
+			this.inputIds = allocate(capacity);
+			this.attentionMask = allocate(capacity);
+			this.tokenTypeIds = allocate(capacity);
+		}
 
-	private NDArray meanPooling(NDArray tokenEmbeddings, NDArray attentionMask) {
+		private static LongBuffer allocate(int capacity) {
+			return ByteBuffer.allocateDirect(capacity * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+		}
 
-		NDArray attentionMaskExpanded = attentionMask.expandDims(-1)
-			.broadcast(tokenEmbeddings.getShape())
-			.toType(DataType.FLOAT32, false);
+		int capacity() {
+			return this.inputIds.capacity();
+		}
 
-		// Multiply token embeddings with expanded attention mask
-		NDArray weightedEmbeddings = tokenEmbeddings.mul(attentionMaskExpanded);
+		void clear() {
+			this.inputIds.clear();
+			this.attentionMask.clear();
+			this.tokenTypeIds.clear();
+		}
 
-		// Sum along the appropriate axis
-		NDArray sumEmbeddings = weightedEmbeddings.sum(new int[] { EMBEDDING_AXIS });
+		/**
+		 * Appends the encoding, truncated or padded with zeros to the given length.
+		 */
+		void put(Encoding encoding, int sequenceLength) {
+			put(this.inputIds, encoding.getIds(), sequenceLength);
+			put(this.attentionMask, encoding.getAttentionMask(), sequenceLength);
+			put(this.tokenTypeIds, encoding.getTypeIds(), sequenceLength);
+		}
 
-		// Clamp the attention mask sum to avoid division by zero
-		NDArray sumMask = attentionMaskExpanded.sum(new int[] { EMBEDDING_AXIS }).clip(1e-9f, Float.MAX_VALUE);
+		private static void put(LongBuffer buffer, long[] values, int sequenceLength) {
+			int length = Math.min(values.length, sequenceLength);
+			buffer.put(values, 0, length);
+			for (int i = length; i < sequenceLength; i++) {
+				buffer.put(0L);
+			}
+		}
 
-		// Divide sum embeddings by sum mask
-		return sumEmbeddings.div(sumMask);
-	}
+		void flip() {
+			this.inputIds.flip();
+			this.attentionMask.flip();
+			this.tokenTypeIds.flip();
+		}
 
-	/**
-	 * Use the provided convention for reporting observation data
-	 * @param observationConvention The provided convention
-	 */
-	public void setObservationConvention(EmbeddingModelObservationConvention observationConvention) {
-		Assert.notNull(observationConvention, "observationConvention cannot be null");
-		this.observationConvention = observationConvention;
 	}
 
 }
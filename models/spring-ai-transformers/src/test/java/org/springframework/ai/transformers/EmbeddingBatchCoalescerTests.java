@@ -0,0 +1,141 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.transformers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link EmbeddingBatchCoalescer}.
+ */
+class EmbeddingBatchCoalescerTests {
+
+	private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+
+	private List<float[]> embedBatch(List<String> texts) {
+		this.batches.add(texts);
+		return texts.stream().map(text -> new float[] { text.length() }).toList();
+	}
+
+	@Test
+	void embedsInBatchesSortedByLengthAndKeepsOrder() {
+		EmbeddingBatchCoalescer<String> coalescer = new EmbeddingBatchCoalescer<>(this::embedBatch, String::length, 2,
+				Duration.ZERO);
+
+		List<float[]> embeddings = coalescer.embed(List.of("aaaa", "a", "aaa", "aa", "aaaaa"));
+
+		assertThat(embeddings).extracting(embedding -> embedding[0]).containsExactly(4f, 1f, 3f, 2f, 5f);
+		assertThat(this.batches).containsExactly(List.of("a", "aa"), List.of("aaa", "aaaa"), List.of("aaaaa"));
+	}
+
+	@Test
+	void coalescesConcurrentCalls() throws Exception {
+		CountDownLatch firstBatchStarted = new CountDownLatch(1);
+		CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+		EmbeddingBatchCoalescer<String> coalescer = new EmbeddingBatchCoalescer<>(texts -> {
+			if (this.batches.isEmpty()) {
+				firstBatchStarted.countDown();
+				await(releaseFirstBatch);
+			}
+			return embedBatch(texts);
+		}, String::length, 16, Duration.ZERO);
+
+		ExecutorService executor = Executors.newFixedThreadPool(5);
+		try {
+			CompletableFuture<List<float[]>> first = CompletableFuture.supplyAsync(() -> coalescer.embed(List.of("x")),
+					executor);
+			await(firstBatchStarted);
+			List<CompletableFuture<List<float[]>>> others = IntStream.range(1, 5)
+				.mapToObj(i -> CompletableFuture.supplyAsync(() -> coalescer.embed(List.of("y".repeat(i))), executor))
+				.toList();
+			// Let the other calls queue up behind the running batch.
+			Thread.sleep(200);
+			releaseFirstBatch.countDown();
+
+			assertThat(first.get()).hasSize(1);
+			for (int i = 0; i < others.size(); i++) {
+				assertThat(others.get(i).get().get(0)).containsExactly(i + 1);
+			}
+			assertThat(this.batches).containsExactly(List.of("x"), List.of("y", "yy", "yyy", "yyyy"));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void waitsForMoreInputsUpToMaxWait() throws Exception {
+		EmbeddingBatchCoalescer<String> coalescer = new EmbeddingBatchCoalescer<>(this::embedBatch, String::length, 2,
+				Duration.ofSeconds(5));
+
+		long start = System.nanoTime();
+		CompletableFuture<List<float[]>> first = CompletableFuture.supplyAsync(() -> coalescer.embed(List.of("a")));
+		Thread.sleep(100);
+		List<float[]> second = coalescer.embed(List.of("bb"));
+
+		assertThat(second.get(0)).containsExactly(2);
+		assertThat(first.get().get(0)).containsExactly(1);
+		assertThat(this.batches).containsExactly(List.of("a", "bb"));
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+	}
+
+	@Test
+	void failsOnlyTheCallsOfTheFailedBatch() {
+		EmbeddingBatchCoalescer<String> coalescer = new EmbeddingBatchCoalescer<>(texts -> {
+			if (texts.contains("boom")) {
+				throw new IllegalStateException("Failed to embed");
+			}
+			return embedBatch(texts);
+		}, String::length, 1, Duration.ZERO);
+
+		assertThatThrownBy(() -> coalescer.embed(List.of("a", "boom"))).isInstanceOf(IllegalStateException.class)
+			.hasMessage("Failed to embed");
+		assertThat(coalescer.embed(List.of("a"))).hasSize(1);
+	}
+
+	@Test
+	void returnsNoEmbeddingsForNoInputs() {
+		EmbeddingBatchCoalescer<String> coalescer = new EmbeddingBatchCoalescer<>(this::embedBatch, String::length, 2,
+				Duration.ZERO);
+
+		assertThat(coalescer.embed(List.of())).isEmpty();
+		assertThat(this.batches).isEmpty();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -25,6 +25,7 @@ import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.EmbeddingResponse;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -89,6 +90,21 @@ public class TransformersEmbeddingModelTests {
 		assertThat(DF.format(embed.getResults().get(1).getOutput()[383])).isEqualTo(DF.format(0.05501303821802139));
 	}
 
+	@Test
+	void embedNormalized() throws Exception {
+		TransformersEmbeddingModel embeddingModel = new TransformersEmbeddingModel();
+		embeddingModel.setNormalize(true);
+		embeddingModel.afterPropertiesSet();
+		float[] embed = embeddingModel.embed("Hello world");
+		assertThat(embed).hasSize(384);
+
+		double norm = 0;
+		for (float value : embed) {
+			norm += value * value;
+		}
+		assertThat(Math.sqrt(norm)).isCloseTo(1.0, within(1e-5));
+	}
+
 	@Test
 	void dimensions() throws Exception {
 
@@ -18,9 +18,7 @@ package org.springframework.ai.zhipuai.api;
 
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -35,8 +33,11 @@ import org.springframework.ai.model.ChatModelDescription;
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.model.NoopApiKey;
 import org.springframework.ai.model.SimpleApiKey;
+import org.springframework.ai.model.streaming.ServerSentEventJsonDecoder;
+import org.springframework.ai.model.streaming.ToolCallChunkAggregator;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -77,8 +78,6 @@ public class ZhiPuAiApi {
 
 	public static final String DEFAULT_COMPLETIONS_PATH = "/v4/chat/completions";
 
-	private static final Predicate<String> SSE_DONE_PREDICATE = "[DONE]"::equals;
-
 	private final String baseUrl;
 
 	private final ApiKey apiKey;
@@ -97,6 +96,13 @@ public class ZhiPuAiApi {
 
 	private final ZhiPuAiStreamFunctionCallingHelper chunkMerger = new ZhiPuAiStreamFunctionCallingHelper();
 
+	private final ServerSentEventJsonDecoder<ChatCompletionChunk> chunkDecoder = new ServerSentEventJsonDecoder<>(
+			ChatCompletionChunk.class);
+
+	private final ToolCallChunkAggregator<ChatCompletionChunk> chunkAggregator = new ToolCallChunkAggregator<>(
+			new ChatCompletionChunk(null, null, null, null, null, null, null), this.chunkMerger::merge,
+			this.chunkMerger::isStreamingToolFunctionCall, this.chunkMerger::isStreamingToolFunctionCallFinish);
+
 	/**
 	 * Create a new chat completion api.
 	 * @param baseUrl api base URL.
@@ -231,8 +237,6 @@ public class ZhiPuAiApi {
 		Assert.notNull(chatRequest, "The request body can not be null.");
 		Assert.isTrue(chatRequest.stream(), "Request must set the stream property to true.");
 
-		AtomicBoolean isInsideTool = new AtomicBoolean(false);
-
 		// @formatter:off
 		return this.webClient.post()
 			.uri(this.completionsPath)
@@ -242,29 +246,9 @@ public class ZhiPuAiApi {
 			}) // @formatter:on
 			.body(Mono.just(chatRequest), ChatCompletionRequest.class)
 			.retrieve()
-			.bodyToFlux(String.class)
-			.takeUntil(SSE_DONE_PREDICATE)
-			.filter(SSE_DONE_PREDICATE.negate())
-			.map(content -> ModelOptionsUtils.jsonToObject(content, ChatCompletionChunk.class))
-			.map(chunk -> {
-				if (this.chunkMerger.isStreamingToolFunctionCall(chunk)) {
-					isInsideTool.set(true);
-				}
-				return chunk;
-			})
-			.windowUntil(chunk -> {
-				if (isInsideTool.get() && this.chunkMerger.isStreamingToolFunctionCallFinish(chunk)) {
-					isInsideTool.set(false);
-					return true;
-				}
-				return !isInsideTool.get();
-			})
-			.concatMapIterable(window -> {
-				Mono<ChatCompletionChunk> monoChunk = window
-					.reduce(new ChatCompletionChunk(null, null, null, null, null, null, null), this.chunkMerger::merge);
-				return List.of(monoChunk);
-			})
-			.flatMap(mono -> mono);
+			.bodyToFlux(DataBuffer.class)
+			.transform(this.chunkDecoder::decode)
+			.transform(this.chunkAggregator::aggregate);
 	}
 
 	/**
@@ -34,6 +34,7 @@ import org.springframework.ai.chat.client.advisor.api.BaseAdvisorChain;
 import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
 import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
 import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
 import org.springframework.ai.chat.client.advisor.observation.AdvisorObservationContext;
 import org.springframework.ai.chat.client.advisor.observation.AdvisorObservationConvention;
 import org.springframework.ai.chat.client.advisor.observation.AdvisorObservationDocumentation;
@@ -168,6 +169,26 @@ public class DefaultAroundAdvisorChain implements BaseAdvisorChain {
 		return DefaultAroundAdvisorChain.builder(this.getObservationRegistry()).pushAll(remainingCallAdvisors).build();
 	}
 
+	@Override
+	public StreamAdvisorChain copy(StreamAdvisor after) {
+
+		Assert.notNull(after, "The after stream advisor must not be null");
+
+		List<StreamAdvisor> streamAdvisors = this.getStreamAdvisors();
+
+		int afterAdvisorIndex = streamAdvisors.indexOf(after);
+
+		if (afterAdvisorIndex < 0) {
+			throw new IllegalArgumentException("The specified advisor is not part of the chain: " + after.getName());
+		}
+
+		var remainingStreamAdvisors = streamAdvisors.subList(afterAdvisorIndex + 1, streamAdvisors.size());
+
+		return DefaultAroundAdvisorChain.builder(this.getObservationRegistry())
+			.pushAll(remainingStreamAdvisors)
+			.build();
+	}
+
 	@Override
 	public List<CallAdvisor> getCallAdvisors() {
 		return this.originalCallAdvisors;
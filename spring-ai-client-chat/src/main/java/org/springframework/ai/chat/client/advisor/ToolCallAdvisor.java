@@ -16,7 +16,14 @@
 
 package org.springframework.ai.chat.client.advisor;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.ai.chat.client.ChatClientRequest;
 import org.springframework.ai.chat.client.ChatClientResponse;
@@ -25,13 +32,19 @@ import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
 import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
 import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
 import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.model.tool.ToolCallingChatOptions;
 import org.springframework.ai.model.tool.ToolCallingManager;
 import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.model.tool.internal.ToolCallReactiveContextHolder;
 import org.springframework.core.Ordered;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 /**
  * Recursive Advisor that disables the internal tool execution flow and instead implements
@@ -41,6 +54,12 @@ import org.springframework.util.Assert;
  * <p>
  * This enables intercepting the tool calling loop by the rest of the advisors next in the
  * chain.
+ * <p>
+ * When streaming, text chunks are passed through as soon as they are received, while the
+ * chunks carrying tool calls are held back and aggregated. Once the model response is
+ * complete, the tools are executed on the bounded elastic scheduler and the rest of the
+ * chain is streamed again with the tool results, so that the demand of the subscriber is
+ * honored across all the tool calling rounds.
  *
  * @author Christian Tzolov
  */
@@ -174,7 +193,187 @@ public class ToolCallAdvisor implements CallAdvisor, StreamAdvisor {
 	@Override
 	public Flux<ChatClientResponse> adviseStream(ChatClientRequest chatClientRequest,
 			StreamAdvisorChain streamAdvisorChain) {
-		return Flux.error(new UnsupportedOperationException("Unimplemented method 'adviseStream'"));
+		Assert.notNull(streamAdvisorChain, "streamAdvisorChain must not be null");
+		Assert.notNull(chatClientRequest, "chatClientRequest must not be null");
+
+		if (chatClientRequest.prompt().getOptions() == null
+				|| !(chatClientRequest.prompt().getOptions() instanceof ToolCallingChatOptions)) {
+			throw new IllegalArgumentException(
+					"ToolCall Advisor requires ToolCallingChatOptions to be set in the ChatClientRequest options.");
+		}
+
+		ChatClientRequest initializedRequest = this.doInitializeStreamLoop(chatClientRequest, streamAdvisorChain);
+
+		// Overwrite the ToolCallingChatOptions to disable internal tool execution.
+		var optionsCopy = (ToolCallingChatOptions) initializedRequest.prompt().getOptions().copy();
+		optionsCopy.setInternalToolExecutionEnabled(false);
+
+		return this.streamToolCallingRound(initializedRequest, optionsCopy,
+				initializedRequest.prompt().getInstructions(), streamAdvisorChain);
+	}
+
+	private Flux<ChatClientResponse> streamToolCallingRound(ChatClientRequest chatClientRequest,
+			ToolCallingChatOptions options, List<Message> instructions, StreamAdvisorChain streamAdvisorChain) {
+
+		return Flux.defer(() -> {
+			var processedChatClientRequest = this.doBeforeStream(ChatClientRequest.builder()
+				.prompt(new Prompt(instructions, options))
+				.context(chatClientRequest.context())
+				.build(), streamAdvisorChain);
+
+			ToolCallAggregator toolCallAggregator = new ToolCallAggregator();
+
+			return streamAdvisorChain.copy(this)
+				.nextStream(processedChatClientRequest)
+				.filter(toolCallAggregator::passThrough)
+				.concatWith(Flux.defer(() -> toolCallAggregator.hasToolCalls()
+						? this.streamToolExecution(chatClientRequest, processedChatClientRequest,
+								toolCallAggregator.toChatClientResponse(), options, streamAdvisorChain)
+						: Flux.empty()));
+		});
+	}
+
+	private Flux<ChatClientResponse> streamToolExecution(ChatClientRequest chatClientRequest,
+			ChatClientRequest processedChatClientRequest, ChatClientResponse toolCallResponse,
+			ToolCallingChatOptions options, StreamAdvisorChain streamAdvisorChain) {
+
+		return this.executeToolCalls(processedChatClientRequest, toolCallResponse).flatMapMany(toolExecutionResult -> {
+			if (toolExecutionResult.returnDirect()) {
+				// Return tool execution result directly to the application client.
+				return Flux.just(toolCallResponse.mutate()
+					.chatResponse(ChatResponse.builder()
+						.from(toolCallResponse.chatResponse())
+						.generations(ToolExecutionResult.buildGenerations(toolExecutionResult))
+						.build())
+					.build());
+			}
+			return this.streamToolCallingRound(chatClientRequest, options, toolExecutionResult.conversationHistory(),
+					streamAdvisorChain);
+		});
+	}
+
+	/**
+	 * Executes the tool calls on the bounded elastic scheduler, since tools are blocking
+	 * and must not run on the threads emitting the model responses.
+	 */
+	private Mono<ToolExecutionResult> executeToolCalls(ChatClientRequest chatClientRequest,
+			ChatClientResponse chatClientResponse) {
+		return Mono.deferContextual(contextView -> {
+			try {
+				ToolCallReactiveContextHolder.setContext(contextView);
+				return Mono.just(this.toolCallingManager.executeToolCalls(chatClientRequest.prompt(),
+						chatClientResponse.chatResponse()));
+			}
+			finally {
+				ToolCallReactiveContextHolder.clearContext();
+			}
+		}).subscribeOn(Schedulers.boundedElastic());
+	}
+
+	protected ChatClientRequest doInitializeStreamLoop(ChatClientRequest chatClientRequest,
+			StreamAdvisorChain streamAdvisorChain) {
+		return chatClientRequest;
+	}
+
+	protected ChatClientRequest doBeforeStream(ChatClientRequest chatClientRequest,
+			StreamAdvisorChain streamAdvisorChain) {
+		return chatClientRequest;
+	}
+
+	/**
+	 * Aggregates the streamed chunks of a single model response carrying tool calls.
+	 * Chunks without tool calls are passed through, and their text is kept as the text of
+	 * the assistant message requesting the tool calls.
+	 */
+	private static final class ToolCallAggregator {
+
+		private final StringBuilder text = new StringBuilder();
+
+		private final Map<String, AssistantMessage.ToolCall> toolCalls = new LinkedHashMap<>();
+
+		@Nullable
+		private ChatClientResponse lastToolCallResponse;
+
+		@Nullable
+		private String lastToolCallKey;
+
+		boolean passThrough(ChatClientResponse chatClientResponse) {
+			ChatResponse chatResponse = chatClientResponse.chatResponse();
+			if (chatResponse == null) {
+				return true;
+			}
+			for (Generation generation : chatResponse.getResults()) {
+				if (generation.getOutput().getText() != null) {
+					this.text.append(generation.getOutput().getText());
+				}
+			}
+			if (!chatResponse.hasToolCalls()) {
+				return true;
+			}
+			this.lastToolCallResponse = chatClientResponse;
+			for (Generation generation : chatResponse.getResults()) {
+				generation.getOutput().getToolCalls().forEach(this::add);
+			}
+			return false;
+		}
+
+		/**
+		 * Adds a tool call, merging the argument fragments of a tool call streamed over
+		 * several chunks. A fragment either repeats the identifier of its tool call or
+		 * has neither identifier nor name, in which case it continues the previous tool
+		 * call.
+		 */
+		private void add(AssistantMessage.ToolCall toolCall) {
+			String key = StringUtils.hasText(toolCall.id()) ? toolCall.id()
+					: (!StringUtils.hasText(toolCall.name()) ? this.lastToolCallKey : null);
+			AssistantMessage.ToolCall previous = (key != null) ? this.toolCalls.get(key) : null;
+			if (previous == null) {
+				key = (key != null) ? key : "#" + this.toolCalls.size();
+				this.toolCalls.put(key, toolCall);
+			}
+			else {
+				this.toolCalls.put(key,
+						new AssistantMessage.ToolCall(previous.id(), previous.type(),
+								StringUtils.hasText(previous.name()) ? previous.name() : toolCall.name(),
+								concat(previous.arguments(), toolCall.arguments())));
+			}
+			this.lastToolCallKey = key;
+		}
+
+		private static String concat(@Nullable String first, @Nullable String second) {
+			return ((first != null) ? first : "") + ((second != null) ? second : "");
+		}
+
+		boolean hasToolCalls() {
+			return this.lastToolCallResponse != null;
+		}
+
+		/**
+		 * Returns the last response carrying tool calls, with a single generation holding
+		 * the aggregated text and tool calls.
+		 */
+		ChatClientResponse toChatClientResponse() {
+			Assert.state(this.lastToolCallResponse != null, "No tool calls were received");
+			ChatResponse chatResponse = this.lastToolCallResponse.chatResponse();
+			Generation lastGeneration = chatResponse.getResults()
+				.stream()
+				.filter(generation -> generation.getOutput().hasToolCalls())
+				.reduce((first, second) -> second)
+				.orElseThrow();
+			AssistantMessage assistantMessage = AssistantMessage.builder()
+				.content(this.text.toString())
+				.properties(lastGeneration.getOutput().getMetadata())
+				.toolCalls(new ArrayList<>(this.toolCalls.values()))
+				.media(lastGeneration.getOutput().getMedia())
+				.build();
+			return this.lastToolCallResponse.mutate()
+				.chatResponse(ChatResponse.builder()
+					.from(chatResponse)
+					.generations(List.of(new Generation(assistantMessage, lastGeneration.getMetadata())))
+					.build())
+				.build();
+		}
+
 	}
 
 	/**
@@ -245,6 +245,44 @@ class DefaultAroundAdvisorChainTests {
 		assertThat(newChain.getObservationRegistry()).isSameAs(customRegistry);
 	}
 
+	@Test
+	void whenCopyingStreamChainThenReturnChainWithRemainingAdvisors() {
+		StreamAdvisor advisor1 = createMockStreamAdvisor("advisor1", 1);
+		StreamAdvisor advisor2 = createMockStreamAdvisor("advisor2", 2);
+		StreamAdvisor advisor3 = createMockStreamAdvisor("advisor3", 3);
+
+		StreamAdvisorChain chain = DefaultAroundAdvisorChain.builder(ObservationRegistry.NOOP)
+			.pushAll(List.of(advisor1, advisor2, advisor3))
+			.build();
+
+		StreamAdvisorChain newChain = chain.copy(advisor1);
+
+		assertThat(newChain.getStreamAdvisors()).extracting(StreamAdvisor::getName)
+			.containsExactly("advisor2", "advisor3");
+		assertThat(chain.getStreamAdvisors()).hasSize(3);
+		assertThatThrownBy(() -> newChain.copy(advisor1)).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("The specified advisor is not part of the chain");
+	}
+
+	private StreamAdvisor createMockStreamAdvisor(String name, int order) {
+		return new StreamAdvisor() {
+			@Override
+			public String getName() {
+				return name;
+			}
+
+			@Override
+			public int getOrder() {
+				return order;
+			}
+
+			@Override
+			public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+				return chain.nextStream(request);
+			}
+		};
+	}
+
 	private CallAdvisor createMockAdvisor(String name, int order) {
 		return new CallAdvisor() {
 			@Override
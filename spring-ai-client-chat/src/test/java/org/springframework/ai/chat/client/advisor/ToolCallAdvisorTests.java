@@ -16,6 +16,7 @@
 
 package org.springframework.ai.chat.client.advisor;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
@@ -23,6 +24,7 @@ import java.util.function.BiFunction;
 import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -34,6 +36,7 @@ import org.springframework.ai.chat.client.ChatClientResponse;
 import org.springframework.ai.chat.client.advisor.api.BaseAdvisor;
 import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
 import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
 import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
@@ -353,14 +356,100 @@ public class ToolCallAdvisorTests {
 	}
 
 	@Test
-	void testAdviseStreamThrowsUnsupportedOperationException() {
-		ToolCallAdvisor advisor = ToolCallAdvisor.builder().build();
+	void testAdviseStreamWithoutToolCallsPassesChunksThrough() {
+		ToolCallAdvisor advisor = ToolCallAdvisor.builder().toolCallingManager(this.toolCallingManager).build();
+
 		ChatClientRequest request = createMockRequest(true);
+		StreamAdvisor terminalAdvisor = new TerminalStreamAdvisor(
+				(req, chain) -> Flux.just(textChunk("Hello"), textChunk(" world")));
+		StreamAdvisorChain realChain = DefaultAroundAdvisorChain.builder(ObservationRegistry.NOOP)
+			.pushAll(List.of(advisor, terminalAdvisor))
+			.build();
 
-		Flux<ChatClientResponse> result = advisor.adviseStream(request, this.streamAdvisorChain);
+		List<ChatClientResponse> result = advisor.adviseStream(request, realChain).collectList().block();
 
-		assertThatThrownBy(() -> result.blockFirst()).isInstanceOf(UnsupportedOperationException.class)
-			.hasMessageContaining("Unimplemented method 'adviseStream'");
+		assertThat(result).extracting(response -> response.chatResponse().getResult().getOutput().getText())
+			.containsExactly("Hello", " world");
+		verify(this.toolCallingManager, times(0)).executeToolCalls(any(), any());
+	}
+
+	@Test
+	void testAdviseStreamWithToolCallIterations() {
+		ToolCallAdvisor advisor = ToolCallAdvisor.builder().toolCallingManager(this.toolCallingManager).build();
+
+		ChatClientRequest request = createMockRequest(true);
+		List<ChatClientRequest> capturedRequests = new ArrayList<>();
+		StreamAdvisor terminalAdvisor = new TerminalStreamAdvisor((req, chain) -> {
+			capturedRequests.add(req);
+			if (capturedRequests.size() == 1) {
+				return Flux.just(textChunk("Let me check. "),
+						toolCallChunk(new AssistantMessage.ToolCall("tool-1", "function", "weather", "{\"city\":")),
+						toolCallChunk(new AssistantMessage.ToolCall("tool-1", "function", "", "\"Paris\"}")));
+			}
+			return Flux.just(textChunk("It is"), textChunk(" sunny"));
+		});
+		StreamAdvisorChain realChain = DefaultAroundAdvisorChain.builder(ObservationRegistry.NOOP)
+			.pushAll(List.of(advisor, terminalAdvisor))
+			.build();
+
+		List<Message> conversationHistory = List.of(new UserMessage("test"),
+				AssistantMessage.builder().content("").build(), ToolResponseMessage.builder().build());
+		ArgumentCaptor<ChatResponse> toolCallResponse = ArgumentCaptor.forClass(ChatResponse.class);
+		when(this.toolCallingManager.executeToolCalls(any(Prompt.class), toolCallResponse.capture()))
+			.thenReturn(ToolExecutionResult.builder().conversationHistory(conversationHistory).build());
+
+		List<ChatClientResponse> result = advisor.adviseStream(request, realChain).collectList().block();
+
+		assertThat(result).extracting(response -> response.chatResponse().getResult().getOutput().getText())
+			.containsExactly("Let me check. ", "It is", " sunny");
+		assertThat(capturedRequests).hasSize(2);
+		assertThat(capturedRequests.get(1).prompt().getInstructions()).isEqualTo(conversationHistory);
+		AssistantMessage toolCallMessage = toolCallResponse.getValue().getResult().getOutput();
+		assertThat(toolCallMessage.getText()).isEqualTo("Let me check. ");
+		assertThat(toolCallMessage.getToolCalls())
+			.containsExactly(new AssistantMessage.ToolCall("tool-1", "function", "weather", "{\"city\":\"Paris\"}"));
+		ToolCallingChatOptions capturedOptions = (ToolCallingChatOptions) capturedRequests.get(0).prompt().getOptions();
+		assertThat(capturedOptions.getInternalToolExecutionEnabled()).isFalse();
+	}
+
+	@Test
+	void testAdviseStreamWithReturnDirectToolExecution() {
+		ToolCallAdvisor advisor = ToolCallAdvisor.builder().toolCallingManager(this.toolCallingManager).build();
+
+		ChatClientRequest request = createMockRequest(true);
+		StreamAdvisor terminalAdvisor = new TerminalStreamAdvisor((req, chain) -> Flux
+			.just(toolCallChunk(new AssistantMessage.ToolCall("tool-1", "function", "testTool", "{}"))));
+		StreamAdvisorChain realChain = DefaultAroundAdvisorChain.builder(ObservationRegistry.NOOP)
+			.pushAll(List.of(advisor, terminalAdvisor))
+			.build();
+
+		ToolResponseMessage toolResponseMessage = ToolResponseMessage.builder()
+			.responses(List.of(new ToolResponseMessage.ToolResponse("tool-1", "testTool", "Tool result data")))
+			.build();
+		ToolExecutionResult toolExecutionResult = ToolExecutionResult.builder()
+			.conversationHistory(List.of(new UserMessage("test"), AssistantMessage.builder().content("").build(),
+					toolResponseMessage))
+			.returnDirect(true)
+			.build();
+		when(this.toolCallingManager.executeToolCalls(any(Prompt.class), any(ChatResponse.class)))
+			.thenReturn(toolExecutionResult);
+
+		List<ChatClientResponse> result = advisor.adviseStream(request, realChain).collectList().block();
+
+		assertThat(result).hasSize(1);
+		assertThat(result.get(0).chatResponse().getResults().get(0).getOutput().getText())
+			.isEqualTo("Tool result data");
+		verify(this.toolCallingManager, times(1)).executeToolCalls(any(Prompt.class), any(ChatResponse.class));
+	}
+
+	@Test
+	void testAdviseStreamWithoutToolCallingOptionsThenThrow() {
+		ToolCallAdvisor advisor = ToolCallAdvisor.builder().build();
+		ChatClientRequest request = createMockRequest(false);
+
+		assertThatThrownBy(() -> advisor.adviseStream(request, this.streamAdvisorChain))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("ToolCall Advisor requires ToolCallingChatOptions");
 	}
 
 	@Test
@@ -542,6 +631,46 @@ public class ToolCallAdvisorTests {
 		return response;
 	}
 
+	private static ChatClientResponse textChunk(String text) {
+		return ChatClientResponse.builder()
+			.chatResponse(
+					ChatResponse.builder().generations(List.of(new Generation(new AssistantMessage(text)))).build())
+			.build();
+	}
+
+	private static ChatClientResponse toolCallChunk(AssistantMessage.ToolCall toolCall) {
+		AssistantMessage assistantMessage = AssistantMessage.builder().content("").toolCalls(List.of(toolCall)).build();
+		return ChatClientResponse.builder()
+			.chatResponse(ChatResponse.builder().generations(List.of(new Generation(assistantMessage))).build())
+			.build();
+	}
+
+	private static class TerminalStreamAdvisor implements StreamAdvisor {
+
+		private final BiFunction<ChatClientRequest, StreamAdvisorChain, Flux<ChatClientResponse>> responseFunction;
+
+		TerminalStreamAdvisor(
+				BiFunction<ChatClientRequest, StreamAdvisorChain, Flux<ChatClientResponse>> responseFunction) {
+			this.responseFunction = responseFunction;
+		}
+
+		@Override
+		public String getName() {
+			return "terminal";
+		}
+
+		@Override
+		public int getOrder() {
+			return 0;
+		}
+
+		@Override
+		public Flux<ChatClientResponse> adviseStream(ChatClientRequest req, StreamAdvisorChain chain) {
+			return this.responseFunction.apply(req, chain);
+		}
+
+	}
+
 	private static class TerminalCallAdvisor implements CallAdvisor {
 
 		private final BiFunction<ChatClientRequest, CallAdvisorChain, ChatClientResponse> responseFunction;
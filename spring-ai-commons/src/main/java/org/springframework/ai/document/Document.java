@@ -19,6 +19,7 @@ package org.springframework.ai.document;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -99,9 +100,19 @@ public class Document {
 
 	/**
 	 * Metadata for the document. It should not be nested and values should be restricted
-	 * to string, int, float, boolean for simple use with Vector Dbs.
+	 * to string, int, float, boolean for simple use with Vector Dbs. Resolved from the
+	 * {@link #lazyMetadata} on first access when the document was built with
+	 * {@link Builder#lazyMetadata(Supplier)}.
 	 */
-	private final Map<String, Object> metadata;
+	@Nullable
+	private volatile Map<String, Object> metadata;
+
+	/**
+	 * Source of the metadata of a lazily materialized document, also guarding its
+	 * resolution.
+	 */
+	@Nullable
+	private final LazyMetadata lazyMetadata;
 
 	/**
 	 * A numeric score associated with this document that can represent various types of
@@ -150,18 +161,36 @@ public class Document {
 
 	private Document(String id, String text, Media media, Map<String, Object> metadata, @Nullable Double score) {
 		Assert.hasText(id, "id cannot be null or empty");
-		Assert.notNull(metadata, "metadata cannot be null");
-		Assert.noNullElements(metadata.keySet(), "metadata cannot have null keys");
-		Assert.noNullElements(metadata.values(), "metadata cannot have null values");
 		Assert.isTrue(text != null ^ media != null, "exactly one of text or media must be specified");
 
 		this.id = id;
 		this.text = text;
 		this.media = media;
-		this.metadata = new HashMap<>(metadata);
+		this.metadata = copyMetadata(metadata);
+		this.lazyMetadata = null;
 		this.score = score;
 	}
 
+	private Document(String id, String text, Media media, Supplier<Map<String, Object>> metadataSupplier,
+			Map<String, Object> extraMetadata, @Nullable Double score) {
+		Assert.hasText(id, "id cannot be null or empty");
+		Assert.notNull(metadataSupplier, "metadataSupplier cannot be null");
+		Assert.isTrue(text != null ^ media != null, "exactly one of text or media must be specified");
+
+		this.id = id;
+		this.text = text;
+		this.media = media;
+		this.lazyMetadata = new LazyMetadata(metadataSupplier, copyMetadata(extraMetadata));
+		this.score = score;
+	}
+
+	private static Map<String, Object> copyMetadata(Map<String, Object> metadata) {
+		Assert.notNull(metadata, "metadata cannot be null");
+		Assert.noNullElements(metadata.keySet(), "metadata cannot have null keys");
+		Assert.noNullElements(metadata.values(), "metadata cannot have null values");
+		return new HashMap<>(metadata);
+	}
+
 	public static Builder builder() {
 		return new Builder();
 	}
@@ -234,10 +263,27 @@ public class Document {
 	 * <p>
 	 * The metadata values are restricted to simple types (string, int, float, boolean)
 	 * for compatibility with Vector Databases.
+	 * <p>
+	 * For documents built with {@link Builder#lazyMetadata(Supplier)}, the metadata is
+	 * resolved on the first call.
 	 * @return the metadata map
 	 */
 	public Map<String, Object> getMetadata() {
-		return this.metadata;
+		Map<String, Object> metadata = this.metadata;
+		return (metadata != null) ? metadata : resolveMetadata();
+	}
+
+	private Map<String, Object> resolveMetadata() {
+		LazyMetadata lazyMetadata = this.lazyMetadata;
+		Assert.state(lazyMetadata != null, "metadata cannot be null");
+		synchronized (lazyMetadata) {
+			Map<String, Object> metadata = this.metadata;
+			if (metadata == null) {
+				metadata = lazyMetadata.resolve();
+				this.metadata = metadata;
+			}
+			return metadata;
+		}
 	}
 
 	@Nullable
@@ -263,7 +309,7 @@ public class Document {
 	}
 
 	public Builder mutate() {
-		return new Builder().id(this.id).text(this.text).media(this.media).metadata(this.metadata).score(this.score);
+		return new Builder().id(this.id).text(this.text).media(this.media).metadata(getMetadata()).score(this.score);
 	}
 
 	@Override
@@ -273,19 +319,21 @@ public class Document {
 		}
 		Document document = (Document) o;
 		return Objects.equals(this.id, document.id) && Objects.equals(this.text, document.text)
-				&& Objects.equals(this.media, document.media) && Objects.equals(this.metadata, document.metadata)
+				&& Objects.equals(this.media, document.media) && Objects.equals(getMetadata(), document.getMetadata())
 				&& Objects.equals(this.score, document.score);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.id, this.text, this.media, this.metadata, this.score);
+		return Objects.hash(this.id, this.text, this.media, getMetadata(), this.score);
 	}
 
 	@Override
 	public String toString() {
+		// Not resolving lazily materialized metadata just to log the document
+		Map<String, Object> metadata = this.metadata;
 		return "Document{" + "id='" + this.id + '\'' + ", text='" + this.text + '\'' + ", media='" + this.media + '\''
-				+ ", metadata=" + this.metadata + ", score=" + this.score + '}';
+				+ ", metadata=" + ((metadata != null) ? metadata : "<unresolved>") + ", score=" + this.score + '}';
 	}
 
 	public static final class Builder {
@@ -298,6 +346,9 @@ public class Document {
 
 		private Map<String, Object> metadata = new HashMap<>();
 
+		@Nullable
+		private Supplier<Map<String, Object>> metadataSupplier;
+
 		@Nullable
 		private Double score;
 
@@ -346,6 +397,27 @@ public class Document {
 		public Builder metadata(Map<String, Object> metadata) {
 			Assert.notNull(metadata, "metadata cannot be null");
 			this.metadata = metadata;
+			this.metadataSupplier = null;
+			return this;
+		}
+
+		/**
+		 * Sets a supplier of the metadata, invoked the first time the metadata of the
+		 * built document is accessed instead of when the document is built. Replaces any
+		 * metadata set so far; entries added afterwards with
+		 * {@link #metadata(String, Object)} are merged into the supplied metadata. Those
+		 * entries are validated when the document is built, the supplied metadata when it
+		 * is resolved.
+		 * <p>
+		 * Vector stores use it to defer decoding the stored metadata of search results
+		 * that may be discarded without ever being inspected.
+		 * @param metadataSupplier the supplier of the metadata, invoked at most once
+		 * @return the builder instance
+		 */
+		public Builder lazyMetadata(Supplier<Map<String, Object>> metadataSupplier) {
+			Assert.notNull(metadataSupplier, "metadataSupplier cannot be null");
+			this.metadataSupplier = metadataSupplier;
+			this.metadata = new HashMap<>();
 			return this;
 		}
 
@@ -378,6 +450,16 @@ public class Document {
 		}
 
 		public Document build() {
+			if (this.metadataSupplier != null) {
+				if (StringUtils.hasText(this.id)) {
+					return new Document(this.id, this.text, this.media, this.metadataSupplier, this.metadata,
+							this.score);
+				}
+				Map<String, Object> metadata = new HashMap<>(this.metadataSupplier.get());
+				metadata.putAll(this.metadata);
+				this.metadata = metadata;
+				this.metadataSupplier = null;
+			}
 			if (!StringUtils.hasText(this.id)) {
 				this.id = this.idGenerator.generateId(this.text, this.metadata);
 			}
@@ -386,4 +468,33 @@ public class Document {
 
 	}
 
+	/**
+	 * Supplied metadata of a lazily materialized document, along with the entries added
+	 * to it. Only used by the document holding it, which locks on it while resolving.
+	 */
+	private static final class LazyMetadata {
+
+		@Nullable
+		private Supplier<Map<String, Object>> supplier;
+
+		@Nullable
+		private Map<String, Object> extraMetadata;
+
+		LazyMetadata(Supplier<Map<String, Object>> supplier, Map<String, Object> extraMetadata) {
+			this.supplier = supplier;
+			this.extraMetadata = extraMetadata;
+		}
+
+		Map<String, Object> resolve() {
+			Assert.state(this.supplier != null && this.extraMetadata != null,
+					"metadata supplier has already been consumed");
+			Map<String, Object> metadata = copyMetadata(this.supplier.get());
+			metadata.putAll(this.extraMetadata);
+			this.supplier = null;
+			this.extraMetadata = null;
+			return metadata;
+		}
+
+	}
+
 }
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.observation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Publishes the standard Micrometer cache metrics ({@code cache.gets},
+ * {@code cache.puts}, {@code cache.evictions} and {@code cache.size}) of a cache from its
+ * {@link CacheStatistics}, along with any metrics specific to the cache. All the meters
+ * are tagged with the name of the cache, and only hold the cache weakly.
+ *
+ * <p>
+ * Usage example: <pre>{@code
+ * CacheMetrics.builder(cache, "embedding", MyCache::statistics)
+ *     .size(MyCache::size)
+ *     .gauge("cache.memory.size", "The size of the cached values", BaseUnits.BYTES, MyCache::memoryBytes)
+ *     .build()
+ *     .bindTo(meterRegistry);
+ * }</pre>
+ *
+ * @param <C> the type of the cache
+ * @since 2.0.0
+ */
+public final class CacheMetrics<C> extends CacheMeterBinder<C> {
+
+	private final Function<C, CacheStatistics> statistics;
+
+	@Nullable
+	private final ToLongFunction<C> evictions;
+
+	@Nullable
+	private final ToLongFunction<C> size;
+
+	private final List<MeterBinding<C>> additionalMeters;
+
+	private CacheMetrics(Builder<C> builder) {
+		super(builder.cache, builder.cacheName, builder.tags);
+		this.statistics = builder.statistics;
+		this.evictions = builder.evictions;
+		this.size = builder.size;
+		this.additionalMeters = List.copyOf(builder.additionalMeters);
+	}
+
+	/**
+	 * Create a new {@link Builder} instance.
+	 * @param cache the cache
+	 * @param cacheName the name of the cache, used to tag its metrics
+	 * @param statistics the function returning the statistics of the cache
+	 * @param <C> the type of the cache
+	 * @return a new {@link Builder} instance
+	 */
+	public static <C> Builder<C> builder(C cache, String cacheName, Function<C, CacheStatistics> statistics) {
+		return new Builder<>(cache, cacheName, statistics);
+	}
+
+	@Override
+	@Nullable
+	protected Long size() {
+		C cache = getCache();
+		return (cache != null && this.size != null) ? this.size.applyAsLong(cache) : null;
+	}
+
+	@Override
+	protected long hitCount() {
+		C cache = getCache();
+		return (cache != null) ? this.statistics.apply(cache).hitCount() : 0;
+	}
+
+	@Override
+	protected Long missCount() {
+		C cache = getCache();
+		return (cache != null) ? this.statistics.apply(cache).missCount() : 0;
+	}
+
+	@Override
+	protected Long evictionCount() {
+		C cache = getCache();
+		if (cache == null) {
+			return 0L;
+		}
+		return (this.evictions != null) ? this.evictions.applyAsLong(cache)
+				: this.statistics.apply(cache).evictionCount();
+	}
+
+	@Override
+	protected long putCount() {
+		C cache = getCache();
+		return (cache != null) ? this.statistics.apply(cache).putCount() : 0;
+	}
+
+	@Override
+	protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+		C cache = getCache();
+		if (cache != null) {
+			this.additionalMeters.forEach(meter -> meter.bindTo(registry, cache, getTagsWithCacheName()));
+		}
+	}
+
+	/**
+	 * Binds a metric specific to a cache. The cache is passed on binding rather than
+	 * captured, so that the meters do not keep it from being garbage collected.
+	 */
+	@FunctionalInterface
+	private interface MeterBinding<C> {
+
+		void bindTo(MeterRegistry registry, C cache, Iterable<Tag> tags);
+
+	}
+
+	/**
+	 * Builder for {@link CacheMetrics}.
+	 *
+	 * @param <C> the type of the cache
+	 */
+	public static final class Builder<C> {
+
+		private final C cache;
+
+		private final String cacheName;
+
+		private final Function<C, CacheStatistics> statistics;
+
+		private Tags tags = Tags.empty();
+
+		@Nullable
+		private ToLongFunction<C> evictions;
+
+		@Nullable
+		private ToLongFunction<C> size;
+
+		private final List<MeterBinding<C>> additionalMeters = new ArrayList<>();
+
+		private Builder(C cache, String cacheName, Function<C, CacheStatistics> statistics) {
+			Assert.notNull(cache, "cache cannot be null");
+			Assert.hasText(cacheName, "cacheName cannot be null or empty");
+			Assert.notNull(statistics, "statistics cannot be null");
+			this.cache = cache;
+			this.cacheName = cacheName;
+			this.statistics = statistics;
+		}
+
+		/**
+		 * Add tags to all the metrics of the cache.
+		 * @param tags the tags
+		 * @return this {@link Builder} instance
+		 */
+		public Builder<C> tags(Iterable<Tag> tags) {
+			Assert.notNull(tags, "tags cannot be null");
+			this.tags = this.tags.and(tags);
+			return this;
+		}
+
+		/**
+		 * Set the function returning the number of evictions, for caches that cannot
+		 * record them in their statistics.
+		 * @param evictions the function returning the number of evictions
+		 * @return this {@link Builder} instance
+		 */
+		public Builder<C> evictions(ToLongFunction<C> evictions) {
+			Assert.notNull(evictions, "evictions cannot be null");
+			this.evictions = evictions;
+			return this;
+		}
+
+		/**
+		 * Set the function returning the number of entries of the cache. The size is not
+		 * reported when not set.
+		 * @param size the function returning the number of entries
+		 * @return this {@link Builder} instance
+		 */
+		public Builder<C> size(ToLongFunction<C> size) {
+			Assert.notNull(size, "size cannot be null");
+			this.size = size;
+			return this;
+		}
+
+		/**
+		 * Add a gauge specific to the cache.
+		 * @param name the name of the gauge
+		 * @param description the description of the gauge
+		 * @param baseUnit the base unit of the gauge, if any
+		 * @param value the function returning the value of the gauge
+		 * @return this {@link Builder} instance
+		 */
+		public Builder<C> gauge(String name, String description, @Nullable String baseUnit, ToDoubleFunction<C> value) {
+			Assert.hasText(name, "name cannot be null or empty");
+			Assert.notNull(value, "value cannot be null");
+			this.additionalMeters.add((registry, cache, tags) -> Gauge.builder(name, cache, value)
+				.tags(tags)
+				.description(description)
+				.baseUnit(baseUnit)
+				.register(registry));
+			return this;
+		}
+
+		/**
+		 * Add a counter specific to the cache.
+		 * @param name the name of the counter
+		 * @param description the description of the counter
+		 * @param baseUnit the base unit of the counter, if any
+		 * @param count the function returning the count
+		 * @return this {@link Builder} instance
+		 */
+		public Builder<C> counter(String name, String description, @Nullable String baseUnit,
+				ToDoubleFunction<C> count) {
+			Assert.hasText(name, "name cannot be null or empty");
+			Assert.notNull(count, "count cannot be null");
+			this.additionalMeters.add((registry, cache, tags) -> FunctionCounter.builder(name, cache, count)
+				.tags(tags)
+				.description(description)
+				.baseUnit(baseUnit)
+				.register(registry));
+			return this;
+		}
+
+		/**
+		 * Add a timer specific to the cache.
+		 * @param name the name of the timer
+		 * @param description the description of the timer
+		 * @param count the function returning the number of timed events
+		 * @param totalTime the function returning the total time of the events
+		 * @param totalTimeUnit the unit of the total time
+		 * @return this {@link Builder} instance
+		 */
+		public Builder<C> timer(String name, String description, ToLongFunction<C> count, ToDoubleFunction<C> totalTime,
+				TimeUnit totalTimeUnit) {
+			Assert.hasText(name, "name cannot be null or empty");
+			Assert.notNull(count, "count cannot be null");
+			Assert.notNull(totalTime, "totalTime cannot be null");
+			Assert.notNull(totalTimeUnit, "totalTimeUnit cannot be null");
+			this.additionalMeters
+				.add((registry, cache, tags) -> FunctionTimer.builder(name, cache, count, totalTime, totalTimeUnit)
+					.tags(tags)
+					.description(description)
+					.register(registry));
+			return this;
+		}
+
+		public CacheMetrics<C> build() {
+			return new CacheMetrics<>(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.observation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe counts of the hits, misses, puts and evictions of a cache, as published by
+ * {@link CacheMetrics}.
+ *
+ * @since 2.0.0
+ */
+public final class CacheStatistics {
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder puts = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	public void recordHits(long count) {
+		this.hits.add(count);
+	}
+
+	public void recordMisses(long count) {
+		this.misses.add(count);
+	}
+
+	public void recordPuts(long count) {
+		this.puts.add(count);
+	}
+
+	public void recordEvictions(long count) {
+		this.evictions.add(count);
+	}
+
+	public long hitCount() {
+		return this.hits.sum();
+	}
+
+	public long missCount() {
+		return this.misses.sum();
+	}
+
+	public long putCount() {
+		return this.puts.sum();
+	}
+
+	public long evictionCount() {
+		return this.evictions.sum();
+	}
+
+}
@@ -36,6 +36,11 @@ public enum SpringAiKind {
 	 */
 	CHAT_CLIENT("chat_client"),
 
+	/**
+	 * Spring AI kind for document pipeline.
+	 */
+	DOCUMENT_PIPELINE("document_pipeline"),
+
 	/**
 	 * Spring AI kind for tool calling.
 	 */
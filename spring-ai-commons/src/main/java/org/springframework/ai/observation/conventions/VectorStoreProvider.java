@@ -70,6 +70,11 @@ public enum VectorStoreProvider {
 	 */
 	HANA("hana"),
 
+	/**
+	 * Vector store provided by the in-process HNSW index.
+	 */
+	HNSW("hnsw"),
+
 	/**
 	 * Vector store provided by MariaDB.
 	 */
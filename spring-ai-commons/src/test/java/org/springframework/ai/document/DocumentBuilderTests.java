@@ -19,6 +19,7 @@ package org.springframework.ai.document;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -406,4 +407,55 @@ public class DocumentBuilderTests {
 		assertThat(document.getMetadata().keySet()).containsExactlyInAnyOrder("a", "b", "c", "d", "e");
 	}
 
+	@Test
+	void testLazyMetadataIsResolvedOnceOnFirstAccess() {
+		AtomicInteger resolutions = new AtomicInteger();
+		Document document = this.builder.id("id").text("test").lazyMetadata(() -> {
+			resolutions.incrementAndGet();
+			return Map.of("source", "db");
+		}).metadata("distance", 0.25f).build();
+
+		assertThat(resolutions).hasValue(0);
+		assertThat(document.getMetadata()).containsEntry("source", "db").containsEntry("distance", 0.25f);
+		assertThat(document.getMetadata()).isSameAs(document.getMetadata());
+		assertThat(resolutions).hasValue(1);
+		assertThat(document).isEqualTo(
+				Document.builder().id("id").text("test").metadata(Map.of("source", "db", "distance", 0.25f)).build());
+	}
+
+	@Test
+	void testLazyMetadataIsValidatedOnAccess() {
+		Map<String, Object> metadata = new HashMap<>();
+		metadata.put("key", null);
+		Document document = this.builder.id("id").text("test").lazyMetadata(() -> metadata).build();
+
+		assertThatThrownBy(document::getMetadata).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("metadata cannot have null values");
+	}
+
+	@Test
+	void testLazyMetadataIsNotResolvedByToString() {
+		AtomicInteger resolutions = new AtomicInteger();
+		Document document = this.builder.id("id").text("test").lazyMetadata(() -> {
+			resolutions.incrementAndGet();
+			return Map.of("source", "db");
+		}).build();
+
+		assertThat(document.toString()).contains("metadata=<unresolved>");
+		assertThat(resolutions).hasValue(0);
+		document.getMetadata();
+		assertThat(document.toString()).contains("metadata={source=db}");
+	}
+
+	@Test
+	void testLazyMetadataIsResolvedToGenerateId() {
+		Document document = this.builder.idGenerator(contents -> "generated")
+			.text("test")
+			.lazyMetadata(() -> Map.of("key", "value"))
+			.build();
+
+		assertThat(document.getId()).isEqualTo("generated");
+		assertThat(document.getMetadata()).containsEntry("key", "value");
+	}
+
 }
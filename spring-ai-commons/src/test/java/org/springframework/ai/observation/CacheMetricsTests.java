@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.observation;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link CacheMetrics}.
+ */
+class CacheMetricsTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final TestCache cache = new TestCache();
+
+	@Test
+	void publishesStandardCacheMetrics() {
+		CacheMetrics.builder(this.cache, "test", TestCache::statistics)
+			.tags(List.of(Tag.of("kind", "unit")))
+			.size(TestCache::size)
+			.build()
+			.bindTo(this.meterRegistry);
+
+		this.cache.statistics.recordHits(3);
+		this.cache.statistics.recordMisses(2);
+		this.cache.statistics.recordPuts(2);
+		this.cache.statistics.recordEvictions(1);
+		this.cache.size.set(1);
+
+		assertThat(this.meterRegistry.get("cache.gets")
+			.tags("cache", "test", "kind", "unit", "result", "hit")
+			.functionCounter()
+			.count()).isEqualTo(3);
+		assertThat(this.meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(2);
+		assertThat(this.meterRegistry.get("cache.puts").functionCounter().count()).isEqualTo(2);
+		assertThat(this.meterRegistry.get("cache.evictions").functionCounter().count()).isEqualTo(1);
+		assertThat(this.meterRegistry.get("cache.size").gauge().value()).isEqualTo(1);
+	}
+
+	@Test
+	void evictionsCanBeDerivedAndSizeOmitted() {
+		CacheMetrics.builder(this.cache, "test", TestCache::statistics)
+			.evictions(cache -> 7)
+			.build()
+			.bindTo(this.meterRegistry);
+
+		assertThat(this.meterRegistry.get("cache.evictions").functionCounter().count()).isEqualTo(7);
+		assertThat(this.meterRegistry.find("cache.size").gauge()).isNull();
+	}
+
+	@Test
+	void publishesMetricsSpecificToTheCache() {
+		CacheMetrics.builder(this.cache, "test", TestCache::statistics)
+			.gauge("cache.memory.size", "The size of the values", BaseUnits.BYTES, cache -> 1024)
+			.counter("cache.file.hits", "The hits served from a file", null, cache -> 5)
+			.timer("cache.flush.lag", "The time before a write", cache -> 2, cache -> 3_000_000, TimeUnit.NANOSECONDS)
+			.build()
+			.bindTo(this.meterRegistry);
+
+		assertThat(this.meterRegistry.get("cache.memory.size").tag("cache", "test").gauge().value()).isEqualTo(1024);
+		assertThat(this.meterRegistry.get("cache.file.hits").tag("cache", "test").functionCounter().count())
+			.isEqualTo(5);
+		assertThat(this.meterRegistry.get("cache.flush.lag").functionTimer().totalTime(TimeUnit.MILLISECONDS))
+			.isEqualTo(3);
+	}
+
+	@Test
+	void whenCacheNameIsEmptyThenThrow() {
+		assertThatThrownBy(() -> CacheMetrics.builder(this.cache, "", TestCache::statistics))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("cacheName cannot be null or empty");
+	}
+
+	static class TestCache {
+
+		final CacheStatistics statistics = new CacheStatistics();
+
+		final AtomicLong size = new AtomicLong();
+
+		CacheStatistics statistics() {
+			return this.statistics;
+		}
+
+		long size() {
+			return this.size.get();
+		}
+
+	}
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.memory;
+
+import java.util.List;
+
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+
+/**
+ * A {@link ChatMemoryRepository} able to add messages to a conversation and to evict its
+ * oldest messages without rewriting the whole conversation.
+ *
+ * <p>
+ * {@link MessageWindowChatMemory} uses these operations instead of reading and saving
+ * back the whole message window when the repository supports them.
+ *
+ * @since 2.0.0
+ */
+public interface AppendableChatMemoryRepository extends ChatMemoryRepository {
+
+	/**
+	 * Adds the provided messages after the existing messages of the given conversation.
+	 */
+	void appendAll(String conversationId, List<Message> messages);
+
+	/**
+	 * Evicts the oldest messages of the given conversation until at most
+	 * {@code maxMessages} messages are left. Messages of type {@link SystemMessage} are
+	 * never evicted, so more messages are left when they alone exceed the limit.
+	 */
+	void trim(String conversationId, int maxMessages);
+
+}
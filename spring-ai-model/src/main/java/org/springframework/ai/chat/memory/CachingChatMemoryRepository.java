@@ -0,0 +1,744 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.memory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.observation.CacheMetrics;
+import org.springframework.ai.observation.CacheStatistics;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ChatMemoryRepository} decorator keeping the most recently used conversations in
+ * memory and writing their changes to the delegate repository behind the caller.
+ *
+ * <p>
+ * Reads of a cached conversation do not reach the delegate. A conversation is cached for
+ * at most {@link Builder#timeToLive(Duration) timeToLive} after it was last read from or
+ * changed through this repository, and at most {@link Builder#maxConversations(int)
+ * maxConversations} conversations are cached, the least recently used ones being evicted
+ * first. Conversations with unwritten changes are kept until their changes are written.
+ *
+ * <p>
+ * When changes are written depends on the {@link WriteMode}:
+ * <ul>
+ * <li>{@link WriteMode#SYNC}: before the change returns, as with the delegate alone;</li>
+ * <li>{@link WriteMode#ASYNC}: as soon as possible on the
+ * {@link Builder#executor(Executor) executor}. Changes made to a conversation while a
+ * write is pending are coalesced into that write;</li>
+ * <li>{@link WriteMode#BATCHED}: every {@link Builder#flushInterval(Duration)
+ * flushInterval}, for all the conversations changed in between.</li>
+ * </ul>
+ * With the asynchronous modes, changes that are not written yet are lost if the
+ * application stops abruptly. They are written on {@link #flush()} and on
+ * {@link #close()}. A failed asynchronous write is logged and retried: in
+ * {@link WriteMode#ASYNC} mode after the {@link Builder#retryDelay(Duration) retryDelay},
+ * doubled after each consecutive failure of the conversation, and in
+ * {@link WriteMode#BATCHED} mode at the next interval.
+ *
+ * <p>
+ * When the delegate is an {@link AppendableChatMemoryRepository}, appended messages and
+ * evictions are written as such, otherwise the whole conversation is saved.
+ *
+ * <p>
+ * The cache is only coherent when the conversations are changed through a single instance
+ * of this class.
+ *
+ * <p>
+ * Usage example: <pre>{@code
+ * ChatMemoryRepository repository = CachingChatMemoryRepository.builder(jdbcChatMemoryRepository)
+ *     .writeMode(CachingChatMemoryRepository.WriteMode.ASYNC)
+ *     .meterRegistry(meterRegistry)
+ *     .build();
+ * ChatMemory chatMemory = MessageWindowChatMemory.builder().chatMemoryRepository(repository).build();
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class CachingChatMemoryRepository implements AppendableChatMemoryRepository, AutoCloseable {
+
+	/**
+	 * Default maximum number of cached conversations.
+	 */
+	public static final int DEFAULT_MAX_CONVERSATIONS = 1_000;
+
+	/**
+	 * Default time during which an unchanged conversation is cached.
+	 */
+	public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(30);
+
+	/**
+	 * Default interval between two writes in {@link WriteMode#BATCHED} mode.
+	 */
+	public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+
+	/**
+	 * Default delay before retrying a failed write in {@link WriteMode#ASYNC} mode.
+	 */
+	public static final Duration DEFAULT_RETRY_DELAY = Duration.ofSeconds(1);
+
+	/**
+	 * Maximum number of times the retry delay is doubled.
+	 */
+	private static final int MAX_RETRY_BACKOFF_SHIFT = 6;
+
+	private static final String CACHE_NAME = "chat.memory";
+
+	private static final Logger logger = LoggerFactory.getLogger(CachingChatMemoryRepository.class);
+
+	private final ChatMemoryRepository delegate;
+
+	private final WriteMode writeMode;
+
+	private final long timeToLiveNanos;
+
+	private final long retryDelayNanos;
+
+	private final Executor executor;
+
+	@Nullable
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * Cached conversations, least recently used first. Guarded by itself.
+	 */
+	private final Map<String, CachedConversation> conversations;
+
+	/**
+	 * Conversations whose changes are not written yet, whether they are still cached or
+	 * were evicted.
+	 */
+	private final Map<String, CachedConversation> dirtyConversations = new ConcurrentHashMap<>();
+
+	private final CacheStatistics statistics = new CacheStatistics();
+
+	private final LongAdder flushes = new LongAdder();
+
+	private final LongAdder flushLagNanos = new LongAdder();
+
+	private final LongAdder flushFailures = new LongAdder();
+
+	private CachingChatMemoryRepository(Builder builder) {
+		this.delegate = builder.delegate;
+		this.writeMode = builder.writeMode;
+		this.timeToLiveNanos = builder.timeToLive.toNanos();
+		this.retryDelayNanos = builder.retryDelay.toNanos();
+		this.executor = (builder.executor != null) ? builder.executor : defaultExecutor();
+		int maxConversations = builder.maxConversations;
+		this.conversations = new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedConversation> eldest) {
+				if (size() > maxConversations) {
+					CachingChatMemoryRepository.this.statistics.recordEvictions(1);
+					return true;
+				}
+				return false;
+			}
+
+		};
+		if (this.writeMode == WriteMode.BATCHED) {
+			this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+				Thread thread = new Thread(task, "chat-memory-flush");
+				thread.setDaemon(true);
+				return thread;
+			});
+			long interval = builder.flushInterval.toNanos();
+			this.scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.NANOSECONDS);
+		}
+		else {
+			this.scheduler = null;
+		}
+		if (builder.meterRegistry != null) {
+			CacheMetrics.builder(this, CACHE_NAME, CachingChatMemoryRepository::statistics)
+				.size(CachingChatMemoryRepository::size)
+				.gauge("cache.pending", "The number of conversations whose changes are not written yet", null,
+						CachingChatMemoryRepository::pendingCount)
+				.timer("cache.flush.lag", "The time between the first change of a conversation and its write",
+						CachingChatMemoryRepository::flushCount, CachingChatMemoryRepository::totalFlushLagNanos,
+						TimeUnit.NANOSECONDS)
+				.counter("cache.flush.failures", "The number of failed writes", null,
+						CachingChatMemoryRepository::flushFailureCount)
+				.build()
+				.bindTo(builder.meterRegistry);
+		}
+	}
+
+	public static Builder builder(ChatMemoryRepository delegate) {
+		return new Builder(delegate);
+	}
+
+	/**
+	 * Writes the pending changes first, so that the delegate knows about every
+	 * conversation.
+	 */
+	@Override
+	public List<String> findConversationIds() {
+		flush();
+		return this.delegate.findConversationIds();
+	}
+
+	@Override
+	public List<Message> findByConversationId(String conversationId) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		CachedConversation conversation = getOrLoad(conversationId);
+		synchronized (conversation) {
+			return new ArrayList<>(conversation.messages);
+		}
+	}
+
+	@Override
+	public void saveAll(String conversationId, List<Message> messages) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		Assert.notNull(messages, "messages cannot be null");
+		Assert.noNullElements(messages, "messages cannot contain null elements");
+		change(getOrCreate(conversationId), conversation -> conversation.replace(List.copyOf(messages), false));
+	}
+
+	@Override
+	public void deleteByConversationId(String conversationId) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		change(getOrCreate(conversationId), conversation -> conversation.replace(List.of(), true));
+	}
+
+	@Override
+	public void appendAll(String conversationId, List<Message> messages) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		Assert.notNull(messages, "messages cannot be null");
+		Assert.noNullElements(messages, "messages cannot contain null elements");
+		change(getOrLoad(conversationId), conversation -> conversation.append(messages));
+	}
+
+	@Override
+	public void trim(String conversationId, int maxMessages) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		Assert.isTrue(maxMessages > 0, "maxMessages must be greater than 0");
+		change(getOrLoad(conversationId), conversation -> conversation.trim(maxMessages));
+	}
+
+	/**
+	 * Writes the pending changes of all the conversations to the delegate.
+	 */
+	public void flush() {
+		for (CachedConversation conversation : this.dirtyConversations.values()) {
+			flush(conversation);
+		}
+	}
+
+	/**
+	 * Stops the periodic writes and writes the pending changes.
+	 */
+	@Override
+	public void close() {
+		if (this.scheduler != null) {
+			this.scheduler.shutdown();
+			try {
+				this.scheduler.awaitTermination(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		flush();
+	}
+
+	@Nullable
+	private CachedConversation lookup(String conversationId) {
+		synchronized (this.conversations) {
+			CachedConversation conversation = this.dirtyConversations.get(conversationId);
+			if (conversation != null) {
+				this.conversations.put(conversationId, conversation);
+				return conversation;
+			}
+			conversation = this.conversations.get(conversationId);
+			if (conversation != null && isExpired(conversation)) {
+				this.conversations.remove(conversationId);
+				return null;
+			}
+			return conversation;
+		}
+	}
+
+	private CachedConversation getOrLoad(String conversationId) {
+		CachedConversation conversation = lookup(conversationId);
+		if (conversation != null) {
+			this.statistics.recordHits(1);
+			return conversation;
+		}
+		this.statistics.recordMisses(1);
+		List<Message> messages = this.delegate.findByConversationId(conversationId);
+		return cache(new CachedConversation(conversationId, List.copyOf(messages)));
+	}
+
+	private CachedConversation getOrCreate(String conversationId) {
+		CachedConversation conversation = lookup(conversationId);
+		return (conversation != null) ? conversation : cache(new CachedConversation(conversationId, List.of()));
+	}
+
+	private CachedConversation cache(CachedConversation conversation) {
+		synchronized (this.conversations) {
+			// Another thread may have cached or changed the conversation in the meantime
+			CachedConversation existing = this.dirtyConversations.get(conversation.id);
+			if (existing == null) {
+				existing = this.conversations.get(conversation.id);
+			}
+			if (existing != null && !isExpired(existing)) {
+				return existing;
+			}
+			this.conversations.put(conversation.id, conversation);
+			return conversation;
+		}
+	}
+
+	private boolean isExpired(CachedConversation conversation) {
+		synchronized (conversation) {
+			return !conversation.isDirty() && System.nanoTime() - conversation.refreshedAt > this.timeToLiveNanos;
+		}
+	}
+
+	private void change(CachedConversation conversation, Consumer<CachedConversation> change) {
+		boolean scheduleFlush;
+		synchronized (conversation) {
+			change.accept(conversation);
+			conversation.version++;
+			conversation.refreshedAt = System.nanoTime();
+			if (conversation.dirtySince == 0) {
+				conversation.dirtySince = conversation.refreshedAt;
+			}
+			scheduleFlush = !conversation.flushScheduled;
+			conversation.flushScheduled = true;
+			this.dirtyConversations.put(conversation.id, conversation);
+		}
+		this.statistics.recordPuts(1);
+		synchronized (this.conversations) {
+			this.conversations.put(conversation.id, conversation);
+		}
+
+		if (this.writeMode == WriteMode.SYNC) {
+			flush(conversation);
+		}
+		else if (this.writeMode == WriteMode.ASYNC && scheduleFlush) {
+			this.executor.execute(() -> flush(conversation));
+		}
+	}
+
+	private void flush(CachedConversation conversation) {
+		conversation.flushLock.lock();
+		try {
+			PendingWrite write;
+			synchronized (conversation) {
+				conversation.flushScheduled = false;
+				if (!conversation.isDirty()) {
+					return;
+				}
+				write = conversation.takePendingWrite(this.delegate instanceof AppendableChatMemoryRepository);
+			}
+
+			try {
+				write.applyTo(this.delegate, conversation.id);
+			}
+			catch (RuntimeException ex) {
+				this.flushFailures.increment();
+				boolean scheduleRetry;
+				long retryDelayNanos;
+				synchronized (conversation) {
+					conversation.restore(write);
+					conversation.failedFlushes++;
+					retryDelayNanos = this.retryDelayNanos << Math.min(conversation.failedFlushes - 1,
+							MAX_RETRY_BACKOFF_SHIFT);
+					scheduleRetry = this.writeMode == WriteMode.ASYNC && !conversation.flushScheduled;
+					conversation.flushScheduled |= scheduleRetry;
+				}
+				if (this.writeMode == WriteMode.SYNC) {
+					throw ex;
+				}
+				logger.warn("Failed to write conversation {} to the chat memory repository, will retry",
+						conversation.id, ex);
+				if (scheduleRetry) {
+					CompletableFuture.delayedExecutor(retryDelayNanos, TimeUnit.NANOSECONDS, this.executor)
+						.execute(() -> flush(conversation));
+				}
+				return;
+			}
+
+			synchronized (conversation) {
+				conversation.failedFlushes = 0;
+				conversation.flushedVersion = write.version();
+				if (!conversation.isDirty()) {
+					this.dirtyConversations.remove(conversation.id, conversation);
+				}
+			}
+			this.flushes.increment();
+			this.flushLagNanos.add(System.nanoTime() - write.dirtySince());
+		}
+		finally {
+			conversation.flushLock.unlock();
+		}
+	}
+
+	private static Executor defaultExecutor() {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("chat-memory-");
+		executor.setVirtualThreads(Runtime.version().feature() >= 21);
+		return executor;
+	}
+
+	int size() {
+		synchronized (this.conversations) {
+			return this.conversations.size();
+		}
+	}
+
+	CacheStatistics statistics() {
+		return this.statistics;
+	}
+
+	int pendingCount() {
+		return this.dirtyConversations.size();
+	}
+
+	long flushCount() {
+		return this.flushes.sum();
+	}
+
+	double totalFlushLagNanos() {
+		return this.flushLagNanos.sum();
+	}
+
+	long flushFailureCount() {
+		return this.flushFailures.sum();
+	}
+
+	/**
+	 * When the changes are written to the delegate repository.
+	 */
+	public enum WriteMode {
+
+		/**
+		 * Changes are written before returning.
+		 */
+		SYNC,
+
+		/**
+		 * Changes are written asynchronously as soon as possible.
+		 */
+		ASYNC,
+
+		/**
+		 * Changes are written asynchronously at a fixed interval.
+		 */
+		BATCHED
+
+	}
+
+	/**
+	 * The state of a cached conversation, guarded by itself.
+	 */
+	private static final class CachedConversation {
+
+		final String id;
+
+		/**
+		 * Held while writing to the delegate, so that the writes of a conversation are
+		 * applied in order.
+		 */
+		final ReentrantLock flushLock = new ReentrantLock();
+
+		List<Message> messages;
+
+		long refreshedAt = System.nanoTime();
+
+		long version;
+
+		long flushedVersion;
+
+		long dirtySince;
+
+		boolean flushScheduled;
+
+		int failedFlushes;
+
+		/**
+		 * Whether the pending changes replace the conversation, instead of being appended
+		 * messages followed by an eviction.
+		 */
+		boolean replaced;
+
+		boolean deleted;
+
+		List<Message> appendedMessages = new ArrayList<>();
+
+		int trimmedTo;
+
+		boolean appendedSinceTrim;
+
+		CachedConversation(String id, List<Message> messages) {
+			this.id = id;
+			this.messages = messages;
+		}
+
+		boolean isDirty() {
+			return this.version != this.flushedVersion;
+		}
+
+		void replace(List<Message> messages, boolean deleted) {
+			this.messages = messages;
+			clearPendingChanges();
+			this.replaced = true;
+			this.deleted = deleted;
+		}
+
+		void append(List<Message> messages) {
+			List<Message> updatedMessages = new ArrayList<>(this.messages.size() + messages.size());
+			updatedMessages.addAll(this.messages);
+			updatedMessages.addAll(messages);
+			this.messages = List.copyOf(updatedMessages);
+			this.deleted = false;
+			if (!this.replaced) {
+				this.appendedMessages.addAll(messages);
+				this.appendedSinceTrim = this.trimmedTo != 0;
+			}
+		}
+
+		void trim(int maxMessages) {
+			if (!this.replaced && this.trimmedTo == maxMessages) {
+				// Appending after an eviction and evicting again with the same limit
+				// gives the same messages as appending everything and evicting once.
+				this.appendedSinceTrim = false;
+			}
+			int messagesToRemove = this.messages.size() - maxMessages;
+			if (messagesToRemove <= 0) {
+				return;
+			}
+			List<Message> trimmedMessages = new ArrayList<>(maxMessages);
+			for (Message message : this.messages) {
+				if (message instanceof SystemMessage || messagesToRemove == 0) {
+					trimmedMessages.add(message);
+				}
+				else {
+					messagesToRemove--;
+				}
+			}
+			this.messages = List.copyOf(trimmedMessages);
+			if (!this.replaced) {
+				if (this.trimmedTo != 0 && this.trimmedTo != maxMessages) {
+					this.replaced = true;
+				}
+				this.trimmedTo = maxMessages;
+			}
+		}
+
+		PendingWrite takePendingWrite(boolean appendable) {
+			boolean replace = this.replaced || this.appendedSinceTrim || !appendable;
+			PendingWrite write = new PendingWrite(this.version, this.dirtySince, replace, this.deleted, this.messages,
+					this.appendedMessages, this.trimmedTo);
+			clearPendingChanges();
+			this.dirtySince = 0;
+			return write;
+		}
+
+		private void clearPendingChanges() {
+			this.replaced = false;
+			this.appendedMessages = new ArrayList<>();
+			this.trimmedTo = 0;
+			this.appendedSinceTrim = false;
+			this.deleted = false;
+		}
+
+		/**
+		 * Puts back a write that failed. As it may have been partially applied, the next
+		 * write replaces the whole conversation.
+		 */
+		void restore(PendingWrite write) {
+			boolean deleted = this.messages.isEmpty() && (this.deleted || write.deleted());
+			clearPendingChanges();
+			this.replaced = true;
+			this.deleted = deleted;
+			if (this.dirtySince == 0 || write.dirtySince() - this.dirtySince < 0) {
+				this.dirtySince = write.dirtySince();
+			}
+		}
+
+	}
+
+	private record PendingWrite(long version, long dirtySince, boolean replaced, boolean deleted,
+			List<Message> messages, List<Message> appendedMessages, int trimmedTo) {
+
+		void applyTo(ChatMemoryRepository repository, String conversationId) {
+			if (this.deleted) {
+				repository.deleteByConversationId(conversationId);
+			}
+			else if (this.replaced) {
+				repository.saveAll(conversationId, this.messages);
+			}
+			else {
+				AppendableChatMemoryRepository appendableRepository = (AppendableChatMemoryRepository) repository;
+				if (!this.appendedMessages.isEmpty()) {
+					appendableRepository.appendAll(conversationId, this.appendedMessages);
+				}
+				if (this.trimmedTo != 0) {
+					appendableRepository.trim(conversationId, this.trimmedTo);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Builder for {@link CachingChatMemoryRepository}.
+	 */
+	public static final class Builder {
+
+		private final ChatMemoryRepository delegate;
+
+		private int maxConversations = DEFAULT_MAX_CONVERSATIONS;
+
+		private Duration timeToLive = DEFAULT_TIME_TO_LIVE;
+
+		private WriteMode writeMode = WriteMode.ASYNC;
+
+		private Duration flushInterval = DEFAULT_FLUSH_INTERVAL;
+
+		private Duration retryDelay = DEFAULT_RETRY_DELAY;
+
+		@Nullable
+		private Executor executor;
+
+		@Nullable
+		private MeterRegistry meterRegistry;
+
+		private Builder(ChatMemoryRepository delegate) {
+			Assert.notNull(delegate, "delegate cannot be null");
+			this.delegate = delegate;
+		}
+
+		/**
+		 * Sets the maximum number of cached conversations.
+		 * @param maxConversations the maximum number of cached conversations
+		 * @return this builder
+		 */
+		public Builder maxConversations(int maxConversations) {
+			Assert.isTrue(maxConversations > 0, "maxConversations must be greater than 0");
+			this.maxConversations = maxConversations;
+			return this;
+		}
+
+		/**
+		 * Sets the time during which a conversation is cached after it was last read from
+		 * or changed through the repository.
+		 * @param timeToLive the time to live of the cached conversations
+		 * @return this builder
+		 */
+		public Builder timeToLive(Duration timeToLive) {
+			Assert.notNull(timeToLive, "timeToLive cannot be null");
+			Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "timeToLive must be positive");
+			this.timeToLive = timeToLive;
+			return this;
+		}
+
+		/**
+		 * Sets when the changes are written to the delegate repository. Defaults to
+		 * {@link WriteMode#ASYNC}.
+		 * @param writeMode the write mode
+		 * @return this builder
+		 */
+		public Builder writeMode(WriteMode writeMode) {
+			Assert.notNull(writeMode, "writeMode cannot be null");
+			this.writeMode = writeMode;
+			return this;
+		}
+
+		/**
+		 * Sets the interval between two writes in {@link WriteMode#BATCHED} mode.
+		 * @param flushInterval the flush interval
+		 * @return this builder
+		 */
+		public Builder flushInterval(Duration flushInterval) {
+			Assert.notNull(flushInterval, "flushInterval cannot be null");
+			Assert.isTrue(!flushInterval.isNegative() && !flushInterval.isZero(), "flushInterval must be positive");
+			this.flushInterval = flushInterval;
+			return this;
+		}
+
+		/**
+		 * Sets the delay before retrying a failed write in {@link WriteMode#ASYNC} mode.
+		 * The delay is doubled after each consecutive failure to write a conversation, up
+		 * to 64 times the given delay.
+		 * @param retryDelay the delay before the first retry
+		 * @return this builder
+		 */
+		public Builder retryDelay(Duration retryDelay) {
+			Assert.notNull(retryDelay, "retryDelay cannot be null");
+			Assert.isTrue(!retryDelay.isNegative() && !retryDelay.isZero(), "retryDelay must be positive");
+			this.retryDelay = retryDelay;
+			return this;
+		}
+
+		/**
+		 * Sets the executor writing the changes in {@link WriteMode#ASYNC} mode. Defaults
+		 * to an executor starting a virtual thread per write on Java 21 and later, and a
+		 * platform thread otherwise.
+		 * @param executor the executor
+		 * @return this builder
+		 */
+		public Builder executor(Executor executor) {
+			Assert.notNull(executor, "executor cannot be null");
+			this.executor = executor;
+			return this;
+		}
+
+		/**
+		 * Sets the registry on which the cache metrics are published, under the
+		 * {@code chat.memory} cache name: the standard cache metrics, along with
+		 * {@code cache.pending}, {@code cache.flush.lag} and
+		 * {@code cache.flush.failures}.
+		 * @param meterRegistry the meter registry
+		 * @return this builder
+		 */
+		public Builder meterRegistry(MeterRegistry meterRegistry) {
+			Assert.notNull(meterRegistry, "meterRegistry cannot be null");
+			this.meterRegistry = meterRegistry;
+			return this;
+		}
+
+		public CachingChatMemoryRepository build() {
+			return new CachingChatMemoryRepository(this);
+		}
+
+	}
+
+}
@@ -22,6 +22,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.util.Assert;
 
 /**
@@ -30,7 +31,7 @@ import org.springframework.util.Assert;
  * @author Thomas Vitale
  * @since 1.0.0
  */
-public final class InMemoryChatMemoryRepository implements ChatMemoryRepository {
+public final class InMemoryChatMemoryRepository implements AppendableChatMemoryRepository {
 
 	Map<String, List<Message>> chatMemoryStore = new ConcurrentHashMap<>();
 
@@ -54,6 +55,41 @@ public final class InMemoryChatMemoryRepository implements ChatMemoryRepository
 		this.chatMemoryStore.put(conversationId, messages);
 	}
 
+	@Override
+	public void appendAll(String conversationId, List<Message> messages) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		Assert.notNull(messages, "messages cannot be null");
+		Assert.noNullElements(messages, "messages cannot contain null elements");
+		this.chatMemoryStore.compute(conversationId, (id, existingMessages) -> {
+			List<Message> updatedMessages = (existingMessages != null) ? new ArrayList<>(existingMessages)
+					: new ArrayList<>();
+			updatedMessages.addAll(messages);
+			return updatedMessages;
+		});
+	}
+
+	@Override
+	public void trim(String conversationId, int maxMessages) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		Assert.isTrue(maxMessages > 0, "maxMessages must be greater than 0");
+		this.chatMemoryStore.computeIfPresent(conversationId, (id, existingMessages) -> {
+			int messagesToRemove = existingMessages.size() - maxMessages;
+			if (messagesToRemove <= 0) {
+				return existingMessages;
+			}
+			List<Message> trimmedMessages = new ArrayList<>(maxMessages);
+			for (Message message : existingMessages) {
+				if (message instanceof SystemMessage || messagesToRemove == 0) {
+					trimmedMessages.add(message);
+				}
+				else {
+					messagesToRemove--;
+				}
+			}
+			return trimmedMessages;
+		});
+	}
+
 	@Override
 	public void deleteByConversationId(String conversationId) {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
@@ -34,6 +34,11 @@ import org.springframework.util.Assert;
  * {@link SystemMessage} is added, all previous {@link SystemMessage} instances are
  * removed from the memory. Also, if the total number of messages exceeds the limit, the
  * {@link SystemMessage} messages are preserved while evicting other types of messages.
+ * <p>
+ * When the repository is an {@link AppendableChatMemoryRepository}, messages are appended
+ * to it and the oldest messages are evicted in place, instead of reading the conversation
+ * and saving back the whole window. Adding a {@link SystemMessage} still goes through the
+ * whole window, since it may replace the existing ones.
  *
  * @author Thomas Vitale
  * @author Ilayaperumal Gopinathan
@@ -60,6 +65,13 @@ public final class MessageWindowChatMemory implements ChatMemory {
 		Assert.notNull(messages, "messages cannot be null");
 		Assert.noNullElements(messages, "messages cannot contain null elements");
 
+		if (this.chatMemoryRepository instanceof AppendableChatMemoryRepository appendableRepository
+				&& messages.stream().noneMatch(SystemMessage.class::isInstance)) {
+			appendableRepository.appendAll(conversationId, messages);
+			appendableRepository.trim(conversationId, this.maxMessages);
+			return;
+		}
+
 		List<Message> memoryMessages = this.chatMemoryRepository.findByConversationId(conversationId);
 		List<Message> processedMessages = process(memoryMessages, messages);
 		this.chatMemoryRepository.saveAll(conversationId, processedMessages);
@@ -0,0 +1,349 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.memory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.content.Media;
+import org.springframework.ai.content.MediaContent;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+
+/**
+ * A chat memory implementation that maintains a message window fitting in a token budget,
+ * ensuring that the estimated number of tokens of the messages does not exceed the
+ * specified limit. When the messages exceed the budget, older messages are evicted.
+ * <p>
+ * Messages of type {@link SystemMessage} are treated as in
+ * {@link MessageWindowChatMemory}: a new {@link SystemMessage} replaces the previous
+ * ones, and {@link SystemMessage} messages are never evicted. The most recent message is
+ * never evicted either, even when it alone exceeds the budget. Tool responses left at the
+ * start of the window without the tool calls they answer are evicted as well.
+ * <p>
+ * The token counts of the most recently seen messages are cached by a digest of their
+ * content, so that each turn only estimates the new messages, even when the repository
+ * returns new {@link Message} instances on each read. The messages themselves are left
+ * unchanged.
+ * <p>
+ * When the repository is an {@link AppendableChatMemoryRepository}, messages are appended
+ * to it and the oldest messages are evicted in place, instead of saving back the whole
+ * window.
+ *
+ * @since 2.0.0
+ */
+public final class TokenWindowChatMemory implements ChatMemory {
+
+	private static final int DEFAULT_MAX_TOKENS = 8_000;
+
+	/**
+	 * Default number of message token counts cached.
+	 */
+	public static final int DEFAULT_TOKEN_COUNT_CACHE_SIZE = 4_096;
+
+	private final ChatMemoryRepository chatMemoryRepository;
+
+	private final TokenCountEstimator tokenCountEstimator;
+
+	private final int maxTokens;
+
+	private final ConcurrentLruCache<ContentKey, Integer> tokenCounts;
+
+	private TokenWindowChatMemory(ChatMemoryRepository chatMemoryRepository, TokenCountEstimator tokenCountEstimator,
+			int maxTokens, int tokenCountCacheSize) {
+		Assert.notNull(chatMemoryRepository, "chatMemoryRepository cannot be null");
+		Assert.notNull(tokenCountEstimator, "tokenCountEstimator cannot be null");
+		Assert.isTrue(maxTokens > 0, "maxTokens must be greater than 0");
+		Assert.isTrue(tokenCountCacheSize >= 0, "tokenCountCacheSize must not be negative");
+		this.chatMemoryRepository = chatMemoryRepository;
+		this.tokenCountEstimator = tokenCountEstimator;
+		this.maxTokens = maxTokens;
+		this.tokenCounts = new ConcurrentLruCache<>(tokenCountCacheSize, this::estimate);
+	}
+
+	@Override
+	public void add(String conversationId, List<Message> messages) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		Assert.notNull(messages, "messages cannot be null");
+		Assert.noNullElements(messages, "messages cannot contain null elements");
+
+		List<Message> memoryMessages = this.chatMemoryRepository.findByConversationId(conversationId);
+		List<Message> processedMessages = process(memoryMessages, messages);
+		List<Message> trimmedMessages = trim(processedMessages);
+
+		if (this.chatMemoryRepository instanceof AppendableChatMemoryRepository appendableRepository
+				&& processedMessages.size() == memoryMessages.size() + messages.size()) {
+			appendableRepository.appendAll(conversationId, messages);
+			if (trimmedMessages.size() < processedMessages.size()) {
+				appendableRepository.trim(conversationId, trimmedMessages.size());
+			}
+			return;
+		}
+
+		this.chatMemoryRepository.saveAll(conversationId, trimmedMessages);
+	}
+
+	@Override
+	public List<Message> get(String conversationId) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		return this.chatMemoryRepository.findByConversationId(conversationId);
+	}
+
+	@Override
+	public void clear(String conversationId) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		this.chatMemoryRepository.deleteByConversationId(conversationId);
+	}
+
+	private List<Message> process(List<Message> memoryMessages, List<Message> newMessages) {
+		List<Message> processedMessages = new ArrayList<>(memoryMessages.size() + newMessages.size());
+
+		Set<Message> memoryMessagesSet = new HashSet<>(memoryMessages);
+		boolean hasNewSystemMessage = newMessages.stream()
+			.filter(SystemMessage.class::isInstance)
+			.anyMatch(message -> !memoryMessagesSet.contains(message));
+
+		memoryMessages.stream()
+			.filter(message -> !(hasNewSystemMessage && message instanceof SystemMessage))
+			.forEach(processedMessages::add);
+
+		processedMessages.addAll(newMessages);
+		return processedMessages;
+	}
+
+	/**
+	 * Evicts the oldest messages other than {@link SystemMessage} until the messages fit
+	 * in the token budget. The evicted messages always form a prefix of the
+	 * non-{@link SystemMessage} messages, as with
+	 * {@link AppendableChatMemoryRepository#trim(String, int)}.
+	 */
+	private List<Message> trim(List<Message> messages) {
+		int totalTokens = 0;
+		int nonSystemMessages = 0;
+		for (Message message : messages) {
+			totalTokens += tokenCount(message);
+			if (!(message instanceof SystemMessage)) {
+				nonSystemMessages++;
+			}
+		}
+		if (totalTokens <= this.maxTokens) {
+			return messages;
+		}
+
+		List<Message> trimmedMessages = new ArrayList<>(messages.size());
+		boolean evicting = true;
+		for (Message message : messages) {
+			if (message instanceof SystemMessage) {
+				trimmedMessages.add(message);
+				continue;
+			}
+			if (evicting && nonSystemMessages > 1
+					&& (totalTokens > this.maxTokens || message instanceof ToolResponseMessage)) {
+				totalTokens -= tokenCount(message);
+				nonSystemMessages--;
+				continue;
+			}
+			evicting = false;
+			trimmedMessages.add(message);
+		}
+		return trimmedMessages;
+	}
+
+	private int tokenCount(Message message) {
+		return this.tokenCounts.get(new ContentKey(message));
+	}
+
+	private int estimate(ContentKey key) {
+		Message message = key.release();
+		int tokenCount = (message instanceof MediaContent mediaContent)
+				? this.tokenCountEstimator.estimate(mediaContent)
+				: this.tokenCountEstimator.estimate(message.getText());
+		if (message instanceof AssistantMessage assistantMessage && assistantMessage.hasToolCalls()) {
+			for (AssistantMessage.ToolCall toolCall : assistantMessage.getToolCalls()) {
+				tokenCount += this.tokenCountEstimator.estimate(toolCall.name())
+						+ this.tokenCountEstimator.estimate(toolCall.arguments());
+			}
+		}
+		else if (message instanceof ToolResponseMessage toolResponseMessage) {
+			for (ToolResponseMessage.ToolResponse toolResponse : toolResponseMessage.getResponses()) {
+				tokenCount += this.tokenCountEstimator.estimate(toolResponse.name())
+						+ this.tokenCountEstimator.estimate(toolResponse.responseData());
+			}
+		}
+		return tokenCount;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public static final class Builder {
+
+		private ChatMemoryRepository chatMemoryRepository;
+
+		private TokenCountEstimator tokenCountEstimator;
+
+		private int maxTokens = DEFAULT_MAX_TOKENS;
+
+		private int tokenCountCacheSize = DEFAULT_TOKEN_COUNT_CACHE_SIZE;
+
+		private Builder() {
+		}
+
+		public Builder chatMemoryRepository(ChatMemoryRepository chatMemoryRepository) {
+			this.chatMemoryRepository = chatMemoryRepository;
+			return this;
+		}
+
+		public Builder tokenCountEstimator(TokenCountEstimator tokenCountEstimator) {
+			this.tokenCountEstimator = tokenCountEstimator;
+			return this;
+		}
+
+		public Builder maxTokens(int maxTokens) {
+			this.maxTokens = maxTokens;
+			return this;
+		}
+
+		/**
+		 * Set the number of message token counts cached, {@code 0} to estimate the token
+		 * counts of all the messages on each turn.
+		 * @param tokenCountCacheSize the maximum number of cached token counts
+		 * @return this builder
+		 */
+		public Builder tokenCountCacheSize(int tokenCountCacheSize) {
+			this.tokenCountCacheSize = tokenCountCacheSize;
+			return this;
+		}
+
+		public TokenWindowChatMemory build() {
+			if (this.chatMemoryRepository == null) {
+				this.chatMemoryRepository = new InMemoryChatMemoryRepository();
+			}
+			if (this.tokenCountEstimator == null) {
+				this.tokenCountEstimator = new JTokkitTokenCountEstimator();
+			}
+			return new TokenWindowChatMemory(this.chatMemoryRepository, this.tokenCountEstimator, this.maxTokens,
+					this.tokenCountCacheSize);
+		}
+
+	}
+
+	/**
+	 * Key of a cached token count, comparing messages by a digest of the content the
+	 * token count is estimated from. The message is only kept until its token count has
+	 * been estimated, so that the cache does not retain the messages.
+	 */
+	private static final class ContentKey {
+
+		private final byte[] digest;
+
+		private final int hash;
+
+		@Nullable
+		private Message message;
+
+		ContentKey(Message message) {
+			this.digest = digest(message);
+			this.hash = Arrays.hashCode(this.digest);
+			this.message = message;
+		}
+
+		synchronized Message release() {
+			Message message = this.message;
+			Assert.state(message != null, "The token count of the message has already been estimated");
+			this.message = null;
+			return message;
+		}
+
+		private static byte[] digest(Message message) {
+			MessageDigest digest = sha256();
+			update(digest, message.getMessageType().name());
+			update(digest, message.getText());
+			if (message instanceof MediaContent mediaContent) {
+				for (Media media : mediaContent.getMedia()) {
+					update(digest, media.getMimeType().toString());
+					if (media.getData() instanceof byte[] data) {
+						digest.update(data);
+					}
+					else {
+						update(digest, String.valueOf(media.getData()));
+					}
+				}
+			}
+			if (message instanceof AssistantMessage assistantMessage) {
+				for (AssistantMessage.ToolCall toolCall : assistantMessage.getToolCalls()) {
+					update(digest, toolCall.name());
+					update(digest, toolCall.arguments());
+				}
+			}
+			else if (message instanceof ToolResponseMessage toolResponseMessage) {
+				for (ToolResponseMessage.ToolResponse toolResponse : toolResponseMessage.getResponses()) {
+					update(digest, toolResponse.name());
+					update(digest, toolResponse.responseData());
+				}
+			}
+			return digest.digest();
+		}
+
+		private static void update(MessageDigest digest, @Nullable String value) {
+			if (value == null) {
+				digest.update((byte) 0);
+				return;
+			}
+			digest.update((byte) 1);
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+			digest.update(bytes);
+		}
+
+		private static MessageDigest sha256() {
+			try {
+				return MessageDigest.getInstance("SHA-256");
+			}
+			catch (NoSuchAlgorithmException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return this == other || (other instanceof ContentKey that && Arrays.equals(this.digest, that.digest));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+	}
+
+}
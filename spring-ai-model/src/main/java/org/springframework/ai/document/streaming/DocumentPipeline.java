@@ -0,0 +1,348 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.document.streaming;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentReader;
+import org.springframework.ai.document.DocumentTransformer;
+import org.springframework.ai.document.DocumentWriter;
+import org.springframework.ai.document.streaming.observation.DefaultDocumentPipelineObservationConvention;
+import org.springframework.ai.document.streaming.observation.DocumentPipelineMeterObservationHandler;
+import org.springframework.ai.document.streaming.observation.DocumentPipelineObservationContext;
+import org.springframework.ai.document.streaming.observation.DocumentPipelineObservationConvention;
+import org.springframework.ai.document.streaming.observation.DocumentPipelineObservationDocumentation;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Streams documents from a {@link StreamingDocumentReader}, through any number of
+ * {@link StreamingDocumentTransformer} instances, into a {@link StreamingDocumentWriter}.
+ *
+ * <p>
+ * Documents are only read as fast as they are written, so the memory held by a run is
+ * bounded by the parallelism of the transformers and the batches of the writer rather
+ * than by the size of the corpus.
+ *
+ * <p>
+ * Usage example: <pre>{@code
+ * DocumentPipeline pipeline = DocumentPipeline.builder()
+ *     .reader(StreamingDocumentReader.from(resources.stream().map(TikaDocumentReader::new).toList()))
+ *     .transformer(new TokenTextSplitter(), 4)
+ *     .writer(vectorStore, 100, 2)
+ *     .build();
+ * DocumentPipeline.Progress progress = pipeline.execute();
+ * }</pre>
+ *
+ * <p>
+ * When an {@link ObservationRegistry} is configured, each run is observed and an
+ * {@link DocumentPipelineObservationDocumentation.Events#BATCH_WRITTEN} event is
+ * signalled each time a batch has been written. The
+ * {@link DocumentPipelineMeterObservationHandler} turns the progress of the runs into
+ * metrics.
+ *
+ * @since 2.0.0
+ */
+public final class DocumentPipeline {
+
+	/**
+	 * Default name of a pipeline, used to tag its observations.
+	 */
+	public static final String DEFAULT_NAME = "default";
+
+	private static final DocumentPipelineObservationConvention DEFAULT_OBSERVATION_CONVENTION = new DefaultDocumentPipelineObservationConvention();
+
+	private final String name;
+
+	private final StreamingDocumentReader reader;
+
+	private final List<StreamingDocumentTransformer> transformers;
+
+	private final StreamingDocumentWriter writer;
+
+	private final Scheduler scheduler;
+
+	@Nullable
+	private final Consumer<Progress> progressListener;
+
+	private final ObservationRegistry observationRegistry;
+
+	@Nullable
+	private final DocumentPipelineObservationConvention observationConvention;
+
+	private DocumentPipeline(Builder builder) {
+		this.name = builder.name;
+		this.reader = builder.reader;
+		this.scheduler = builder.scheduler;
+		this.transformers = builder.transformers.stream()
+			.map(transformer -> transformer.apply(this.scheduler))
+			.toList();
+		this.writer = builder.writer.apply(this.scheduler);
+		this.progressListener = builder.progressListener;
+		this.observationRegistry = builder.observationRegistry;
+		this.observationConvention = builder.observationConvention;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns a {@link Mono} running the pipeline each time it is subscribed to.
+	 * @return the progress of the run once all the documents have been written
+	 */
+	public Mono<Progress> run() {
+		return Mono.deferContextual(contextView -> {
+			ProgressCounts counts = new ProgressCounts();
+			DocumentPipelineObservationContext observationContext = DocumentPipelineObservationContext.builder()
+				.pipelineName(this.name)
+				.build();
+			Observation observation = DocumentPipelineObservationDocumentation.DOCUMENT_PIPELINE.observation(
+					this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
+					this.observationRegistry);
+			observation.parentObservation(contextView.getOrDefault(ObservationThreadLocalAccessor.KEY, null)).start();
+
+			Flux<Document> documents = this.reader.read()
+				.subscribeOn(this.scheduler)
+				.doOnNext(document -> counts.read.incrementAndGet());
+			for (StreamingDocumentTransformer transformer : this.transformers) {
+				documents = transformer.transform(documents);
+			}
+			documents = documents.doOnNext(document -> counts.transformed.incrementAndGet());
+			// @formatter:off
+			return this.writer.write(documents)
+				.doOnNext(batch -> {
+					counts.written.addAndGet(batch.size());
+					counts.batches.incrementAndGet();
+					Progress progress = counts.snapshot();
+					observationContext.setProgress(progress);
+					observation.event(DocumentPipelineObservationDocumentation.Events.BATCH_WRITTEN);
+					if (this.progressListener != null) {
+						this.progressListener.accept(progress);
+					}
+				})
+				.then(Mono.fromSupplier(counts::snapshot))
+				// stop the observation before the result reaches the subscriber
+				.doOnSuccess(progress -> stop(observation, observationContext, counts))
+				.doOnError(error -> {
+					observation.error(error);
+					stop(observation, observationContext, counts);
+				})
+				.doOnCancel(() -> stop(observation, observationContext, counts))
+				.contextWrite(ctx -> ctx.put(ObservationThreadLocalAccessor.KEY, observation));
+			// @formatter:on
+		});
+	}
+
+	private static void stop(Observation observation, DocumentPipelineObservationContext observationContext,
+			ProgressCounts counts) {
+		observationContext.setProgress(counts.snapshot());
+		observation.stop();
+	}
+
+	/**
+	 * Runs the pipeline, blocking until all the documents have been written.
+	 * @return the progress of the run
+	 */
+	public Progress execute() {
+		Progress progress = run().block();
+		Assert.state(progress != null, "The pipeline completed without progress");
+		return progress;
+	}
+
+	/**
+	 * Progress of a run of the pipeline.
+	 *
+	 * @param read the number of documents read
+	 * @param transformed the number of documents out of the last transformer
+	 * @param written the number of documents written
+	 * @param batches the number of batches written
+	 */
+	public record Progress(long read, long transformed, long written, long batches) {
+
+	}
+
+	private static final class ProgressCounts {
+
+		final AtomicLong read = new AtomicLong();
+
+		final AtomicLong transformed = new AtomicLong();
+
+		final AtomicLong written = new AtomicLong();
+
+		final AtomicLong batches = new AtomicLong();
+
+		Progress snapshot() {
+			return new Progress(this.read.get(), this.transformed.get(), this.written.get(), this.batches.get());
+		}
+
+	}
+
+	public static final class Builder {
+
+		@Nullable
+		private StreamingDocumentReader reader;
+
+		private final List<Function<Scheduler, StreamingDocumentTransformer>> transformers = new ArrayList<>();
+
+		@Nullable
+		private Function<Scheduler, StreamingDocumentWriter> writer;
+
+		private Scheduler scheduler = Schedulers.boundedElastic();
+
+		private String name = DEFAULT_NAME;
+
+		@Nullable
+		private Consumer<Progress> progressListener;
+
+		private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+		@Nullable
+		private DocumentPipelineObservationConvention observationConvention;
+
+		private Builder() {
+		}
+
+		public Builder reader(StreamingDocumentReader reader) {
+			Assert.notNull(reader, "reader must not be null");
+			this.reader = reader;
+			return this;
+		}
+
+		public Builder reader(DocumentReader reader) {
+			return reader(StreamingDocumentReader.from(reader));
+		}
+
+		/**
+		 * Add a transformer, applied after the previously added ones.
+		 * @param transformer the transformer
+		 * @return this builder
+		 */
+		public Builder transformer(StreamingDocumentTransformer transformer) {
+			Assert.notNull(transformer, "transformer must not be null");
+			this.transformers.add(scheduler -> transformer);
+			return this;
+		}
+
+		/**
+		 * Add a transformer applied to one document at a time, with up to the given
+		 * number of documents transformed at once on the scheduler of the pipeline.
+		 * @param transformer the transformer
+		 * @param parallelism the maximum number of documents transformed at once
+		 * @return this builder
+		 * @see StreamingDocumentTransformer#from(DocumentTransformer, int, Scheduler)
+		 */
+		public Builder transformer(DocumentTransformer transformer, int parallelism) {
+			Assert.notNull(transformer, "transformer must not be null");
+			Assert.isTrue(parallelism > 0, "parallelism must be greater than 0");
+			this.transformers.add(scheduler -> StreamingDocumentTransformer.from(transformer, parallelism, scheduler));
+			return this;
+		}
+
+		public Builder writer(StreamingDocumentWriter writer) {
+			Assert.notNull(writer, "writer must not be null");
+			this.writer = scheduler -> writer;
+			return this;
+		}
+
+		/**
+		 * Set a writer receiving the documents in batches, with up to the given number of
+		 * batches written at once on the scheduler of the pipeline.
+		 * @param writer the writer, such as a vector store
+		 * @param batchSize the maximum number of documents per batch
+		 * @param concurrency the maximum number of batches written at once
+		 * @return this builder
+		 * @see StreamingDocumentWriter#from(DocumentWriter, int, int, Scheduler)
+		 */
+		public Builder writer(DocumentWriter writer, int batchSize, int concurrency) {
+			Assert.notNull(writer, "writer must not be null");
+			Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+			Assert.isTrue(concurrency > 0, "concurrency must be greater than 0");
+			this.writer = scheduler -> StreamingDocumentWriter.from(writer, batchSize, concurrency, scheduler);
+			return this;
+		}
+
+		/**
+		 * Set the scheduler the documents are read on, and the adapted transformers and
+		 * writers run on. Defaults to the bounded elastic scheduler, as readers and
+		 * writers usually block.
+		 * @param scheduler the scheduler
+		 * @return this builder
+		 */
+		public Builder scheduler(Scheduler scheduler) {
+			Assert.notNull(scheduler, "scheduler must not be null");
+			this.scheduler = scheduler;
+			return this;
+		}
+
+		/**
+		 * Set the name of the pipeline, used to tag its observations.
+		 * @param name the name
+		 * @return this builder
+		 */
+		public Builder name(String name) {
+			Assert.hasText(name, "name must not be empty");
+			this.name = name;
+			return this;
+		}
+
+		/**
+		 * Set a listener notified of the progress of a run each time a batch has been
+		 * written.
+		 * @param progressListener the listener
+		 * @return this builder
+		 */
+		public Builder progressListener(Consumer<Progress> progressListener) {
+			Assert.notNull(progressListener, "progressListener must not be null");
+			this.progressListener = progressListener;
+			return this;
+		}
+
+		public Builder observationRegistry(ObservationRegistry observationRegistry) {
+			Assert.notNull(observationRegistry, "observationRegistry must not be null");
+			this.observationRegistry = observationRegistry;
+			return this;
+		}
+
+		public Builder observationConvention(DocumentPipelineObservationConvention observationConvention) {
+			Assert.notNull(observationConvention, "observationConvention must not be null");
+			this.observationConvention = observationConvention;
+			return this;
+		}
+
+		public DocumentPipeline build() {
+			Assert.notNull(this.reader, "reader must not be null");
+			Assert.notNull(this.writer, "writer must not be null");
+			return new DocumentPipeline(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.document.streaming;
+
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Flux;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentReader;
+import org.springframework.util.Assert;
+
+/**
+ * Reads {@link Document} instances as a stream, emitting them as they are requested.
+ *
+ * @since 2.0.0
+ * @see DocumentReader
+ */
+@FunctionalInterface
+public interface StreamingDocumentReader extends Supplier<Flux<Document>> {
+
+	default Flux<Document> read() {
+		return get();
+	}
+
+	/**
+	 * Adapts a {@link DocumentReader}. The documents are read when the stream is
+	 * subscribed to.
+	 * @param reader the reader
+	 * @return the streaming reader
+	 */
+	static StreamingDocumentReader from(DocumentReader reader) {
+		Assert.notNull(reader, "reader must not be null");
+		return () -> Flux.defer(() -> Flux.fromIterable(reader.read()));
+	}
+
+	/**
+	 * Adapts several {@link DocumentReader} instances, typically one per file of a
+	 * corpus. Each reader is only read once the documents of the previous one have been
+	 * requested, so that the corpus is never held in memory as a whole.
+	 * @param readers the readers, which may be created lazily by the iterable
+	 * @return the streaming reader
+	 */
+	static StreamingDocumentReader from(Iterable<? extends DocumentReader> readers) {
+		Assert.notNull(readers, "readers must not be null");
+		return () -> Flux.fromIterable(readers)
+			.concatMap(reader -> Flux.defer(() -> Flux.fromIterable(reader.read())), 0);
+	}
+
+}
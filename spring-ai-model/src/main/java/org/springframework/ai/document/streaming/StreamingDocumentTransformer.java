@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.document.streaming;
+
+import java.util.List;
+import java.util.function.Function;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentTransformer;
+import org.springframework.util.Assert;
+
+/**
+ * Transforms a stream of {@link Document} instances.
+ *
+ * @since 2.0.0
+ * @see DocumentTransformer
+ */
+@FunctionalInterface
+public interface StreamingDocumentTransformer extends Function<Flux<Document>, Flux<Document>> {
+
+	default Flux<Document> transform(Flux<Document> documents) {
+		return apply(documents);
+	}
+
+	/**
+	 * Adapts a {@link DocumentTransformer}, applying it to one document at a time on the
+	 * calling thread.
+	 * @param transformer the transformer
+	 * @return the streaming transformer
+	 * @see #from(DocumentTransformer, int, Scheduler)
+	 */
+	static StreamingDocumentTransformer from(DocumentTransformer transformer) {
+		return from(transformer, 1, Schedulers.immediate());
+	}
+
+	/**
+	 * Adapts a {@link DocumentTransformer}, applying it to one document at a time. This
+	 * suits transformers handling each document on its own, such as text splitters, but
+	 * not transformers relying on the neighbours of a document.
+	 * @param transformer the transformer
+	 * @param parallelism the maximum number of documents transformed at once
+	 * @param scheduler the scheduler the documents are transformed on
+	 * @return the streaming transformer, which keeps the order of the documents
+	 */
+	static StreamingDocumentTransformer from(DocumentTransformer transformer, int parallelism, Scheduler scheduler) {
+		Assert.notNull(transformer, "transformer must not be null");
+		Assert.isTrue(parallelism > 0, "parallelism must be greater than 0");
+		Assert.notNull(scheduler, "scheduler must not be null");
+		return documents -> documents
+			.flatMapSequential(document -> Mono.fromCallable(() -> transformer.transform(List.of(document)))
+				.subscribeOn(scheduler), parallelism, 1)
+			.concatMapIterable(Function.identity());
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.document.streaming;
+
+import java.util.List;
+import java.util.function.Function;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentWriter;
+import org.springframework.util.Assert;
+
+/**
+ * Writes a stream of {@link Document} instances, emitting each batch of documents once it
+ * has been written.
+ *
+ * @since 2.0.0
+ * @see DocumentWriter
+ */
+@FunctionalInterface
+public interface StreamingDocumentWriter extends Function<Flux<Document>, Flux<List<Document>>> {
+
+	default Flux<List<Document>> write(Flux<Document> documents) {
+		return apply(documents);
+	}
+
+	/**
+	 * Adapts a {@link DocumentWriter}, writing one batch at a time on the bounded elastic
+	 * scheduler.
+	 * @param writer the writer
+	 * @param batchSize the maximum number of documents per batch
+	 * @return the streaming writer
+	 * @see #from(DocumentWriter, int, int, Scheduler)
+	 */
+	static StreamingDocumentWriter from(DocumentWriter writer, int batchSize) {
+		return from(writer, batchSize, 1, Schedulers.boundedElastic());
+	}
+
+	/**
+	 * Adapts a {@link DocumentWriter}, such as a vector store, writing the documents in
+	 * batches. No more than {@code batchSize * (concurrency + 1)} documents are requested
+	 * from upstream before their batch has been written.
+	 * @param writer the writer
+	 * @param batchSize the maximum number of documents per batch
+	 * @param concurrency the maximum number of batches written at once
+	 * @param scheduler the scheduler the batches are written on
+	 * @return the streaming writer, which emits the batches in the order they are written
+	 */
+	static StreamingDocumentWriter from(DocumentWriter writer, int batchSize, int concurrency, Scheduler scheduler) {
+		Assert.notNull(writer, "writer must not be null");
+		Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+		Assert.isTrue(concurrency > 0, "concurrency must be greater than 0");
+		Assert.notNull(scheduler, "scheduler must not be null");
+		return documents -> documents.buffer(batchSize)
+			.flatMap(batch -> Mono.fromRunnable(() -> writer.write(batch)).subscribeOn(scheduler).thenReturn(batch),
+					concurrency, 1);
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.document.streaming.observation;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+
+import org.springframework.ai.observation.conventions.SpringAiKind;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Default conventions to populate observations for document pipeline runs.
+ *
+ * @since 2.0.0
+ */
+public class DefaultDocumentPipelineObservationConvention implements DocumentPipelineObservationConvention {
+
+	public static final String DEFAULT_NAME = "spring.ai.etl.pipeline";
+
+	private final String name;
+
+	public DefaultDocumentPipelineObservationConvention() {
+		this(DEFAULT_NAME);
+	}
+
+	public DefaultDocumentPipelineObservationConvention(String name) {
+		this.name = name;
+	}
+
+	@Override
+	public String getName() {
+		return this.name;
+	}
+
+	@Override
+	@Nullable
+	public String getContextualName(DocumentPipelineObservationContext context) {
+		Assert.notNull(context, "context cannot be null");
+		return "%s %s".formatted(SpringAiKind.DOCUMENT_PIPELINE.value(), context.getPipelineName());
+	}
+
+	@Override
+	public KeyValues getLowCardinalityKeyValues(DocumentPipelineObservationContext context) {
+		return KeyValues.of(aiOperationType(context), aiProvider(context), springAiKind(context),
+				pipelineName(context));
+	}
+
+	protected KeyValue aiOperationType(DocumentPipelineObservationContext context) {
+		return KeyValue.of(DocumentPipelineObservationDocumentation.LowCardinalityKeyNames.AI_OPERATION_TYPE,
+				context.getOperationMetadata().operationType());
+	}
+
+	protected KeyValue aiProvider(DocumentPipelineObservationContext context) {
+		return KeyValue.of(DocumentPipelineObservationDocumentation.LowCardinalityKeyNames.AI_PROVIDER,
+				context.getOperationMetadata().provider());
+	}
+
+	protected KeyValue springAiKind(DocumentPipelineObservationContext context) {
+		return KeyValue.of(DocumentPipelineObservationDocumentation.LowCardinalityKeyNames.SPRING_AI_KIND,
+				SpringAiKind.DOCUMENT_PIPELINE.value());
+	}
+
+	protected KeyValue pipelineName(DocumentPipelineObservationContext context) {
+		return KeyValue.of(DocumentPipelineObservationDocumentation.LowCardinalityKeyNames.PIPELINE_NAME,
+				context.getPipelineName());
+	}
+
+}
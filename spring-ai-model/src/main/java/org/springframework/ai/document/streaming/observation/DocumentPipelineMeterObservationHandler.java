@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.document.streaming.observation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+
+import org.springframework.ai.document.streaming.DocumentPipeline;
+
+/**
+ * Handler for generating metrics from document pipeline observations. The documents read,
+ * transformed and written are counted by {@code spring.ai.etl.documents}, tagged with the
+ * {@code spring.ai.etl.stage}, and the batches written by {@code spring.ai.etl.batches}.
+ * The counters are updated each time a batch has been written, so that they follow the
+ * progress of long runs.
+ *
+ * @since 2.0.0
+ */
+public class DocumentPipelineMeterObservationHandler implements ObservationHandler<DocumentPipelineObservationContext> {
+
+	public static final String DOCUMENTS_METRIC_NAME = "spring.ai.etl.documents";
+
+	public static final String BATCHES_METRIC_NAME = "spring.ai.etl.batches";
+
+	public static final String STAGE_TAG = "spring.ai.etl.stage";
+
+	private static final String DOCUMENTS_DESCRIPTION = "The number of documents that went through a stage of the pipeline";
+
+	private static final String BATCHES_DESCRIPTION = "The number of document batches written";
+
+	private static final Object RECORDED_PROGRESS_KEY = DocumentPipelineMeterObservationHandler.class.getName()
+			+ ".recordedProgress";
+
+	private final MeterRegistry meterRegistry;
+
+	public DocumentPipelineMeterObservationHandler(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void onEvent(Observation.Event event, DocumentPipelineObservationContext context) {
+		record(context);
+	}
+
+	@Override
+	public void onStop(DocumentPipelineObservationContext context) {
+		record(context);
+	}
+
+	private void record(DocumentPipelineObservationContext context) {
+		DocumentPipeline.Progress progress = context.getProgress();
+		DocumentPipeline.Progress recorded = context.getOrDefault(RECORDED_PROGRESS_KEY,
+				new DocumentPipeline.Progress(0, 0, 0, 0));
+		context.put(RECORDED_PROGRESS_KEY, progress);
+		List<Tag> tags = createTags(context);
+		increment(documentCounter("read", tags), progress.read() - recorded.read());
+		increment(documentCounter("transformed", tags), progress.transformed() - recorded.transformed());
+		increment(documentCounter("written", tags), progress.written() - recorded.written());
+		increment(Counter.builder(BATCHES_METRIC_NAME)
+			.description(BATCHES_DESCRIPTION)
+			.tags(tags)
+			.register(this.meterRegistry), progress.batches() - recorded.batches());
+	}
+
+	private Counter documentCounter(String stage, List<Tag> tags) {
+		return Counter.builder(DOCUMENTS_METRIC_NAME)
+			.tag(STAGE_TAG, stage)
+			.description(DOCUMENTS_DESCRIPTION)
+			.tags(tags)
+			.register(this.meterRegistry);
+	}
+
+	private static void increment(Counter counter, long amount) {
+		if (amount > 0) {
+			counter.increment(amount);
+		}
+	}
+
+	private static List<Tag> createTags(Observation.Context context) {
+		List<Tag> tags = new ArrayList<>();
+		for (KeyValue keyValue : context.getLowCardinalityKeyValues()) {
+			tags.add(Tag.of(keyValue.getKey(), keyValue.getValue()));
+		}
+		return tags;
+	}
+
+	@Override
+	public boolean supportsContext(Observation.Context context) {
+		return context instanceof DocumentPipelineObservationContext;
+	}
+
+}
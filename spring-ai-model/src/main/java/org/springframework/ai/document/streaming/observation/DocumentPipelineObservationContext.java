@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.document.streaming.observation;
+
+import io.micrometer.observation.Observation;
+
+import org.springframework.ai.document.streaming.DocumentPipeline;
+import org.springframework.ai.observation.AiOperationMetadata;
+import org.springframework.ai.observation.conventions.AiOperationType;
+import org.springframework.ai.observation.conventions.AiProvider;
+import org.springframework.util.Assert;
+
+/**
+ * Context used to store data for document pipeline observations.
+ *
+ * @since 2.0.0
+ */
+public final class DocumentPipelineObservationContext extends Observation.Context {
+
+	private final AiOperationMetadata operationMetadata = new AiOperationMetadata(AiOperationType.FRAMEWORK.value(),
+			AiProvider.SPRING_AI.value());
+
+	private final String pipelineName;
+
+	private DocumentPipeline.Progress progress = new DocumentPipeline.Progress(0, 0, 0, 0);
+
+	private DocumentPipelineObservationContext(String pipelineName) {
+		Assert.hasText(pipelineName, "pipelineName cannot be null or empty");
+		this.pipelineName = pipelineName;
+	}
+
+	public AiOperationMetadata getOperationMetadata() {
+		return this.operationMetadata;
+	}
+
+	public String getPipelineName() {
+		return this.pipelineName;
+	}
+
+	/**
+	 * Return the progress of the run, updated each time a batch has been written and once
+	 * the run has terminated.
+	 * @return the progress of the run
+	 */
+	public DocumentPipeline.Progress getProgress() {
+		return this.progress;
+	}
+
+	public void setProgress(DocumentPipeline.Progress progress) {
+		Assert.notNull(progress, "progress cannot be null");
+		this.progress = progress;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public static final class Builder {
+
+		private String pipelineName = DocumentPipeline.DEFAULT_NAME;
+
+		private Builder() {
+		}
+
+		public Builder pipelineName(String pipelineName) {
+			this.pipelineName = pipelineName;
+			return this;
+		}
+
+		public DocumentPipelineObservationContext build() {
+			return new DocumentPipelineObservationContext(this.pipelineName);
+		}
+
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.document.streaming.observation;
+
+import io.micrometer.common.docs.KeyName;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationConvention;
+import io.micrometer.observation.docs.ObservationDocumentation;
+
+import org.springframework.ai.observation.conventions.AiObservationAttributes;
+
+/**
+ * Document pipeline observation documentation.
+ *
+ * @since 2.0.0
+ */
+public enum DocumentPipelineObservationDocumentation implements ObservationDocumentation {
+
+	/**
+	 * Document pipeline runs.
+	 */
+	DOCUMENT_PIPELINE {
+		@Override
+		public Class<? extends ObservationConvention<? extends Observation.Context>> getDefaultConvention() {
+			return DefaultDocumentPipelineObservationConvention.class;
+		}
+
+		@Override
+		public KeyName[] getLowCardinalityKeyNames() {
+			return LowCardinalityKeyNames.values();
+		}
+
+		@Override
+		public Observation.Event[] getEvents() {
+			return Events.values();
+		}
+
+	};
+
+	/**
+	 * Low cardinality key names.
+	 */
+	public enum LowCardinalityKeyNames implements KeyName {
+
+		/**
+		 * The name of the operation being performed.
+		 */
+		AI_OPERATION_TYPE {
+			@Override
+			public String asString() {
+				return AiObservationAttributes.AI_OPERATION_TYPE.value();
+			}
+		},
+
+		/**
+		 * The provider responsible for the operation.
+		 */
+		AI_PROVIDER {
+			@Override
+			public String asString() {
+				return AiObservationAttributes.AI_PROVIDER.value();
+			}
+		},
+
+		/**
+		 * Spring AI kind.
+		 */
+		SPRING_AI_KIND {
+			@Override
+			public String asString() {
+				return "spring.ai.kind";
+			}
+		},
+
+		/**
+		 * The name of the pipeline.
+		 */
+		PIPELINE_NAME {
+			@Override
+			public String asString() {
+				return "spring.ai.etl.pipeline.name";
+			}
+		}
+
+	}
+
+	/**
+	 * Events signalled during a run.
+	 */
+	public enum Events implements Observation.Event {
+
+		/**
+		 * A batch of documents has been written.
+		 */
+		BATCH_WRITTEN {
+			@Override
+			public String getName() {
+				return "spring.ai.etl.batch.written";
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,460 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.observation.CacheMetrics;
+import org.springframework.ai.observation.CacheStatistics;
+import org.springframework.ai.observation.conventions.AiObservationAttributes;
+import org.springframework.ai.observation.conventions.AiOperationType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * {@link EmbeddingModel} decorator caching the embeddings of the texts it has already
+ * embedded, so that re-ingesting a corpus or embedding the same query again does not call
+ * the model.
+ *
+ * <p>
+ * The embeddings are keyed by the SHA-256 digest of the model name, the options of the
+ * request and the text. Documents are embedded as their content formatted with the
+ * {@link Builder#metadataMode(MetadataMode) metadataMode}, so that they share the cached
+ * embeddings of the texts. They are kept in memory, in a least recently used cache
+ * bounded by the approximate size of its entries, and optionally in an append-only file
+ * surviving restarts, bounded by its size. When only some texts of a request are cached,
+ * only the others are sent to the model, and the embeddings are returned in the order of
+ * the texts.
+ *
+ * <p>
+ * The cached arrays are returned as is and must not be modified.
+ *
+ * <p>
+ * Usage example: <pre>{@code
+ * EmbeddingModel embeddingModel = CachingEmbeddingModel.builder(openAiEmbeddingModel)
+ *     .maxMemorySize(DataSize.ofMegabytes(256))
+ *     .directory(Path.of("/var/cache/embeddings"))
+ *     .meterRegistry(meterRegistry)
+ *     .build();
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class CachingEmbeddingModel implements EmbeddingModel, AutoCloseable {
+
+	/**
+	 * Default maximum size of the embeddings kept in memory.
+	 */
+	public static final DataSize DEFAULT_MAX_MEMORY_SIZE = DataSize.ofMegabytes(64);
+
+	/**
+	 * Default maximum size of the file keeping the embeddings across restarts.
+	 */
+	public static final DataSize DEFAULT_MAX_FILE_SIZE = DataSize.ofGigabytes(1);
+
+	private static final String CACHE_NAME = "embedding";
+
+	/**
+	 * Approximate memory used by an entry besides its vector: the hex encoded key, the
+	 * map node and the array header.
+	 */
+	private static final int ENTRY_OVERHEAD_BYTES = 200;
+
+	private static final Logger logger = LoggerFactory.getLogger(CachingEmbeddingModel.class);
+
+	private final EmbeddingModel delegate;
+
+	private final String modelName;
+
+	private final MetadataMode metadataMode;
+
+	private final long maxMemoryBytes;
+
+	/**
+	 * Access ordered, so that the least recently used entry comes first. Guarded by
+	 * itself.
+	 */
+	private final LinkedHashMap<String, float[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Approximate size of the entries in memory. Guarded by the memory map.
+	 */
+	private long memoryBytes;
+
+	@Nullable
+	private final EmbeddingFileStore fileStore;
+
+	private final CacheStatistics statistics = new CacheStatistics();
+
+	private final LongAdder fileHits = new LongAdder();
+
+	private CachingEmbeddingModel(Builder builder) {
+		this.delegate = builder.delegate;
+		this.modelName = (builder.modelName != null) ? builder.modelName : builder.delegate.getClass().getName();
+		this.metadataMode = builder.metadataMode;
+		this.maxMemoryBytes = builder.maxMemorySize.toBytes();
+		if (builder.directory != null) {
+			try {
+				this.fileStore = new EmbeddingFileStore(builder.directory, builder.maxFileSize.toBytes());
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("Failed to open the embedding cache in " + builder.directory, ex);
+			}
+		}
+		else {
+			this.fileStore = null;
+		}
+		if (builder.meterRegistry != null) {
+			Tags tags = Tags.of(AiObservationAttributes.AI_OPERATION_TYPE.value(), AiOperationType.EMBEDDING.value(),
+					AiObservationAttributes.REQUEST_MODEL.value(), this.modelName);
+			CacheMetrics.builder(this, CACHE_NAME, CachingEmbeddingModel::statistics)
+				.tags(tags)
+				.size(CachingEmbeddingModel::size)
+				.gauge("cache.memory.size", "The approximate size of the embeddings kept in memory", BaseUnits.BYTES,
+						CachingEmbeddingModel::memoryBytes)
+				.gauge("cache.file.size", "The size of the file keeping the embeddings across restarts",
+						BaseUnits.BYTES, CachingEmbeddingModel::fileBytes)
+				.counter("cache.file.hits", "The number of embeddings read from the cache file", null,
+						CachingEmbeddingModel::fileHitCount)
+				.build()
+				.bindTo(builder.meterRegistry);
+		}
+	}
+
+	public static Builder builder(EmbeddingModel delegate) {
+		return new Builder(delegate);
+	}
+
+	@Override
+	public EmbeddingResponse call(EmbeddingRequest request) {
+		Assert.notNull(request, "request must not be null");
+		List<String> texts = request.getInstructions();
+		String model = this.modelName;
+		if (request.getOptions() != null && request.getOptions().getModel() != null) {
+			model = request.getOptions().getModel();
+		}
+		String options = serialize(request.getOptions());
+
+		float[][] embeddings = new float[texts.size()][];
+		// The positions of each missing text, so that a text repeated in the request is
+		// embedded once.
+		Map<String, List<Integer>> missingPositions = new LinkedHashMap<>();
+		List<String> missingTexts = new ArrayList<>();
+		for (int i = 0; i < texts.size(); i++) {
+			String key = cacheKey(model, options, texts.get(i));
+			float[] embedding = get(key);
+			if (embedding != null) {
+				embeddings[i] = embedding;
+				continue;
+			}
+			int position = i;
+			missingPositions.computeIfAbsent(key, k -> {
+				missingTexts.add(texts.get(position));
+				return new ArrayList<>();
+			}).add(i);
+		}
+
+		EmbeddingResponseMetadata metadata = new EmbeddingResponseMetadata();
+		if (!missingTexts.isEmpty()) {
+			EmbeddingResponse response = this.delegate.call(new EmbeddingRequest(missingTexts, request.getOptions()));
+			Assert.isTrue(response.getResults().size() == missingTexts.size(),
+					"Embeddings must have the same number as that of the texts");
+			Iterator<Embedding> results = response.getResults().iterator();
+			for (Map.Entry<String, List<Integer>> missing : missingPositions.entrySet()) {
+				float[] embedding = results.next().getOutput();
+				put(missing.getKey(), embedding);
+				for (int position : missing.getValue()) {
+					embeddings[position] = embedding;
+				}
+			}
+			if (response.getMetadata() != null) {
+				metadata = response.getMetadata();
+			}
+		}
+
+		List<Embedding> results = new ArrayList<>(embeddings.length);
+		for (int i = 0; i < embeddings.length; i++) {
+			results.add(new Embedding(embeddings[i], i));
+		}
+		return new EmbeddingResponse(results, metadata);
+	}
+
+	@Override
+	public float[] embed(Document document) {
+		Assert.notNull(document, "document must not be null");
+		return embed(document.getFormattedContent(this.metadataMode));
+	}
+
+	@Override
+	public int dimensions() {
+		return this.delegate.dimensions();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (this.fileStore != null) {
+			this.fileStore.close();
+		}
+	}
+
+	@Nullable
+	private float[] get(String key) {
+		float[] embedding;
+		synchronized (this.memory) {
+			embedding = this.memory.get(key);
+		}
+		if (embedding != null) {
+			this.statistics.recordHits(1);
+			return embedding;
+		}
+		if (this.fileStore != null) {
+			try {
+				embedding = this.fileStore.get(key);
+			}
+			catch (IOException ex) {
+				logger.warn("Failed to read a cached embedding, embedding the text again", ex);
+			}
+			if (embedding != null) {
+				this.statistics.recordHits(1);
+				this.fileHits.increment();
+				remember(key, embedding);
+				return embedding;
+			}
+		}
+		this.statistics.recordMisses(1);
+		return null;
+	}
+
+	private void put(String key, float[] embedding) {
+		this.statistics.recordPuts(1);
+		remember(key, embedding);
+		if (this.fileStore != null) {
+			try {
+				this.fileStore.put(key, embedding);
+			}
+			catch (IOException ex) {
+				logger.warn("Failed to write an embedding to the cache file", ex);
+			}
+		}
+	}
+
+	private void remember(String key, float[] embedding) {
+		synchronized (this.memory) {
+			float[] previous = this.memory.put(key, embedding);
+			if (previous != null) {
+				this.memoryBytes -= entryBytes(previous);
+			}
+			this.memoryBytes += entryBytes(embedding);
+			Iterator<float[]> eldest = this.memory.values().iterator();
+			while (this.memoryBytes > this.maxMemoryBytes && eldest.hasNext()) {
+				this.memoryBytes -= entryBytes(eldest.next());
+				eldest.remove();
+				this.statistics.recordEvictions(1);
+			}
+		}
+	}
+
+	private static long entryBytes(float[] embedding) {
+		return ENTRY_OVERHEAD_BYTES + (long) embedding.length * Float.BYTES;
+	}
+
+	/**
+	 * Serializes the options with their properties in a stable order, so that requests
+	 * with the same options share their cache keys.
+	 */
+	private static String serialize(@Nullable EmbeddingOptions options) {
+		if (options == null) {
+			return "{}";
+		}
+		return ModelOptionsUtils.toJsonString(new TreeMap<>(ModelOptionsUtils.objectToMap(options)));
+	}
+
+	private static String cacheKey(String model, String options, String text) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+		digest.update(model.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(options.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(text.getBytes(StandardCharsets.UTF_8));
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	int size() {
+		synchronized (this.memory) {
+			return this.memory.size();
+		}
+	}
+
+	long memoryBytes() {
+		synchronized (this.memory) {
+			return this.memoryBytes;
+		}
+	}
+
+	long fileBytes() {
+		return (this.fileStore != null) ? this.fileStore.sizeInBytes() : 0;
+	}
+
+	CacheStatistics statistics() {
+		return this.statistics;
+	}
+
+	long fileHitCount() {
+		return this.fileHits.sum();
+	}
+
+	/**
+	 * Builder for {@link CachingEmbeddingModel}.
+	 */
+	public static final class Builder {
+
+		private final EmbeddingModel delegate;
+
+		@Nullable
+		private String modelName;
+
+		private MetadataMode metadataMode = MetadataMode.EMBED;
+
+		private DataSize maxMemorySize = DEFAULT_MAX_MEMORY_SIZE;
+
+		private DataSize maxFileSize = DEFAULT_MAX_FILE_SIZE;
+
+		@Nullable
+		private Path directory;
+
+		@Nullable
+		private MeterRegistry meterRegistry;
+
+		private Builder(EmbeddingModel delegate) {
+			Assert.notNull(delegate, "delegate must not be null");
+			this.delegate = delegate;
+		}
+
+		/**
+		 * Sets the name of the model used in the cache keys when the request does not
+		 * name one. Defaults to the class name of the delegate, so it should be set
+		 * whenever the default model of the delegate can change while the cache file is
+		 * kept.
+		 * @param modelName the model name
+		 * @return this builder
+		 */
+		public Builder modelName(String modelName) {
+			Assert.hasText(modelName, "modelName must not be empty");
+			this.modelName = modelName;
+			return this;
+		}
+
+		/**
+		 * Sets the metadata included in the content of the documents embedded with
+		 * {@link CachingEmbeddingModel#embed(Document)}. Defaults to
+		 * {@link MetadataMode#EMBED}, as with most embedding models.
+		 * @param metadataMode the metadata mode
+		 * @return this builder
+		 */
+		public Builder metadataMode(MetadataMode metadataMode) {
+			Assert.notNull(metadataMode, "metadataMode must not be null");
+			this.metadataMode = metadataMode;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum size of the embeddings kept in memory, estimated from the
+		 * number of dimensions of each embedding.
+		 * @param maxMemorySize the maximum size
+		 * @return this builder
+		 */
+		public Builder maxMemorySize(DataSize maxMemorySize) {
+			Assert.notNull(maxMemorySize, "maxMemorySize must not be null");
+			Assert.isTrue(!maxMemorySize.isNegative(), "maxMemorySize must not be negative");
+			this.maxMemorySize = maxMemorySize;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum size of the file keeping the embeddings across restarts. When
+		 * an embedding would grow the file beyond it, only the most recent embeddings
+		 * filling up to half of it are kept.
+		 * @param maxFileSize the maximum size
+		 * @return this builder
+		 */
+		public Builder maxFileSize(DataSize maxFileSize) {
+			Assert.notNull(maxFileSize, "maxFileSize must not be null");
+			Assert.isTrue(maxFileSize.toBytes() > 0, "maxFileSize must be positive");
+			this.maxFileSize = maxFileSize;
+			return this;
+		}
+
+		/**
+		 * Sets the directory of the file keeping the embeddings across restarts. The
+		 * embeddings are kept in memory only if not set. The directory must not be used
+		 * by another cache at the same time.
+		 * @param directory the directory, created if it does not exist
+		 * @return this builder
+		 */
+		public Builder directory(Path directory) {
+			Assert.notNull(directory, "directory must not be null");
+			this.directory = directory;
+			return this;
+		}
+
+		/**
+		 * Sets the registry to which the cache metrics are bound.
+		 * @param meterRegistry the meter registry
+		 * @return this builder
+		 */
+		public Builder meterRegistry(MeterRegistry meterRegistry) {
+			Assert.notNull(meterRegistry, "meterRegistry must not be null");
+			this.meterRegistry = meterRegistry;
+			return this;
+		}
+
+		public CachingEmbeddingModel build() {
+			return new CachingEmbeddingModel(this);
+		}
+
+	}
+
+}
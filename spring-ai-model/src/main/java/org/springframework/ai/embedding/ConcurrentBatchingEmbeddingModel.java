@@ -0,0 +1,275 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.chat.metadata.RateLimit;
+import org.springframework.ai.document.Document;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link EmbeddingModel} decorator sending the sub-batches produced by a
+ * {@link BatchingStrategy} concurrently instead of one after the other.
+ *
+ * <p>
+ * At most {@link Builder#maxConcurrency(int) maxConcurrency} requests are in flight at
+ * any time. The returned embeddings keep the order of the documents regardless of the
+ * order in which the requests complete.
+ *
+ * <p>
+ * When a response reports through its {@link EmbeddingResponseMetadata#getRateLimit()
+ * rate limit} that no requests or tokens remain, new requests are held back until the
+ * reported reset time has elapsed.
+ *
+ * <p>
+ * Usage example: <pre>{@code
+ * EmbeddingModel embeddingModel = ConcurrentBatchingEmbeddingModel.builder(openAiEmbeddingModel)
+ *     .maxConcurrency(8)
+ *     .build();
+ * vectorStore = PgVectorStore.builder(jdbcTemplate, embeddingModel).build();
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class ConcurrentBatchingEmbeddingModel implements EmbeddingModel {
+
+	/**
+	 * Default maximum number of concurrent requests.
+	 */
+	public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+	private static final Logger logger = LoggerFactory.getLogger(ConcurrentBatchingEmbeddingModel.class);
+
+	private final EmbeddingModel delegate;
+
+	private final Executor executor;
+
+	private final int maxConcurrency;
+
+	/**
+	 * {@link System#nanoTime()} before which no request is sent.
+	 */
+	private final AtomicLong pausedUntil = new AtomicLong(System.nanoTime());
+
+	private ConcurrentBatchingEmbeddingModel(Builder builder) {
+		this.delegate = builder.delegate;
+		this.executor = (builder.executor != null) ? builder.executor : defaultExecutor();
+		this.maxConcurrency = builder.maxConcurrency;
+	}
+
+	public static Builder builder(EmbeddingModel delegate) {
+		return new Builder(delegate);
+	}
+
+	@Override
+	public EmbeddingResponse call(EmbeddingRequest request) {
+		awaitRateLimit();
+		EmbeddingResponse response = this.delegate.call(request);
+		recordRateLimit(response);
+		return response;
+	}
+
+	@Override
+	public float[] embed(Document document) {
+		Assert.notNull(document, "Document must not be null");
+		return embedBatch(List.of(document), EmbeddingOptions.builder().build()).get(0);
+	}
+
+	@Override
+	public int dimensions() {
+		return this.delegate.dimensions();
+	}
+
+	@Override
+	public List<float[]> embed(List<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy) {
+		Assert.notNull(documents, "Documents must not be null");
+		List<List<Document>> batches = batchingStrategy.batch(documents);
+		if (batches.size() < 2 || this.maxConcurrency == 1) {
+			return EmbeddingModel.super.embed(documents, options, batchingStrategy);
+		}
+
+		Semaphore permits = new Semaphore(this.maxConcurrency);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		List<CompletableFuture<List<float[]>>> futures = new ArrayList<>(batches.size());
+		try {
+			for (List<Document> batch : batches) {
+				permits.acquire();
+				if (failure.get() != null) {
+					break;
+				}
+				futures.add(CompletableFuture.supplyAsync(() -> embedBatch(batch, options), this.executor)
+					.whenComplete((embeddings, ex) -> {
+						if (ex != null) {
+							failure.compareAndSet(null, ex);
+						}
+						permits.release();
+					}));
+			}
+
+			List<float[]> embeddings = new ArrayList<>(documents.size());
+			for (CompletableFuture<List<float[]>> future : futures) {
+				embeddings.addAll(future.join());
+			}
+			Assert.isTrue(embeddings.size() == documents.size(),
+					"Embeddings must have the same number as that of the documents");
+			return embeddings;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			cancel(futures);
+			throw new IllegalStateException("Interrupted while embedding documents", ex);
+		}
+		catch (CompletionException | CancellationException ex) {
+			cancel(futures);
+			Throwable cause = (ex instanceof CompletionException && ex.getCause() != null) ? ex.getCause() : ex;
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException("Failed to embed documents", cause);
+		}
+		catch (RuntimeException ex) {
+			cancel(futures);
+			throw ex;
+		}
+	}
+
+	private List<float[]> embedBatch(List<Document> batch, EmbeddingOptions options) {
+		List<String> texts = batch.stream().map(Document::getText).toList();
+		EmbeddingResponse response = call(new EmbeddingRequest(texts, options));
+		Assert.isTrue(response.getResults().size() == batch.size(),
+				"Embeddings must have the same number as that of the documents");
+		List<float[]> embeddings = new ArrayList<>(batch.size());
+		for (Embedding embedding : response.getResults()) {
+			embeddings.add(embedding.getOutput());
+		}
+		return embeddings;
+	}
+
+	private static void cancel(List<CompletableFuture<List<float[]>>> futures) {
+		futures.forEach(future -> future.cancel(true));
+	}
+
+	private void awaitRateLimit() {
+		long remaining = this.pausedUntil.get() - System.nanoTime();
+		while (remaining > 0) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(remaining);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for the rate limit to reset", ex);
+			}
+			remaining = this.pausedUntil.get() - System.nanoTime();
+		}
+	}
+
+	private void recordRateLimit(@Nullable EmbeddingResponse response) {
+		if (response == null || response.getMetadata() == null) {
+			return;
+		}
+		RateLimit rateLimit = response.getMetadata().getRateLimit();
+		Duration pause = max(exhaustedFor(rateLimit.getRequestsRemaining(), rateLimit.getRequestsReset()),
+				exhaustedFor(rateLimit.getTokensRemaining(), rateLimit.getTokensReset()));
+		if (!pause.isZero()) {
+			logger.debug("Rate limit exhausted, holding back embedding requests for {}", pause);
+			long resumeAt = System.nanoTime() + pause.toNanos();
+			this.pausedUntil.accumulateAndGet(resumeAt, (current, next) -> (next - current > 0) ? next : current);
+		}
+	}
+
+	private static Duration exhaustedFor(@Nullable Long remaining, @Nullable Duration reset) {
+		if (remaining == null || remaining > 0 || reset == null || reset.isNegative()) {
+			return Duration.ZERO;
+		}
+		return reset;
+	}
+
+	private static Duration max(Duration first, Duration second) {
+		return (first.compareTo(second) >= 0) ? first : second;
+	}
+
+	private static Executor defaultExecutor() {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("embedding-");
+		executor.setVirtualThreads(Runtime.version().feature() >= 21);
+		return executor;
+	}
+
+	/**
+	 * Builder for {@link ConcurrentBatchingEmbeddingModel}.
+	 */
+	public static final class Builder {
+
+		private final EmbeddingModel delegate;
+
+		@Nullable
+		private Executor executor;
+
+		private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+		private Builder(EmbeddingModel delegate) {
+			Assert.notNull(delegate, "delegate must not be null");
+			this.delegate = delegate;
+		}
+
+		/**
+		 * Sets the executor sending the requests. Defaults to an executor starting a
+		 * virtual thread per request on Java 21 and later, and a platform thread
+		 * otherwise.
+		 * @param executor the executor
+		 * @return this builder
+		 */
+		public Builder executor(Executor executor) {
+			Assert.notNull(executor, "executor must not be null");
+			this.executor = executor;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of requests in flight at any time.
+		 * @param maxConcurrency the maximum number of concurrent requests, {@code 1} to
+		 * send the batches sequentially
+		 * @return this builder
+		 */
+		public Builder maxConcurrency(int maxConcurrency) {
+			Assert.isTrue(maxConcurrency > 0, "maxConcurrency must be positive");
+			this.maxConcurrency = maxConcurrency;
+			return this;
+		}
+
+		public ConcurrentBatchingEmbeddingModel build() {
+			return new ConcurrentBatchingEmbeddingModel(this);
+		}
+
+	}
+
+}
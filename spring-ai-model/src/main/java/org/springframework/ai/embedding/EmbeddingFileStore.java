@@ -0,0 +1,311 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Append-only file of embeddings keyed by a SHA-256 digest, used as the on-disk tier of
+ * {@link CachingEmbeddingModel}.
+ *
+ * <p>
+ * Each record holds the 32 bytes of the key, the number of dimensions, a CRC-32C checksum
+ * of the key, dimensions and vector, and the vector. The offsets of the records are
+ * indexed in memory when the file is opened, and the vectors are read with positional
+ * reads, so that concurrent lookups do not block each other. A record cut short by a
+ * crash is truncated when the file is opened, and a record whose checksum does not match
+ * is ignored when read.
+ *
+ * <p>
+ * The directory is locked with a lock file while the store is open, so that two processes
+ * cannot append to the same file. When an append would grow the file beyond its maximum
+ * size, the file is compacted to its most recent records, filling up to half of the
+ * maximum size, by copying them to a new file that replaces it.
+ *
+ * @since 2.0.0
+ */
+final class EmbeddingFileStore implements Closeable {
+
+	static final String FILE_NAME = "embeddings.bin";
+
+	static final String LOCK_FILE_NAME = "embeddings.lock";
+
+	private static final int KEY_BYTES = 32;
+
+	private static final int HEADER_BYTES = KEY_BYTES + Integer.BYTES + Integer.BYTES;
+
+	private static final Logger logger = LoggerFactory.getLogger(EmbeddingFileStore.class);
+
+	private final Path file;
+
+	private final long maxSize;
+
+	private final FileChannel lockChannel;
+
+	private final FileLock fileLock;
+
+	/**
+	 * Held for reading by lookups and for writing while the compacted file replaces the
+	 * channel and the offsets are rebased.
+	 */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<String, Long> offsets = new ConcurrentHashMap<>();
+
+	private volatile FileChannel channel;
+
+	/**
+	 * End of the last complete record. Guarded by this store for writes.
+	 */
+	private volatile long size;
+
+	EmbeddingFileStore(Path directory, long maxSize) throws IOException {
+		Assert.notNull(directory, "directory must not be null");
+		Assert.isTrue(maxSize > 0, "maxSize must be positive");
+		Files.createDirectories(directory);
+		this.file = directory.resolve(FILE_NAME);
+		this.maxSize = maxSize;
+		this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE_NAME), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE);
+		try {
+			this.fileLock = tryLock(this.lockChannel, directory);
+			this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+		}
+		catch (IOException ex) {
+			this.lockChannel.close();
+			throw ex;
+		}
+		this.size = index();
+	}
+
+	private static FileLock tryLock(FileChannel channel, Path directory) throws IOException {
+		FileLock fileLock;
+		try {
+			fileLock = channel.tryLock();
+		}
+		catch (OverlappingFileLockException ex) {
+			fileLock = null;
+		}
+		if (fileLock == null) {
+			throw new IOException("The embedding cache in " + directory + " is already in use");
+		}
+		return fileLock;
+	}
+
+	private long index() throws IOException {
+		long fileSize = this.channel.size();
+		long position = 0;
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		while (position + HEADER_BYTES <= fileSize) {
+			header.clear();
+			readFully(header, position);
+			header.flip();
+			byte[] key = new byte[KEY_BYTES];
+			header.get(key);
+			int dimensions = header.getInt();
+			long end = position + HEADER_BYTES + (long) dimensions * Float.BYTES;
+			if (dimensions < 0 || end > fileSize) {
+				break;
+			}
+			this.offsets.put(HexFormat.of().formatHex(key), position);
+			position = end;
+		}
+		if (position < fileSize) {
+			logger.warn("Truncating incomplete embedding record at offset {}", position);
+			this.channel.truncate(position);
+		}
+		return position;
+	}
+
+	/**
+	 * Returns the embedding stored under the given key.
+	 * @param key the hex encoded SHA-256 digest
+	 * @return the embedding, or {@code null} if none is stored or its record is corrupted
+	 */
+	@Nullable
+	float[] get(String key) throws IOException {
+		this.lock.readLock().lock();
+		try {
+			Long offset = this.offsets.get(key);
+			if (offset == null) {
+				return null;
+			}
+			ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+			readFully(header, offset);
+			header.flip();
+			byte[] keyBytes = new byte[KEY_BYTES];
+			header.get(keyBytes);
+			int dimensions = header.getInt();
+			int checksum = header.getInt();
+			if (dimensions < 0 || offset + HEADER_BYTES + (long) dimensions * Float.BYTES > this.size) {
+				return corrupted(key, offset);
+			}
+			ByteBuffer vector = ByteBuffer.allocate(dimensions * Float.BYTES);
+			readFully(vector, offset + HEADER_BYTES);
+			if (checksum(keyBytes, dimensions, vector.array()) != checksum) {
+				return corrupted(key, offset);
+			}
+			float[] embedding = new float[dimensions];
+			vector.flip().asFloatBuffer().get(embedding);
+			return embedding;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	@Nullable
+	private float[] corrupted(String key, long offset) {
+		logger.warn("Ignoring corrupted embedding record at offset {}", offset);
+		this.offsets.remove(key, offset);
+		return null;
+	}
+
+	/**
+	 * Appends the given embedding, unless an embedding is already stored under the key.
+	 * Compacts the file first when the record would grow it beyond its maximum size.
+	 * @param key the hex encoded SHA-256 digest
+	 * @param embedding the embedding
+	 */
+	synchronized void put(String key, float[] embedding) throws IOException {
+		if (this.offsets.containsKey(key)) {
+			return;
+		}
+		byte[] keyBytes = HexFormat.of().parseHex(key);
+		Assert.isTrue(keyBytes.length == KEY_BYTES, "key must be a SHA-256 digest");
+		int recordBytes = HEADER_BYTES + embedding.length * Float.BYTES;
+		if (recordBytes > this.maxSize / 2) {
+			logger.debug("Not storing an embedding of {} bytes in a file of at most {} bytes", recordBytes,
+					this.maxSize);
+			return;
+		}
+		if (this.size + recordBytes > this.maxSize) {
+			compact();
+		}
+		ByteBuffer vector = ByteBuffer.allocate(embedding.length * Float.BYTES);
+		vector.asFloatBuffer().put(embedding);
+		ByteBuffer record = ByteBuffer.allocate(recordBytes);
+		record.put(keyBytes)
+			.putInt(embedding.length)
+			.putInt(checksum(keyBytes, embedding.length, vector.array()))
+			.put(vector.array());
+		record.flip();
+		long offset = this.size;
+		while (record.hasRemaining()) {
+			this.channel.write(record, offset + record.position());
+		}
+		this.size = offset + recordBytes;
+		this.offsets.put(key, offset);
+	}
+
+	/**
+	 * Copies the most recent records filling up to half of the maximum size to a new file
+	 * replacing the current one. Called with this store locked, so that no record is
+	 * appended meanwhile.
+	 */
+	private void compact() throws IOException {
+		long size = this.size;
+		long start = size;
+		for (long offset : this.offsets.values()) {
+			if (offset >= size - this.maxSize / 2 && offset < start) {
+				start = offset;
+			}
+		}
+		Path compacted = this.file.resolveSibling(FILE_NAME + ".tmp");
+		try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			long position = start;
+			while (position < size) {
+				position += this.channel.transferTo(position, size - position, target);
+			}
+			target.force(true);
+		}
+		this.lock.writeLock().lock();
+		try {
+			Files.move(compacted, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			this.channel.close();
+			this.channel = FileChannel.open(this.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			long removed = start;
+			this.offsets.values().removeIf(offset -> offset < removed);
+			this.offsets.replaceAll((key, offset) -> offset - removed);
+			this.size = size - removed;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+		logger.debug("Compacted the embedding file from {} to {} bytes", size, this.size);
+	}
+
+	private static int checksum(byte[] key, int dimensions, byte[] vector) {
+		CRC32C crc = new CRC32C();
+		crc.update(key);
+		crc.update(ByteBuffer.allocate(Integer.BYTES).putInt(dimensions).flip());
+		crc.update(vector);
+		return (int) crc.getValue();
+	}
+
+	int count() {
+		return this.offsets.size();
+	}
+
+	long sizeInBytes() {
+		return this.size;
+	}
+
+	private void readFully(ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (this.channel.read(buffer, position + buffer.position()) < 0) {
+				throw new EOFException("Unexpected end of the embedding file at offset " + position);
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			this.channel.close();
+		}
+		finally {
+			this.fileLock.release();
+			this.lockChannel.close();
+		}
+	}
+
+}
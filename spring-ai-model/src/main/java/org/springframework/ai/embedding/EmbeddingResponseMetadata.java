@@ -18,7 +18,9 @@ package org.springframework.ai.embedding;
 
 import java.util.Map;
 
+import org.springframework.ai.chat.metadata.EmptyRateLimit;
 import org.springframework.ai.chat.metadata.EmptyUsage;
+import org.springframework.ai.chat.metadata.RateLimit;
 import org.springframework.ai.chat.metadata.Usage;
 import org.springframework.ai.model.AbstractResponseMetadata;
 import org.springframework.ai.model.ResponseMetadata;
@@ -36,6 +38,8 @@ public class EmbeddingResponseMetadata extends AbstractResponseMetadata implemen
 
 	private Usage usage;
 
+	private RateLimit rateLimit;
+
 	public EmbeddingResponseMetadata() {
 	}
 
@@ -72,4 +76,16 @@ public class EmbeddingResponseMetadata extends AbstractResponseMetadata implemen
 		this.usage = usage;
 	}
 
+	/**
+	 * The AI provider specific metadata on the rate limits of the API key in use.
+	 * @see RateLimit
+	 */
+	public RateLimit getRateLimit() {
+		return this.rateLimit != null ? this.rateLimit : new EmptyRateLimit();
+	}
+
+	public void setRateLimit(RateLimit rateLimit) {
+		this.rateLimit = rateLimit;
+	}
+
 }
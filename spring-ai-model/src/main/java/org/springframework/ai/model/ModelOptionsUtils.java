@@ -17,29 +17,60 @@
 package org.springframework.ai.model;
 
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.cfg.CoercionAction;
 import com.fasterxml.jackson.databind.cfg.CoercionInputShape;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.deser.impl.FieldProperty;
+import com.fasterxml.jackson.databind.deser.impl.MethodProperty;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
 import com.github.victools.jsonschema.generator.Option;
 import com.github.victools.jsonschema.generator.OptionPreset;
 import com.github.victools.jsonschema.generator.SchemaGenerator;
@@ -54,9 +85,12 @@ import org.springframework.ai.util.JacksonUtils;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.core.KotlinDetector;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * Utility class for manipulating {@link ModelOptions} objects.
@@ -83,7 +117,11 @@ public abstract class ModelOptionsUtils {
 
 	private static final List<String> BEAN_MERGE_FIELD_EXCISIONS = List.of("class");
 
-	private static final ConcurrentHashMap<Class<?>, List<String>> REQUEST_FIELD_NAMES_PER_CLASS = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<Class<?>, Set<String>> REQUEST_FIELD_NAMES_PER_CLASS = new ConcurrentHashMap<>();
+
+	private static final ConcurrentHashMap<Class<?>, MergeSource> MERGE_SOURCES_PER_CLASS = new ConcurrentHashMap<>();
+
+	private static final ConcurrentHashMap<Class<?>, MergeTarget> MERGE_TARGETS_PER_CLASS = new ConcurrentHashMap<>();
 
 	private static final AtomicReference<SchemaGenerator> SCHEMA_GENERATOR_CACHE = new AtomicReference<>();
 
@@ -181,14 +219,20 @@ public abstract class ModelOptionsUtils {
 			source = Map.of();
 		}
 
-		List<String> requestFieldNames = CollectionUtils.isEmpty(acceptedFieldNames)
-				? REQUEST_FIELD_NAMES_PER_CLASS.computeIfAbsent(clazz, ModelOptionsUtils::getJsonPropertyValues)
-				: acceptedFieldNames;
+		Set<String> requestFieldNames = CollectionUtils.isEmpty(acceptedFieldNames)
+				? REQUEST_FIELD_NAMES_PER_CLASS.computeIfAbsent(clazz,
+						type -> new HashSet<>(ModelOptionsUtils.getJsonPropertyValues(type)))
+				: new HashSet<>(acceptedFieldNames);
 
 		if (CollectionUtils.isEmpty(requestFieldNames)) {
 			throw new IllegalArgumentException("No @JsonProperty fields found in the " + clazz.getName());
 		}
 
+		T merged = mergeProperties(source, target, clazz, requestFieldNames);
+		if (merged != null) {
+			return merged;
+		}
+
 		Map<String, Object> sourceMap = ModelOptionsUtils.objectToMap(source);
 		Map<String, Object> targetMap = ModelOptionsUtils.objectToMap(target);
 
@@ -452,4 +496,278 @@ public abstract class ModelOptionsUtils {
 		return ObjectUtils.isEmpty(runtimeValue) ? defaultValue : runtimeValue;
 	}
 
+	/**
+	 * Merges the accepted properties of the source and the target directly into a new
+	 * instance of the given class, through the accessors that Jackson uses to serialize
+	 * the source and the target and to deserialize the class. This produces the same
+	 * result as the JSON round trip through maps, without serializing or parsing the
+	 * options: scalar values are copied as is and the other values are deep copied.
+	 * @return the merged object, or {@code null} if the classes are not supported or the
+	 * merge failed, in which case the map-based merge applies and reports the failure
+	 */
+	@Nullable
+	private static <T> T mergeProperties(Object source, @Nullable Object target, Class<T> clazz,
+			Set<String> acceptedFieldNames) {
+		MergeTarget mergeTarget = MERGE_TARGETS_PER_CLASS.computeIfAbsent(clazz, MergeTarget::of);
+		MergeSource sourceProperties = MERGE_SOURCES_PER_CLASS.computeIfAbsent(source.getClass(), MergeSource::of);
+		MergeSource targetProperties = (target != null)
+				? MERGE_SOURCES_PER_CLASS.computeIfAbsent(target.getClass(), MergeSource::of) : MergeSource.EMPTY;
+		if (!mergeTarget.isSupported() || !sourceProperties.isSupported() || !targetProperties.isSupported()) {
+			return null;
+		}
+		return mergeTarget.merge(source, sourceProperties, target, targetProperties, acceptedFieldNames, clazz);
+	}
+
+	private static MethodHandle getter(Member member) throws IllegalAccessException {
+		MethodHandle getter;
+		if (member instanceof Method method) {
+			ReflectionUtils.makeAccessible(method);
+			getter = MethodHandles.lookup().unreflect(method);
+		}
+		else {
+			ReflectionUtils.makeAccessible((Field) member);
+			getter = MethodHandles.lookup().unreflectGetter((Field) member);
+		}
+		return getter.asType(MethodType.methodType(Object.class, Object.class));
+	}
+
+	private static MethodHandle setter(Member member) throws IllegalAccessException {
+		MethodHandle setter;
+		if (member instanceof Method method) {
+			ReflectionUtils.makeAccessible(method);
+			setter = MethodHandles.lookup().unreflect(method);
+		}
+		else {
+			ReflectionUtils.makeAccessible((Field) member);
+			setter = MethodHandles.lookup().unreflectSetter((Field) member);
+		}
+		return setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+	}
+
+	private static boolean hasFormat(AnnotationIntrospector introspector, Annotated annotated) {
+		JsonFormat.Value format = introspector.findFormat(annotated);
+		return format != null && !JsonFormat.Value.empty().equals(format);
+	}
+
+	/**
+	 * Readers of the properties of a given class, as Jackson serializes them.
+	 * <p>
+	 * Classes whose serialized form does not map one-to-one to their bean properties
+	 * (any-getters, filters, polymorphic type information, custom property serializers or
+	 * formats, reference types or inclusion rules other than {@code NON_NULL}) are not
+	 * supported and keep being merged through maps.
+	 */
+	private static final class MergeSource {
+
+		static final MergeSource EMPTY = new MergeSource(Map.of());
+
+		private static final Set<JsonInclude.Include> SUPPORTED_INCLUSIONS = Set.of(JsonInclude.Include.ALWAYS,
+				JsonInclude.Include.NON_NULL, JsonInclude.Include.USE_DEFAULTS);
+
+		@Nullable
+		private final Map<String, Accessor> accessors;
+
+		private MergeSource(@Nullable Map<String, Accessor> accessors) {
+			this.accessors = accessors;
+		}
+
+		static MergeSource of(Class<?> clazz) {
+			try {
+				SerializationConfig config = OBJECT_MAPPER.getSerializationConfig();
+				SerializerProvider provider = OBJECT_MAPPER.getSerializerProviderInstance();
+				AnnotationIntrospector introspector = config.getAnnotationIntrospector();
+				JavaType type = OBJECT_MAPPER.constructType(clazz);
+				JsonSerializer<Object> serializer = provider.findValueSerializer(type);
+				BeanDescription description = config.introspect(type);
+				if (serializer.getClass() != BeanSerializer.class || description.findAnyGetter() != null
+						|| introspector.findFilterId(description.getClassInfo()) != null
+						|| provider.findTypeSerializer(type) != null
+						|| !isSupported(config.getDefaultPropertyInclusion(clazz))
+						|| !isSupported(description.findPropertyInclusion(JsonInclude.Value.empty()))) {
+					return new MergeSource(null);
+				}
+				for (BeanPropertyDefinition definition : description.findProperties()) {
+					// Values that may serialize as null, such as empty optionals,
+					// would not fall back to the target value as they do when
+					// merging maps.
+					if (!isSupported(definition.findInclusion()) || definition.getPrimaryType().isReferenceType()) {
+						return new MergeSource(null);
+					}
+				}
+				Map<String, Accessor> accessors = new HashMap<>();
+				for (Iterator<PropertyWriter> it = serializer.properties(); it.hasNext();) {
+					PropertyWriter property = it.next();
+					if (property.getClass() != BeanPropertyWriter.class
+							|| introspector.findSerializer(property.getMember()) != null
+							|| hasFormat(introspector, property.getMember())) {
+						return new MergeSource(null);
+					}
+					accessors.put(property.getName(),
+							new Accessor(getter(property.getMember().getMember()), property.getType()));
+				}
+				return new MergeSource(accessors);
+			}
+			catch (JsonMappingException | IllegalAccessException | RuntimeException ex) {
+				return new MergeSource(null);
+			}
+		}
+
+		private static boolean isSupported(JsonInclude.Value inclusion) {
+			return SUPPORTED_INCLUSIONS.contains(inclusion.getValueInclusion());
+		}
+
+		boolean isSupported() {
+			return this.accessors != null;
+		}
+
+		@Nullable
+		Accessor accessor(String name) {
+			return this.accessors.get(name);
+		}
+
+		record Accessor(MethodHandle getter, JavaType type) {
+
+			@Nullable
+			Object get(Object bean) throws Throwable {
+				return (Object) this.getter.invokeExact(bean);
+			}
+
+		}
+
+	}
+
+	/**
+	 * Writers of the properties of a given class, as Jackson deserializes them.
+	 * <p>
+	 * Only classes that Jackson instantiates with their default constructor and populates
+	 * through setters or fields, without any-setters, injected values, polymorphic type
+	 * information, custom property deserializers or formats, are supported.
+	 */
+	private static final class MergeTarget {
+
+		@Nullable
+		private final MethodHandle constructor;
+
+		private final List<Mutator> mutators;
+
+		private MergeTarget(@Nullable MethodHandle constructor, List<Mutator> mutators) {
+			this.constructor = constructor;
+			this.mutators = mutators;
+		}
+
+		static MergeTarget of(Class<?> clazz) {
+			MergeTarget unsupported = new MergeTarget(null, List.of());
+			if (KotlinDetector.isKotlinType(clazz)) {
+				return unsupported;
+			}
+			try {
+				DeserializationConfig config = OBJECT_MAPPER.getDeserializationConfig();
+				AnnotationIntrospector introspector = config.getAnnotationIntrospector();
+				JavaType type = OBJECT_MAPPER.constructType(clazz);
+				BeanDescription description = config.introspect(type);
+				DeserializationContext context = ((DefaultDeserializationContext) OBJECT_MAPPER
+					.getDeserializationContext()).createDummyInstance(config);
+				if (!(context.findRootValueDeserializer(type) instanceof BeanDeserializer deserializer)
+						|| deserializer.getClass() != BeanDeserializer.class || deserializer.getObjectIdReader() != null
+						|| description.findAnySetterAccessor() != null
+						|| !CollectionUtils.isEmpty(description.findInjectables())) {
+					return unsupported;
+				}
+				ValueInstantiator instantiator = deserializer.getValueInstantiator();
+				if (!instantiator.canCreateUsingDefault() || instantiator.canCreateFromObjectWith()
+						|| instantiator.getDefaultCreator() == null
+						|| !(instantiator.getDefaultCreator().getAnnotated() instanceof Constructor<?> constructor)) {
+					return unsupported;
+				}
+				List<Mutator> mutators = new ArrayList<>();
+				for (Iterator<SettableBeanProperty> it = deserializer.properties(); it.hasNext();) {
+					SettableBeanProperty property = it.next();
+					if ((property.getClass() != MethodProperty.class && property.getClass() != FieldProperty.class)
+							|| property.hasValueTypeDeserializer()
+							|| introspector.findDeserializer(property.getMember()) != null
+							|| introspector.findContentDeserializer(property.getMember()) != null
+							|| introspector.findKeyDeserializer(property.getMember()) != null
+							|| hasFormat(introspector, property.getMember())) {
+						return unsupported;
+					}
+					mutators.add(new Mutator(property.getName(), setter(property.getMember().getMember()),
+							property.getType()));
+				}
+				ReflectionUtils.makeAccessible(constructor);
+				MethodHandle constructorHandle = MethodHandles.lookup()
+					.unreflectConstructor(constructor)
+					.asType(MethodType.methodType(Object.class));
+				return new MergeTarget(constructorHandle, List.copyOf(mutators));
+			}
+			catch (JsonMappingException | IllegalAccessException | RuntimeException ex) {
+				return unsupported;
+			}
+		}
+
+		boolean isSupported() {
+			return this.constructor != null;
+		}
+
+		@Nullable
+		<T> T merge(Object source, MergeSource sourceProperties, @Nullable Object target, MergeSource targetProperties,
+				Set<String> acceptedFieldNames, Class<T> clazz) {
+			try {
+				Object merged = (Object) this.constructor.invokeExact();
+				for (Mutator mutator : this.mutators) {
+					if (!acceptedFieldNames.contains(mutator.name())) {
+						continue;
+					}
+					// The source non-null values override the target values.
+					MergeSource.Accessor accessor = sourceProperties.accessor(mutator.name());
+					Object value = (accessor != null) ? accessor.get(source) : null;
+					if (value == null && target != null) {
+						accessor = targetProperties.accessor(mutator.name());
+						value = (accessor != null) ? accessor.get(target) : null;
+					}
+					if (value == null) {
+						continue;
+					}
+					if (!mutator.accepts(value, accessor.type())) {
+						return null;
+					}
+					mutator.set(merged, value);
+				}
+				return clazz.cast(merged);
+			}
+			catch (Error ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				return null;
+			}
+		}
+
+		record Mutator(String name, MethodHandle setter, JavaType type) {
+
+			/**
+			 * Whether the given value can be copied without going through its JSON form.
+			 * Values of other types, which the JSON round trip would convert through
+			 * their textual representation, are left to the map-based merge.
+			 */
+			boolean accepts(Object value, JavaType sourceType) {
+				Class<?> rawClass = this.type.getRawClass();
+				if (isScalar(rawClass)) {
+					return ClassUtils.resolvePrimitiveIfNecessary(rawClass).isInstance(value);
+				}
+				return this.type.equals(sourceType);
+			}
+
+			void set(Object bean, Object value) throws Throwable {
+				Object copy = isScalar(this.type.getRawClass()) ? value : OBJECT_MAPPER.convertValue(value, this.type);
+				this.setter.invokeExact(bean, copy);
+			}
+
+			private static boolean isScalar(Class<?> rawClass) {
+				return ClassUtils.isPrimitiveOrWrapper(rawClass) || rawClass == String.class || rawClass.isEnum();
+			}
+
+		}
+
+	}
+
 }
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.model.streaming;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Decodes a {@code text/event-stream} response body into the objects carried as JSON by
+ * the {@code data} field of its events, as sent by the OpenAI compatible chat completion
+ * APIs.
+ *
+ * <p>
+ * The events are read from the received {@link DataBuffer DataBuffers} and their data is
+ * parsed from bytes with a reusable {@link ObjectReader}, without going through an
+ * intermediate {@link String} per event. The stream completes, cancelling the response,
+ * when an event carrying {@code [DONE]} is received. Fields other than {@code data} and
+ * comments are ignored.
+ *
+ * <p>
+ * Usage example: <pre>{@code
+ * Flux<ChatCompletionChunk> chunks = webClient.post()
+ *     .retrieve()
+ *     .bodyToFlux(DataBuffer.class)
+ *     .transform(new ServerSentEventJsonDecoder<>(ChatCompletionChunk.class)::decode);
+ * }</pre>
+ *
+ * @param <T> the type of the event data
+ * @since 2.0.0
+ */
+public final class ServerSentEventJsonDecoder<T> {
+
+	private static final byte[] DONE = "[DONE]".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] DATA_FIELD = "data".getBytes(StandardCharsets.US_ASCII);
+
+	private static final IntPredicate LINE_FEED = b -> b == '\n';
+
+	private final ObjectReader objectReader;
+
+	/**
+	 * Creates a decoder parsing the event data with
+	 * {@link ModelOptionsUtils#OBJECT_MAPPER}.
+	 * @param type the type of the event data
+	 */
+	public ServerSentEventJsonDecoder(Class<T> type) {
+		this(ModelOptionsUtils.OBJECT_MAPPER, type);
+	}
+
+	/**
+	 * Creates a decoder parsing the event data with the given {@link ObjectMapper}.
+	 * @param objectMapper the object mapper
+	 * @param type the type of the event data
+	 */
+	public ServerSentEventJsonDecoder(ObjectMapper objectMapper, Class<T> type) {
+		Assert.notNull(objectMapper, "objectMapper must not be null");
+		Assert.notNull(type, "type must not be null");
+		this.objectReader = objectMapper.readerFor(type);
+	}
+
+	/**
+	 * Decodes the given response body. The received buffers are released.
+	 * @param body the response body
+	 * @return the data of the events, up to the {@code [DONE]} event if any
+	 */
+	public Flux<T> decode(Flux<DataBuffer> body) {
+		return Flux.defer(() -> {
+			EventReader eventReader = new EventReader();
+			return body.map(eventReader::read)
+				.takeUntil(events -> eventReader.done)
+				.concatWith(Mono.fromCallable(eventReader::readRemaining))
+				.concatMapIterable(Function.identity());
+		}).doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+	}
+
+	private static byte[] ensureCapacity(byte[] bytes, int capacity) {
+		return (capacity <= bytes.length) ? bytes : Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+	}
+
+	/**
+	 * Reads the events of a single response, keeping the incomplete line and event across
+	 * buffers.
+	 */
+	private final class EventReader {
+
+		private byte[] line = new byte[256];
+
+		private int lineLength;
+
+		private byte[] data = new byte[1024];
+
+		private int dataLength;
+
+		private boolean hasData;
+
+		private boolean done;
+
+		List<T> read(DataBuffer buffer) {
+			try {
+				List<T> events = null;
+				while (!this.done && buffer.readableByteCount() > 0) {
+					int start = buffer.readPosition();
+					int end = buffer.indexOf(LINE_FEED, start);
+					int length = ((end != -1) ? end : buffer.writePosition()) - start;
+					this.line = ensureCapacity(this.line, this.lineLength + length);
+					buffer.read(this.line, this.lineLength, length);
+					this.lineLength += length;
+					if (end == -1) {
+						break;
+					}
+					buffer.readPosition(end + 1);
+					T event = readLine();
+					if (event != null) {
+						if (events == null) {
+							events = new ArrayList<>(2);
+						}
+						events.add(event);
+					}
+				}
+				return (events != null) ? events : List.of();
+			}
+			finally {
+				DataBufferUtils.release(buffer);
+			}
+		}
+
+		/**
+		 * Dispatches the last event when the response does not end with a blank line.
+		 */
+		List<T> readRemaining() {
+			if (this.done) {
+				return List.of();
+			}
+			T lastLineEvent = (this.lineLength > 0) ? readLine() : null;
+			T event = (lastLineEvent != null) ? lastLineEvent : dispatch();
+			return (event != null) ? List.of(event) : List.of();
+		}
+
+		@Nullable
+		private T readLine() {
+			int length = this.lineLength;
+			this.lineLength = 0;
+			if (length > 0 && this.line[length - 1] == '\r') {
+				length--;
+			}
+			if (length == 0) {
+				return dispatch();
+			}
+			if (length < DATA_FIELD.length
+					|| !Arrays.equals(this.line, 0, DATA_FIELD.length, DATA_FIELD, 0, DATA_FIELD.length)
+					|| (length > DATA_FIELD.length && this.line[DATA_FIELD.length] != ':')) {
+				// Comment or field other than data
+				return null;
+			}
+			int valueStart = Math.min(DATA_FIELD.length + 1, length);
+			if (valueStart < length && this.line[valueStart] == ' ') {
+				valueStart++;
+			}
+			int valueLength = length - valueStart;
+			this.data = ensureCapacity(this.data, this.dataLength + valueLength + 1);
+			if (this.hasData) {
+				this.data[this.dataLength++] = '\n';
+			}
+			System.arraycopy(this.line, valueStart, this.data, this.dataLength, valueLength);
+			this.dataLength += valueLength;
+			this.hasData = true;
+			return null;
+		}
+
+		@Nullable
+		private T dispatch() {
+			int length = this.dataLength;
+			boolean hasData = this.hasData;
+			this.dataLength = 0;
+			this.hasData = false;
+			if (!hasData || length == 0) {
+				return null;
+			}
+			if (Arrays.equals(this.data, 0, length, DONE, 0, DONE.length)) {
+				this.done = true;
+				return null;
+			}
+			try {
+				return ServerSentEventJsonDecoder.this.objectReader.readValue(this.data, 0, length);
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException(
+						"Failed to parse event data: " + new String(this.data, 0, length, StandardCharsets.UTF_8), ex);
+			}
+		}
+
+	}
+
+}
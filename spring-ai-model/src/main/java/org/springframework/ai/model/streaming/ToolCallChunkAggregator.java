@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.model.streaming;
+
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Merges the streamed chunks of a tool call into a single chunk, passing the other chunks
+ * through.
+ *
+ * <p>
+ * A tool call starts with a chunk matching the tool call predicate and ends with a chunk
+ * matching the tool call finish predicate. The chunks in between, both included, are
+ * merged into one, starting from the given empty chunk. The other chunks are merged
+ * individually into the empty chunk, so that they are normalized the same way.
+ *
+ * <p>
+ * The state of the tool call being merged is kept per subscription, so that the returned
+ * {@link Flux} can be subscribed to several times, for instance when retrying.
+ *
+ * @param <T> the type of the chunks
+ * @since 2.0.0
+ */
+public final class ToolCallChunkAggregator<T> {
+
+	private final T emptyChunk;
+
+	private final BinaryOperator<T> merger;
+
+	private final Predicate<T> toolCallPredicate;
+
+	private final Predicate<T> toolCallFinishPredicate;
+
+	/**
+	 * Creates a new aggregator.
+	 * @param emptyChunk the chunk into which the chunks are merged
+	 * @param merger merges a chunk into the previously merged chunks
+	 * @param toolCallPredicate whether a chunk is part of a tool call
+	 * @param toolCallFinishPredicate whether a chunk ends a tool call
+	 */
+	public ToolCallChunkAggregator(T emptyChunk, BinaryOperator<T> merger, Predicate<T> toolCallPredicate,
+			Predicate<T> toolCallFinishPredicate) {
+		Assert.notNull(emptyChunk, "emptyChunk must not be null");
+		Assert.notNull(merger, "merger must not be null");
+		Assert.notNull(toolCallPredicate, "toolCallPredicate must not be null");
+		Assert.notNull(toolCallFinishPredicate, "toolCallFinishPredicate must not be null");
+		this.emptyChunk = emptyChunk;
+		this.merger = merger;
+		this.toolCallPredicate = toolCallPredicate;
+		this.toolCallFinishPredicate = toolCallFinishPredicate;
+	}
+
+	/**
+	 * Merges the tool call chunks of the given stream. A tool call still open when the
+	 * stream completes is emitted as is.
+	 * @param chunks the streamed chunks
+	 * @return the chunks, with the chunks of each tool call merged into one
+	 */
+	public Flux<T> aggregate(Flux<T> chunks) {
+		return Flux.defer(() -> {
+			ToolCall toolCall = new ToolCall();
+			return chunks.handle(toolCall::next).concatWith(Mono.fromSupplier(toolCall::remaining));
+		});
+	}
+
+	/**
+	 * The tool call being merged in a single subscription.
+	 */
+	private final class ToolCall {
+
+		@Nullable
+		private T mergedChunk;
+
+		void next(T chunk, SynchronousSink<T> sink) {
+			if (this.mergedChunk == null && !ToolCallChunkAggregator.this.toolCallPredicate.test(chunk)) {
+				sink.next(ToolCallChunkAggregator.this.merger.apply(ToolCallChunkAggregator.this.emptyChunk, chunk));
+				return;
+			}
+			T previous = (this.mergedChunk != null) ? this.mergedChunk : ToolCallChunkAggregator.this.emptyChunk;
+			this.mergedChunk = ToolCallChunkAggregator.this.merger.apply(previous, chunk);
+			if (ToolCallChunkAggregator.this.toolCallFinishPredicate.test(chunk)) {
+				sink.next(this.mergedChunk);
+				this.mergedChunk = null;
+			}
+		}
+
+		@Nullable
+		T remaining() {
+			T remaining = this.mergedChunk;
+			this.mergedChunk = null;
+			return remaining;
+		}
+
+	}
+
+}
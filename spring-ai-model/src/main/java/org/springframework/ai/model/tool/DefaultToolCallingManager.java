@@ -16,15 +16,28 @@
 
 package org.springframework.ai.model.tool;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.util.context.ContextView;
 
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
@@ -33,6 +46,7 @@ import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.model.Generation;
 import org.springframework.ai.chat.model.ToolContext;
 import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.internal.ToolCallReactiveContextHolder;
 import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.definition.ToolDefinition;
 import org.springframework.ai.tool.execution.DefaultToolExecutionExceptionProcessor;
@@ -44,6 +58,8 @@ import org.springframework.ai.tool.observation.ToolCallingObservationConvention;
 import org.springframework.ai.tool.observation.ToolCallingObservationDocumentation;
 import org.springframework.ai.tool.resolution.DelegatingToolCallbackResolver;
 import org.springframework.ai.tool.resolution.ToolCallbackResolver;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
@@ -51,6 +67,20 @@ import org.springframework.util.StringUtils;
 /**
  * Default implementation of {@link ToolCallingManager}.
  *
+ * <p>
+ * By default, the tool calls requested by the model in one turn are executed one after
+ * the other. With {@link Builder#concurrentToolExecution(boolean) concurrent tool
+ * execution} enabled, they are executed in parallel on the
+ * {@link Builder#toolExecutor(Executor) tool executor}, at most
+ * {@link Builder#maxConcurrentToolCalls(int) maxConcurrentToolCalls} at a time, and a
+ * {@link Builder#toolCallTimeout(Duration) timeout} can be applied to each of them. Tools
+ * whose {@link org.springframework.ai.tool.metadata.ToolMetadata#threadSafe() metadata}
+ * declares them as not thread-safe are still executed sequentially, on the calling
+ * thread, once the parallel ones are over, and are never timed out. In both modes, the
+ * tool responses follow the order of the tool calls, each call is observed separately and
+ * sees the reactive context of the calling thread through
+ * {@link ToolCallReactiveContextHolder}.
+ *
  * @author Thomas Vitale
  * @since 1.0.0
  */
@@ -72,6 +102,8 @@ public final class DefaultToolCallingManager implements ToolCallingManager {
 	private static final ToolExecutionExceptionProcessor DEFAULT_TOOL_EXECUTION_EXCEPTION_PROCESSOR
 			= DefaultToolExecutionExceptionProcessor.builder().build();
 
+	private static final int DEFAULT_MAX_CONCURRENT_TOOL_CALLS = 8;
+
 	private static final String POSSIBLE_LLM_TOOL_NAME_CHANGE_WARNING
 			= "LLM may have adapted the tool name '{}', especially if the name was truncated due to length limits. If this is the case, you can customize the prefixing and processing logic using McpToolNamePrefixGenerator";
 
@@ -84,31 +116,63 @@ public final class DefaultToolCallingManager implements ToolCallingManager {
 
 	private final ToolExecutionExceptionProcessor toolExecutionExceptionProcessor;
 
+	private final boolean concurrentToolExecution;
+
+	@Nullable
+	private final Executor toolExecutor;
+
+	private final int maxConcurrentToolCalls;
+
+	@Nullable
+	private final Duration toolCallTimeout;
+
 	private ToolCallingObservationConvention observationConvention = DEFAULT_OBSERVATION_CONVENTION;
 
+	/**
+	 * Index of the last tool callbacks seen, reused by the following turns and requests
+	 * as long as they carry the same tool callbacks.
+	 */
+	private volatile ToolCallbackIndex toolCallbackIndex = ToolCallbackIndex.EMPTY;
+
 	public DefaultToolCallingManager(ObservationRegistry observationRegistry, ToolCallbackResolver toolCallbackResolver,
 			ToolExecutionExceptionProcessor toolExecutionExceptionProcessor) {
+		this(observationRegistry, toolCallbackResolver, toolExecutionExceptionProcessor, false, null,
+				DEFAULT_MAX_CONCURRENT_TOOL_CALLS, null);
+	}
+
+	private DefaultToolCallingManager(ObservationRegistry observationRegistry,
+			ToolCallbackResolver toolCallbackResolver, ToolExecutionExceptionProcessor toolExecutionExceptionProcessor,
+			boolean concurrentToolExecution, @Nullable Executor toolExecutor, int maxConcurrentToolCalls,
+			@Nullable Duration toolCallTimeout) {
 		Assert.notNull(observationRegistry, "observationRegistry cannot be null");
 		Assert.notNull(toolCallbackResolver, "toolCallbackResolver cannot be null");
 		Assert.notNull(toolExecutionExceptionProcessor, "toolCallExceptionConverter cannot be null");
+		Assert.isTrue(maxConcurrentToolCalls > 0, "maxConcurrentToolCalls must be positive");
+		Assert.isTrue(toolCallTimeout == null || (!toolCallTimeout.isNegative() && !toolCallTimeout.isZero()),
+				"toolCallTimeout must be positive");
 
 		this.observationRegistry = observationRegistry;
 		this.toolCallbackResolver = toolCallbackResolver;
 		this.toolExecutionExceptionProcessor = toolExecutionExceptionProcessor;
+		this.concurrentToolExecution = concurrentToolExecution;
+		this.toolExecutor = (concurrentToolExecution && toolExecutor == null) ? defaultToolExecutor() : toolExecutor;
+		this.maxConcurrentToolCalls = maxConcurrentToolCalls;
+		this.toolCallTimeout = toolCallTimeout;
 	}
 
 	@Override
 	public List<ToolDefinition> resolveToolDefinitions(ToolCallingChatOptions chatOptions) {
 		Assert.notNull(chatOptions, "chatOptions cannot be null");
 
-		List<ToolCallback> toolCallbacks = new ArrayList<>(chatOptions.getToolCallbacks());
+		List<ToolCallback> requestToolCallbacks = chatOptions.getToolCallbacks();
+		Map<String, ToolCallback> requestToolCallbacksByName = indexByName(requestToolCallbacks);
+
+		List<ToolCallback> toolCallbacks = new ArrayList<>(requestToolCallbacks);
 		for (String toolName : chatOptions.getToolNames()) {
 			// Skip the tool if it is already present in the request toolCallbacks.
 			// That might happen if a tool is defined in the options
 			// both as a ToolCallback and as a tool name.
-			if (chatOptions.getToolCallbacks()
-				.stream()
-				.anyMatch(tool -> tool.getToolDefinition().name().equals(toolName))) {
+			if (requestToolCallbacksByName.containsKey(toolName)) {
 				continue;
 			}
 			ToolCallback toolCallback = this.toolCallbackResolver.resolve(toolName);
@@ -182,42 +246,18 @@ public final class DefaultToolCallingManager implements ToolCallingManager {
 	 */
 	private InternalToolExecutionResult executeToolCall(Prompt prompt, AssistantMessage assistantMessage,
 			ToolContext toolContext) {
-		List<ToolCallback> toolCallbacks = List.of();
+		Map<String, ToolCallback> toolCallbacksByName = Map.of();
 		if (prompt.getOptions() instanceof ToolCallingChatOptions toolCallingChatOptions) {
-			toolCallbacks = toolCallingChatOptions.getToolCallbacks();
+			toolCallbacksByName = indexByName(toolCallingChatOptions.getToolCallbacks());
 		}
 
-		List<ToolResponseMessage.ToolResponse> toolResponses = new ArrayList<>();
+		List<AssistantMessage.ToolCall> toolCalls = assistantMessage.getToolCalls();
+		List<ToolCallback> resolvedToolCallbacks = new ArrayList<>(toolCalls.size());
 
 		Boolean returnDirect = null;
 
-		for (AssistantMessage.ToolCall toolCall : assistantMessage.getToolCalls()) {
-
-			logger.debug("Executing tool call: {}", toolCall.name());
-
-			String toolName = toolCall.name();
-			String toolInputArguments = toolCall.arguments();
-
-			// Handle the possible null parameter situation in streaming mode.
-			final String finalToolInputArguments;
-			if (!StringUtils.hasText(toolInputArguments)) {
-				logger.warn("Tool call arguments are null or empty for tool: {}. Using empty JSON object as default.",
-						toolName);
-				finalToolInputArguments = "{}";
-			}
-			else {
-				finalToolInputArguments = toolInputArguments;
-			}
-
-			ToolCallback toolCallback = toolCallbacks.stream()
-				.filter(tool -> toolName.equals(tool.getToolDefinition().name()))
-				.findFirst()
-				.orElseGet(() -> this.toolCallbackResolver.resolve(toolName));
-
-			if (toolCallback == null) {
-				logger.warn(POSSIBLE_LLM_TOOL_NAME_CHANGE_WARNING, toolName);
-				throw new IllegalStateException("No ToolCallback found for tool name: " + toolName);
-			}
+		for (AssistantMessage.ToolCall toolCall : toolCalls) {
+			ToolCallback toolCallback = resolveToolCallback(toolCall.name(), toolCallbacksByName);
 
 			if (returnDirect == null) {
 				returnDirect = toolCallback.getToolMetadata().returnDirect();
@@ -225,34 +265,211 @@ public final class DefaultToolCallingManager implements ToolCallingManager {
 			else {
 				returnDirect = returnDirect && toolCallback.getToolMetadata().returnDirect();
 			}
+			resolvedToolCallbacks.add(toolCallback);
+		}
+
+		String[] toolCallResults = (this.concurrentToolExecution
+				&& (toolCalls.size() > 1 || this.toolCallTimeout != null))
+						? executeConcurrently(toolCalls, resolvedToolCallbacks, toolContext)
+						: executeSequentially(toolCalls, resolvedToolCallbacks, toolContext);
+
+		List<ToolResponseMessage.ToolResponse> toolResponses = new ArrayList<>(toolCalls.size());
+		for (int i = 0; i < toolCalls.size(); i++) {
+			AssistantMessage.ToolCall toolCall = toolCalls.get(i);
+			toolResponses.add(new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(),
+					toolCallResults[i] != null ? toolCallResults[i] : ""));
+		}
+
+		return new InternalToolExecutionResult(ToolResponseMessage.builder().responses(toolResponses).build(),
+				returnDirect);
+	}
+
+	private ToolCallback resolveToolCallback(String toolName, Map<String, ToolCallback> toolCallbacksByName) {
+		ToolCallback toolCallback = toolCallbacksByName.get(toolName);
+		if (toolCallback == null) {
+			toolCallback = this.toolCallbackResolver.resolve(toolName);
+		}
 
-			ToolCallingObservationContext observationContext = ToolCallingObservationContext.builder()
-				.toolDefinition(toolCallback.getToolDefinition())
-				.toolMetadata(toolCallback.getToolMetadata())
-				.toolCallArguments(finalToolInputArguments)
-				.build();
-
-			String toolCallResult = ToolCallingObservationDocumentation.TOOL_CALL
-				.observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
-						this.observationRegistry)
-				.observe(() -> {
-					String toolResult;
+		if (toolCallback == null) {
+			logger.warn(POSSIBLE_LLM_TOOL_NAME_CHANGE_WARNING, toolName);
+			throw new IllegalStateException("No ToolCallback found for tool name: " + toolName);
+		}
+		return toolCallback;
+	}
+
+	/**
+	 * Index the request tool callbacks by name, so that each tool call of a turn is
+	 * matched in constant time. The first tool callback wins when several share a name.
+	 * The index is built once for a given list of tool callbacks and then reused by the
+	 * next turns of the prompt, which carry the same tool callbacks.
+	 */
+	private Map<String, ToolCallback> indexByName(List<ToolCallback> toolCallbacks) {
+		if (toolCallbacks.isEmpty()) {
+			return Map.of();
+		}
+		ToolCallbackIndex index = this.toolCallbackIndex;
+		if (!index.indexes(toolCallbacks)) {
+			index = ToolCallbackIndex.of(toolCallbacks);
+			this.toolCallbackIndex = index;
+		}
+		return index.toolCallbacksByName();
+	}
+
+	private String[] executeSequentially(List<AssistantMessage.ToolCall> toolCalls, List<ToolCallback> toolCallbacks,
+			ToolContext toolContext) {
+		String[] results = new String[toolCalls.size()];
+		for (int i = 0; i < toolCalls.size(); i++) {
+			results[i] = executeToolCall(toolCalls.get(i), toolCallbacks.get(i), toolContext, null);
+		}
+		return results;
+	}
+
+	/**
+	 * Executes the thread-safe tool calls on the tool executor, then the other ones one
+	 * after the other on the calling thread, once the concurrent ones are over.
+	 */
+	private String[] executeConcurrently(List<AssistantMessage.ToolCall> toolCalls, List<ToolCallback> toolCallbacks,
+			ToolContext toolContext) {
+		String[] results = new String[toolCalls.size()];
+		List<ToolCallTask> tasks = new ArrayList<>(toolCalls.size());
+		Observation parentObservation = this.observationRegistry.getCurrentObservation();
+		ContextView reactiveContext = ToolCallReactiveContextHolder.getContext();
+		Semaphore permits = new Semaphore(this.maxConcurrentToolCalls);
+		long deadline = (this.toolCallTimeout != null) ? System.nanoTime() + this.toolCallTimeout.toNanos() : 0;
+		try {
+			for (int i = 0; i < toolCalls.size(); i++) {
+				AssistantMessage.ToolCall toolCall = toolCalls.get(i);
+				ToolCallback toolCallback = toolCallbacks.get(i);
+				if (!toolCallback.getToolMetadata().threadSafe()) {
+					tasks.add(null);
+					continue;
+				}
+				ToolCallTask task = new ToolCallTask(() -> {
+					ToolCallReactiveContextHolder.setContext(reactiveContext);
 					try {
-						toolResult = toolCallback.call(finalToolInputArguments, toolContext);
+						return executeToolCall(toolCall, toolCallback, toolContext, parentObservation);
 					}
-					catch (ToolExecutionException ex) {
-						toolResult = this.toolExecutionExceptionProcessor.process(ex);
+					finally {
+						ToolCallReactiveContextHolder.clearContext();
 					}
-					observationContext.setToolCallResult(toolResult);
-					return toolResult;
-				});
+				}, permits);
+				tasks.add(task);
+				this.toolExecutor.execute(task);
+			}
 
-			toolResponses.add(new ToolResponseMessage.ToolResponse(toolCall.id(), toolName,
-					toolCallResult != null ? toolCallResult : ""));
+			for (int i = 0; i < toolCalls.size(); i++) {
+				if (tasks.get(i) != null) {
+					results[i] = awaitToolCall(tasks.get(i), toolCallbacks.get(i), deadline);
+				}
+			}
+
+			for (int i = 0; i < toolCalls.size(); i++) {
+				if (tasks.get(i) == null) {
+					results[i] = executeToolCall(toolCalls.get(i), toolCallbacks.get(i), toolContext, null);
+				}
+			}
+			return results;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			cancel(tasks);
+			throw new IllegalStateException("Interrupted while executing tool calls", ex);
+		}
+		catch (RuntimeException | Error ex) {
+			cancel(tasks);
+			throw ex;
 		}
+	}
 
-		return new InternalToolExecutionResult(ToolResponseMessage.builder().responses(toolResponses).build(),
-				returnDirect);
+	/**
+	 * Waits for the given tool call until the deadline, if any. A tool call that does not
+	 * complete in time is interrupted and releases its permit, and the timeout is
+	 * reported as its result.
+	 */
+	private String awaitToolCall(ToolCallTask task, ToolCallback toolCallback, long deadline)
+			throws InterruptedException {
+		try {
+			return (this.toolCallTimeout != null) ? task.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)
+					: task.get();
+		}
+		catch (TimeoutException ex) {
+			task.cancel(true);
+			String message = "Tool call " + toolCallback.getToolDefinition().name() + " did not complete within "
+					+ this.toolCallTimeout;
+			logger.warn(message);
+			return this.toolExecutionExceptionProcessor.process(new ToolExecutionException(
+					toolCallback.getToolDefinition(), new IllegalStateException(message, ex)));
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = (ex.getCause() != null) ? ex.getCause() : ex;
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException("Tool call failed", cause);
+		}
+		catch (CancellationException ex) {
+			throw new IllegalStateException("Tool call was cancelled", ex);
+		}
+	}
+
+	private static void cancel(List<ToolCallTask> tasks) {
+		for (ToolCallTask task : tasks) {
+			if (task != null) {
+				task.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 * Execute a single tool call within its own observation.
+	 * @param parentObservation the parent of the tool call observation when the call is
+	 * not executed on the thread that received the tool calls
+	 */
+	private String executeToolCall(AssistantMessage.ToolCall toolCall, ToolCallback toolCallback,
+			ToolContext toolContext, @Nullable Observation parentObservation) {
+
+		logger.debug("Executing tool call: {}", toolCall.name());
+
+		String toolName = toolCall.name();
+		String toolInputArguments = toolCall.arguments();
+
+		// Handle the possible null parameter situation in streaming mode.
+		final String finalToolInputArguments;
+		if (!StringUtils.hasText(toolInputArguments)) {
+			logger.warn("Tool call arguments are null or empty for tool: {}. Using empty JSON object as default.",
+					toolName);
+			finalToolInputArguments = "{}";
+		}
+		else {
+			finalToolInputArguments = toolInputArguments;
+		}
+
+		ToolCallingObservationContext observationContext = ToolCallingObservationContext.builder()
+			.toolDefinition(toolCallback.getToolDefinition())
+			.toolMetadata(toolCallback.getToolMetadata())
+			.toolCallArguments(finalToolInputArguments)
+			.build();
+
+		Observation observation = ToolCallingObservationDocumentation.TOOL_CALL.observation(this.observationConvention,
+				DEFAULT_OBSERVATION_CONVENTION, () -> observationContext, this.observationRegistry);
+		if (parentObservation != null) {
+			observation.parentObservation(parentObservation);
+		}
+
+		return observation.observe(() -> {
+			String toolResult;
+			try {
+				toolResult = toolCallback.call(finalToolInputArguments, toolContext);
+			}
+			catch (ToolExecutionException ex) {
+				toolResult = this.toolExecutionExceptionProcessor.process(ex);
+			}
+			observationContext.setToolCallResult(toolResult);
+			return toolResult;
+		});
 	}
 
 	private List<Message> buildConversationHistoryAfterToolExecution(List<Message> previousMessages,
@@ -271,9 +488,98 @@ public final class DefaultToolCallingManager implements ToolCallingManager {
 		return new Builder();
 	}
 
+	private static Executor defaultToolExecutor() {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("tool-call-");
+		executor.setVirtualThreads(Runtime.version().feature() >= 21);
+		return executor;
+	}
+
 	private record InternalToolExecutionResult(ToolResponseMessage toolResponseMessage, boolean returnDirect) {
 	}
 
+	private record ToolCallbackIndex(ToolCallback[] toolCallbacks, Map<String, ToolCallback> toolCallbacksByName) {
+
+		static final ToolCallbackIndex EMPTY = new ToolCallbackIndex(new ToolCallback[0], Map.of());
+
+		static ToolCallbackIndex of(List<ToolCallback> toolCallbacks) {
+			Map<String, ToolCallback> toolCallbacksByName = new HashMap<>(toolCallbacks.size() * 2);
+			for (ToolCallback toolCallback : toolCallbacks) {
+				toolCallbacksByName.putIfAbsent(toolCallback.getToolDefinition().name(), toolCallback);
+			}
+			return new ToolCallbackIndex(toolCallbacks.toArray(new ToolCallback[0]),
+					Collections.unmodifiableMap(toolCallbacksByName));
+		}
+
+		/**
+		 * Whether this index was built from the same tool callback instances, in the same
+		 * order, which only takes comparing references.
+		 */
+		boolean indexes(List<ToolCallback> toolCallbacks) {
+			if (toolCallbacks.size() != this.toolCallbacks.length) {
+				return false;
+			}
+			int i = 0;
+			for (ToolCallback toolCallback : toolCallbacks) {
+				if (toolCallback != this.toolCallbacks[i++]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+	/**
+	 * Tool call holding one of the permits limiting the concurrent tool calls while it
+	 * runs. The permit is released as soon as the task completes or is cancelled, even if
+	 * the tool ignores the interruption and keeps running.
+	 */
+	private static final class ToolCallTask extends FutureTask<String> {
+
+		private final Semaphore permits;
+
+		private final AtomicBoolean permitHeld = new AtomicBoolean();
+
+		ToolCallTask(Callable<String> callable, Semaphore permits) {
+			super(callable);
+			this.permits = permits;
+		}
+
+		@Override
+		public void run() {
+			if (isDone()) {
+				return;
+			}
+			try {
+				this.permits.acquire();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				setException(ex);
+				return;
+			}
+			this.permitHeld.set(true);
+			if (isDone()) {
+				// cancelled while waiting for the permit
+				releasePermit();
+				return;
+			}
+			super.run();
+		}
+
+		@Override
+		protected void done() {
+			releasePermit();
+		}
+
+		private void releasePermit() {
+			if (this.permitHeld.compareAndSet(true, false)) {
+				this.permits.release();
+			}
+		}
+
+	}
+
 	public final static class Builder {
 
 		private ObservationRegistry observationRegistry = DEFAULT_OBSERVATION_REGISTRY;
@@ -282,6 +588,16 @@ public final class DefaultToolCallingManager implements ToolCallingManager {
 
 		private ToolExecutionExceptionProcessor toolExecutionExceptionProcessor = DEFAULT_TOOL_EXECUTION_EXCEPTION_PROCESSOR;
 
+		private boolean concurrentToolExecution = false;
+
+		@Nullable
+		private Executor toolExecutor;
+
+		private int maxConcurrentToolCalls = DEFAULT_MAX_CONCURRENT_TOOL_CALLS;
+
+		@Nullable
+		private Duration toolCallTimeout;
+
 		private Builder() {
 		}
 
@@ -301,9 +617,66 @@ public final class DefaultToolCallingManager implements ToolCallingManager {
 			return this;
 		}
 
+		/**
+		 * Sets whether the tool calls requested in one turn are executed concurrently.
+		 * Disabled by default.
+		 * @param concurrentToolExecution whether to execute tool calls concurrently
+		 * @return this builder
+		 */
+		public Builder concurrentToolExecution(boolean concurrentToolExecution) {
+			this.concurrentToolExecution = concurrentToolExecution;
+			return this;
+		}
+
+		/**
+		 * Sets the executor running the tool calls when
+		 * {@link #concurrentToolExecution(boolean) concurrent tool execution} is enabled.
+		 * Defaults to an executor starting a virtual thread per tool call on Java 21 and
+		 * later, and a platform thread otherwise.
+		 * @param toolExecutor the executor running the tool calls
+		 * @return this builder
+		 */
+		public Builder toolExecutor(Executor toolExecutor) {
+			this.toolExecutor = toolExecutor;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of tool calls of one turn executed at the same time
+		 * when {@link #concurrentToolExecution(boolean) concurrent tool execution} is
+		 * enabled. Defaults to {@value #DEFAULT_MAX_CONCURRENT_TOOL_CALLS}.
+		 * @param maxConcurrentToolCalls the maximum number of concurrent tool calls
+		 * @return this builder
+		 */
+		public Builder maxConcurrentToolCalls(int maxConcurrentToolCalls) {
+			this.maxConcurrentToolCalls = maxConcurrentToolCalls;
+			return this;
+		}
+
+		/**
+		 * Sets the time after which a tool call executed on the
+		 * {@link #toolExecutor(Executor) tool executor} is considered as failed with a
+		 * {@link ToolExecutionException}, handled by the
+		 * {@link ToolExecutionExceptionProcessor}. The time is counted from the
+		 * submission of the tool calls of the turn, and a tool call that does not
+		 * complete in time is cancelled, interrupting its thread and releasing its
+		 * permit. The timeout only applies when {@link #concurrentToolExecution(boolean)
+		 * concurrent tool execution} is enabled, in which case it applies to a single
+		 * tool call as well; tool calls executed on the calling thread, including the
+		 * ones of tools that are not thread-safe, are never timed out. No timeout is
+		 * applied by default.
+		 * @param toolCallTimeout the timeout of each tool call
+		 * @return this builder
+		 */
+		public Builder toolCallTimeout(@Nullable Duration toolCallTimeout) {
+			this.toolCallTimeout = toolCallTimeout;
+			return this;
+		}
+
 		public DefaultToolCallingManager build() {
 			return new DefaultToolCallingManager(this.observationRegistry, this.toolCallbackResolver,
-					this.toolExecutionExceptionProcessor);
+					this.toolExecutionExceptionProcessor, this.concurrentToolExecution, this.toolExecutor,
+					this.maxConcurrentToolCalls, this.toolCallTimeout);
 		}
 
 	}
@@ -63,6 +63,13 @@ public @interface Tool {
 	 */
 	boolean returnDirect() default false;
 
+	/**
+	 * Whether the tool can be invoked concurrently with other calls to itself. Set to
+	 * {@code false} for tools that must never run in parallel when the tool calling
+	 * manager executes tool calls concurrently.
+	 */
+	boolean threadSafe() default true;
+
 	/**
 	 * The class to use to convert the tool call result to a String.
 	 */
@@ -41,11 +41,13 @@ public final class DefaultToolCallResultConverter implements ToolCallResultConve
 
 	private static final Logger logger = LoggerFactory.getLogger(DefaultToolCallResultConverter.class);
 
+	private static final String VOID_RESULT = JsonParser.toJson("Done");
+
 	@Override
 	public String convert(@Nullable Object result, @Nullable Type returnType) {
 		if (returnType == Void.TYPE) {
 			logger.debug("The tool has no return type. Converting to conventional response.");
-			return JsonParser.toJson("Done");
+			return VOID_RESULT;
 		}
 		if (result instanceof RenderedImage) {
 			final var buf = new ByteArrayOutputStream(1024 * 4);
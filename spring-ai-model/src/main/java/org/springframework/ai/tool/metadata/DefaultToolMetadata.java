@@ -32,6 +32,8 @@ public record DefaultToolMetadata(boolean returnDirect) implements ToolMetadata
 
 		private boolean returnDirect = false;
 
+		private boolean threadSafe = true;
+
 		private Builder() {
 		}
 
@@ -40,8 +42,26 @@ public record DefaultToolMetadata(boolean returnDirect) implements ToolMetadata
 			return this;
 		}
 
+		public Builder threadSafe(boolean threadSafe) {
+			this.threadSafe = threadSafe;
+			return this;
+		}
+
 		public ToolMetadata build() {
-			return new DefaultToolMetadata(this.returnDirect);
+			return this.threadSafe ? new DefaultToolMetadata(this.returnDirect)
+					: new NonThreadSafeToolMetadata(this.returnDirect);
+		}
+
+	}
+
+	/**
+	 * Metadata of a tool that must not be called concurrently.
+	 */
+	private record NonThreadSafeToolMetadata(boolean returnDirect) implements ToolMetadata {
+
+		@Override
+		public boolean threadSafe() {
+			return false;
 		}
 
 	}
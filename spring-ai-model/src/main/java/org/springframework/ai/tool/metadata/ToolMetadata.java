@@ -36,6 +36,15 @@ public interface ToolMetadata {
 		return false;
 	}
 
+	/**
+	 * Whether the tool can be invoked concurrently with other calls to itself. Tools that
+	 * are not thread-safe are always executed sequentially, even when the tool calling
+	 * manager executes tool calls concurrently.
+	 */
+	default boolean threadSafe() {
+		return true;
+	}
+
 	/**
 	 * Create a default {@link ToolMetadata} builder.
 	 */
@@ -48,7 +57,10 @@ public interface ToolMetadata {
 	 */
 	static ToolMetadata from(Method method) {
 		Assert.notNull(method, "method cannot be null");
-		return DefaultToolMetadata.builder().returnDirect(ToolUtils.getToolReturnDirect(method)).build();
+		return DefaultToolMetadata.builder()
+			.returnDirect(ToolUtils.getToolReturnDirect(method))
+			.threadSafe(ToolUtils.getToolThreadSafe(method))
+			.build();
 	}
 
 }
@@ -16,15 +16,23 @@
 
 package org.springframework.ai.tool.method;
 
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +51,11 @@ import org.springframework.util.CollectionUtils;
 
 /**
  * A {@link ToolCallback} implementation to invoke methods as tools.
+ * <p>
+ * Everything that only depends on the method is prepared once, when the callback is
+ * created: a {@link MethodHandle} bound to the tool object, and a Jackson
+ * {@link ObjectReader} per parameter. The tool input is then streamed into the parameter
+ * types directly, without building an intermediate map of the arguments.
  *
  * @author Thomas Vitale
  * @since 1.0.0
@@ -55,6 +68,8 @@ public final class MethodToolCallback implements ToolCallback {
 
 	private static final ToolMetadata DEFAULT_TOOL_METADATA = ToolMetadata.builder().build();
 
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
 	private final ToolDefinition toolDefinition;
 
 	private final ToolMetadata toolMetadata;
@@ -66,6 +81,27 @@ public final class MethodToolCallback implements ToolCallback {
 
 	private final ToolCallResultConverter toolCallResultConverter;
 
+	private final Type returnType;
+
+	private final Parameter[] parameters;
+
+	/**
+	 * Index of each parameter by name, except for the {@link ToolContext} parameters.
+	 */
+	private final Map<String, Integer> parameterIndexes;
+
+	@Nullable
+	private final ObjectReader[] parameterReaders;
+
+	private final boolean toolContextRequired;
+
+	/**
+	 * Invoker spreading an argument array over the method parameters, or {@code null} if
+	 * the method can only be invoked reflectively.
+	 */
+	@Nullable
+	private final MethodHandle invoker;
+
 	public MethodToolCallback(ToolDefinition toolDefinition, @Nullable ToolMetadata toolMetadata, Method toolMethod,
 			@Nullable Object toolObject, @Nullable ToolCallResultConverter toolCallResultConverter) {
 		Assert.notNull(toolDefinition, "toolDefinition cannot be null");
@@ -78,6 +114,48 @@ public final class MethodToolCallback implements ToolCallback {
 		this.toolObject = toolObject;
 		this.toolCallResultConverter = toolCallResultConverter != null ? toolCallResultConverter
 				: DEFAULT_RESULT_CONVERTER;
+		this.returnType = toolMethod.getGenericReturnType();
+		this.parameters = toolMethod.getParameters();
+		this.parameterIndexes = new HashMap<>();
+		this.parameterReaders = new ObjectReader[this.parameters.length];
+		ObjectMapper objectMapper = JsonParser.getObjectMapper();
+		boolean toolContextRequired = false;
+		for (int i = 0; i < this.parameters.length; i++) {
+			Parameter parameter = this.parameters[i];
+			toolContextRequired |= ClassUtils.isAssignable(ToolContext.class, parameter.getType());
+			if (parameter.getType().isAssignableFrom(ToolContext.class)) {
+				continue;
+			}
+			this.parameterIndexes.put(parameter.getName(), i);
+			this.parameterReaders[i] = objectMapper
+				.readerFor(objectMapper.constructType(parameter.getParameterizedType()));
+		}
+		this.toolContextRequired = toolContextRequired;
+		this.invoker = createInvoker(toolMethod, toolObject);
+	}
+
+	/**
+	 * Binds the tool method to the tool object and adapts it to take its arguments as an
+	 * array. Falls back to reflective invocation when the method cannot be unreflected,
+	 * for example when the tool object is not an instance of the declaring class.
+	 */
+	@Nullable
+	private static MethodHandle createInvoker(Method toolMethod, @Nullable Object toolObject) {
+		try {
+			if ((toolObject != null && !Modifier.isPublic(toolObject.getClass().getModifiers()))
+					|| !Modifier.isPublic(toolMethod.getModifiers())) {
+				toolMethod.setAccessible(true);
+			}
+			MethodHandle methodHandle = MethodHandles.lookup().unreflect(toolMethod);
+			if (!Modifier.isStatic(toolMethod.getModifiers())) {
+				methodHandle = methodHandle.bindTo(toolObject);
+			}
+			return methodHandle.asSpreader(Object[].class, toolMethod.getParameterCount()).asType(INVOKER_TYPE);
+		}
+		catch (IllegalAccessException | RuntimeException ex) {
+			logger.debug("Falling back to reflective invocation of tool method {}", toolMethod, ex);
+			return null;
+		}
 	}
 
 	@SuppressWarnings("null")
@@ -105,50 +183,85 @@ public final class MethodToolCallback implements ToolCallback {
 
 		this.validateToolContextSupport(toolContext);
 
-		Map<String, Object> toolArguments = this.extractToolArguments(toolInput);
-
-		Object[] methodArguments = this.buildMethodArguments(toolArguments, toolContext);
+		Object[] methodArguments = this.buildMethodArguments(toolInput, toolContext);
 
 		Object result = this.callMethod(methodArguments);
 
 		logger.debug("Successful execution of tool: {}", this.toolDefinition.name());
 
-		Type returnType = this.toolMethod.getGenericReturnType();
-
-		return this.toolCallResultConverter.convert(result, returnType);
+		return this.toolCallResultConverter.convert(result, this.returnType);
 	}
 
 	private void validateToolContextSupport(@Nullable ToolContext toolContext) {
 		var isNonEmptyToolContextProvided = toolContext != null && !CollectionUtils.isEmpty(toolContext.getContext());
-		var isToolContextAcceptedByMethod = Stream.of(this.toolMethod.getParameterTypes())
-			.anyMatch(type -> ClassUtils.isAssignable(ToolContext.class, type));
-		if (isToolContextAcceptedByMethod && !isNonEmptyToolContextProvided) {
+		if (this.toolContextRequired && !isNonEmptyToolContextProvided) {
 			throw new IllegalArgumentException("ToolContext is required by the method as an argument");
 		}
 	}
 
-	private Map<String, Object> extractToolArguments(String toolInput) {
-		try {
-			return JsonParser.fromJson(toolInput, new TypeReference<>() {
-			});
+	/**
+	 * Streams the tool input fields into the method arguments. Fields that do not match a
+	 * parameter are skipped, and parameters without a field are left {@code null}.
+	 */
+	private Object[] buildMethodArguments(String toolInput, @Nullable ToolContext toolContext) {
+		Object[] methodArguments = new Object[this.parameters.length];
+		for (int i = 0; i < this.parameters.length; i++) {
+			if (this.parameterReaders[i] == null) {
+				methodArguments[i] = toolContext;
+			}
 		}
-		catch (Exception ex) {
+		try (com.fasterxml.jackson.core.JsonParser parser = JsonParser.getObjectMapper().createParser(toolInput)) {
+			JsonToken token = parser.nextToken();
+			if (token == JsonToken.VALUE_NULL) {
+				return methodArguments;
+			}
+			if (token != JsonToken.START_OBJECT) {
+				throw MismatchedInputException.from(parser, Map.class,
+						"Cannot deserialize tool input: expected a JSON object but found " + token);
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				Integer index = this.parameterIndexes.get(parser.currentName());
+				token = parser.nextToken();
+				if (index == null) {
+					parser.skipChildren();
+					continue;
+				}
+				methodArguments[index] = readArgument(parser, token, index);
+			}
+			return methodArguments;
+		}
+		catch (IOException ex) {
 			logger.warn("Conversion from JSON failed", ex);
-			Throwable cause = (ex.getCause() instanceof JsonProcessingException) ? ex.getCause() : ex;
-			throw new ToolExecutionException(this.getToolDefinition(), cause);
+			throw new ToolExecutionException(this.getToolDefinition(), ex);
 		}
 	}
 
-	// Based on the implementation in MethodToolCallback.
-	@SuppressWarnings("null")
-	private Object[] buildMethodArguments(Map<String, Object> toolInputArguments, @Nullable ToolContext toolContext) {
-		return Stream.of(this.toolMethod.getParameters()).map(parameter -> {
-			if (parameter.getType().isAssignableFrom(ToolContext.class)) {
-				return toolContext;
-			}
-			Object rawArgument = toolInputArguments.get(parameter.getName());
-			return buildTypedArgument(rawArgument, parameter.getParameterizedType());
-		}).toArray();
+	@Nullable
+	private Object readArgument(com.fasterxml.jackson.core.JsonParser parser, JsonToken token, int index)
+			throws IOException {
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		Parameter parameter = this.parameters[index];
+		Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(parameter.getType());
+		if (token.isScalarValue() && isLenientlyConverted(type)) {
+			// Keep the lenient conversion of strings, numbers, booleans and enums
+			return buildTypedArgument(parser.getText(), parameter.getParameterizedType());
+		}
+		if (token == JsonToken.VALUE_STRING) {
+			// The value might be a JSON document encoded as a string
+			return buildTypedArgument(parser.getText(), parameter.getParameterizedType());
+		}
+		if (type == String.class) {
+			return buildTypedArgument(parser.readValueAs(Object.class), parameter.getParameterizedType());
+		}
+		return this.parameterReaders[index].readValue(parser);
+	}
+
+	private static boolean isLenientlyConverted(Class<?> type) {
+		return type == String.class || type == Byte.class || type == Integer.class || type == Short.class
+				|| type == Long.class || type == Double.class || type == Float.class || type == Boolean.class
+				|| type.isEnum();
 	}
 
 	@Nullable
@@ -176,6 +289,18 @@ public final class MethodToolCallback implements ToolCallback {
 	@SuppressWarnings("null")
 	@Nullable
 	private Object callMethod(Object[] methodArguments) {
+		if (this.invoker != null && isExactlyInvocable(methodArguments)) {
+			try {
+				return (Object) this.invoker.invokeExact(methodArguments);
+			}
+			catch (Error ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				throw new ToolExecutionException(this.toolDefinition, ex);
+			}
+		}
+
 		if (isObjectNotPublic() || isMethodNotPublic()) {
 			this.toolMethod.setAccessible(true);
 		}
@@ -188,11 +313,34 @@ public final class MethodToolCallback implements ToolCallback {
 			throw new IllegalStateException("Could not access method: " + ex.getMessage(), ex);
 		}
 		catch (InvocationTargetException ex) {
+			if (ex.getCause() instanceof Error error) {
+				throw error;
+			}
 			throw new ToolExecutionException(this.toolDefinition, ex.getCause());
 		}
 		return result;
 	}
 
+	/**
+	 * Whether the arguments match the parameter types without conversion, so that the
+	 * invoker cannot fail adapting them. Otherwise the method is invoked reflectively,
+	 * which converts them or rejects them with an {@link IllegalArgumentException}.
+	 */
+	private boolean isExactlyInvocable(Object[] methodArguments) {
+		if (methodArguments.length != this.parameters.length) {
+			return false;
+		}
+		for (int i = 0; i < methodArguments.length; i++) {
+			Class<?> type = this.parameters[i].getType();
+			Object argument = methodArguments[i];
+			if ((argument == null) ? type.isPrimitive()
+					: !ClassUtils.resolvePrimitiveIfNecessary(type).isInstance(argument)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private boolean isObjectNotPublic() {
 		return this.toolObject != null && !Modifier.isPublic(this.toolObject.getClass().getModifiers());
 	}
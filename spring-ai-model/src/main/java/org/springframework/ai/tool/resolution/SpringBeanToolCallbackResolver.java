@@ -16,8 +16,8 @@
 
 package org.springframework.ai.tool.resolution;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -60,7 +60,7 @@ public class SpringBeanToolCallbackResolver implements ToolCallbackResolver {
 
 	private static final Logger logger = LoggerFactory.getLogger(SpringBeanToolCallbackResolver.class);
 
-	private static final Map<String, ToolCallback> toolCallbacksCache = new HashMap<>();
+	private static final Map<String, ToolCallback> toolCallbacksCache = new ConcurrentHashMap<>();
 
 	private static final SchemaType DEFAULT_SCHEMA_TYPE = SchemaType.JSON_SCHEMA;
 
@@ -36,14 +36,16 @@ public class StaticToolCallbackResolver implements ToolCallbackResolver {
 
 	private static final Logger logger = LoggerFactory.getLogger(StaticToolCallbackResolver.class);
 
-	private final Map<String, ToolCallback> toolCallbacks = new HashMap<>();
+	private final Map<String, ToolCallback> toolCallbacks;
 
 	public StaticToolCallbackResolver(List<ToolCallback> toolCallbacks) {
 		Assert.notNull(toolCallbacks, "toolCallbacks cannot be null");
 		Assert.noNullElements(toolCallbacks, "toolCallbacks cannot contain null elements");
 
+		Map<String, ToolCallback> toolCallbacksByName = new HashMap<>();
 		toolCallbacks
-			.forEach(toolCallback -> this.toolCallbacks.put(toolCallback.getToolDefinition().name(), toolCallback));
+			.forEach(toolCallback -> toolCallbacksByName.put(toolCallback.getToolDefinition().name(), toolCallback));
+		this.toolCallbacks = Map.copyOf(toolCallbacksByName);
 	}
 
 	@Override
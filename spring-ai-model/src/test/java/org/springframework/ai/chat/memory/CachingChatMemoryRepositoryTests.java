@@ -0,0 +1,243 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.memory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.chat.memory.CachingChatMemoryRepository.WriteMode;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link CachingChatMemoryRepository}.
+ */
+class CachingChatMemoryRepositoryTests {
+
+	private final InMemoryChatMemoryRepository delegate = spy(new InMemoryChatMemoryRepository());
+
+	private final List<Runnable> pendingTasks = new ArrayList<>();
+
+	@Test
+	void whenConversationCachedThenDelegateNotRead() {
+		this.delegate.saveAll("1", List.of(new UserMessage("Hello")));
+		CachingChatMemoryRepository repository = CachingChatMemoryRepository.builder(this.delegate).build();
+
+		assertThat(repository.findByConversationId("1")).containsExactly(new UserMessage("Hello"));
+		assertThat(repository.findByConversationId("1")).containsExactly(new UserMessage("Hello"));
+
+		verify(this.delegate, times(1)).findByConversationId("1");
+	}
+
+	@Test
+	void whenSyncThenChangesWrittenBeforeReturning() {
+		CachingChatMemoryRepository repository = CachingChatMemoryRepository.builder(this.delegate)
+			.writeMode(WriteMode.SYNC)
+			.build();
+
+		repository.saveAll("1", List.of(new UserMessage("Hello")));
+
+		assertThat(this.delegate.findByConversationId("1")).containsExactly(new UserMessage("Hello"));
+	}
+
+	@Test
+	void whenAsyncThenChangesCoalescedIntoPendingWrite() {
+		CachingChatMemoryRepository repository = CachingChatMemoryRepository.builder(this.delegate)
+			.executor(this.pendingTasks::add)
+			.build();
+
+		repository.appendAll("1", List.of(new SystemMessage("Be brief"), new UserMessage("Hello")));
+		repository.appendAll("1", List.of(new AssistantMessage("Hi")));
+		repository.trim("1", 2);
+
+		assertThat(repository.findByConversationId("1")).containsExactly(new SystemMessage("Be brief"),
+				new AssistantMessage("Hi"));
+		assertThat(this.delegate.findByConversationId("1")).isEmpty();
+		assertThat(this.pendingTasks).hasSize(1);
+
+		this.pendingTasks.forEach(Runnable::run);
+
+		assertThat(this.delegate.findByConversationId("1")).containsExactly(new SystemMessage("Be brief"),
+				new AssistantMessage("Hi"));
+		verify(this.delegate, times(1)).appendAll("1",
+				List.of(new SystemMessage("Be brief"), new UserMessage("Hello"), new AssistantMessage("Hi")));
+		verify(this.delegate, times(1)).trim("1", 2);
+		verify(this.delegate, never()).saveAll(anyString(), anyList());
+	}
+
+	@Test
+	void whenAppendedAfterEvictionThenConversationReplaced() {
+		CachingChatMemoryRepository repository = CachingChatMemoryRepository.builder(this.delegate)
+			.executor(this.pendingTasks::add)
+			.build();
+
+		repository.appendAll("1", List.of(new UserMessage("1"), new UserMessage("2"), new UserMessage("3")));
+		repository.trim("1", 2);
+		repository.appendAll("1", List.of(new UserMessage("4")));
+		this.pendingTasks.forEach(Runnable::run);
+
+		assertThat(this.delegate.findByConversationId("1")).containsExactly(new UserMessage("2"), new UserMessage("3"),
+				new UserMessage("4"));
+		verify(this.delegate, never()).trim(anyString(), anyInt());
+	}
+
+	@Test
+	void whenBatchedThenChangesWrittenOnClose() {
+		CachingChatMemoryRepository repository = CachingChatMemoryRepository.builder(this.delegate)
+			.writeMode(WriteMode.BATCHED)
+			.flushInterval(Duration.ofHours(1))
+			.build();
+
+		repository.saveAll("1", List.of(new UserMessage("Hello")));
+		repository.saveAll("2", List.of(new UserMessage("Bonjour")));
+		repository.deleteByConversationId("2");
+
+		assertThat(this.delegate.findConversationIds()).isEmpty();
+
+		repository.close();
+
+		assertThat(this.delegate.findConversationIds()).containsExactly("1");
+		verify(this.delegate, never()).saveAll("2", List.of(new UserMessage("Bonjour")));
+	}
+
+	@Test
+	void whenWriteFailsThenRetriedOnFlush() {
+		CachingChatMemoryRepository repository = CachingChatMemoryRepository.builder(this.delegate)
+			.executor(this.pendingTasks::add)
+			.build();
+		willThrow(new IllegalStateException("Connection refused")).willCallRealMethod()
+			.given(this.delegate)
+			.appendAll(anyString(), anyList());
+
+		repository.appendAll("1", List.of(new UserMessage("Hello")));
+		this.pendingTasks.forEach(Runnable::run);
+
+		assertThat(this.delegate.findByConversationId("1")).isEmpty();
+
+		repository.flush();
+
+		assertThat(this.delegate.findByConversationId("1")).containsExactly(new UserMessage("Hello"));
+	}
+
+	@Test
+	void whenAsyncWriteFailsThenRetriedWithBackoff() {
+		CachingChatMemoryRepository repository = CachingChatMemoryRepository.builder(this.delegate)
+			.retryDelay(Duration.ofMillis(10))
+			.build();
+		willThrow(new IllegalStateException("Connection refused")).given(this.delegate)
+			.appendAll(anyString(), anyList());
+		willThrow(new IllegalStateException("Connection refused")).willCallRealMethod()
+			.given(this.delegate)
+			.saveAll(anyString(), anyList());
+
+		repository.appendAll("1", List.of(new UserMessage("Hello")));
+
+		verify(this.delegate, timeout(5000).times(2)).saveAll("1", List.of(new UserMessage("Hello")));
+		assertThat(this.delegate.findByConversationId("1")).containsExactly(new UserMessage("Hello"));
+		verify(this.delegate, after(100).times(2)).saveAll(anyString(), anyList());
+	}
+
+	@Test
+	void whenDirtyConversationEvictedThenChangesKept() {
+		CachingChatMemoryRepository repository = CachingChatMemoryRepository.builder(this.delegate)
+			.maxConversations(1)
+			.writeMode(WriteMode.BATCHED)
+			.flushInterval(Duration.ofHours(1))
+			.build();
+
+		repository.saveAll("1", List.of(new UserMessage("Hello")));
+		repository.saveAll("2", List.of(new UserMessage("Bonjour")));
+
+		assertThat(repository.findByConversationId("1")).containsExactly(new UserMessage("Hello"));
+		verify(this.delegate, never()).findByConversationId("1");
+
+		repository.close();
+
+		assertThat(this.delegate.findConversationIds()).containsExactlyInAnyOrder("1", "2");
+	}
+
+	@Test
+	void whenTimeToLiveElapsedThenDelegateReadAgain() throws InterruptedException {
+		this.delegate.saveAll("1", List.of(new UserMessage("Hello")));
+		CachingChatMemoryRepository repository = CachingChatMemoryRepository.builder(this.delegate)
+			.timeToLive(Duration.ofMillis(10))
+			.build();
+
+		repository.findByConversationId("1");
+		Thread.sleep(20);
+		repository.findByConversationId("1");
+
+		verify(this.delegate, times(2)).findByConversationId("1");
+	}
+
+	@Test
+	void whenMeterRegistryThenMetricsPublished() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		CachingChatMemoryRepository repository = CachingChatMemoryRepository.builder(this.delegate)
+			.writeMode(WriteMode.SYNC)
+			.meterRegistry(meterRegistry)
+			.build();
+
+		repository.findByConversationId("1");
+		repository.findByConversationId("1");
+		repository.appendAll("1", List.of(new UserMessage("Hello")));
+
+		assertThat(meterRegistry.get("cache.gets")
+			.tag("cache", "chat.memory")
+			.tag("result", "hit")
+			.functionCounter()
+			.count()).isEqualTo(2);
+		assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("cache.pending").gauge().value()).isZero();
+		FunctionTimer flushLag = meterRegistry.get("cache.flush.lag").functionTimer();
+		assertThat(flushLag.count()).isEqualTo(1);
+	}
+
+	@Test
+	void whenInvalidRetryDelayThenThrow() {
+		assertThatThrownBy(() -> CachingChatMemoryRepository.builder(this.delegate).retryDelay(Duration.ZERO))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("retryDelay must be positive");
+	}
+
+	@Test
+	void whenInvalidMaxConversationsThenThrow() {
+		assertThatThrownBy(() -> CachingChatMemoryRepository.builder(this.delegate).maxConversations(0))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("maxConversations must be greater than 0");
+	}
+
+}
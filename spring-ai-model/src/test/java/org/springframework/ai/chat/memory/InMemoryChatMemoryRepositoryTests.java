@@ -24,6 +24,7 @@ import org.junit.jupiter.api.Test;
 
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.ai.chat.messages.UserMessage;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -104,6 +105,35 @@ public class InMemoryChatMemoryRepositoryTests {
 			.containsExactlyElementsOf(secondMessages);
 	}
 
+	@Test
+	void appendAllAddsMessagesAfterExistingOnes() {
+		String conversationId = UUID.randomUUID().toString();
+
+		this.chatMemoryRepository.appendAll(conversationId, List.of(new UserMessage("Hello")));
+		this.chatMemoryRepository.appendAll(conversationId, List.of(new AssistantMessage("Hi there")));
+
+		assertThat(this.chatMemoryRepository.findByConversationId(conversationId))
+			.containsExactly(new UserMessage("Hello"), new AssistantMessage("Hi there"));
+	}
+
+	@Test
+	void trimEvictsOldestNonSystemMessages() {
+		String conversationId = UUID.randomUUID().toString();
+		this.chatMemoryRepository.saveAll(conversationId,
+				List.of(new UserMessage("Message 1"), new SystemMessage("System instruction"),
+						new AssistantMessage("Response 1"), new UserMessage("Message 2")));
+
+		this.chatMemoryRepository.trim(conversationId, 2);
+
+		assertThat(this.chatMemoryRepository.findByConversationId(conversationId))
+			.containsExactly(new SystemMessage("System instruction"), new UserMessage("Message 2"));
+
+		this.chatMemoryRepository.trim(conversationId, 1);
+
+		assertThat(this.chatMemoryRepository.findByConversationId(conversationId))
+			.containsExactly(new SystemMessage("System instruction"));
+	}
+
 	@Test
 	void nullConversationIdNotAllowed() {
 		assertThatThrownBy(() -> this.chatMemoryRepository.saveAll(null, List.of(new UserMessage("Hello"))))
@@ -29,6 +29,12 @@ import org.springframework.ai.chat.messages.UserMessage;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * Unit tests for {@link MessageWindowChatMemory}.
@@ -292,4 +298,37 @@ public class MessageWindowChatMemoryTests {
 				new SystemMessage("System instruction 2"));
 	}
 
+	@Test
+	void appendableRepositoryIsNotRewritten() {
+		AppendableChatMemoryRepository repository = mock(AppendableChatMemoryRepository.class);
+		MessageWindowChatMemory customChatMemory = MessageWindowChatMemory.builder()
+			.chatMemoryRepository(repository)
+			.maxMessages(3)
+			.build();
+		List<Message> messages = List.of(new UserMessage("Message 1"), new AssistantMessage("Response 1"));
+
+		customChatMemory.add("conversation", messages);
+
+		verify(repository).appendAll("conversation", messages);
+		verify(repository).trim("conversation", 3);
+		verify(repository, never()).findByConversationId(any());
+		verify(repository, never()).saveAll(any(), anyList());
+	}
+
+	@Test
+	void nonAppendableRepositoryIsRewrittenWithWindow() {
+		ChatMemoryRepository repository = mock(ChatMemoryRepository.class);
+		given(repository.findByConversationId("conversation"))
+			.willReturn(List.of(new UserMessage("Message 1"), new AssistantMessage("Response 1")));
+		MessageWindowChatMemory customChatMemory = MessageWindowChatMemory.builder()
+			.chatMemoryRepository(repository)
+			.maxMessages(2)
+			.build();
+
+		customChatMemory.add("conversation", new UserMessage("Message 2"));
+
+		verify(repository).saveAll("conversation",
+				List.of(new AssistantMessage("Response 1"), new UserMessage("Message 2")));
+	}
+
 }
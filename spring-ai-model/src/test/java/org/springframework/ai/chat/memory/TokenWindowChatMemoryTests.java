@@ -0,0 +1,213 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.memory;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.content.MediaContent;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link TokenWindowChatMemory}.
+ */
+class TokenWindowChatMemoryTests {
+
+	private final WordCountEstimator estimator = new WordCountEstimator();
+
+	private final InMemoryChatMemoryRepository repository = spy(new InMemoryChatMemoryRepository());
+
+	private final TokenWindowChatMemory chatMemory = TokenWindowChatMemory.builder()
+		.chatMemoryRepository(this.repository)
+		.tokenCountEstimator(this.estimator)
+		.maxTokens(10)
+		.build();
+
+	@Test
+	void zeroMaxTokensNotAllowed() {
+		assertThatThrownBy(() -> TokenWindowChatMemory.builder().maxTokens(0).build())
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("maxTokens must be greater than 0");
+	}
+
+	@Test
+	void messagesWithinBudgetAreKept() {
+		this.chatMemory.add("1", List.of(new UserMessage("one two three"), new AssistantMessage("four five")));
+
+		assertThat(this.chatMemory.get("1")).extracting(Message::getText).containsExactly("one two three", "four five");
+	}
+
+	@Test
+	void oldestMessagesEvictedToFitBudget() {
+		this.chatMemory.add("1", List.of(new SystemMessage("be brief"), new UserMessage("one two three four")));
+		this.chatMemory.add("1", List.of(new AssistantMessage("five six seven")));
+		this.chatMemory.add("1", List.of(new UserMessage("eight nine")));
+
+		assertThat(this.chatMemory.get("1")).extracting(Message::getText)
+			.containsExactly("be brief", "five six seven", "eight nine");
+		verify(this.repository).trim("1", 3);
+		verify(this.repository, never()).saveAll(anyString(), anyList());
+	}
+
+	@Test
+	void tokenCountsEstimatedOnce() {
+		this.chatMemory.add("1", List.of(new UserMessage("one two")));
+		this.chatMemory.add("1", List.of(new AssistantMessage("three four")));
+		this.chatMemory.add("1", List.of(new UserMessage("five six")));
+
+		assertThat(this.estimator.estimates).hasValue(3);
+		assertThat(this.chatMemory.get("1")).containsExactly(new UserMessage("one two"),
+				new AssistantMessage("three four"), new UserMessage("five six"));
+	}
+
+	@Test
+	void onlyNewMessagesEstimatedWhenRepositoryReturnsNewInstances() {
+		ChatMemoryRepository copyingRepository = new CopyingChatMemoryRepository();
+		TokenWindowChatMemory chatMemory = TokenWindowChatMemory.builder()
+			.chatMemoryRepository(copyingRepository)
+			.tokenCountEstimator(this.estimator)
+			.maxTokens(100)
+			.build();
+		chatMemory.add("1", List.of(new UserMessage("one two"), new AssistantMessage("three four")));
+		assertThat(this.estimator.estimates).hasValue(2);
+
+		chatMemory.add("1", List.of(new UserMessage("five six")));
+
+		assertThat(this.estimator.estimates).hasValue(3);
+		assertThat(chatMemory.get("1")).extracting(Message::getText)
+			.containsExactly("one two", "three four", "five six");
+	}
+
+	@Test
+	void tokenCountsNotCachedWhenCacheSizeIsZero() {
+		TokenWindowChatMemory chatMemory = TokenWindowChatMemory.builder()
+			.tokenCountEstimator(this.estimator)
+			.maxTokens(100)
+			.tokenCountCacheSize(0)
+			.build();
+		chatMemory.add("1", List.of(new UserMessage("one two")));
+		chatMemory.add("1", List.of(new UserMessage("three four")));
+
+		assertThat(this.estimator.estimates).hasValue(3);
+	}
+
+	@Test
+	void newSystemMessageReplacesPreviousOne() {
+		this.chatMemory.add("1", List.of(new SystemMessage("be brief"), new UserMessage("hello")));
+		this.chatMemory.add("1", List.of(new SystemMessage("be verbose")));
+
+		assertThat(this.chatMemory.get("1")).extracting(Message::getText).containsExactly("hello", "be verbose");
+	}
+
+	@Test
+	void mostRecentMessageKeptWhenOverBudget() {
+		this.chatMemory.add("1", List.of(new UserMessage("hello")));
+		this.chatMemory.add("1", List.of(new UserMessage("a b c d e f g h i j k l")));
+
+		assertThat(this.chatMemory.get("1")).extracting(Message::getText).containsExactly("a b c d e f g h i j k l");
+	}
+
+	@Test
+	void toolResponsesWithoutToolCallsEvicted() {
+		AssistantMessage toolCall = AssistantMessage.builder()
+			.content("")
+			.toolCalls(List.of(new AssistantMessage.ToolCall("1", "function", "weather", "{}")))
+			.build();
+		ToolResponseMessage toolResponse = ToolResponseMessage.builder()
+			.responses(List.of(new ToolResponseMessage.ToolResponse("1", "weather", "sunny and warm all day")))
+			.build();
+		this.chatMemory.add("1", List.of(new UserMessage("what weather"), toolCall, toolResponse));
+		this.chatMemory.add("1", List.of(new AssistantMessage("it is sunny")));
+
+		assertThat(this.chatMemory.get("1")).extracting(Message::getText).containsExactly("it is sunny");
+	}
+
+	/**
+	 * Returns new message instances on each read, as repositories backed by a database
+	 * do.
+	 */
+	private static final class CopyingChatMemoryRepository implements ChatMemoryRepository {
+
+		private final InMemoryChatMemoryRepository delegate = new InMemoryChatMemoryRepository();
+
+		@Override
+		public List<String> findConversationIds() {
+			return this.delegate.findConversationIds();
+		}
+
+		@Override
+		public List<Message> findByConversationId(String conversationId) {
+			return this.delegate.findByConversationId(conversationId)
+				.stream()
+				.map(message -> (message instanceof UserMessage) ? (Message) new UserMessage(message.getText())
+						: new AssistantMessage(message.getText()))
+				.toList();
+		}
+
+		@Override
+		public void saveAll(String conversationId, List<Message> messages) {
+			this.delegate.saveAll(conversationId, messages);
+		}
+
+		@Override
+		public void deleteByConversationId(String conversationId) {
+			this.delegate.deleteByConversationId(conversationId);
+		}
+
+	}
+
+	/**
+	 * Counts one token per word, or per character of the tool calls arguments.
+	 */
+	private static final class WordCountEstimator implements TokenCountEstimator {
+
+		final AtomicInteger estimates = new AtomicInteger();
+
+		@Override
+		public int estimate(String text) {
+			return (text == null || text.isBlank()) ? 0 : text.trim().split("\\s+").length;
+		}
+
+		@Override
+		public int estimate(MediaContent content) {
+			this.estimates.incrementAndGet();
+			return estimate(content.getText());
+		}
+
+		@Override
+		public int estimate(Iterable<MediaContent> contents) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.document.streaming;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.tck.TestObservationRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentReader;
+import org.springframework.ai.document.DocumentTransformer;
+import org.springframework.ai.document.streaming.observation.DocumentPipelineMeterObservationHandler;
+import org.springframework.ai.document.streaming.observation.DocumentPipelineObservationContext;
+import org.springframework.ai.document.streaming.observation.DocumentPipelineObservationDocumentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link DocumentPipeline}.
+ */
+class DocumentPipelineTests {
+
+	private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+
+	private final AtomicInteger readerCount = new AtomicInteger();
+
+	private final DocumentTransformer wordSplitter = documents -> documents.stream()
+		.flatMap(document -> Arrays.stream(document.getText().split(" ")))
+		.map(Document::new)
+		.toList();
+
+	@Test
+	void streamsDocumentsIntoBatches() {
+		DocumentPipeline pipeline = DocumentPipeline.builder()
+			.reader(StreamingDocumentReader.from(List.of(reader("a b c"), reader("d e"))))
+			.transformer(this.wordSplitter, 1)
+			.writer(this::write, 2, 1)
+			.build();
+
+		DocumentPipeline.Progress progress = pipeline.execute();
+
+		assertThat(this.batches).containsExactly(List.of("a", "b"), List.of("c", "d"), List.of("e"));
+		assertThat(progress).isEqualTo(new DocumentPipeline.Progress(2, 5, 5, 3));
+	}
+
+	@Test
+	void readsOnlyAsFastAsDocumentsAreWritten() {
+		List<Integer> readersReadAtWrite = Collections.synchronizedList(new ArrayList<>());
+		DocumentPipeline pipeline = DocumentPipeline.builder()
+			.reader(StreamingDocumentReader
+				.from(() -> IntStream.range(0, 1000).mapToObj(i -> reader("document " + i)).iterator()))
+			.writer(documents -> readersReadAtWrite.add(this.readerCount.get()), 10, 1)
+			.scheduler(Schedulers.immediate())
+			.build();
+
+		DocumentPipeline.Progress progress = pipeline.execute();
+
+		assertThat(progress.written()).isEqualTo(1000);
+		assertThat(readersReadAtWrite).hasSize(100);
+		assertThat(readersReadAtWrite.get(0)).isLessThanOrEqualTo(20);
+		for (int i = 0; i < readersReadAtWrite.size(); i++) {
+			assertThat(readersReadAtWrite.get(i) - (i + 1) * 10).isLessThanOrEqualTo(10);
+		}
+	}
+
+	@Test
+	void transformsInParallelAndKeepsOrder() {
+		DocumentTransformer slowUpperCase = documents -> {
+			sleep(ThreadLocalRandom.current().nextInt(5));
+			return documents.stream().map(document -> new Document(document.getText().toUpperCase())).toList();
+		};
+		List<String> texts = IntStream.range(0, 50).mapToObj(i -> "d" + i).toList();
+		DocumentPipeline pipeline = DocumentPipeline.builder()
+			.reader(() -> texts.stream().map(Document::new).toList())
+			.transformer(slowUpperCase, 8)
+			.writer(this::write, 50, 1)
+			.build();
+
+		pipeline.execute();
+
+		assertThat(this.batches).singleElement().isEqualTo(texts.stream().map(String::toUpperCase).toList());
+	}
+
+	@Test
+	void writesBatchesConcurrently() {
+		AtomicInteger writing = new AtomicInteger();
+		AtomicInteger maxWriting = new AtomicInteger();
+		DocumentPipeline pipeline = DocumentPipeline.builder()
+			.reader(() -> IntStream.range(0, 40).mapToObj(i -> new Document("d" + i)).toList())
+			.writer(documents -> {
+				maxWriting.accumulateAndGet(writing.incrementAndGet(), Math::max);
+				sleep(20);
+				writing.decrementAndGet();
+				write(documents);
+			}, 5, 4)
+			.build();
+
+		DocumentPipeline.Progress progress = pipeline.execute();
+
+		assertThat(progress.batches()).isEqualTo(8);
+		assertThat(maxWriting.get()).isBetween(2, 4);
+		assertThat(this.batches.stream().flatMap(List::stream)).hasSize(40).doesNotHaveDuplicates();
+	}
+
+	@Test
+	void reportsProgressAndMetrics() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		ObservationRegistry observationRegistry = ObservationRegistry.create();
+		observationRegistry.observationConfig()
+			.observationHandler(new DocumentPipelineMeterObservationHandler(meterRegistry));
+		List<DocumentPipeline.Progress> reported = new ArrayList<>();
+		DocumentPipeline pipeline = DocumentPipeline.builder()
+			.name("corpus")
+			.reader(reader("a b c d e"))
+			.transformer(StreamingDocumentTransformer.from(this.wordSplitter))
+			.writer(StreamingDocumentWriter.from(this::write, 2))
+			.progressListener(reported::add)
+			.observationRegistry(observationRegistry)
+			.build();
+
+		pipeline.execute();
+
+		assertThat(reported).extracting(DocumentPipeline.Progress::written).containsExactly(2L, 4L, 5L);
+		assertThat(meterRegistry.get("spring.ai.etl.documents")
+			.tag(DocumentPipelineObservationDocumentation.LowCardinalityKeyNames.PIPELINE_NAME.asString(), "corpus")
+			.tag("spring.ai.etl.stage", "read")
+			.counter()
+			.count()).isEqualTo(1);
+		assertThat(meterRegistry.get("spring.ai.etl.documents").tag("spring.ai.etl.stage", "written").counter().count())
+			.isEqualTo(5);
+		assertThat(meterRegistry.get("spring.ai.etl.batches").counter().count()).isEqualTo(3);
+	}
+
+	@Test
+	void observesRuns() {
+		TestObservationRegistry observationRegistry = TestObservationRegistry.create();
+		DocumentPipeline pipeline = DocumentPipeline.builder()
+			.name("corpus")
+			.reader(reader("a b c"))
+			.transformer(StreamingDocumentTransformer.from(this.wordSplitter))
+			.writer(StreamingDocumentWriter.from(this::write, 2))
+			.observationRegistry(observationRegistry)
+			.build();
+
+		pipeline.execute();
+
+		assertThat(observationRegistry).doesNotHaveAnyRemainingCurrentObservation()
+			.hasObservationWithNameEqualTo("spring.ai.etl.pipeline")
+			.that()
+			.hasContextualNameEqualTo("document_pipeline corpus")
+			.hasLowCardinalityKeyValue(
+					DocumentPipelineObservationDocumentation.LowCardinalityKeyNames.PIPELINE_NAME.asString(), "corpus")
+			.hasLowCardinalityKeyValue(
+					DocumentPipelineObservationDocumentation.LowCardinalityKeyNames.SPRING_AI_KIND.asString(),
+					"document_pipeline")
+			.hasEvent(DocumentPipelineObservationDocumentation.Events.BATCH_WRITTEN.getName())
+			.hasBeenStarted()
+			.hasBeenStopped();
+		assertThat(observationRegistry.getCurrentObservation()).isNull();
+	}
+
+	@Test
+	void observesFailedRuns() {
+		TestObservationRegistry observationRegistry = TestObservationRegistry.create();
+		DocumentPipeline pipeline = DocumentPipeline.builder().reader(reader("a b c")).writer(documents -> {
+			throw new IllegalStateException("Failed to write");
+		}, 2, 1).observationRegistry(observationRegistry).build();
+
+		assertThatThrownBy(pipeline::execute).isInstanceOf(IllegalStateException.class);
+
+		assertThat(observationRegistry).hasObservationWithNameEqualTo("spring.ai.etl.pipeline")
+			.that()
+			.hasError()
+			.hasBeenStopped()
+			.satisfies(context -> assertThat(((DocumentPipelineObservationContext) context).getProgress().read())
+				.isEqualTo(1));
+	}
+
+	@Test
+	void failsWhenWriterFails() {
+		DocumentPipeline pipeline = DocumentPipeline.builder().reader(reader("a b c")).writer(documents -> {
+			throw new IllegalStateException("Failed to write");
+		}, 2, 1).build();
+
+		assertThatThrownBy(pipeline::execute).isInstanceOf(IllegalStateException.class).hasMessage("Failed to write");
+	}
+
+	@Test
+	void whenWriterIsMissingThenThrow() {
+		assertThatThrownBy(() -> DocumentPipeline.builder().reader(reader("a")).build())
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("writer must not be null");
+	}
+
+	private DocumentReader reader(String text) {
+		return () -> {
+			this.readerCount.incrementAndGet();
+			return List.of(new Document(text));
+		};
+	}
+
+	private void write(List<Document> documents) {
+		this.batches.add(documents.stream().map(Document::getText).toList());
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.document.streaming.observation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.streaming.DocumentPipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link DocumentPipelineMeterObservationHandler}.
+ */
+class DocumentPipelineMeterObservationHandlerTests {
+
+	private MeterRegistry meterRegistry;
+
+	private ObservationRegistry observationRegistry;
+
+	@BeforeEach
+	void setUp() {
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.observationRegistry = ObservationRegistry.create();
+		this.observationRegistry.observationConfig()
+			.observationHandler(new DocumentPipelineMeterObservationHandler(this.meterRegistry));
+	}
+
+	@Test
+	void shouldCountProgressOnEachBatchAndOnStop() {
+		var observationContext = DocumentPipelineObservationContext.builder().pipelineName("corpus").build();
+		var observation = Observation
+			.createNotStarted(new DefaultDocumentPipelineObservationConvention(), () -> observationContext,
+					this.observationRegistry)
+			.start();
+
+		observationContext.setProgress(new DocumentPipeline.Progress(3, 2, 2, 1));
+		observation.event(DocumentPipelineObservationDocumentation.Events.BATCH_WRITTEN);
+
+		assertThat(documents("read")).isEqualTo(3);
+		assertThat(documents("written")).isEqualTo(2);
+
+		observationContext.setProgress(new DocumentPipeline.Progress(5, 5, 4, 2));
+		observation.event(DocumentPipelineObservationDocumentation.Events.BATCH_WRITTEN);
+		observationContext.setProgress(new DocumentPipeline.Progress(6, 6, 6, 3));
+		observation.stop();
+
+		assertThat(documents("read")).isEqualTo(6);
+		assertThat(documents("transformed")).isEqualTo(6);
+		assertThat(documents("written")).isEqualTo(6);
+		assertThat(this.meterRegistry.get(DocumentPipelineMeterObservationHandler.BATCHES_METRIC_NAME)
+			.tag(DocumentPipelineObservationDocumentation.LowCardinalityKeyNames.PIPELINE_NAME.asString(), "corpus")
+			.counter()
+			.count()).isEqualTo(3);
+	}
+
+	@Test
+	void shouldNotCountEmptyRuns() {
+		var observationContext = DocumentPipelineObservationContext.builder().build();
+		Observation
+			.createNotStarted(new DefaultDocumentPipelineObservationConvention(), () -> observationContext,
+					this.observationRegistry)
+			.start()
+			.stop();
+
+		assertThat(documents("read")).isZero();
+		assertThat(this.meterRegistry.get(DocumentPipelineMeterObservationHandler.BATCHES_METRIC_NAME)
+			.tag(DocumentPipelineObservationDocumentation.LowCardinalityKeyNames.PIPELINE_NAME.asString(),
+					DocumentPipeline.DEFAULT_NAME)
+			.counter()
+			.count()).isZero();
+	}
+
+	private double documents(String stage) {
+		return this.meterRegistry.get(DocumentPipelineMeterObservationHandler.DOCUMENTS_METRIC_NAME)
+			.tag(DocumentPipelineMeterObservationHandler.STAGE_TAG, stage)
+			.counter()
+			.count();
+	}
+
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Unit tests for {@link CachingEmbeddingModel}.
+ */
+class CachingEmbeddingModelTests {
+
+	private final RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void sendsOnlyMissingTextsAndKeepsOrder() {
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate).build();
+		embeddingModel.embed(List.of("a", "bb"));
+
+		List<float[]> embeddings = embeddingModel.embed(List.of("ccc", "a", "dddd", "bb"));
+
+		assertThat(embeddings).extracting(embedding -> embedding[0]).containsExactly(3f, 1f, 4f, 2f);
+		assertThat(this.delegate.requests).containsExactly(List.of("a", "bb"), List.of("ccc", "dddd"));
+	}
+
+	@Test
+	void doesNotCallTheModelWhenAllTextsAreCached() {
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate).build();
+		embeddingModel.embed("a");
+
+		EmbeddingResponse response = embeddingModel.call(new EmbeddingRequest(List.of("a", "a"), null));
+
+		assertThat(response.getResults()).extracting(Embedding::getIndex).containsExactly(0, 1);
+		assertThat(this.delegate.requests).containsExactly(List.of("a"));
+	}
+
+	@Test
+	void embedsRepeatedTextsOnce() {
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate).build();
+
+		List<float[]> embeddings = embeddingModel.embed(List.of("a", "bb", "a"));
+
+		assertThat(embeddings).extracting(embedding -> embedding[0]).containsExactly(1f, 2f, 1f);
+		assertThat(this.delegate.requests).containsExactly(List.of("a", "bb"));
+	}
+
+	@Test
+	void keysEmbeddingsByModelAndDimensions() {
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate).build();
+
+		embeddingModel.call(new EmbeddingRequest(List.of("a"), EmbeddingOptions.builder().model("m1").build()));
+		embeddingModel.call(new EmbeddingRequest(List.of("a"), EmbeddingOptions.builder().model("m2").build()));
+		embeddingModel
+			.call(new EmbeddingRequest(List.of("a"), EmbeddingOptions.builder().model("m2").dimensions(8).build()));
+		embeddingModel.call(new EmbeddingRequest(List.of("a"), EmbeddingOptions.builder().model("m1").build()));
+
+		assertThat(this.delegate.requests).hasSize(3);
+	}
+
+	@Test
+	void keysEmbeddingsByAllOptions() {
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate).build();
+
+		embeddingModel.call(new EmbeddingRequest(List.of("a"), new TestEmbeddingOptions("query")));
+		embeddingModel.call(new EmbeddingRequest(List.of("a"), new TestEmbeddingOptions("document")));
+		embeddingModel.call(new EmbeddingRequest(List.of("a"), new TestEmbeddingOptions("query")));
+
+		assertThat(this.delegate.requests).hasSize(2);
+	}
+
+	@Test
+	void cachesEmbeddingsOfDocuments() {
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate).build();
+		Document document = new Document("a", Map.of("source", "b"));
+
+		float[] embedding = embeddingModel.embed(document);
+
+		assertThat(embeddingModel.embed(new Document("a", Map.of("source", "b")))).isEqualTo(embedding);
+		assertThat(embeddingModel.embed(document.getFormattedContent(MetadataMode.EMBED))).isEqualTo(embedding);
+		assertThat(this.delegate.requests).containsExactly(List.of(document.getFormattedContent(MetadataMode.EMBED)));
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedEmbeddingsBeyondMaxMemorySize() {
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate)
+			.maxMemorySize(DataSize.ofBytes(500))
+			.build();
+
+		embeddingModel.embed("a");
+		embeddingModel.embed("bb");
+		embeddingModel.embed("a");
+		embeddingModel.embed("ccc");
+		embeddingModel.embed("a");
+		embeddingModel.embed("bb");
+
+		assertThat(embeddingModel.size()).isEqualTo(2);
+		assertThat(embeddingModel.statistics().evictionCount()).isEqualTo(2);
+		assertThat(this.delegate.requests).containsExactly(List.of("a"), List.of("bb"), List.of("ccc"), List.of("bb"));
+	}
+
+	@Test
+	void keepsEmbeddingsInFileAcrossInstances() throws IOException {
+		try (CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate)
+			.directory(this.directory)
+			.build()) {
+			embeddingModel.embed(List.of("a", "bb"));
+		}
+
+		try (CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate)
+			.directory(this.directory)
+			.build()) {
+			List<float[]> embeddings = embeddingModel.embed(List.of("bb", "a", "ccc"));
+
+			assertThat(embeddings).extracting(embedding -> embedding[0]).containsExactly(2f, 1f, 3f);
+			assertThat(embeddingModel.fileHitCount()).isEqualTo(2);
+		}
+		assertThat(this.delegate.requests).containsExactly(List.of("a", "bb"), List.of("ccc"));
+	}
+
+	@Test
+	void truncatesIncompleteRecordOfFile() throws IOException {
+		try (CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate)
+			.directory(this.directory)
+			.build()) {
+			embeddingModel.embed(List.of("a", "bb"));
+		}
+		Path file = this.directory.resolve(EmbeddingFileStore.FILE_NAME);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 3);
+		}
+
+		try (CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate)
+			.directory(this.directory)
+			.build()) {
+			embeddingModel.embed(List.of("a", "bb"));
+			embeddingModel.embed(List.of("dddd"));
+		}
+		try (CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate)
+			.directory(this.directory)
+			.build()) {
+			assertThat(embeddingModel.embed(List.of("a", "bb", "dddd"))).extracting(embedding -> embedding[0])
+				.containsExactly(1f, 2f, 4f);
+		}
+		assertThat(this.delegate.requests).containsExactly(List.of("a", "bb"), List.of("bb"), List.of("dddd"));
+	}
+
+	@Test
+	void ignoresRecordWithCorruptedChecksum() throws IOException {
+		try (CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate)
+			.directory(this.directory)
+			.build()) {
+			embeddingModel.embed(List.of("a", "bb"));
+		}
+		Path file = this.directory.resolve(EmbeddingFileStore.FILE_NAME);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] { 1 }), channel.size() - 1);
+		}
+
+		try (CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate)
+			.directory(this.directory)
+			.build()) {
+			assertThat(embeddingModel.embed(List.of("a", "bb"))).extracting(embedding -> embedding[3])
+				.containsExactly(0f, 0f);
+		}
+		try (CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate)
+			.directory(this.directory)
+			.build()) {
+			assertThat(embeddingModel.embed(List.of("a", "bb"))).extracting(embedding -> embedding[0])
+				.containsExactly(1f, 2f);
+			assertThat(embeddingModel.fileHitCount()).isEqualTo(2);
+		}
+		assertThat(this.delegate.requests).containsExactly(List.of("a", "bb"), List.of("bb"));
+	}
+
+	@Test
+	void compactsFileBeyondMaxFileSize() throws IOException {
+		try (CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate)
+			.directory(this.directory)
+			.maxFileSize(DataSize.ofBytes(200))
+			.build()) {
+			embeddingModel.embed(List.of("a", "bb", "ccc"));
+			embeddingModel.embed(List.of("dddd"));
+
+			assertThat(embeddingModel.fileBytes()).isEqualTo(112);
+		}
+
+		try (CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate)
+			.directory(this.directory)
+			.build()) {
+			assertThat(embeddingModel.embed(List.of("a", "ccc", "dddd"))).extracting(embedding -> embedding[0])
+				.containsExactly(1f, 3f, 4f);
+			assertThat(embeddingModel.fileHitCount()).isEqualTo(2);
+		}
+		assertThat(this.delegate.requests).containsExactly(List.of("a", "bb", "ccc"), List.of("dddd"), List.of("a"));
+	}
+
+	@Test
+	void failsFastWhenDirectoryIsInUse() throws IOException {
+		try (CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate)
+			.directory(this.directory)
+			.build()) {
+			assertThatExceptionOfType(UncheckedIOException.class)
+				.isThrownBy(() -> CachingEmbeddingModel.builder(this.delegate).directory(this.directory).build())
+				.havingCause()
+				.withMessageContaining("already in use");
+		}
+
+		CachingEmbeddingModel.builder(this.delegate).directory(this.directory).build().close();
+	}
+
+	@Test
+	void exposesCacheMetrics() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder(this.delegate)
+			.modelName("test-model")
+			.meterRegistry(meterRegistry)
+			.build();
+
+		embeddingModel.embed(List.of("a", "bb"));
+		embeddingModel.embed(List.of("a", "ccc"));
+
+		assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(3);
+		assertThat(meterRegistry.get("cache.puts").tag("gen_ai.request.model", "test-model").functionCounter().count())
+			.isEqualTo(3);
+		assertThat(meterRegistry.get("cache.memory.size").gauge().value()).isPositive();
+		assertThat(meterRegistry.get("cache.file.hits").tag("cache", "embedding").functionCounter().count()).isZero();
+	}
+
+	private static final class TestEmbeddingOptions implements EmbeddingOptions {
+
+		private final String taskType;
+
+		TestEmbeddingOptions(String taskType) {
+			this.taskType = taskType;
+		}
+
+		@Override
+		public String getModel() {
+			return "test-model";
+		}
+
+		@Override
+		public Integer getDimensions() {
+			return null;
+		}
+
+		public String getTaskType() {
+			return this.taskType;
+		}
+
+	}
+
+	private static final class RecordingEmbeddingModel implements EmbeddingModel {
+
+		final List<List<String>> requests = new ArrayList<>();
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			this.requests.add(request.getInstructions());
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(new float[] { text.length(), 0, 0, 0 }, embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			return embed(document.getText());
+		}
+
+	}
+
+}
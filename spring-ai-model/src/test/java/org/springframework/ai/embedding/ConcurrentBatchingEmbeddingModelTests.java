@@ -0,0 +1,200 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.embedding;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.chat.metadata.RateLimit;
+import org.springframework.ai.document.Document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link ConcurrentBatchingEmbeddingModel}.
+ */
+class ConcurrentBatchingEmbeddingModelTests {
+
+	private static final BatchingStrategy BATCHES_OF_TEN = documents -> {
+		List<List<Document>> batches = new ArrayList<>();
+		for (int i = 0; i < documents.size(); i += 10) {
+			batches.add(documents.subList(i, Math.min(i + 10, documents.size())));
+		}
+		return batches;
+	};
+
+	private final List<Document> documents = IntStream.range(0, 95)
+		.mapToObj(i -> new Document(String.valueOf(i)))
+		.toList();
+
+	@Test
+	void embedsBatchesConcurrentlyAndPreservesOrder() {
+		RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+		EmbeddingModel embeddingModel = ConcurrentBatchingEmbeddingModel.builder(delegate).maxConcurrency(3).build();
+
+		List<float[]> embeddings = embeddingModel.embed(this.documents, EmbeddingOptions.builder().build(),
+				BATCHES_OF_TEN);
+
+		assertThat(embeddings).hasSize(95);
+		for (int i = 0; i < embeddings.size(); i++) {
+			assertThat(embeddings.get(i)).containsExactly(i);
+		}
+		assertThat(delegate.calls).hasValue(10);
+		assertThat(delegate.maxInFlight.get()).isGreaterThan(1).isLessThanOrEqualTo(3);
+	}
+
+	@Test
+	void sendsBatchesSequentiallyWithMaxConcurrencyOfOne() {
+		RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+		EmbeddingModel embeddingModel = ConcurrentBatchingEmbeddingModel.builder(delegate).maxConcurrency(1).build();
+
+		List<float[]> embeddings = embeddingModel.embed(this.documents, EmbeddingOptions.builder().build(),
+				BATCHES_OF_TEN);
+
+		assertThat(embeddings).hasSize(95);
+		assertThat(delegate.maxInFlight).hasValue(1);
+	}
+
+	@Test
+	void propagatesBatchFailures() {
+		RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+		delegate.failOn = "42";
+		EmbeddingModel embeddingModel = ConcurrentBatchingEmbeddingModel.builder(delegate).build();
+
+		assertThatThrownBy(
+				() -> embeddingModel.embed(this.documents, EmbeddingOptions.builder().build(), BATCHES_OF_TEN))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("Failed to embed 42");
+	}
+
+	@Test
+	void holdsBackRequestsWhileRateLimitIsExhausted() {
+		RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+		delegate.rateLimit = new ExhaustedRateLimit(Duration.ofMillis(300));
+		EmbeddingModel embeddingModel = ConcurrentBatchingEmbeddingModel.builder(delegate).build();
+
+		embeddingModel.embed("first");
+		delegate.rateLimit = null;
+		long start = System.nanoTime();
+		embeddingModel.embed("second");
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(250));
+	}
+
+	@Test
+	void holdsBackDocumentsWhileRateLimitIsExhausted() {
+		RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+		delegate.rateLimit = new ExhaustedRateLimit(Duration.ofMillis(300));
+		EmbeddingModel embeddingModel = ConcurrentBatchingEmbeddingModel.builder(delegate).build();
+
+		assertThat(embeddingModel.embed(new Document("1"))).containsExactly(1);
+		delegate.rateLimit = null;
+		long start = System.nanoTime();
+		assertThat(embeddingModel.embed(new Document("2"))).containsExactly(2);
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(250));
+		assertThat(delegate.calls).hasValue(2);
+	}
+
+	private static final class RecordingEmbeddingModel implements EmbeddingModel {
+
+		final AtomicInteger calls = new AtomicInteger();
+
+		final AtomicInteger inFlight = new AtomicInteger();
+
+		final AtomicInteger maxInFlight = new AtomicInteger();
+
+		volatile String failOn;
+
+		volatile RateLimit rateLimit;
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			this.calls.incrementAndGet();
+			this.maxInFlight.accumulateAndGet(this.inFlight.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(ThreadLocalRandom.current().nextInt(5, 30));
+				List<Embedding> embeddings = new ArrayList<>();
+				for (String text : request.getInstructions()) {
+					if (text.equals(this.failOn)) {
+						throw new IllegalStateException("Failed to embed " + text);
+					}
+					float value = text.chars().allMatch(Character::isDigit) ? Float.parseFloat(text) : 0;
+					embeddings.add(new Embedding(new float[] { value }, embeddings.size()));
+				}
+				EmbeddingResponseMetadata metadata = new EmbeddingResponseMetadata();
+				metadata.setRateLimit(this.rateLimit);
+				return new EmbeddingResponse(embeddings, metadata);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(ex);
+			}
+			finally {
+				this.inFlight.decrementAndGet();
+			}
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			return embed(document.getText());
+		}
+
+	}
+
+	private record ExhaustedRateLimit(Duration reset) implements RateLimit {
+
+		@Override
+		public Long getRequestsLimit() {
+			return 100L;
+		}
+
+		@Override
+		public Long getRequestsRemaining() {
+			return 0L;
+		}
+
+		@Override
+		public Duration getRequestsReset() {
+			return this.reset;
+		}
+
+		@Override
+		public Long getTokensLimit() {
+			return 10_000L;
+		}
+
+		@Override
+		public Long getTokensRemaining() {
+			return 5_000L;
+		}
+
+		@Override
+		public Duration getTokensReset() {
+			return Duration.ZERO;
+		}
+
+	}
+
+}
@@ -16,11 +16,17 @@
 
 package org.springframework.ai.model;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
@@ -58,6 +64,106 @@ public class ModelOptionsUtilsTests {
 		assertThat(specificOptions2.getSpecificField()).isEqualTo("SpecificField");
 	}
 
+	@Test
+	public void mergeSameClass() {
+		TestChatOptions runtimeOptions = new TestChatOptions();
+		runtimeOptions.model = "runtime-model";
+		runtimeOptions.temperature = 0.7f;
+		runtimeOptions.metadata = Map.of("tenant", "acme");
+		runtimeOptions.callback = "ignored";
+
+		TestChatOptions defaultOptions = new TestChatOptions();
+		defaultOptions.model = "default-model";
+		defaultOptions.maxTokens = 100;
+		defaultOptions.stop = new ArrayList<>(List.of("END"));
+		defaultOptions.finishReason = TestFinishReason.STOP;
+
+		TestChatOptions merged = ModelOptionsUtils.merge(runtimeOptions, defaultOptions, TestChatOptions.class);
+
+		assertThat(merged.model).isEqualTo("runtime-model");
+		assertThat(merged.temperature).isEqualTo(0.7f);
+		assertThat(merged.maxTokens).isEqualTo(100);
+		assertThat(merged.stop).containsExactly("END").isNotSameAs(defaultOptions.stop);
+		assertThat(merged.metadata).containsExactly(Map.entry("tenant", "acme"));
+		assertThat(merged.finishReason).isEqualTo(TestFinishReason.STOP);
+		assertThat(merged.callback).isNull();
+
+		assertThat(ModelOptionsUtils.merge(null, defaultOptions, TestChatOptions.class).model)
+			.isEqualTo("default-model");
+	}
+
+	@Test
+	public void mergeSameClassWithAcceptedFieldNames() {
+		TestChatOptions runtimeOptions = new TestChatOptions();
+		runtimeOptions.model = "runtime-model";
+		runtimeOptions.temperature = 0.2f;
+
+		TestChatOptions defaultOptions = new TestChatOptions();
+		defaultOptions.maxTokens = 100;
+
+		TestChatOptions merged = ModelOptionsUtils.merge(runtimeOptions, defaultOptions, TestChatOptions.class,
+				List.of("model", "max_tokens"));
+
+		assertThat(merged.model).isEqualTo("runtime-model");
+		assertThat(merged.maxTokens).isEqualTo(100);
+		assertThat(merged.temperature).isNull();
+	}
+
+	@Test
+	public void mergeSameClassWithAnyGetter() {
+		TestExtraBodyOptions runtimeOptions = new TestExtraBodyOptions();
+		runtimeOptions.extraBody = Map.of("top_k", 5);
+
+		TestExtraBodyOptions defaultOptions = new TestExtraBodyOptions();
+		defaultOptions.model = "default-model";
+
+		TestExtraBodyOptions merged = ModelOptionsUtils.merge(runtimeOptions, defaultOptions,
+				TestExtraBodyOptions.class, List.of("model", "top_k"));
+
+		assertThat(merged.model).isEqualTo("default-model");
+		assertThat(merged.topK).isEqualTo(5);
+	}
+
+	@Test
+	public void mergeDifferentClasses() {
+		TestChatOptions runtimeOptions = new TestChatOptions();
+		runtimeOptions.model = "runtime-model";
+
+		TestRequestOptions defaultOptions = new TestRequestOptions();
+		defaultOptions.model = "default-model";
+		defaultOptions.maxTokens = 100;
+		defaultOptions.stop = new ArrayList<>(List.of("END"));
+		defaultOptions.user = "ignored";
+
+		TestChatOptions merged = ModelOptionsUtils.merge(runtimeOptions, defaultOptions, TestChatOptions.class);
+
+		assertThat(merged.model).isEqualTo("runtime-model");
+		assertThat(merged.maxTokens).isEqualTo(100);
+		assertThat(merged.stop).containsExactly("END").isNotSameAs(defaultOptions.stop);
+	}
+
+	@Test
+	public void mergeDifferentClassesConvertsValuesAsJson() {
+		TestRequestOptions runtimeOptions = new TestRequestOptions();
+		runtimeOptions.temperature = 0.7;
+
+		TestChatOptions merged = ModelOptionsUtils.merge(runtimeOptions, new TestChatOptions(), TestChatOptions.class);
+
+		assertThat(merged.temperature).isEqualTo(0.7f);
+	}
+
+	@Test
+	public void mergeFailureKeepsExceptionType() {
+		TestFailingOptions runtimeOptions = new TestFailingOptions();
+		runtimeOptions.model = "runtime-model";
+
+		assertThatThrownBy(
+				() -> ModelOptionsUtils.merge(runtimeOptions, new TestFailingOptions(), TestFailingOptions.class))
+			.isExactlyInstanceOf(RuntimeException.class)
+			.hasCauseInstanceOf(JsonMappingException.class)
+			.hasRootCauseMessage("Rejected model");
+	}
+
 	@Test
 	public void objectToMap() {
 		TestPortableOptionsImpl portableOptions = new TestPortableOptionsImpl();
@@ -287,6 +393,86 @@ public class ModelOptionsUtilsTests {
 			@JsonProperty("finish_reason") TestFinishReason finishReason) {
 	}
 
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public static class TestChatOptions {
+
+		@JsonProperty("model")
+		public String model;
+
+		@JsonProperty("temperature")
+		public Float temperature;
+
+		@JsonProperty("max_tokens")
+		public Integer maxTokens;
+
+		@JsonProperty("stop")
+		public List<String> stop;
+
+		@JsonProperty("metadata")
+		public Map<String, String> metadata;
+
+		@JsonProperty("finish_reason")
+		public TestFinishReason finishReason;
+
+		@JsonIgnore
+		public String callback;
+
+	}
+
+	public static class TestRequestOptions {
+
+		@JsonProperty("model")
+		public String model;
+
+		@JsonProperty("temperature")
+		public Double temperature;
+
+		@JsonProperty("max_tokens")
+		public Integer maxTokens;
+
+		@JsonProperty("stop")
+		public List<String> stop;
+
+		@JsonProperty("user")
+		public String user;
+
+	}
+
+	public static class TestFailingOptions {
+
+		@JsonProperty("model")
+		private String model;
+
+		public String getModel() {
+			return this.model;
+		}
+
+		public void setModel(String model) {
+			if (model != null) {
+				throw new IllegalStateException("Rejected model");
+			}
+		}
+
+	}
+
+	public static class TestExtraBodyOptions {
+
+		@JsonProperty("model")
+		public String model;
+
+		@JsonProperty("top_k")
+		public Integer topK;
+
+		@JsonIgnore
+		public Map<String, Object> extraBody;
+
+		@JsonAnyGetter
+		public Map<String, Object> extraBody() {
+			return this.extraBody;
+		}
+
+	}
+
 	public static class Person {
 
 		public String name;
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.model.streaming;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link ServerSentEventJsonDecoder}.
+ */
+class ServerSentEventJsonDecoderTests {
+
+	private final ServerSentEventJsonDecoder<Chunk> decoder = new ServerSentEventJsonDecoder<>(Chunk.class);
+
+	@Test
+	void decodesEventsSplitAcrossBuffers() {
+		Flux<DataBuffer> body = buffers("data: {\"te", "xt\": \"Hel\"}\n", "\ndata: {\"text\": \"lo\"}\n\n");
+
+		assertThat(this.decoder.decode(body).collectList().block()).containsExactly(new Chunk("Hel"), new Chunk("lo"));
+	}
+
+	@Test
+	void decodesSeveralEventsInOneBuffer() {
+		Flux<DataBuffer> body = buffers(
+				"data: {\"text\": \"a\"}\r\n\r\n: keep-alive\n\nevent: message\nid: 2\ndata:{\"text\": \"b\"}\n\n");
+
+		assertThat(this.decoder.decode(body).collectList().block()).containsExactly(new Chunk("a"), new Chunk("b"));
+	}
+
+	@Test
+	void joinsMultilineData() {
+		Flux<DataBuffer> body = buffers("data: {\"text\":\ndata: \"multi\"}\n\n");
+
+		assertThat(this.decoder.decode(body).collectList().block()).containsExactly(new Chunk("multi"));
+	}
+
+	@Test
+	void completesAndCancelsOnDone() {
+		AtomicBoolean cancelled = new AtomicBoolean();
+		Flux<DataBuffer> body = buffers("data: {\"text\": \"a\"}\n\ndata: [DONE]\n\n", "data: {\"text\": \"b\"}\n\n")
+			.doOnCancel(() -> cancelled.set(true));
+
+		assertThat(this.decoder.decode(body).collectList().block()).containsExactly(new Chunk("a"));
+		assertThat(cancelled).isTrue();
+	}
+
+	@Test
+	void dispatchesLastEventWithoutBlankLine() {
+		Flux<DataBuffer> body = buffers("data: {\"text\": \"a\"}");
+
+		assertThat(this.decoder.decode(body).collectList().block()).containsExactly(new Chunk("a"));
+	}
+
+	@Test
+	void releasesBuffers() {
+		List<DataBuffer> buffers = new ArrayList<>();
+		Flux<DataBuffer> body = buffers("data: {\"text\": \"a\"}\n\n", "data: [DONE]\n\n", "data: {}\n\n")
+			.doOnNext(buffers::add);
+
+		this.decoder.decode(body).blockLast();
+
+		assertThat(buffers).hasSize(2);
+		assertThat(buffers).allSatisfy(buffer -> assertThat(buffer.readableByteCount()).isZero());
+	}
+
+	@Test
+	void failsOnInvalidJson() {
+		Flux<DataBuffer> body = buffers("data: {\"text\n\n");
+
+		assertThatThrownBy(() -> this.decoder.decode(body).blockLast()).isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("Failed to parse event data");
+	}
+
+	@Test
+	void statePerSubscription() {
+		Flux<Chunk> chunks = this.decoder.decode(buffers("data: {\"text\": \"a\"}\n\ndata: [DONE]\n\n"));
+
+		assertThat(chunks.collectList().block()).containsExactly(new Chunk("a"));
+		assertThat(chunks.collectList().block()).containsExactly(new Chunk("a"));
+	}
+
+	private static Flux<DataBuffer> buffers(String... chunks) {
+		return Flux.defer(() -> Flux.fromIterable(Arrays.stream(chunks)
+			.map(chunk -> (DataBuffer) DefaultDataBufferFactory.sharedInstance
+				.wrap(chunk.getBytes(StandardCharsets.UTF_8)))
+			.toList()));
+	}
+
+	record Chunk(String text) {
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.model.streaming;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ToolCallChunkAggregator}.
+ */
+class ToolCallChunkAggregatorTests {
+
+	private final ToolCallChunkAggregator<String> aggregator = new ToolCallChunkAggregator<>("",
+			(previous, current) -> previous + current, chunk -> chunk.startsWith("tool"), chunk -> chunk.endsWith(")"));
+
+	@Test
+	void passesOtherChunksThrough() {
+		assertThat(this.aggregator.aggregate(Flux.just("Hello", " world")).collectList().block())
+			.containsExactly("Hello", " world");
+	}
+
+	@Test
+	void mergesToolCallChunks() {
+		Flux<String> chunks = Flux.just("Hi", "tool(", "a, ", "b)", "tool(c)", "Bye");
+
+		assertThat(this.aggregator.aggregate(chunks).collectList().block()).containsExactly("Hi", "tool(a, b)",
+				"tool(c)", "Bye");
+	}
+
+	@Test
+	void emitsOpenToolCallOnCompletion() {
+		assertThat(this.aggregator.aggregate(Flux.just("tool(", "a")).collectList().block()).containsExactly("tool(a");
+	}
+
+	@Test
+	void keepsStatePerSubscription() {
+		Flux<String> aggregated = this.aggregator.aggregate(Flux.just("tool(", "a)"));
+
+		assertThat(aggregated.collectList().block()).containsExactly("tool(a)");
+		assertThat(aggregated.collectList().block()).containsExactly("tool(a)");
+	}
+
+}
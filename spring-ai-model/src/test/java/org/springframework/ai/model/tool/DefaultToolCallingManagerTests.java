@@ -17,11 +17,17 @@
 package org.springframework.ai.model.tool;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.Test;
+import reactor.util.context.Context;
 
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.ToolResponseMessage;
@@ -31,6 +37,7 @@ import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.model.Generation;
 import org.springframework.ai.chat.model.ToolContext;
 import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.internal.ToolCallReactiveContextHolder;
 import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.definition.DefaultToolDefinition;
 import org.springframework.ai.tool.definition.ToolDefinition;
@@ -179,6 +186,37 @@ class DefaultToolCallingManagerTests {
 		assertThat(toolExecutionResult.conversationHistory()).contains(expectedToolResponse);
 	}
 
+	@Test
+	void whenRequestToolCallbacksChangeThenExecuteTheNewOnes() {
+		ToolCallingManager toolCallingManager = DefaultToolCallingManager.builder().build();
+		ChatResponse chatResponse = ChatResponse.builder()
+			.generations(List.of(new Generation(AssistantMessage.builder()
+				.content("")
+				.properties(Map.of())
+				.toolCalls(List.of(new AssistantMessage.ToolCall("toolA", "function", "toolA", "{}")))
+				.build())))
+			.build();
+
+		for (String result : List.of("first", "second")) {
+			ToolCallback toolCallback = new TestToolCallback("toolA") {
+
+				@Override
+				public String call(String toolInput) {
+					return result;
+				}
+
+			};
+			Prompt prompt = new Prompt(new UserMessage("Hello"),
+					ToolCallingChatOptions.builder().toolCallbacks(toolCallback).build());
+
+			ToolExecutionResult toolExecutionResult = toolCallingManager.executeToolCalls(prompt, chatResponse);
+
+			assertThat(toolExecutionResult.conversationHistory()).contains(ToolResponseMessage.builder()
+				.responses(List.of(new ToolResponse("toolA", "toolA", result)))
+				.build());
+		}
+	}
+
 	@Test
 	void whenSingleToolCallWithReturnDirectInChatResponseThenExecute() {
 		ToolCallback toolCallback = new TestToolCallback("toolA", true);
@@ -396,6 +434,238 @@ class DefaultToolCallingManagerTests {
 		assertThat(toolExecutionResult.conversationHistory()).contains(expectedToolResponse);
 	}
 
+	@Test
+	void whenConcurrentToolExecutionThenExecuteInParallelAndKeepOrder() {
+		// Every tool waits for all the others to start, which only completes in parallel
+		CountDownLatch started = new CountDownLatch(3);
+		ToolCallingManager toolCallingManager = DefaultToolCallingManager.builder()
+			.concurrentToolExecution(true)
+			.build();
+
+		Prompt prompt = new Prompt(new UserMessage("Hello"), ToolCallingChatOptions.builder()
+			.toolCallbacks(new BlockingToolCallback("toolA", started, null),
+					new BlockingToolCallback("toolB", started, null), new BlockingToolCallback("toolC", started, null))
+			.build());
+
+		ToolExecutionResult toolExecutionResult = toolCallingManager.executeToolCalls(prompt,
+				toolCallsResponse("toolC", "toolA", "toolB"));
+
+		ToolResponseMessage expectedToolResponse = ToolResponseMessage.builder()
+			.responses(List.of(new ToolResponse("toolC", "toolC", "toolC done"),
+					new ToolResponse("toolA", "toolA", "toolA done"), new ToolResponse("toolB", "toolB", "toolB done")))
+			.build();
+		assertThat(toolExecutionResult.conversationHistory()).contains(expectedToolResponse);
+	}
+
+	@Test
+	void whenConcurrentToolExecutionThenNonThreadSafeToolsRunSequentially() {
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		ToolCallingManager toolCallingManager = DefaultToolCallingManager.builder()
+			.concurrentToolExecution(true)
+			.build();
+
+		Prompt prompt = new Prompt(new UserMessage("Hello"),
+				ToolCallingChatOptions.builder()
+					.toolCallbacks(new CountingToolCallback("toolA", inFlight, maxInFlight),
+							new CountingToolCallback("toolB", inFlight, maxInFlight),
+							new CountingToolCallback("toolC", inFlight, maxInFlight))
+					.build());
+
+		ToolExecutionResult toolExecutionResult = toolCallingManager.executeToolCalls(prompt,
+				toolCallsResponse("toolA", "toolB", "toolC"));
+
+		assertThat(maxInFlight).hasValue(1);
+		assertThat(toolExecutionResult.conversationHistory()).last()
+			.isInstanceOfSatisfying(ToolResponseMessage.class,
+					message -> assertThat(message.getResponses()).extracting(ToolResponse::name)
+						.containsExactly("toolA", "toolB", "toolC"));
+	}
+
+	@Test
+	void whenConcurrentToolExecutionThenNonThreadSafeToolsRunAfterTheOthers() {
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		AtomicInteger inFlightWhenNonThreadSafeToolStarted = new AtomicInteger(-1);
+		ToolCallingManager toolCallingManager = DefaultToolCallingManager.builder()
+			.concurrentToolExecution(true)
+			.build();
+		ToolCallback nonThreadSafeToolCallback = new CountingToolCallback("toolC", inFlight, maxInFlight) {
+
+			@Override
+			public String call(String toolInput) {
+				inFlightWhenNonThreadSafeToolStarted.set(inFlight.get());
+				return super.call(toolInput);
+			}
+
+		};
+
+		Prompt prompt = new Prompt(new UserMessage("Hello"),
+				ToolCallingChatOptions.builder()
+					.toolCallbacks(nonThreadSafeToolCallback, new SleepingToolCallback("toolA", inFlight),
+							new SleepingToolCallback("toolB", inFlight))
+					.build());
+
+		ToolExecutionResult toolExecutionResult = toolCallingManager.executeToolCalls(prompt,
+				toolCallsResponse("toolC", "toolA", "toolB"));
+
+		assertThat(inFlightWhenNonThreadSafeToolStarted).hasValue(0);
+		assertThat(toolExecutionResult.conversationHistory()).last()
+			.isInstanceOfSatisfying(ToolResponseMessage.class,
+					message -> assertThat(message.getResponses()).extracting(ToolResponse::name)
+						.containsExactly("toolC", "toolA", "toolB"));
+	}
+
+	@Test
+	void whenConcurrentToolCallTimesOutThenInterruptIt() throws InterruptedException {
+		CountDownLatch neverReleased = new CountDownLatch(2);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		ToolCallingManager toolCallingManager = DefaultToolCallingManager.builder()
+			.concurrentToolExecution(true)
+			.maxConcurrentToolCalls(1)
+			.toolCallTimeout(Duration.ofMillis(100))
+			.build();
+		ToolCallback toolCallback = new BlockingToolCallback("toolA", neverReleased, Duration.ofSeconds(5)) {
+
+			@Override
+			public String call(String toolInput) {
+				try {
+					return super.call(toolInput);
+				}
+				finally {
+					if (Thread.currentThread().isInterrupted()) {
+						interrupted.countDown();
+					}
+				}
+			}
+
+		};
+
+		Prompt prompt = new Prompt(new UserMessage("Hello"),
+				ToolCallingChatOptions.builder().toolCallbacks(toolCallback).build());
+
+		ToolExecutionResult toolExecutionResult = toolCallingManager.executeToolCalls(prompt,
+				toolCallsResponse("toolA"));
+
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+		ToolResponseMessage expectedToolResponse = ToolResponseMessage.builder()
+			.responses(List.of(new ToolResponse("toolA", "toolA", "Tool call toolA did not complete within PT0.1S")))
+			.build();
+		assertThat(toolExecutionResult.conversationHistory()).contains(expectedToolResponse);
+	}
+
+	@Test
+	void whenConcurrentToolCallTimesOutThenReturnError() {
+		CountDownLatch neverReleased = new CountDownLatch(2);
+		ToolCallingManager toolCallingManager = DefaultToolCallingManager.builder()
+			.concurrentToolExecution(true)
+			.toolCallTimeout(Duration.ofMillis(100))
+			.build();
+
+		Prompt prompt = new Prompt(new UserMessage("Hello"),
+				ToolCallingChatOptions.builder()
+					.toolCallbacks(new TestToolCallback("toolA"),
+							new BlockingToolCallback("toolB", neverReleased, Duration.ofSeconds(5)))
+					.build());
+
+		ToolExecutionResult toolExecutionResult = toolCallingManager.executeToolCalls(prompt,
+				toolCallsResponse("toolA", "toolB"));
+		neverReleased.countDown();
+
+		ToolResponseMessage expectedToolResponse = ToolResponseMessage.builder()
+			.responses(List.of(new ToolResponse("toolA", "toolA", "Mission accomplished!"),
+					new ToolResponse("toolB", "toolB", "Tool call toolB did not complete within PT0.1S")))
+			.build();
+		assertThat(toolExecutionResult.conversationHistory()).contains(expectedToolResponse);
+	}
+
+	@Test
+	void whenSingleConcurrentToolCallTimesOutThenReturnError() {
+		CountDownLatch neverReleased = new CountDownLatch(2);
+		ToolCallingManager toolCallingManager = DefaultToolCallingManager.builder()
+			.concurrentToolExecution(true)
+			.toolCallTimeout(Duration.ofMillis(100))
+			.build();
+
+		Prompt prompt = new Prompt(new UserMessage("Hello"),
+				ToolCallingChatOptions.builder()
+					.toolCallbacks(new BlockingToolCallback("toolA", neverReleased, Duration.ofSeconds(5)))
+					.build());
+
+		ToolExecutionResult toolExecutionResult = toolCallingManager.executeToolCalls(prompt,
+				toolCallsResponse("toolA"));
+		neverReleased.countDown();
+
+		ToolResponseMessage expectedToolResponse = ToolResponseMessage.builder()
+			.responses(List.of(new ToolResponse("toolA", "toolA", "Tool call toolA did not complete within PT0.1S")))
+			.build();
+		assertThat(toolExecutionResult.conversationHistory()).contains(expectedToolResponse);
+	}
+
+	@Test
+	void whenConcurrentToolExecutionIsDisabledThenToolCallTimeoutIsNotApplied() {
+		// the tool sleeps for 20ms on the calling thread
+		ToolCallingManager toolCallingManager = DefaultToolCallingManager.builder()
+			.toolCallTimeout(Duration.ofMillis(1))
+			.build();
+
+		Prompt prompt = new Prompt(new UserMessage("Hello"),
+				ToolCallingChatOptions.builder()
+					.toolCallbacks(new CountingToolCallback("toolA", new AtomicInteger(), new AtomicInteger()))
+					.build());
+
+		ToolExecutionResult toolExecutionResult = toolCallingManager.executeToolCalls(prompt,
+				toolCallsResponse("toolA"));
+
+		ToolResponseMessage expectedToolResponse = ToolResponseMessage.builder()
+			.responses(List.of(new ToolResponse("toolA", "toolA", "Mission accomplished!")))
+			.build();
+		assertThat(toolExecutionResult.conversationHistory()).contains(expectedToolResponse);
+	}
+
+	@Test
+	void whenConcurrentToolExecutionThenToolsSeeReactiveContextOfCaller() {
+		ToolCallingManager toolCallingManager = DefaultToolCallingManager.builder()
+			.concurrentToolExecution(true)
+			.build();
+
+		Prompt prompt = new Prompt(new UserMessage("Hello"),
+				ToolCallingChatOptions.builder()
+					.toolCallbacks(new ReactiveContextToolCallback("toolA"), new ReactiveContextToolCallback("toolB"))
+					.build());
+
+		ToolCallReactiveContextHolder.setContext(Context.of("tenant", "acme"));
+		ToolExecutionResult toolExecutionResult;
+		try {
+			toolExecutionResult = toolCallingManager.executeToolCalls(prompt, toolCallsResponse("toolA", "toolB"));
+		}
+		finally {
+			ToolCallReactiveContextHolder.clearContext();
+		}
+
+		ToolResponseMessage expectedToolResponse = ToolResponseMessage.builder()
+			.responses(List.of(new ToolResponse("toolA", "toolA", "acme"), new ToolResponse("toolB", "toolB", "acme")))
+			.build();
+		assertThat(toolExecutionResult.conversationHistory()).contains(expectedToolResponse);
+	}
+
+	@Test
+	void whenMaxConcurrentToolCallsIsNotPositiveThenThrow() {
+		assertThatThrownBy(() -> DefaultToolCallingManager.builder().maxConcurrentToolCalls(0).build())
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("maxConcurrentToolCalls must be positive");
+	}
+
+	private static ChatResponse toolCallsResponse(String... toolNames) {
+		List<AssistantMessage.ToolCall> toolCalls = Arrays.stream(toolNames)
+			.map(name -> new AssistantMessage.ToolCall(name, "function", name, "{}"))
+			.toList();
+		return ChatResponse.builder()
+			.generations(List.of(new Generation(
+					AssistantMessage.builder().content("").properties(Map.of()).toolCalls(toolCalls).build())))
+			.build();
+	}
+
 	static class TestToolCallback implements ToolCallback {
 
 		private final ToolDefinition toolDefinition;
@@ -429,6 +699,144 @@ class DefaultToolCallingManagerTests {
 
 	}
 
+	/**
+	 * Counts down the latch, then waits for it to reach zero before returning.
+	 */
+	static class BlockingToolCallback implements ToolCallback {
+
+		private final ToolDefinition toolDefinition;
+
+		private final CountDownLatch latch;
+
+		private final Duration timeout;
+
+		BlockingToolCallback(String name, CountDownLatch latch, Duration timeout) {
+			this.toolDefinition = DefaultToolDefinition.builder().name(name).inputSchema("{}").build();
+			this.latch = latch;
+			this.timeout = (timeout != null) ? timeout : Duration.ofSeconds(5);
+		}
+
+		@Override
+		public ToolDefinition getToolDefinition() {
+			return this.toolDefinition;
+		}
+
+		@Override
+		public String call(String toolInput) {
+			this.latch.countDown();
+			try {
+				if (!this.latch.await(this.timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+					throw new IllegalStateException("Tools were not executed concurrently");
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(ex);
+			}
+			return this.toolDefinition.name() + " done";
+		}
+
+	}
+
+	/**
+	 * Returns the tenant found in the reactive context of the thread executing the tool.
+	 */
+	static class ReactiveContextToolCallback implements ToolCallback {
+
+		private final ToolDefinition toolDefinition;
+
+		ReactiveContextToolCallback(String name) {
+			this.toolDefinition = DefaultToolDefinition.builder().name(name).inputSchema("{}").build();
+		}
+
+		@Override
+		public ToolDefinition getToolDefinition() {
+			return this.toolDefinition;
+		}
+
+		@Override
+		public String call(String toolInput) {
+			return ToolCallReactiveContextHolder.getContext().getOrDefault("tenant", "none");
+		}
+
+	}
+
+	static class CountingToolCallback implements ToolCallback {
+
+		private final ToolDefinition toolDefinition;
+
+		private final AtomicInteger inFlight;
+
+		private final AtomicInteger maxInFlight;
+
+		CountingToolCallback(String name, AtomicInteger inFlight, AtomicInteger maxInFlight) {
+			this.toolDefinition = DefaultToolDefinition.builder().name(name).inputSchema("{}").build();
+			this.inFlight = inFlight;
+			this.maxInFlight = maxInFlight;
+		}
+
+		@Override
+		public ToolDefinition getToolDefinition() {
+			return this.toolDefinition;
+		}
+
+		@Override
+		public ToolMetadata getToolMetadata() {
+			return ToolMetadata.builder().threadSafe(false).build();
+		}
+
+		@Override
+		public String call(String toolInput) {
+			this.maxInFlight.accumulateAndGet(this.inFlight.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(20);
+				return "Mission accomplished!";
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(ex);
+			}
+			finally {
+				this.inFlight.decrementAndGet();
+			}
+		}
+
+	}
+
+	static class SleepingToolCallback implements ToolCallback {
+
+		private final ToolDefinition toolDefinition;
+
+		private final AtomicInteger inFlight;
+
+		SleepingToolCallback(String name, AtomicInteger inFlight) {
+			this.toolDefinition = DefaultToolDefinition.builder().name(name).inputSchema("{}").build();
+			this.inFlight = inFlight;
+		}
+
+		@Override
+		public ToolDefinition getToolDefinition() {
+			return this.toolDefinition;
+		}
+
+		@Override
+		public String call(String toolInput) {
+			this.inFlight.incrementAndGet();
+			try {
+				Thread.sleep(50);
+				return "Mission accomplished!";
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(ex);
+			}
+			finally {
+				this.inFlight.decrementAndGet();
+			}
+		}
+
+	}
+
 	static class FailingToolCallback implements ToolCallback {
 
 		private final ToolDefinition toolDefinition;
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.tool.method;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.tool.definition.DefaultToolDefinition;
+import org.springframework.ai.tool.execution.ToolExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link MethodToolCallback}.
+ */
+class MethodToolCallbackTests {
+
+	@Test
+	void whenObjectArgumentThenDeserializedIntoParameterType() throws Exception {
+		MethodToolCallback callback = callback("order", Order.class, int.class);
+
+		String result = callback.call("""
+				{"quantity": 2, "ignored": {"nested": [1, 2]}, "order": {"item": "book", "tags": ["a", "b"]}}
+				""");
+
+		assertThat(result).isEqualTo("\"book x 2 [a, b]\"");
+	}
+
+	@Test
+	void whenScalarArgumentsThenConvertedLeniently() throws Exception {
+		MethodToolCallback callback = callback("scalars", String.class, int.class, Unit.class);
+
+		String result = callback.call("""
+				{"text": 42, "count": "3.0", "unit": "KG"}
+				""");
+
+		assertThat(result).isEqualTo("\"text=42 count=3 unit=KG\"");
+	}
+
+	@Test
+	void whenObjectArgumentEncodedAsStringThenDeserialized() throws Exception {
+		MethodToolCallback callback = callback("order", Order.class, int.class);
+
+		String result = callback.call("""
+				{"order": "{\\"item\\": \\"pen\\", \\"tags\\": []}", "quantity": 1}
+				""");
+
+		assertThat(result).isEqualTo("\"pen x 1 []\"");
+	}
+
+	@Test
+	void whenArgumentMissingThenNull() throws Exception {
+		MethodToolCallback callback = callback("order", Order.class, int.class);
+
+		assertThat(callback.call("{\"quantity\": 5}")).isEqualTo("\"nothing x 5\"");
+	}
+
+	@Test
+	void whenPrimitiveArgumentNullThenIllegalArgumentException() throws Exception {
+		MethodToolCallback callback = callback("order", Order.class, int.class);
+
+		assertThatThrownBy(() -> callback.call("{\"order\": null}")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> callback.call("{\"quantity\": null}")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void whenToolInputIsNotAnObjectThenThrow() throws Exception {
+		MethodToolCallback callback = callback("order", Order.class, int.class);
+
+		assertThatThrownBy(() -> callback.call("[1, 2]")).isInstanceOf(ToolExecutionException.class)
+			.hasMessageContaining("expected a JSON object");
+	}
+
+	@Test
+	void whenPrivateMethodThenInvoked() throws Exception {
+		Method method = PrivateTools.class.getDeclaredMethod("secret", String.class);
+		MethodToolCallback callback = MethodToolCallback.builder()
+			.toolDefinition(DefaultToolDefinition.builder().name("secret").inputSchema("{}").build())
+			.toolMethod(method)
+			.toolObject(new PrivateTools())
+			.build();
+
+		assertThat(callback.call("{\"value\": \"x\"}")).isEqualTo("\"secret x\"");
+	}
+
+	@Test
+	void whenMethodThrowsThenToolExecutionException() throws Exception {
+		MethodToolCallback callback = callback("fail");
+
+		assertThatThrownBy(() -> callback.call("{}")).isInstanceOf(ToolExecutionException.class)
+			.hasMessage("Out of stock")
+			.hasCauseInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void whenMethodThrowsErrorThenRethrown() throws Exception {
+		MethodToolCallback callback = callback("crash");
+
+		assertThatThrownBy(() -> callback.call("{}")).isInstanceOf(AssertionError.class).hasMessage("Broken");
+	}
+
+	@Test
+	void whenVoidMethodThenDone() throws Exception {
+		MethodToolCallback callback = callback("noop");
+
+		assertThat(callback.call("{}")).isEqualTo("\"Done\"");
+	}
+
+	private static MethodToolCallback callback(String name, Class<?>... parameterTypes) throws Exception {
+		Method method = TestTools.class.getMethod(name, parameterTypes);
+		return MethodToolCallback.builder()
+			.toolDefinition(DefaultToolDefinition.builder().name(name).inputSchema("{}").build())
+			.toolMethod(method)
+			.toolObject(new TestTools())
+			.build();
+	}
+
+	enum Unit {
+
+		KG, LB
+
+	}
+
+	record Order(String item, List<String> tags) {
+	}
+
+	public static class TestTools {
+
+		public String order(Order order, int quantity) {
+			if (order == null) {
+				return "nothing x " + quantity;
+			}
+			return order.item() + " x " + quantity + " " + order.tags();
+		}
+
+		public String scalars(String text, int count, Unit unit) {
+			return "text=" + text + " count=" + count + " unit=" + unit;
+		}
+
+		public void fail() {
+			throw new IllegalStateException("Out of stock");
+		}
+
+		public void crash() {
+			throw new AssertionError("Broken");
+		}
+
+		public void noop() {
+		}
+
+	}
+
+	private static class PrivateTools {
+
+		private String secret(String value) {
+			return "secret " + value;
+		}
+
+	}
+
+}
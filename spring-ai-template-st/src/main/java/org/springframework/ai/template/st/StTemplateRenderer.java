@@ -16,22 +16,32 @@
 
 package org.springframework.ai.template.st;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
 import org.antlr.runtime.Token;
 import org.antlr.runtime.TokenStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.stringtemplate.v4.ST;
 import org.stringtemplate.v4.STGroup;
+import org.stringtemplate.v4.compiler.CompiledST;
 import org.stringtemplate.v4.compiler.Compiler;
 import org.stringtemplate.v4.compiler.STLexer;
 
+import org.springframework.ai.observation.CacheMetrics;
+import org.springframework.ai.observation.CacheStatistics;
 import org.springframework.ai.template.TemplateRenderer;
 import org.springframework.ai.template.ValidationMode;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
 
 /**
  * Renders a template using the StringTemplate (ST) v4 library.
@@ -45,9 +55,13 @@ import org.springframework.util.Assert;
  * Use the {@link #builder()} to create and configure instances.
  *
  * <p>
- * <b>Thread safety:</b> This class is safe for concurrent use. Each call to
- * {@link #apply(String, Map)} creates a new StringTemplate instance, and no mutable state
- * is shared between threads.
+ * <b>Thread safety:</b> This class is safe for concurrent use. Compiled templates are
+ * kept in a bounded cache keyed by the template text, together with the variables they
+ * require, so that rendering a known template only instantiates a new StringTemplate from
+ * the cached compiled form. Each call to {@link #apply(String, Map)} uses its own
+ * StringTemplate instance and group, and no other mutable state is shared between
+ * threads. The size of the cache can be set with {@link Builder#cacheSize(int)}, and its
+ * hit and miss counts can be published with {@link Builder#meterRegistry(MeterRegistry)}.
  *
  * @author Thomas Vitale
  * @author Sun Yuhan
@@ -67,6 +81,10 @@ public class StTemplateRenderer implements TemplateRenderer {
 
 	private static final boolean DEFAULT_VALIDATE_ST_FUNCTIONS = false;
 
+	private static final int DEFAULT_CACHE_SIZE = 256;
+
+	private static final String CACHE_NAME = "st.templates";
+
 	private final char startDelimiterToken;
 
 	private final char endDelimiterToken;
@@ -75,6 +93,8 @@ public class StTemplateRenderer implements TemplateRenderer {
 
 	private final boolean validateStFunctions;
 
+	private final CompiledTemplateCache cache;
+
 	/**
 	 * Constructs a new {@code StTemplateRenderer} with the specified delimiter tokens,
 	 * validation mode, and function validation flag.
@@ -89,11 +109,26 @@ public class StTemplateRenderer implements TemplateRenderer {
 	 */
 	public StTemplateRenderer(char startDelimiterToken, char endDelimiterToken, ValidationMode validationMode,
 			boolean validateStFunctions) {
+		this(startDelimiterToken, endDelimiterToken, validationMode, validateStFunctions, DEFAULT_CACHE_SIZE, null);
+	}
+
+	private StTemplateRenderer(char startDelimiterToken, char endDelimiterToken, ValidationMode validationMode,
+			boolean validateStFunctions, int cacheSize, @Nullable MeterRegistry meterRegistry) {
 		Assert.notNull(validationMode, "validationMode cannot be null");
+		Assert.isTrue(cacheSize >= 0, "cacheSize cannot be negative");
 		this.startDelimiterToken = startDelimiterToken;
 		this.endDelimiterToken = endDelimiterToken;
 		this.validationMode = validationMode;
 		this.validateStFunctions = validateStFunctions;
+		this.cache = new CompiledTemplateCache(cacheSize, this::compile);
+		if (meterRegistry != null) {
+			CacheMetrics.builder(this.cache, CACHE_NAME, CompiledTemplateCache::statistics)
+				.tags(List.of(Tag.of("delimiters", String.valueOf(startDelimiterToken) + endDelimiterToken)))
+				.evictions(CompiledTemplateCache::evictionCount)
+				.size(CompiledTemplateCache::size)
+				.build()
+				.bindTo(meterRegistry);
+		}
 	}
 
 	@Override
@@ -102,36 +137,84 @@ public class StTemplateRenderer implements TemplateRenderer {
 		Assert.notNull(variables, "variables cannot be null");
 		Assert.noNullElements(variables.keySet(), "variables keys cannot be null");
 
-		ST st = createST(template);
+		CompiledTemplate compiledTemplate = this.cache.get(template);
+		ST st = createST(compiledTemplate);
 		for (Map.Entry<String, Object> entry : variables.entrySet()) {
 			st.add(entry.getKey(), entry.getValue());
 		}
 		if (this.validationMode != ValidationMode.NONE) {
-			validate(st, variables);
+			validate(compiledTemplate.inputVariables(), variables);
 		}
 		return st.render();
 	}
 
-	private ST createST(String template) {
+	private CompiledTemplate compile(String template) {
 		try {
-			STGroup group = new STGroup(this.startDelimiterToken, this.endDelimiterToken);
-			group.setListener(new Slf4jStErrorListener(logger));
-			return new ST(group, template);
+			CompiledST impl = new ST(createGroup(), template).impl;
+			return new CompiledTemplate(impl, Set.copyOf(getInputVariables(impl.tokens)));
 		}
 		catch (Exception ex) {
 			throw new IllegalArgumentException("The template string is not valid.", ex);
 		}
 	}
 
+	/**
+	 * Instantiates a template from its cached compiled form. A new group is used for each
+	 * instance, as the groups of StringTemplate lazily populate caches that are not safe
+	 * for concurrent use.
+	 */
+	private ST createST(CompiledTemplate compiledTemplate) {
+		STGroup group = createGroup();
+		CompiledST impl;
+		// Cloning a compiled template gives the original a new copy of its arguments, so
+		// the copies of a given template are made one at a time.
+		synchronized (compiledTemplate) {
+			impl = copy(compiledTemplate.impl(), group);
+		}
+		return group.createStringTemplate(impl);
+	}
+
+	/**
+	 * Copies a compiled template, along with the templates it implicitly defines such as
+	 * anonymous sub-templates, into the given group. The instructions are shared with the
+	 * original, but each copy is attached to the group it is rendered with and has its
+	 * own arguments, as {@link ST#add} registers undeclared arguments on the compiled
+	 * template.
+	 */
+	private static CompiledST copy(CompiledST impl, STGroup group) {
+		CompiledST copy;
+		try {
+			copy = impl.clone();
+		}
+		catch (CloneNotSupportedException ex) {
+			throw new IllegalStateException(ex);
+		}
+		copy.nativeGroup = group;
+		if (impl.implicitlyDefinedTemplates != null) {
+			copy.implicitlyDefinedTemplates = new ArrayList<>(impl.implicitlyDefinedTemplates.size());
+			for (CompiledST subTemplate : impl.implicitlyDefinedTemplates) {
+				CompiledST subTemplateCopy = copy(subTemplate, group);
+				copy.implicitlyDefinedTemplates.add(subTemplateCopy);
+				group.rawDefineTemplate(subTemplateCopy.name, subTemplateCopy, subTemplateCopy.templateDefStartToken);
+			}
+		}
+		return copy;
+	}
+
+	private STGroup createGroup() {
+		STGroup group = new STGroup(this.startDelimiterToken, this.endDelimiterToken);
+		group.setListener(new Slf4jStErrorListener(logger));
+		return group;
+	}
+
 	/**
 	 * Validates that all required template variables are provided in the model. Returns
 	 * the set of missing variables for further handling or logging.
-	 * @param st the StringTemplate instance
+	 * @param templateTokens the variables required by the template
 	 * @param templateVariables the provided variables
 	 * @return set of missing variable names, or empty set if none are missing
 	 */
-	private Set<String> validate(ST st, Map<String, Object> templateVariables) {
-		Set<String> templateTokens = getInputVariables(st);
+	private Set<String> validate(Set<String> templateTokens, Map<String, Object> templateVariables) {
 		Set<String> modelKeys = templateVariables.keySet();
 		Set<String> missingVariables = new HashSet<>(templateTokens);
 		missingVariables.removeAll(modelKeys);
@@ -147,8 +230,7 @@ public class StTemplateRenderer implements TemplateRenderer {
 		return missingVariables;
 	}
 
-	private Set<String> getInputVariables(ST st) {
-		TokenStream tokens = st.impl.tokens;
+	private Set<String> getInputVariables(TokenStream tokens) {
 		Set<String> inputVariables = new HashSet<>();
 		boolean isInsideList = false;
 
@@ -198,6 +280,58 @@ public class StTemplateRenderer implements TemplateRenderer {
 		return new Builder();
 	}
 
+	/**
+	 * A compiled template along with the variables it requires.
+	 */
+	private record CompiledTemplate(CompiledST impl, Set<String> inputVariables) {
+	}
+
+	/**
+	 * Bounded cache of compiled templates keeping track of its statistics.
+	 */
+	static final class CompiledTemplateCache {
+
+		private final ConcurrentLruCache<String, CompiledTemplate> cache;
+
+		private final CacheStatistics statistics = new CacheStatistics();
+
+		private CompiledTemplateCache(int capacity, Function<String, CompiledTemplate> compiler) {
+			this.cache = new ConcurrentLruCache<>(capacity, template -> {
+				// Every get is counted as a hit until it turns out to compile the
+				// template
+				this.statistics.recordHits(-1);
+				this.statistics.recordMisses(1);
+				CompiledTemplate compiledTemplate = compiler.apply(template);
+				if (capacity > 0) {
+					this.statistics.recordPuts(1);
+				}
+				return compiledTemplate;
+			});
+		}
+
+		CompiledTemplate get(String template) {
+			this.statistics.recordHits(1);
+			return this.cache.get(template);
+		}
+
+		int size() {
+			return this.cache.size();
+		}
+
+		CacheStatistics statistics() {
+			return this.statistics;
+		}
+
+		/**
+		 * Templates are only ever removed from the cache to make room for others, so the
+		 * evictions are the templates put that are no longer cached.
+		 */
+		long evictionCount() {
+			return Math.max(0, this.statistics.putCount() - this.cache.size());
+		}
+
+	}
+
 	/**
 	 * Builder for configuring and creating {@link StTemplateRenderer} instances.
 	 */
@@ -211,6 +345,11 @@ public class StTemplateRenderer implements TemplateRenderer {
 
 		private boolean validateStFunctions = DEFAULT_VALIDATE_ST_FUNCTIONS;
 
+		private int cacheSize = DEFAULT_CACHE_SIZE;
+
+		@Nullable
+		private MeterRegistry meterRegistry;
+
 		private Builder() {
 		}
 
@@ -266,6 +405,29 @@ public class StTemplateRenderer implements TemplateRenderer {
 			return this;
 		}
 
+		/**
+		 * Sets the maximum number of compiled templates kept by the renderer. Default is
+		 * 256. A size of 0 disables caching, so that every template is compiled on each
+		 * render.
+		 * @param cacheSize The maximum number of cached templates.
+		 * @return This builder instance for chaining.
+		 */
+		public Builder cacheSize(int cacheSize) {
+			this.cacheSize = cacheSize;
+			return this;
+		}
+
+		/**
+		 * Sets the registry on which the metrics of the compiled template cache are
+		 * published, under the {@code st.templates} cache name. Default is none.
+		 * @param meterRegistry The meter registry.
+		 * @return This builder instance for chaining.
+		 */
+		public Builder meterRegistry(MeterRegistry meterRegistry) {
+			this.meterRegistry = meterRegistry;
+			return this;
+		}
+
 		/**
 		 * Builds and returns a new {@link StTemplateRenderer} instance with the
 		 * configured settings.
@@ -273,7 +435,7 @@ public class StTemplateRenderer implements TemplateRenderer {
 		 */
 		public StTemplateRenderer build() {
 			return new StTemplateRenderer(this.startDelimiterToken, this.endDelimiterToken, this.validationMode,
-					this.validateStFunctions);
+					this.validateStFunctions, this.cacheSize, this.meterRegistry);
 		}
 
 	}
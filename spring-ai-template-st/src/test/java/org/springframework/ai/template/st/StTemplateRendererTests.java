@@ -17,9 +17,14 @@
 package org.springframework.ai.template.st;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.stringtemplate.v4.compiler.CompiledST;
 
 import org.springframework.ai.template.ValidationMode;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -353,4 +358,99 @@ class StTemplateRendererTests {
 					"Not all variables were replaced in the template. Missing variable names are: [user]");
 	}
 
+	@Test
+	void shouldNotShareStateBetweenRendersOfCachedTemplate() {
+		StTemplateRenderer renderer = StTemplateRenderer.builder().build();
+
+		assertThat(renderer.apply("Hello {name}{suffix}", Map.of("name", "Spring", "suffix", "!")))
+			.isEqualTo("Hello Spring!");
+		assertThat(renderer.apply("Hello {name}{suffix}", Map.of("name", "AI", "suffix", "?"))).isEqualTo("Hello AI?");
+		assertThatThrownBy(() -> renderer.apply("Hello {name}{suffix}", Map.of("name", "AI")))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("suffix");
+	}
+
+	@Test
+	void shouldRenderCachedTemplateConcurrently() {
+		StTemplateRenderer renderer = StTemplateRenderer.builder().build();
+
+		List<CompletableFuture<String>> results = IntStream.range(0, 200)
+			.mapToObj(i -> CompletableFuture.supplyAsync(() -> renderer.apply("{name}: {first} and {second}",
+					Map.of("name", i, "first", i + 1, "second", i + 2))))
+			.toList();
+
+		for (int i = 0; i < results.size(); i++) {
+			assertThat(results.get(i).join()).isEqualTo(i + ": " + (i + 1) + " and " + (i + 2));
+		}
+	}
+
+	@Test
+	void shouldRenderCachedTemplateWithSubTemplatesConcurrently() {
+		StTemplateRenderer renderer = StTemplateRenderer.builder().validationMode(ValidationMode.NONE).build();
+		String template = "{name}: {items:{item | <{item}{tags:{tag | #{tag}}}>}; separator=\",\"}";
+
+		List<CompletableFuture<String>> results = IntStream.range(0, 500)
+			.mapToObj(i -> CompletableFuture.supplyAsync(() -> renderer.apply(template,
+					Map.of("name", i, "items", List.of(i, i + 1), "tags", List.of("t" + i)))))
+			.toList();
+
+		for (int i = 0; i < results.size(); i++) {
+			assertThat(results.get(i).join()).isEqualTo(i + ": <" + i + "#t" + i + ">,<" + (i + 1) + "#t" + i + ">");
+		} // Renders must not attach the cached sub-templates to their own groups
+		Object cache = ReflectionTestUtils.getField(renderer, "cache");
+		Object compiledTemplate = ReflectionTestUtils.invokeMethod(cache, "get", template);
+		CompiledST impl = ReflectionTestUtils.invokeMethod(compiledTemplate, "impl");
+		assertThat(impl.implicitlyDefinedTemplates).isNotEmpty()
+			.allSatisfy(subTemplate -> assertThat(subTemplate.nativeGroup).isSameAs(impl.nativeGroup));
+	}
+
+	@Test
+	void shouldPublishCacheMetrics() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		StTemplateRenderer renderer = StTemplateRenderer.builder().meterRegistry(meterRegistry).build();
+
+		renderer.apply("Hello {name}!", Map.of("name", "Spring"));
+		renderer.apply("Hello {name}!", Map.of("name", "AI"));
+		renderer.apply("Bye {name}!", Map.of("name", "AI"));
+
+		assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(2);
+		assertThat(meterRegistry.get("cache.size").tag("cache", "st.templates").gauge().value()).isEqualTo(2);
+		assertThat(meterRegistry.get("cache.puts").functionCounter().count()).isEqualTo(2);
+		assertThat(meterRegistry.get("cache.evictions").functionCounter().count()).isZero();
+	}
+
+	@Test
+	void shouldPublishCacheEvictions() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		StTemplateRenderer renderer = StTemplateRenderer.builder().cacheSize(1).meterRegistry(meterRegistry).build();
+
+		renderer.apply("Hello {name}!", Map.of("name", "Spring"));
+		renderer.apply("Bye {name}!", Map.of("name", "Spring"));
+		renderer.apply("Hello {name}!", Map.of("name", "AI"));
+
+		assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(3);
+		assertThat(meterRegistry.get("cache.puts").functionCounter().count()).isEqualTo(3);
+		assertThat(meterRegistry.get("cache.evictions").functionCounter().count()).isEqualTo(2);
+		assertThat(meterRegistry.get("cache.size").gauge().value()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldRenderWithCacheDisabled() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		StTemplateRenderer renderer = StTemplateRenderer.builder().cacheSize(0).meterRegistry(meterRegistry).build();
+
+		assertThat(renderer.apply("Hello {name}!", Map.of("name", "Spring"))).isEqualTo("Hello Spring!");
+		assertThat(renderer.apply("Hello {name}!", Map.of("name", "AI"))).isEqualTo("Hello AI!");
+		assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(2);
+		assertThat(meterRegistry.get("cache.puts").functionCounter().count()).isZero();
+	}
+
+	@Test
+	void shouldNotAcceptNegativeCacheSize() {
+		assertThatThrownBy(() -> StTemplateRenderer.builder().cacheSize(-1).build())
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("cacheSize cannot be negative");
+	}
+
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Hot-loop vector kernels used by the in-memory vector stores.
+ *
+ * <p>
+ * The loops are unrolled over four independent accumulators. This breaks the
+ * floating-point dependency chain of a naive reduction so the JIT can keep several
+ * multiply-adds in flight and use packed SIMD loads, without depending on the incubating
+ * {@code jdk.incubator.vector} module that is not available on the Java 17 baseline.
+ *
+ * @since 2.0.0
+ */
+final class EmbeddingKernels {
+
+	private EmbeddingKernels() {
+		throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+	}
+
+	/**
+	 * Computes the dot product of {@code query} and the {@code length} floats of
+	 * {@code matrix} starting at {@code offset}.
+	 * @param query the query vector, at least {@code length} long
+	 * @param matrix the row-major matrix holding the other vector
+	 * @param offset the offset of the row within the matrix
+	 * @param length the number of dimensions
+	 * @return the dot product
+	 */
+	static float dot(float[] query, float[] matrix, int offset, int length) {
+		return dot(query, 0, matrix, offset, length);
+	}
+
+	/**
+	 * Computes the dot product of two vectors stored at arbitrary offsets.
+	 * @param x the array holding the first vector
+	 * @param xOffset the offset of the first vector
+	 * @param y the array holding the second vector
+	 * @param yOffset the offset of the second vector
+	 * @param length the number of dimensions
+	 * @return the dot product
+	 */
+	static float dot(float[] x, int xOffset, float[] y, int yOffset, int length) {
+		float s0 = 0;
+		float s1 = 0;
+		float s2 = 0;
+		float s3 = 0;
+		int i = 0;
+		int bound = length & ~3;
+		for (; i < bound; i += 4) {
+			s0 += x[xOffset + i] * y[yOffset + i];
+			s1 += x[xOffset + i + 1] * y[yOffset + i + 1];
+			s2 += x[xOffset + i + 2] * y[yOffset + i + 2];
+			s3 += x[xOffset + i + 3] * y[yOffset + i + 3];
+		}
+		for (; i < length; i++) {
+			s0 += x[xOffset + i] * y[yOffset + i];
+		}
+		return (s0 + s1) + (s2 + s3);
+	}
+
+	/**
+	 * Computes the dot product of {@code query} and the {@code length} floats of an
+	 * off-heap buffer starting at {@code offset}, using absolute reads only so the buffer
+	 * can be shared by concurrent scans.
+	 * @param query the query vector, at least {@code length} long
+	 * @param buffer the buffer holding the other vector
+	 * @param offset the offset of the vector within the buffer
+	 * @param length the number of dimensions
+	 * @return the dot product
+	 */
+	static float dot(float[] query, FloatBuffer buffer, int offset, int length) {
+		float s0 = 0;
+		float s1 = 0;
+		float s2 = 0;
+		float s3 = 0;
+		int i = 0;
+		int bound = length & ~3;
+		for (; i < bound; i += 4) {
+			s0 += query[i] * buffer.get(offset + i);
+			s1 += query[i + 1] * buffer.get(offset + i + 1);
+			s2 += query[i + 2] * buffer.get(offset + i + 2);
+			s3 += query[i + 3] * buffer.get(offset + i + 3);
+		}
+		for (; i < length; i++) {
+			s0 += query[i] * buffer.get(offset + i);
+		}
+		return (s0 + s1) + (s2 + s3);
+	}
+
+	/**
+	 * Computes the dot product of {@code query} and the {@code length} signed bytes of
+	 * {@code codes} starting at {@code offset}.
+	 * @param query the query vector, at least {@code length} long
+	 * @param codes the row-major matrix of byte codes
+	 * @param offset the offset of the row within the matrix
+	 * @param length the number of dimensions
+	 * @return the dot product
+	 */
+	static float dot(float[] query, byte[] codes, int offset, int length) {
+		float s0 = 0;
+		float s1 = 0;
+		float s2 = 0;
+		float s3 = 0;
+		int i = 0;
+		int bound = length & ~3;
+		for (; i < bound; i += 4) {
+			s0 += query[i] * codes[offset + i];
+			s1 += query[i + 1] * codes[offset + i + 1];
+			s2 += query[i + 2] * codes[offset + i + 2];
+			s3 += query[i + 3] * codes[offset + i + 3];
+		}
+		for (; i < length; i++) {
+			s0 += query[i] * codes[offset + i];
+		}
+		return (s0 + s1) + (s2 + s3);
+	}
+
+	/**
+	 * Counts the differing bits of two bit-packed codes.
+	 * @param query the packed query code, at least {@code words} long
+	 * @param codes the row-major matrix of packed codes
+	 * @param offset the offset of the row within the matrix
+	 * @param words the number of 64-bit words per code
+	 * @return the Hamming distance
+	 */
+	static int hammingDistance(long[] query, long[] codes, int offset, int words) {
+		int distance = 0;
+		for (int i = 0; i < words; i++) {
+			distance += Long.bitCount(query[i] ^ codes[offset + i]);
+		}
+		return distance;
+	}
+
+	/**
+	 * Returns the euclidean (L2) norm of the vector.
+	 * @param vector the vector
+	 * @return the L2 norm
+	 */
+	static float norm(float[] vector) {
+		return (float) Math.sqrt(dot(vector, vector, 0, vector.length));
+	}
+
+	/**
+	 * Returns a copy of the vector multiplied by the given factor.
+	 * @param vector the vector
+	 * @param factor the scale factor
+	 * @return the scaled copy
+	 */
+	static float[] scale(float[] vector, float factor) {
+		float[] scaled = new float[vector.length];
+		for (int i = 0; i < vector.length; i++) {
+			scaled[i] = vector[i] * factor;
+		}
+		return scaled;
+	}
+
+}
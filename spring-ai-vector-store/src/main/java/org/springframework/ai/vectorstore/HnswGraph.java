@@ -0,0 +1,792 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Hierarchical Navigable Small World graph (Malkov &amp; Yashunin, 2016) over cosine
+ * similarity, backing the {@link HnswVectorStore}.
+ *
+ * <p>
+ * Embeddings are kept in a contiguous row-major {@code float[]} matrix with their inverse
+ * norms, exactly like the {@link SimpleVectorStoreIndex}, and graph nodes address their
+ * row by slot. Every node also tracks the nodes linking to it, so deletes only visit the
+ * neighbourhoods that lost an edge, repair them using the removed nodes' own neighbours,
+ * and recycle the freed slots.
+ *
+ * <p>
+ * Filtered searches keep traversing the base layer until the candidates fall behind the
+ * k-th best matching node, so a selective filter widens the walk (up to an exhaustive
+ * one) instead of returning fewer or worse results than requested. The final candidates
+ * are re-scored with
+ * {@link SimpleVectorStore.EmbeddingMath#cosineSimilarity(float[], float[])}.
+ *
+ * <p>
+ * Writers are serialized with a {@link ReadWriteLock}; searches run concurrently.
+ *
+ * @since 2.0.0
+ */
+final class HnswGraph {
+
+	private static final double SCORE_TOLERANCE = 1e-5;
+
+	private static final ThreadLocal<VisitedSet> VISITED = ThreadLocal.withInitial(VisitedSet::new);
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final int m;
+
+	private final int maxM0;
+
+	private final int efConstruction;
+
+	private final double levelMultiplier;
+
+	private final SplittableRandom random;
+
+	private final Map<String, Integer> slotsById = new HashMap<>();
+
+	private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+	private int dimensions = -1;
+
+	private int highWaterMark;
+
+	private float[] vectors = new float[0];
+
+	private float[] inverseNorms = new float[0];
+
+	private Node[] nodes = new Node[0];
+
+	private int entryPoint = -1;
+
+	private int maxLevel = -1;
+
+	/**
+	 * Creates an empty graph.
+	 * @param m the number of neighbours kept per node on the upper layers; the base layer
+	 * keeps {@code 2 * m}
+	 * @param efConstruction the size of the dynamic candidate list used while inserting
+	 * @param seed the seed of the random level generator
+	 */
+	HnswGraph(int m, int efConstruction, long seed) {
+		Assert.isTrue(m > 1, "m must be greater than 1");
+		Assert.isTrue(efConstruction > 0, "efConstruction must be greater than 0");
+		this.m = m;
+		this.maxM0 = 2 * m;
+		this.efConstruction = efConstruction;
+		this.levelMultiplier = 1.0 / Math.log(m);
+		this.random = new SplittableRandom(seed);
+	}
+
+	/**
+	 * Inserts the given content, replacing any existing node with the same id.
+	 * @param content the content to index
+	 */
+	void put(SimpleVectorStoreContent content) {
+		float[] embedding = content.getEmbedding();
+		float norm = EmbeddingKernels.norm(embedding);
+		if (norm == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+
+		this.lock.writeLock().lock();
+		try {
+			if (this.dimensions < 0) {
+				this.dimensions = embedding.length;
+			}
+			else if (this.dimensions != embedding.length) {
+				throw new IllegalArgumentException("Vectors lengths must be equal");
+			}
+			if (this.slotsById.containsKey(content.getId())) {
+				removeAll(List.of(content.getId()));
+			}
+			int slot = allocateSlot();
+			System.arraycopy(embedding, 0, this.vectors, slot * this.dimensions, this.dimensions);
+			this.inverseNorms[slot] = 1.0f / norm;
+			int level = randomLevel();
+			this.nodes[slot] = new Node(content.getId(), content.getText(), content.getMetadata(), level, this.m,
+					this.maxM0);
+			this.slotsById.put(content.getId(), slot);
+			link(slot, EmbeddingKernels.scale(embedding, 1.0f / norm), level);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes the nodes with the given ids, ignoring unknown ids.
+	 * @param ids the ids of the nodes to remove
+	 * @return the number of removed nodes
+	 */
+	int removeAll(Collection<String> ids) {
+		this.lock.writeLock().lock();
+		try {
+			Map<Integer, Node> removed = new HashMap<>();
+			for (String id : ids) {
+				Integer slot = this.slotsById.remove(id);
+				if (slot != null) {
+					removed.put(slot, this.nodes[slot]);
+					this.nodes[slot] = null;
+				}
+			}
+			if (removed.isEmpty()) {
+				return 0;
+			}
+			unlink(removed);
+			removed.keySet().forEach(this.freeSlots::push);
+			return removed.size();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.slotsById.size();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the ids of all nodes whose metadata matches the given predicate.
+	 * @param metadataFilter the predicate to evaluate
+	 * @return the matching ids
+	 */
+	List<String> findIds(Predicate<Map<String, Object>> metadataFilter) {
+		this.lock.readLock().lock();
+		try {
+			List<String> ids = new ArrayList<>();
+			for (int slot = 0; slot < this.highWaterMark; slot++) {
+				Node node = this.nodes[slot];
+				if (node != null && metadataFilter.test(node.metadata)) {
+					ids.add(node.id);
+				}
+			}
+			return ids;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the approximate {@code topK} nearest neighbours of the query whose
+	 * similarity is at least {@code similarityThreshold}.
+	 * @param query the query embedding, need not be normalized
+	 * @param topK the maximum number of results
+	 * @param efSearch the size of the dynamic candidate list on the base layer
+	 * @param similarityThreshold the minimum similarity score
+	 * @param metadataFilter predicate evaluated against each node's metadata, or
+	 * {@code null} to accept every node
+	 * @return the matching documents, ordered by descending similarity
+	 */
+	List<Document> search(float[] query, int topK, int efSearch, double similarityThreshold,
+			@Nullable Predicate<Map<String, Object>> metadataFilter) {
+		Assert.notNull(query, "Vectors must not be null");
+		float queryNorm = EmbeddingKernels.norm(query);
+		if (queryNorm == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		float[] normalizedQuery = EmbeddingKernels.scale(query, 1.0f / queryNorm);
+		if (topK == 0) {
+			return List.of();
+		}
+
+		this.lock.readLock().lock();
+		try {
+			if (this.entryPoint < 0) {
+				return List.of();
+			}
+			if (this.dimensions != normalizedQuery.length) {
+				throw new IllegalArgumentException("Vectors lengths must be equal");
+			}
+			int k = Math.min(topK, this.slotsById.size());
+			int entry = greedyDescend(normalizedQuery, this.entryPoint, this.maxLevel, 0);
+
+			VisitedSet visited = VISITED.get().reset(this.highWaterMark);
+			TopKCollector nearest = new TopKCollector(Math.max(efSearch, k));
+			TopKCollector matches = new TopKCollector(k);
+			CandidateQueue candidates = new CandidateQueue();
+			double threshold = similarityThreshold - SCORE_TOLERANCE;
+
+			float entryScore = similarity(normalizedQuery, entry);
+			visited.visit(entry);
+			candidates.push(entry, entryScore);
+			nearest.offer(entry, entryScore);
+			offerMatch(entry, entryScore, threshold, metadataFilter, matches);
+
+			boolean filtered = metadataFilter != null;
+			while (!candidates.isEmpty()) {
+				if (candidates.peekScore() < frontier(nearest, matches, filtered)) {
+					break;
+				}
+				Node current = this.nodes[candidates.pop()];
+				int[] links = current.links[0];
+				for (int i = 0; i < current.linkCounts[0]; i++) {
+					int neighbour = links[i];
+					if (!visited.visit(neighbour)) {
+						continue;
+					}
+					float score = similarity(normalizedQuery, neighbour);
+					if (score > frontier(nearest, matches, filtered)) {
+						candidates.push(neighbour, score);
+						nearest.offer(neighbour, score);
+					}
+					offerMatch(neighbour, score, threshold, metadataFilter, matches);
+				}
+			}
+			return materialize(query, matches, similarityThreshold);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the score a candidate must exceed to be explored. Unfiltered searches are
+	 * bounded by the {@code ef} nearest nodes; filtered searches keep exploring until the
+	 * candidates fall behind the k-th best <em>matching</em> node as well, which is
+	 * typically much further away when the filter is selective.
+	 */
+	private static float frontier(TopKCollector nearest, TopKCollector matches, boolean filtered) {
+		float bound = nearest.minCompetitiveScore();
+		return filtered ? Math.min(bound, matches.minCompetitiveScore()) : bound;
+	}
+
+	private void offerMatch(int slot, float score, double threshold,
+			@Nullable Predicate<Map<String, Object>> metadataFilter, TopKCollector matches) {
+		if (score >= threshold && score >= matches.minCompetitiveScore()
+				&& (metadataFilter == null || metadataFilter.test(this.nodes[slot].metadata))) {
+			matches.offer(slot, score);
+		}
+	}
+
+	private List<Document> materialize(float[] query, TopKCollector matches, double similarityThreshold) {
+		int[] slots = new int[matches.size()];
+		float[] scores = new float[matches.size()];
+		int count = matches.drainDescending(slots, scores);
+		List<Document> documents = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			double score = SimpleVectorStore.EmbeddingMath.cosineSimilarity(query, embedding(slots[i]));
+			if (score >= similarityThreshold) {
+				documents.add(this.nodes[slots[i]].toDocument(score));
+			}
+		}
+		documents.sort(Comparator.comparing(Document::getScore).reversed());
+		return documents;
+	}
+
+	/**
+	 * Connects a freshly stored node to the graph. Callers must hold the write lock.
+	 */
+	private void link(int slot, float[] normalizedVector, int level) {
+		if (this.entryPoint < 0) {
+			this.entryPoint = slot;
+			this.maxLevel = level;
+			return;
+		}
+		int entry = greedyDescend(normalizedVector, this.entryPoint, this.maxLevel, level + 1);
+		int[] entries = { entry };
+		for (int layer = Math.min(level, this.maxLevel); layer >= 0; layer--) {
+			TopKCollector nearest = searchLayer(normalizedVector, entries, this.efConstruction, layer);
+			int[] candidates = new int[nearest.size()];
+			float[] scores = new float[nearest.size()];
+			nearest.drainDescending(candidates, scores);
+
+			int[] neighbours = selectNeighbours(candidates, scores, candidates.length, this.m);
+			for (int neighbour : neighbours) {
+				appendLink(slot, neighbour, layer);
+				addLink(neighbour, slot, layer);
+			}
+			entries = candidates;
+		}
+		if (level > this.maxLevel) {
+			this.entryPoint = slot;
+			this.maxLevel = level;
+		}
+	}
+
+	/**
+	 * Adds a directed edge, shrinking the neighbour list with the selection heuristic
+	 * when it overflows.
+	 */
+	private void addLink(int from, int to, int layer) {
+		Node node = this.nodes[from];
+		int capacity = (layer == 0) ? this.maxM0 : this.m;
+		int count = node.linkCounts[layer];
+		if (count < capacity) {
+			appendLink(from, to, layer);
+			return;
+		}
+		int[] candidates = Arrays.copyOf(node.links[layer], count + 1);
+		candidates[count] = to;
+		reselect(from, candidates, candidates.length, layer);
+	}
+
+	/**
+	 * Replaces the neighbour list of {@code slot} on {@code layer} with the best of the
+	 * given candidates, according to the selection heuristic.
+	 */
+	private void reselect(int slot, int[] candidates, int candidateCount, int layer) {
+		Node node = this.nodes[slot];
+		int capacity = (layer == 0) ? this.maxM0 : this.m;
+		Integer[] order = new Integer[candidateCount];
+		float[] candidateScores = new float[candidateCount];
+		for (int i = 0; i < candidateCount; i++) {
+			order[i] = i;
+			candidateScores[i] = similarity(slot, candidates[i]);
+		}
+		Arrays.sort(order, (a, b) -> Float.compare(candidateScores[b], candidateScores[a]));
+		int[] sorted = new int[candidateCount];
+		float[] sortedScores = new float[candidateCount];
+		for (int i = 0; i < candidateCount; i++) {
+			sorted[i] = candidates[order[i]];
+			sortedScores[i] = candidateScores[order[i]];
+		}
+		int[] selected = selectNeighbours(sorted, sortedScores, candidateCount, capacity);
+		for (int i = 0; i < node.linkCounts[layer]; i++) {
+			Node previous = this.nodes[node.links[layer][i]];
+			if (previous != null) {
+				previous.incoming[layer].remove(slot);
+			}
+		}
+		node.linkCounts[layer] = 0;
+		for (int neighbour : selected) {
+			appendLink(slot, neighbour, layer);
+		}
+	}
+
+	/**
+	 * Appends a directed edge to a neighbour list known to have room for it, and records
+	 * it on the target node.
+	 */
+	private void appendLink(int from, int to, int layer) {
+		Node node = this.nodes[from];
+		node.links[layer][node.linkCounts[layer]++] = to;
+		this.nodes[to].incoming[layer].add(from);
+	}
+
+	/**
+	 * Neighbour selection heuristic: a candidate is kept only if it is closer to the base
+	 * element than to any already selected neighbour, which favours edges in diverse
+	 * directions. Pruned candidates top up the list if fewer than {@code max} survive.
+	 * @param candidates candidate slots ordered by descending similarity to the base
+	 * @param scores similarity of each candidate to the base
+	 * @param count the number of valid candidates
+	 * @param max the maximum number of neighbours to select
+	 * @return the selected slots
+	 */
+	private int[] selectNeighbours(int[] candidates, float[] scores, int count, int max) {
+		int[] selected = new int[Math.min(max, count)];
+		int selectedCount = 0;
+		int[] pruned = new int[count];
+		int prunedCount = 0;
+		for (int i = 0; i < count && selectedCount < selected.length; i++) {
+			int candidate = candidates[i];
+			boolean diverse = true;
+			for (int j = 0; j < selectedCount; j++) {
+				if (similarity(candidate, selected[j]) > scores[i]) {
+					diverse = false;
+					break;
+				}
+			}
+			if (diverse) {
+				selected[selectedCount++] = candidate;
+			}
+			else {
+				pruned[prunedCount++] = candidate;
+			}
+		}
+		for (int i = 0; i < prunedCount && selectedCount < selected.length; i++) {
+			selected[selectedCount++] = pruned[i];
+		}
+		return (selectedCount == selected.length) ? selected : Arrays.copyOf(selected, selectedCount);
+	}
+
+	/**
+	 * Greedily walks from {@code entry} down to {@code targetLevel}, keeping the single
+	 * closest node per layer.
+	 */
+	private int greedyDescend(float[] normalizedQuery, int entry, int fromLevel, int targetLevel) {
+		int current = entry;
+		float currentScore = similarity(normalizedQuery, current);
+		for (int layer = fromLevel; layer >= targetLevel; layer--) {
+			boolean improved = true;
+			while (improved) {
+				improved = false;
+				Node node = this.nodes[current];
+				for (int i = 0; i < node.linkCounts[layer]; i++) {
+					int neighbour = node.links[layer][i];
+					float score = similarity(normalizedQuery, neighbour);
+					if (score > currentScore) {
+						currentScore = score;
+						current = neighbour;
+						improved = true;
+					}
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Best-first search of a single layer with a dynamic candidate list of size
+	 * {@code ef}.
+	 */
+	private TopKCollector searchLayer(float[] normalizedQuery, int[] entries, int ef, int layer) {
+		VisitedSet visited = VISITED.get().reset(this.highWaterMark);
+		TopKCollector nearest = new TopKCollector(ef);
+		CandidateQueue candidates = new CandidateQueue();
+		for (int entry : entries) {
+			if (visited.visit(entry)) {
+				float score = similarity(normalizedQuery, entry);
+				candidates.push(entry, score);
+				nearest.offer(entry, score);
+			}
+		}
+		while (!candidates.isEmpty()) {
+			if (candidates.peekScore() < nearest.minCompetitiveScore()) {
+				break;
+			}
+			Node current = this.nodes[candidates.pop()];
+			for (int i = 0; i < current.linkCounts[layer]; i++) {
+				int neighbour = current.links[layer][i];
+				if (visited.visit(neighbour)) {
+					float score = similarity(normalizedQuery, neighbour);
+					if (score > nearest.minCompetitiveScore()) {
+						candidates.push(neighbour, score);
+						nearest.offer(neighbour, score);
+					}
+				}
+			}
+		}
+		return nearest;
+	}
+
+	/**
+	 * Drops every edge pointing to a removed node and repairs the affected neighbour
+	 * lists with the removed nodes' own neighbours. Only the nodes linking to a removed
+	 * node are visited, unless the entry point itself is removed, in which case the
+	 * highest remaining node is looked up. Callers must hold the write lock.
+	 */
+	private void unlink(Map<Integer, Node> removed) {
+		List<int[]> affected = new ArrayList<>();
+		for (Map.Entry<Integer, Node> entry : removed.entrySet()) {
+			int slot = entry.getKey();
+			Node node = entry.getValue();
+			for (int layer = 0; layer <= node.level; layer++) {
+				for (int i = 0; i < node.linkCounts[layer]; i++) {
+					Node target = this.nodes[node.links[layer][i]];
+					if (target != null) {
+						target.incoming[layer].remove(slot);
+					}
+				}
+				IntBag incoming = node.incoming[layer];
+				for (int i = 0; i < incoming.size; i++) {
+					if (!removed.containsKey(incoming.values[i])) {
+						affected.add(new int[] { incoming.values[i], layer });
+					}
+				}
+			}
+		}
+		for (int[] edge : affected) {
+			repairLayer(edge[0], this.nodes[edge[0]], edge[1], removed);
+		}
+		if (removed.containsKey(this.entryPoint)) {
+			this.entryPoint = -1;
+			this.maxLevel = -1;
+			for (int slot = 0; slot < this.highWaterMark; slot++) {
+				Node node = this.nodes[slot];
+				if (node != null && node.level > this.maxLevel) {
+					this.maxLevel = node.level;
+					this.entryPoint = slot;
+				}
+			}
+		}
+	}
+
+	private void repairLayer(int slot, Node node, int layer, Map<Integer, Node> removed) {
+		int[] links = node.links[layer];
+		int count = node.linkCounts[layer];
+		boolean lostEdge = false;
+		for (int i = 0; i < count; i++) {
+			if (removed.containsKey(links[i])) {
+				lostEdge = true;
+				break;
+			}
+		}
+		if (!lostEdge) {
+			return;
+		}
+		int[] candidates = new int[count * (1 + this.maxM0)];
+		int candidateCount = 0;
+		for (int i = 0; i < count; i++) {
+			Node removedNode = removed.get(links[i]);
+			if (removedNode == null) {
+				candidateCount = addCandidate(candidates, candidateCount, links[i]);
+			}
+			else if (layer <= removedNode.level) {
+				for (int j = 0; j < removedNode.linkCounts[layer]; j++) {
+					int replacement = removedNode.links[layer][j];
+					if (replacement != slot && !removed.containsKey(replacement)) {
+						candidateCount = addCandidate(candidates, candidateCount, replacement);
+					}
+				}
+			}
+		}
+		reselect(slot, candidates, candidateCount, layer);
+	}
+
+	private static int addCandidate(int[] candidates, int count, int candidate) {
+		for (int i = 0; i < count; i++) {
+			if (candidates[i] == candidate) {
+				return count;
+			}
+		}
+		candidates[count] = candidate;
+		return count + 1;
+	}
+
+	private float similarity(float[] normalizedQuery, int slot) {
+		return EmbeddingKernels.dot(normalizedQuery, this.vectors, slot * this.dimensions, this.dimensions)
+				* this.inverseNorms[slot];
+	}
+
+	private float similarity(int slotA, int slotB) {
+		return EmbeddingKernels.dot(this.vectors, slotA * this.dimensions, this.vectors, slotB * this.dimensions,
+				this.dimensions) * this.inverseNorms[slotA] * this.inverseNorms[slotB];
+	}
+
+	private float[] embedding(int slot) {
+		return Arrays.copyOfRange(this.vectors, slot * this.dimensions, (slot + 1) * this.dimensions);
+	}
+
+	private int randomLevel() {
+		return (int) (-Math.log(1.0 - this.random.nextDouble()) * this.levelMultiplier);
+	}
+
+	private int allocateSlot() {
+		if (!this.freeSlots.isEmpty()) {
+			return this.freeSlots.pop();
+		}
+		if (this.highWaterMark == this.nodes.length) {
+			int capacity = Math.max(16, this.nodes.length + (this.nodes.length >> 1));
+			this.vectors = Arrays.copyOf(this.vectors, Math.multiplyExact(capacity, this.dimensions));
+			this.inverseNorms = Arrays.copyOf(this.inverseNorms, capacity);
+			this.nodes = Arrays.copyOf(this.nodes, capacity);
+		}
+		return this.highWaterMark++;
+	}
+
+	/**
+	 * A graph node: the side-table entry of a stored document plus its adjacency lists,
+	 * one per layer.
+	 */
+	private static final class Node {
+
+		private final String id;
+
+		private final String text;
+
+		private final Map<String, Object> metadata;
+
+		private final int level;
+
+		private final int[][] links;
+
+		private final int[] linkCounts;
+
+		private final IntBag[] incoming;
+
+		Node(String id, String text, Map<String, Object> metadata, int level, int m, int maxM0) {
+			this.id = id;
+			this.text = text;
+			this.metadata = metadata;
+			this.level = level;
+			this.links = new int[level + 1][];
+			for (int layer = 0; layer <= level; layer++) {
+				this.links[layer] = new int[(layer == 0) ? maxM0 : m];
+			}
+			this.linkCounts = new int[level + 1];
+			this.incoming = new IntBag[level + 1];
+			for (int layer = 0; layer <= level; layer++) {
+				this.incoming[layer] = new IntBag();
+			}
+		}
+
+		Document toDocument(double score) {
+			Map<String, Object> documentMetadata = new HashMap<>(this.metadata);
+			documentMetadata.put(DocumentMetadata.DISTANCE.value(), 1.0 - score);
+			return Document.builder().id(this.id).text(this.text).metadata(documentMetadata).score(score).build();
+		}
+
+	}
+
+	/**
+	 * Unordered multiset of slots, holding the nodes linking to a node on one layer.
+	 */
+	private static final class IntBag {
+
+		private int[] values = new int[4];
+
+		private int size;
+
+		void add(int value) {
+			if (this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+			}
+			this.values[this.size++] = value;
+		}
+
+		void remove(int value) {
+			for (int i = 0; i < this.size; i++) {
+				if (this.values[i] == value) {
+					this.values[i] = this.values[--this.size];
+					return;
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Unbounded max-heap of candidate slots keyed by similarity.
+	 */
+	private static final class CandidateQueue {
+
+		private float[] scores = new float[64];
+
+		private int[] slots = new int[64];
+
+		private int size;
+
+		boolean isEmpty() {
+			return this.size == 0;
+		}
+
+		float peekScore() {
+			return this.scores[0];
+		}
+
+		void push(int slot, float score) {
+			if (this.size == this.scores.length) {
+				this.scores = Arrays.copyOf(this.scores, this.size * 2);
+				this.slots = Arrays.copyOf(this.slots, this.size * 2);
+			}
+			int i = this.size++;
+			while (i > 0) {
+				int parent = (i - 1) >>> 1;
+				if (this.scores[parent] >= score) {
+					break;
+				}
+				this.scores[i] = this.scores[parent];
+				this.slots[i] = this.slots[parent];
+				i = parent;
+			}
+			this.scores[i] = score;
+			this.slots[i] = slot;
+		}
+
+		int pop() {
+			int top = this.slots[0];
+			this.size--;
+			float score = this.scores[this.size];
+			int slot = this.slots[this.size];
+			int i = 0;
+			while (true) {
+				int child = (i << 1) + 1;
+				if (child >= this.size) {
+					break;
+				}
+				if (child + 1 < this.size && this.scores[child + 1] > this.scores[child]) {
+					child++;
+				}
+				if (this.scores[child] <= score) {
+					break;
+				}
+				this.scores[i] = this.scores[child];
+				this.slots[i] = this.slots[child];
+				i = child;
+			}
+			this.scores[i] = score;
+			this.slots[i] = slot;
+			return top;
+		}
+
+	}
+
+	/**
+	 * Epoch-stamped visited set that is reused across searches of the same thread, so a
+	 * traversal never allocates or clears a bitmap proportional to the graph size.
+	 */
+	private static final class VisitedSet {
+
+		private int[] marks = new int[0];
+
+		private int epoch;
+
+		VisitedSet reset(int capacity) {
+			if (this.marks.length < capacity) {
+				this.marks = new int[Math.max(capacity, this.marks.length * 2)];
+				this.epoch = 0;
+			}
+			if (++this.epoch == Integer.MAX_VALUE) {
+				Arrays.fill(this.marks, 0);
+				this.epoch = 1;
+			}
+			return this;
+		}
+
+		/**
+		 * Marks the slot as visited.
+		 * @return {@code true} if the slot had not been visited yet
+		 */
+		boolean visit(int slot) {
+			if (this.marks[slot] == this.epoch) {
+				return false;
+			}
+			this.marks[slot] = this.epoch;
+			return true;
+		}
+
+	}
+
+}
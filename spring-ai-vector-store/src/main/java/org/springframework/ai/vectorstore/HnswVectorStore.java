@@ -0,0 +1,219 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.observation.conventions.VectorStoreProvider;
+import org.springframework.ai.observation.conventions.VectorStoreSimilarityMetric;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionPredicateCompiler;
+import org.springframework.ai.vectorstore.observation.AbstractObservationVectorStore;
+import org.springframework.ai.vectorstore.observation.VectorStoreObservationContext;
+import org.springframework.util.Assert;
+
+/**
+ * In-process {@link VectorStore} backed by a Hierarchical Navigable Small World (HNSW)
+ * graph for approximate nearest neighbour search.
+ *
+ * Unlike the {@link SimpleVectorStore}, which scores every stored embedding on each
+ * search, this store walks a navigable proximity graph and only scores a small fraction
+ * of the documents, trading a tunable amount of recall for sub-linear latency. Documents
+ * can be added and deleted incrementally.
+ *
+ * The graph is tuned with three parameters:
+ * <ul>
+ * <li>{@code m} - the number of neighbours per node; higher values improve recall at the
+ * cost of memory and insertion time.</li>
+ * <li>{@code efConstruction} - the candidate list size used while inserting; higher
+ * values build a better graph more slowly.</li>
+ * <li>{@code efSearch} - the candidate list size used while searching; higher values
+ * improve recall at the cost of latency. It is never smaller than the requested topK.
+ * </li>
+ * </ul>
+ *
+ * Filter expressions and similarity thresholds follow the {@link SearchRequest} semantics
+ * of the {@link SimpleVectorStore}.
+ *
+ * @since 2.0.0
+ */
+public class HnswVectorStore extends AbstractObservationVectorStore {
+
+	private final HnswGraph graph;
+
+	private final int efSearch;
+
+	private final FilterExpressionPredicateCompiler filterPredicateCompiler;
+
+	protected HnswVectorStore(HnswVectorStoreBuilder builder) {
+		super(builder);
+		this.graph = new HnswGraph(builder.m, builder.efConstruction, builder.seed);
+		this.efSearch = builder.efSearch;
+		this.filterPredicateCompiler = new FilterExpressionPredicateCompiler();
+	}
+
+	/**
+	 * Creates an instance of HnswVectorStore builder.
+	 * @param embeddingModel the embedding model to use
+	 * @return the HnswVectorStore builder.
+	 */
+	public static HnswVectorStoreBuilder builder(EmbeddingModel embeddingModel) {
+		return new HnswVectorStoreBuilder(embeddingModel);
+	}
+
+	@Override
+	public void doAdd(List<Document> documents) {
+		Objects.requireNonNull(documents, "Documents list cannot be null");
+		if (documents.isEmpty()) {
+			throw new IllegalArgumentException("Documents list cannot be empty");
+		}
+
+		List<float[]> embeddings = this.embeddingModel.embed(documents, EmbeddingOptions.builder().build(),
+				this.batchingStrategy);
+		for (int i = 0; i < documents.size(); i++) {
+			Document document = documents.get(i);
+			this.graph.put(new SimpleVectorStoreContent(document.getId(), document.getText(), document.getMetadata(),
+					embeddings.get(i)));
+		}
+	}
+
+	@Override
+	public void doDelete(List<String> idList) {
+		this.graph.removeAll(idList);
+	}
+
+	@Override
+	protected void doDelete(Filter.Expression filterExpression) {
+		Assert.notNull(filterExpression, "Filter expression must not be null");
+		this.graph.removeAll(this.graph.findIds(this.filterPredicateCompiler.compile(filterExpression)));
+	}
+
+	@Override
+	public List<Document> doSimilaritySearch(SearchRequest request) {
+		float[] queryEmbedding = this.embeddingModel.embed(request.getQuery());
+		Predicate<Map<String, Object>> filter = request.hasFilterExpression()
+				? this.filterPredicateCompiler.compile(Objects.requireNonNull(request.getFilterExpression())) : null;
+		return this.graph.search(queryEmbedding, request.getTopK(), this.efSearch, request.getSimilarityThreshold(),
+				filter);
+	}
+
+	/**
+	 * Returns the number of documents currently indexed.
+	 * @return the number of documents
+	 */
+	public int size() {
+		return this.graph.size();
+	}
+
+	@Override
+	public VectorStoreObservationContext.Builder createObservationContextBuilder(String operationName) {
+		return VectorStoreObservationContext.builder(VectorStoreProvider.HNSW.value(), operationName)
+			.dimensions(this.embeddingModel.dimensions())
+			.collectionName("in-memory-hnsw")
+			.similarityMetric(VectorStoreSimilarityMetric.COSINE.value());
+	}
+
+	public static final class HnswVectorStoreBuilder extends AbstractVectorStoreBuilder<HnswVectorStoreBuilder> {
+
+		/**
+		 * Default number of neighbours per node.
+		 */
+		public static final int DEFAULT_M = 16;
+
+		/**
+		 * Default candidate list size used while inserting.
+		 */
+		public static final int DEFAULT_EF_CONSTRUCTION = 200;
+
+		/**
+		 * Default candidate list size used while searching.
+		 */
+		public static final int DEFAULT_EF_SEARCH = 64;
+
+		private int m = DEFAULT_M;
+
+		private int efConstruction = DEFAULT_EF_CONSTRUCTION;
+
+		private int efSearch = DEFAULT_EF_SEARCH;
+
+		private long seed = 42L;
+
+		private HnswVectorStoreBuilder(EmbeddingModel embeddingModel) {
+			super(embeddingModel);
+		}
+
+		/**
+		 * Sets the number of neighbours kept per node on the upper layers. The base layer
+		 * keeps twice as many. Defaults to {@value #DEFAULT_M}.
+		 * @param m the number of neighbours per node
+		 * @return the builder instance
+		 */
+		public HnswVectorStoreBuilder m(int m) {
+			Assert.isTrue(m > 1, "m must be greater than 1");
+			this.m = m;
+			return this;
+		}
+
+		/**
+		 * Sets the candidate list size used while inserting. Defaults to
+		 * {@value #DEFAULT_EF_CONSTRUCTION}.
+		 * @param efConstruction the candidate list size
+		 * @return the builder instance
+		 */
+		public HnswVectorStoreBuilder efConstruction(int efConstruction) {
+			Assert.isTrue(efConstruction > 0, "efConstruction must be greater than 0");
+			this.efConstruction = efConstruction;
+			return this;
+		}
+
+		/**
+		 * Sets the candidate list size used while searching. Defaults to
+		 * {@value #DEFAULT_EF_SEARCH}.
+		 * @param efSearch the candidate list size
+		 * @return the builder instance
+		 */
+		public HnswVectorStoreBuilder efSearch(int efSearch) {
+			Assert.isTrue(efSearch > 0, "efSearch must be greater than 0");
+			this.efSearch = efSearch;
+			return this;
+		}
+
+		/**
+		 * Sets the seed of the random generator that assigns graph levels, making the
+		 * graph layout reproducible for a given insertion order.
+		 * @param seed the random seed
+		 * @return the builder instance
+		 */
+		public HnswVectorStoreBuilder seed(long seed) {
+			this.seed = seed;
+			return this;
+		}
+
+		@Override
+		public HnswVectorStore build() {
+			return new HnswVectorStore(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+import org.springframework.util.Assert;
+
+/**
+ * Compact codes of the rows of a {@link SimpleVectorStoreIndex}, scanned in place of the
+ * float vectors to shortlist candidates that are then rescored exactly.
+ *
+ * <p>
+ * Two encodings are supported:
+ * <ul>
+ * <li>{@link SimpleVectorStore.Quantization#INT8 INT8}: every dimension is mapped
+ * linearly onto 256 levels between the minimum and maximum value observed for that
+ * dimension, using one byte per dimension. The dot product with a query is estimated
+ * directly from the codes.</li>
+ * <li>{@link SimpleVectorStore.Quantization#BINARY BINARY}: every dimension of the
+ * normalized vector is reduced to a single bit telling whether it lies above the mean of
+ * that dimension. Candidates are ranked by the Hamming distance between their codes and
+ * the code of the query.</li>
+ * </ul>
+ *
+ * <p>
+ * Rows added after calibration are encoded with the existing calibration, clamping values
+ * outside the calibrated range. The owner recalibrates whenever the number of rows has
+ * doubled since the last calibration, see {@link #needsCalibration(int)}.
+ *
+ * <p>
+ * Instances are not thread-safe; the owning index guards them with its read-write lock.
+ *
+ * @since 2.0.0
+ */
+final class QuantizedVectors {
+
+	private static final int LEVELS = 255;
+
+	private final SimpleVectorStore.Quantization quantization;
+
+	private final int dimensions;
+
+	private final int stride;
+
+	private byte[] bytes = new byte[0];
+
+	private long[] bits = new long[0];
+
+	private final float[] minimums;
+
+	private final float[] scales;
+
+	private final float[] means;
+
+	private int calibratedSize;
+
+	QuantizedVectors(SimpleVectorStore.Quantization quantization, int dimensions) {
+		Assert.isTrue(quantization != SimpleVectorStore.Quantization.NONE, "quantization must not be NONE");
+		this.quantization = quantization;
+		this.dimensions = dimensions;
+		this.stride = (quantization == SimpleVectorStore.Quantization.INT8) ? dimensions : (dimensions + 63) >>> 6;
+		this.minimums = new float[dimensions];
+		this.scales = new float[dimensions];
+		this.means = new float[dimensions];
+	}
+
+	/**
+	 * Returns whether the calibration is missing or based on less than half of the rows.
+	 * @param size the current number of rows
+	 * @return {@code true} if {@link #calibrate} should be called
+	 */
+	boolean needsCalibration(int size) {
+		return size > 0 && size >= 2 * this.calibratedSize;
+	}
+
+	/**
+	 * Recomputes the calibration from the given rows and re-encodes all of them.
+	 * @param size the number of rows
+	 * @param embeddings the raw embedding of each row
+	 * @param inverseNorms the inverse L2 norm of each row
+	 */
+	void calibrate(int size, IntFunction<float[]> embeddings, float[] inverseNorms) {
+		float[] minimums = new float[this.dimensions];
+		float[] maximums = new float[this.dimensions];
+		double[] sums = new double[this.dimensions];
+		Arrays.fill(minimums, Float.POSITIVE_INFINITY);
+		Arrays.fill(maximums, Float.NEGATIVE_INFINITY);
+		for (int slot = 0; slot < size; slot++) {
+			float[] embedding = embeddings.apply(slot);
+			for (int d = 0; d < this.dimensions; d++) {
+				minimums[d] = Math.min(minimums[d], embedding[d]);
+				maximums[d] = Math.max(maximums[d], embedding[d]);
+				sums[d] += embedding[d] * inverseNorms[slot];
+			}
+		}
+		for (int d = 0; d < this.dimensions; d++) {
+			this.minimums[d] = (size > 0) ? minimums[d] : 0f;
+			this.scales[d] = (size > 0) ? (maximums[d] - minimums[d]) / LEVELS : 0f;
+			this.means[d] = (size > 0) ? (float) (sums[d] / size) : 0f;
+		}
+		ensureCapacity(size);
+		for (int slot = 0; slot < size; slot++) {
+			set(slot, embeddings.apply(slot), inverseNorms[slot]);
+		}
+		this.calibratedSize = size;
+	}
+
+	/**
+	 * Encodes a row.
+	 * @param slot the row slot
+	 * @param embedding the raw embedding
+	 * @param inverseNorm the inverse L2 norm of the embedding
+	 */
+	void set(int slot, float[] embedding, float inverseNorm) {
+		int offset = slot * this.stride;
+		if (this.quantization == SimpleVectorStore.Quantization.INT8) {
+			for (int d = 0; d < this.dimensions; d++) {
+				int level = (this.scales[d] > 0) ? Math.round((embedding[d] - this.minimums[d]) / this.scales[d]) : 0;
+				this.bytes[offset + d] = (byte) (Math.max(0, Math.min(LEVELS, level)) - 128);
+			}
+		}
+		else {
+			Arrays.fill(this.bits, offset, offset + this.stride, 0L);
+			for (int d = 0; d < this.dimensions; d++) {
+				if (embedding[d] * inverseNorm > this.means[d]) {
+					this.bits[offset + (d >>> 6)] |= 1L << d;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies the code of one row over another, mirroring a swap-last delete.
+	 * @param from the slot to copy
+	 * @param to the slot to overwrite
+	 */
+	void move(int from, int to) {
+		if (this.quantization == SimpleVectorStore.Quantization.INT8) {
+			System.arraycopy(this.bytes, from * this.stride, this.bytes, to * this.stride, this.stride);
+		}
+		else {
+			System.arraycopy(this.bits, from * this.stride, this.bits, to * this.stride, this.stride);
+		}
+	}
+
+	void ensureCapacity(int capacity) {
+		int required = Math.multiplyExact(capacity, this.stride);
+		if (this.quantization == SimpleVectorStore.Quantization.INT8) {
+			if (this.bytes.length < required) {
+				this.bytes = Arrays.copyOf(this.bytes, required);
+			}
+		}
+		else if (this.bits.length < required) {
+			this.bits = Arrays.copyOf(this.bits, required);
+		}
+	}
+
+	/**
+	 * Prepares the scoring of all rows against a query.
+	 * @param normalizedQuery the L2-normalized query
+	 * @param inverseNorms the inverse L2 norm of each row
+	 * @return a scorer whose scores rank the rows like their cosine similarity, roughly
+	 */
+	Scorer scorer(float[] normalizedQuery, float[] inverseNorms) {
+		if (this.quantization == SimpleVectorStore.Quantization.INT8) {
+			return int8Scorer(normalizedQuery, inverseNorms);
+		}
+		return binaryScorer(normalizedQuery);
+	}
+
+	/**
+	 * Expands {@code x = min + scale * (code + 128)}, so that the dot product with the
+	 * query becomes a constant plus the dot product of the scaled query with the codes.
+	 */
+	private Scorer int8Scorer(float[] normalizedQuery, float[] inverseNorms) {
+		float[] scaledQuery = new float[this.dimensions];
+		double offset = 0;
+		for (int d = 0; d < this.dimensions; d++) {
+			scaledQuery[d] = normalizedQuery[d] * this.scales[d];
+			offset += normalizedQuery[d] * this.minimums[d] + 128.0 * scaledQuery[d];
+		}
+		float constant = (float) offset;
+		byte[] codes = this.bytes;
+		int dims = this.dimensions;
+		return slot -> (constant + EmbeddingKernels.dot(scaledQuery, codes, slot * dims, dims)) * inverseNorms[slot];
+	}
+
+	private Scorer binaryScorer(float[] normalizedQuery) {
+		long[] queryCode = new long[this.stride];
+		for (int d = 0; d < this.dimensions; d++) {
+			if (normalizedQuery[d] > this.means[d]) {
+				queryCode[d >>> 6] |= 1L << d;
+			}
+		}
+		long[] codes = this.bits;
+		int words = this.stride;
+		return slot -> -EmbeddingKernels.hammingDistance(queryCode, codes, slot * words, words);
+	}
+
+	/**
+	 * Approximate score of a row; higher is more similar.
+	 */
+	@FunctionalInterface
+	interface Scorer {
+
+		float score(int slot);
+
+	}
+
+}
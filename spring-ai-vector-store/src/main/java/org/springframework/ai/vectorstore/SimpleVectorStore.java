@@ -16,21 +16,31 @@
 
 package org.springframework.ai.vectorstore;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
-import java.util.Comparator;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -46,20 +56,23 @@ import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.observation.conventions.VectorStoreProvider;
 import org.springframework.ai.observation.conventions.VectorStoreSimilarityMetric;
 import org.springframework.ai.util.JacksonUtils;
-import org.springframework.ai.vectorstore.filter.FilterExpressionConverter;
-import org.springframework.ai.vectorstore.filter.converter.SimpleVectorStoreFilterExpressionConverter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionPredicateCompiler;
 import org.springframework.ai.vectorstore.observation.AbstractObservationVectorStore;
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationContext;
 import org.springframework.core.io.Resource;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * SimpleVectorStore is a simple implementation of the VectorStore interface.
  *
+ * Embeddings are held as given in a contiguous in-memory matrix, along with their inverse
+ * L2 norms, and scanned exhaustively on every search; only the top-K matches are turned
+ * into documents.
+ *
  * It also provides methods to save the current state of the vectors to a file, and to
- * load vectors from a file.
+ * load vectors from a file, either as JSON or in a compact binary format that is
+ * memory-mapped on load.
  *
  * For a deeper understanding of the mathematical concepts and computations involved in
  * calculating similarity scores among vectors, refer to this
@@ -78,19 +91,34 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 
 	private static final Logger logger = LoggerFactory.getLogger(SimpleVectorStore.class);
 
+	private static final TypeReference<HashMap<String, SimpleVectorStoreContent>> CONTENT_TYPE = new TypeReference<>() {
+
+	};
+
 	private final ObjectMapper objectMapper;
 
-	private final ExpressionParser expressionParser;
+	private final FilterExpressionPredicateCompiler filterPredicateCompiler;
 
-	private final FilterExpressionConverter filterExpressionConverter;
+	private final SimpleVectorStoreIndex index;
 
-	protected Map<String, SimpleVectorStoreContent> store = new ConcurrentHashMap<>();
+	/**
+	 * Read-only view of the stored content by id, reflecting the current content of the
+	 * store.
+	 * @deprecated since 2.0.0, as the content is held in an index of the store that can
+	 * no longer be modified through this map
+	 */
+	@Deprecated(since = "2.0.0", forRemoval = true)
+	protected final Map<String, SimpleVectorStoreContent> store;
 
 	protected SimpleVectorStore(SimpleVectorStoreBuilder builder) {
 		super(builder);
 		this.objectMapper = JsonMapper.builder().addModules(JacksonUtils.instantiateAvailableModules()).build();
-		this.expressionParser = new SpelExpressionParser();
-		this.filterExpressionConverter = new SimpleVectorStoreFilterExpressionConverter();
+		this.filterPredicateCompiler = new FilterExpressionPredicateCompiler();
+		this.index = new SimpleVectorStoreIndex(builder.searchParallelism, builder.minPartitionSize,
+				builder.searchExecutor, builder.indexedMetadataKeys, builder.quantization,
+				(builder.rescoreFactor != null) ? builder.rescoreFactor : builder.quantization.defaultRescoreFactor(),
+				builder.spillDirectory);
+		this.store = new StoreView(this.index);
 	}
 
 	/**
@@ -113,40 +141,28 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 			float[] embedding = this.embeddingModel.embed(document);
 			SimpleVectorStoreContent storeContent = new SimpleVectorStoreContent(document.getId(), document.getText(),
 					document.getMetadata(), embedding);
-			this.store.put(document.getId(), storeContent);
+			this.index.put(storeContent);
 		}
 	}
 
 	@Override
 	public void doDelete(List<String> idList) {
 		for (String id : idList) {
-			this.store.remove(id);
+			this.index.remove(id);
 		}
 	}
 
 	@Override
 	public List<Document> doSimilaritySearch(SearchRequest request) {
-		Predicate<SimpleVectorStoreContent> documentFilterPredicate = doFilterPredicate(request);
 		float[] userQueryEmbedding = getUserQueryEmbedding(request.getQuery());
-		return this.store.values()
-			.stream()
-			.filter(documentFilterPredicate)
-			.map(content -> content
-				.toDocument(EmbeddingMath.cosineSimilarity(userQueryEmbedding, content.getEmbedding())))
-			.filter(document -> document.getScore() >= request.getSimilarityThreshold())
-			.sorted(Comparator.comparing(Document::getScore).reversed())
-			.limit(request.getTopK())
-			.toList();
+		return this.index.search(userQueryEmbedding, request.getTopK(), request.getSimilarityThreshold(),
+				request.getFilterExpression(), doFilterPredicate(request));
 	}
 
-	private Predicate<SimpleVectorStoreContent> doFilterPredicate(SearchRequest request) {
-		return request.hasFilterExpression() ? document -> {
-			StandardEvaluationContext context = new StandardEvaluationContext();
-			context.setVariable("metadata", document.getMetadata());
-			return this.expressionParser
-				.parseExpression(this.filterExpressionConverter.convertExpression(request.getFilterExpression()))
-				.getValue(context, Boolean.class);
-		} : document -> true;
+	@Nullable
+	private Predicate<Map<String, Object>> doFilterPredicate(SearchRequest request) {
+		return request.hasFilterExpression()
+				? this.filterPredicateCompiler.compile(Objects.requireNonNull(request.getFilterExpression())) : null;
 	}
 
 	/**
@@ -192,15 +208,41 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 	}
 
 	/**
-	 * Deserialize the vector store content from a file in JSON format into memory.
+	 * Serialize the vector store content into a file in the compact binary format.
+	 *
+	 * The file is streamed to a temporary file next to the target and atomically renamed
+	 * over it once complete, so readers never observe a partially written store. Binary
+	 * files are memory-mapped by {@link #load(File)}, which keeps the embeddings off the
+	 * Java heap until the store is next modified.
+	 * @param file the file to save the vector store content
+	 */
+	public void saveBinary(File file) {
+		logger.info("Saving binary vector store file: {}", file);
+		try (SimpleVectorStoreBinaryFormat.Writer writer = new SimpleVectorStoreBinaryFormat.Writer(file.toPath(),
+				this.objectMapper)) {
+			this.index.writeTo(writer);
+			writer.commit();
+		}
+		catch (IOException ex) {
+			logger.error("IOException occurred while saving binary vector store file.", ex);
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Deserialize the vector store content from a file into memory. Both the JSON format
+	 * written by {@link #save(File)} and the binary format written by
+	 * {@link #saveBinary(File)} are supported.
 	 * @param file the file to load the vector store content
 	 */
 	public void load(File file) {
-		TypeReference<HashMap<String, SimpleVectorStoreContent>> typeRef = new TypeReference<>() {
-
-		};
 		try {
-			this.store = this.objectMapper.readValue(file, typeRef);
+			if (SimpleVectorStoreBinaryFormat.isBinary(file.toPath())) {
+				this.index.replaceAll(SimpleVectorStoreBinaryFormat.read(file.toPath(), this.objectMapper));
+			}
+			else {
+				this.index.replaceAll(this.objectMapper.readValue(file, CONTENT_TYPE).values());
+			}
 		}
 		catch (IOException ex) {
 			throw new RuntimeException(ex);
@@ -208,15 +250,44 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 	}
 
 	/**
-	 * Deserialize the vector store content from a resource in JSON format into memory.
+	 * Deserialize the vector store content from a resource into memory. Both the JSON and
+	 * the binary format are supported; binary resources backed by a file are
+	 * memory-mapped.
 	 * @param resource the resource to load the vector store content
 	 */
 	public void load(Resource resource) {
-		TypeReference<HashMap<String, SimpleVectorStoreContent>> typeRef = new TypeReference<>() {
-
-		};
 		try {
-			this.store = this.objectMapper.readValue(resource.getInputStream(), typeRef);
+			if (resource.isFile()) {
+				load(resource.getFile());
+				return;
+			}
+			try (InputStream in = new BufferedInputStream(resource.getInputStream())) {
+				in.mark(SimpleVectorStoreBinaryFormat.HEADER_SIZE);
+				byte[] head = in.readNBytes(SimpleVectorStoreBinaryFormat.HEADER_SIZE);
+				in.reset();
+				if (SimpleVectorStoreBinaryFormat.isBinary(head)) {
+					this.index.replaceAll(SimpleVectorStoreBinaryFormat.read(in.readAllBytes(), this.objectMapper));
+				}
+				else {
+					this.index.replaceAll(this.objectMapper.readValue(in, CONTENT_TYPE).values());
+				}
+			}
+		}
+		catch (IOException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Converts a vector store file in JSON format into the binary format. Entries are
+	 * streamed one at a time, so stores larger than the available heap can be converted.
+	 * @param jsonFile the existing JSON vector store file
+	 * @param binaryFile the binary file to write
+	 */
+	public static void convertToBinary(File jsonFile, File binaryFile) {
+		try (InputStream in = Files.newInputStream(jsonFile.toPath())) {
+			SimpleVectorStoreBinaryFormat.convertJson(in, binaryFile.toPath(),
+					JsonMapper.builder().addModules(JacksonUtils.instantiateAvailableModules()).build());
 		}
 		catch (IOException ex) {
 			throw new RuntimeException(ex);
@@ -226,7 +297,9 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 	private String getVectorDbAsJson() {
 		ObjectWriter objectWriter = this.objectMapper.writerWithDefaultPrettyPrinter();
 		try {
-			return objectWriter.writeValueAsString(this.store);
+			Map<String, SimpleVectorStoreContent> store = new LinkedHashMap<>();
+			this.index.contents().forEach(content -> store.put(content.getId(), content));
+			return objectWriter.writeValueAsString(store);
 		}
 		catch (JsonProcessingException e) {
 			throw new RuntimeException("Error serializing documentMap to JSON.", e);
@@ -290,12 +363,177 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 
 	}
 
+	/**
+	 * Encoding of the compact codes a {@link SimpleVectorStore} scans to shortlist
+	 * candidates before rescoring them exactly against the float embeddings.
+	 */
+	public enum Quantization {
+
+		/**
+		 * Scan the float embeddings directly.
+		 */
+		NONE(1),
+
+		/**
+		 * Scan one byte per dimension, calibrated per dimension between the observed
+		 * minimum and maximum values. A quarter of the memory traffic of float vectors.
+		 */
+		INT8(4),
+
+		/**
+		 * Scan one bit per dimension and rank candidates by Hamming distance. A
+		 * thirty-second of the memory traffic of float vectors, at the cost of a larger
+		 * shortlist to rescore.
+		 */
+		BINARY(16);
+
+		private final int defaultRescoreFactor;
+
+		Quantization(int defaultRescoreFactor) {
+			this.defaultRescoreFactor = defaultRescoreFactor;
+		}
+
+		/**
+		 * Returns how many times {@code topK} candidates are rescored by default.
+		 * @return the default rescore factor
+		 */
+		public int defaultRescoreFactor() {
+			return this.defaultRescoreFactor;
+		}
+
+	}
+
 	public static final class SimpleVectorStoreBuilder extends AbstractVectorStoreBuilder<SimpleVectorStoreBuilder> {
 
+		/**
+		 * Default minimum number of documents per search partition.
+		 */
+		public static final int DEFAULT_MIN_PARTITION_SIZE = 10_000;
+
+		private int searchParallelism = 1;
+
+		private int minPartitionSize = DEFAULT_MIN_PARTITION_SIZE;
+
+		private Executor searchExecutor = ForkJoinPool.commonPool();
+
+		private final Set<String> indexedMetadataKeys = new LinkedHashSet<>();
+
+		private Quantization quantization = Quantization.NONE;
+
+		@Nullable
+		private Integer rescoreFactor;
+
+		@Nullable
+		private Path spillDirectory;
+
 		private SimpleVectorStoreBuilder(EmbeddingModel embeddingModel) {
 			super(embeddingModel);
 		}
 
+		/**
+		 * Sets the maximum number of partitions a similarity search is split into. Each
+		 * partition is scored concurrently and keeps its own top-K, and the partial
+		 * results are merged at the end. Defaults to {@code 1}, which scores the whole
+		 * store on the calling thread.
+		 * @param searchParallelism the maximum number of concurrently scored partitions
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder searchParallelism(int searchParallelism) {
+			Assert.isTrue(searchParallelism > 0, "searchParallelism must be greater than 0");
+			this.searchParallelism = searchParallelism;
+			return this;
+		}
+
+		/**
+		 * Sets the minimum number of documents per search partition. Stores smaller than
+		 * twice this size are always scored on the calling thread. Defaults to
+		 * {@value #DEFAULT_MIN_PARTITION_SIZE}.
+		 * @param minPartitionSize the minimum number of documents per partition
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder minPartitionSize(int minPartitionSize) {
+			Assert.isTrue(minPartitionSize > 0, "minPartitionSize must be greater than 0");
+			this.minPartitionSize = minPartitionSize;
+			return this;
+		}
+
+		/**
+		 * Sets the executor used to score search partitions. Defaults to the
+		 * {@link ForkJoinPool#commonPool() common pool}.
+		 * @param searchExecutor the executor for partitioned searches
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder searchExecutor(Executor searchExecutor) {
+			Assert.notNull(searchExecutor, "searchExecutor must not be null");
+			this.searchExecutor = searchExecutor;
+			return this;
+		}
+
+		/**
+		 * Declares metadata keys to keep an inverted index for, typically low-cardinality
+		 * keys such as a tenant or document type. Equality and {@code IN} clauses of a
+		 * filter expression on these keys restrict the search to the matching documents
+		 * before any similarity is computed, instead of testing the filter against every
+		 * stored document.
+		 * @param keys the metadata keys to index
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder indexedMetadataKeys(String... keys) {
+			Assert.notNull(keys, "keys must not be null");
+			Assert.noNullElements(keys, "keys must not contain null elements");
+			this.indexedMetadataKeys.addAll(Arrays.asList(keys));
+			return this;
+		}
+
+		/**
+		 * Sets the encoding of the compact codes scanned on every search. With
+		 * quantization enabled, searches read the codes only and rescore the best
+		 * {@code topK * rescoreFactor} candidates exactly, so the float embeddings are
+		 * touched for the shortlist only. The codes are held in addition to the float
+		 * embeddings, which the exact rescoring needs, so a store built in memory uses
+		 * more heap rather than less, unless a {@link #spillDirectory(Path) spill
+		 * directory} is set. Embeddings loaded from a
+		 * {@link SimpleVectorStore#saveBinary(File) binary file} however stay
+		 * memory-mapped, even once the store is modified, and are paged in for the
+		 * shortlisted rows only, leaving just the codes and the added or updated
+		 * embeddings on the heap. Defaults to {@link Quantization#NONE}.
+		 * @param quantization the code encoding
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder quantization(Quantization quantization) {
+			Assert.notNull(quantization, "quantization must not be null");
+			this.quantization = quantization;
+			return this;
+		}
+
+		/**
+		 * Sets how many times {@code topK} candidates of a quantized scan are rescored
+		 * exactly. Higher values trade latency for recall. Defaults to
+		 * {@link Quantization#defaultRescoreFactor()}.
+		 * @param rescoreFactor the shortlist size as a multiple of {@code topK}
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder rescoreFactor(int rescoreFactor) {
+			Assert.isTrue(rescoreFactor > 0, "rescoreFactor must be greater than 0");
+			this.rescoreFactor = rescoreFactor;
+			return this;
+		}
+
+		/**
+		 * Sets the directory of a scratch file the float embeddings of a quantized store
+		 * are written to instead of the heap. Searches then read the embeddings of the
+		 * shortlisted candidates only from the file, so that the heap holds just the
+		 * codes, at the cost of a file read per rescored candidate. The file is deleted
+		 * on exit. Requires a {@link #quantization(Quantization) quantization}.
+		 * @param spillDirectory the directory of the scratch file
+		 * @return the builder instance
+		 */
+		public SimpleVectorStoreBuilder spillDirectory(Path spillDirectory) {
+			Assert.notNull(spillDirectory, "spillDirectory must not be null");
+			this.spillDirectory = spillDirectory;
+			return this;
+		}
+
 		@Override
 		public SimpleVectorStore build() {
 			return new SimpleVectorStore(this);
@@ -303,4 +541,54 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 
 	}
 
+	/**
+	 * Read-only map view of a {@link SimpleVectorStoreIndex}. Iterating over it iterates
+	 * over a snapshot of the content taken when the iteration starts.
+	 */
+	private static final class StoreView extends AbstractMap<String, SimpleVectorStoreContent> {
+
+		private final SimpleVectorStoreIndex index;
+
+		StoreView(SimpleVectorStoreIndex index) {
+			this.index = index;
+		}
+
+		@Override
+		@Nullable
+		public SimpleVectorStoreContent get(Object key) {
+			return (key instanceof String id) ? this.index.get(id) : null;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return get(key) != null;
+		}
+
+		@Override
+		public int size() {
+			return this.index.size();
+		}
+
+		@Override
+		public Set<Entry<String, SimpleVectorStoreContent>> entrySet() {
+			return new AbstractSet<>() {
+
+				@Override
+				public Iterator<Entry<String, SimpleVectorStoreContent>> iterator() {
+					return StoreView.this.index.contents()
+						.stream()
+						.map(content -> Map.entry(content.getId(), content))
+						.iterator();
+				}
+
+				@Override
+				public int size() {
+					return StoreView.this.index.size();
+				}
+
+			};
+		}
+
+	}
+
 }
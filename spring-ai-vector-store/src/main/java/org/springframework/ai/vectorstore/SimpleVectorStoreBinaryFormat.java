@@ -0,0 +1,561 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Compact binary persistence format of the {@link SimpleVectorStore}.
+ *
+ * <p>
+ * A file consists of:
+ * <ol>
+ * <li>a {@value #HEADER_SIZE}-byte header: magic, format version, dimensions, row count
+ * and the offsets of the following sections;</li>
+ * <li>the vector block: {@code count * dimensions} little-endian {@code float32} values,
+ * one fixed-stride row per document;</li>
+ * <li>the inverse L2 norm of every row;</li>
+ * <li>the side table: for every row, the length-prefixed UTF-8 id, text and JSON
+ * metadata, where a length of {@code -1} stands for a missing text.</li>
+ * </ol>
+ *
+ * <p>
+ * Files are read through {@link FileChannel#map memory mapping}: the vector block stays
+ * off-heap and is paged in by the operating system as it is scanned, and document text is
+ * only decoded when a document is returned. Only ids and metadata, which are needed to
+ * address and filter rows, are parsed at load time.
+ *
+ * <p>
+ * Files are written in a single streaming pass to a temporary file in the target
+ * directory that is atomically renamed over the target once complete.
+ *
+ * @since 2.0.0
+ */
+final class SimpleVectorStoreBinaryFormat {
+
+	static final int HEADER_SIZE = 64;
+
+	static final int VERSION = 1;
+
+	private static final byte[] MAGIC = { 'S', 'A', 'I', 'V', 'S', 'B', 'I', 'N' };
+
+	private static final int MAX_CHUNK_SIZE = 1 << 30;
+
+	private static final int NULL_LENGTH = -1;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final TypeReference<HashMap<String, Object>> METADATA_TYPE = new TypeReference<>() {
+
+	};
+
+	private SimpleVectorStoreBinaryFormat() {
+		throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+	}
+
+	/**
+	 * Returns whether the given leading bytes start with the binary format magic.
+	 * @param head the first bytes of a file
+	 * @return {@code true} for a binary store file
+	 */
+	static boolean isBinary(byte[] head) {
+		return head.length >= MAGIC.length && Arrays.equals(Arrays.copyOf(head, MAGIC.length), MAGIC);
+	}
+
+	/**
+	 * Returns whether the given file starts with the binary format magic.
+	 * @param file the file to probe
+	 * @return {@code true} for a binary store file
+	 * @throws IOException if the file cannot be read
+	 */
+	static boolean isBinary(Path file) throws IOException {
+		try (InputStream in = Files.newInputStream(file)) {
+			return isBinary(in.readNBytes(MAGIC.length));
+		}
+	}
+
+	/**
+	 * Memory-maps a binary store file.
+	 * @param file the file to read
+	 * @param objectMapper the mapper used to parse metadata
+	 * @return the loaded store content
+	 * @throws IOException if the file cannot be read or is not a valid store file
+	 */
+	static Contents read(Path file, ObjectMapper objectMapper) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return read((position, length) -> channel.map(FileChannel.MapMode.READ_ONLY, position, length),
+					channel.size(), objectMapper);
+		}
+	}
+
+	/**
+	 * Reads a binary store held in memory, e.g. a classpath resource.
+	 * @param bytes the store bytes
+	 * @param objectMapper the mapper used to parse metadata
+	 * @return the loaded store content
+	 * @throws IOException if the bytes are not a valid store file
+	 */
+	static Contents read(byte[] bytes, ObjectMapper objectMapper) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		return read((position, length) -> buffer.slice((int) position, length), bytes.length, objectMapper);
+	}
+
+	private static Contents read(Source source, long fileSize, ObjectMapper objectMapper) throws IOException {
+		if (fileSize < HEADER_SIZE) {
+			throw new IOException("Not a SimpleVectorStore binary file: too short");
+		}
+		ByteBuffer header = source.slice(0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		byte[] magic = new byte[MAGIC.length];
+		header.get(magic);
+		if (!isBinary(magic)) {
+			throw new IOException("Not a SimpleVectorStore binary file: bad magic");
+		}
+		int version = header.getInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported SimpleVectorStore binary format version: " + version);
+		}
+		int dimensions = header.getInt();
+		int count = Math.toIntExact(header.getLong());
+		long vectorsOffset = header.getLong();
+		long normsOffset = header.getLong();
+		long tableOffset = header.getLong();
+		long tableLength = header.getLong();
+		if (tableOffset + tableLength > fileSize) {
+			throw new IOException("Truncated SimpleVectorStore binary file");
+		}
+
+		MappedVectors vectors = MappedVectors.map(source, vectorsOffset, count, dimensions);
+
+		float[] inverseNorms = new float[count];
+		if (count > 0) {
+			source.slice(normsOffset, Math.multiplyExact(count, Float.BYTES))
+				.order(ByteOrder.LITTLE_ENDIAN)
+				.asFloatBuffer()
+				.get(inverseNorms);
+		}
+
+		Region table = Region.map(source, tableOffset, tableLength);
+		SimpleVectorStoreIndex.Row[] rows = new SimpleVectorStoreIndex.Row[count];
+		long position = 0;
+		for (int i = 0; i < count; i++) {
+			int idLength = table.readInt(position);
+			String id = new String(table.read(position + Integer.BYTES, idLength), StandardCharsets.UTF_8);
+			position += Integer.BYTES + idLength;
+
+			int textLength = table.readInt(position);
+			Supplier<String> text = (textLength != NULL_LENGTH)
+					? new LazyText(table, position + Integer.BYTES, textLength) : () -> null;
+			position += Integer.BYTES + Math.max(textLength, 0);
+
+			int metadataLength = table.readInt(position);
+			Map<String, Object> metadata = objectMapper.readValue(table.read(position + Integer.BYTES, metadataLength),
+					METADATA_TYPE);
+			position += Integer.BYTES + metadataLength;
+
+			rows[i] = new SimpleVectorStoreIndex.Row(id, text, metadata);
+		}
+		return new Contents(dimensions, vectors, inverseNorms, rows);
+	}
+
+	/**
+	 * Streams an existing JSON store file into a binary store file, one entry at a time,
+	 * without materializing the whole store in memory.
+	 * @param json the JSON store content
+	 * @param target the binary file to write
+	 * @param objectMapper the mapper used to parse the JSON and write metadata
+	 * @throws IOException if reading or writing fails
+	 */
+	static void convertJson(InputStream json, Path target, ObjectMapper objectMapper) throws IOException {
+		try (JsonParser parser = objectMapper.getFactory().createParser(json);
+				Writer writer = new Writer(target, objectMapper)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new IOException("Expected a JSON object of vector store entries");
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				parser.nextToken();
+				SimpleVectorStoreContent content = objectMapper.readValue(parser, SimpleVectorStoreContent.class);
+				writer.append(content.getId(), content.getText(), content.getMetadata(), content.getEmbedding());
+			}
+			writer.commit();
+		}
+	}
+
+	/**
+	 * Provides byte views of a section of the underlying file or buffer.
+	 */
+	@FunctionalInterface
+	private interface Source {
+
+		ByteBuffer slice(long position, int length) throws IOException;
+
+	}
+
+	/**
+	 * The content of a binary store file.
+	 *
+	 * @param dimensions the number of dimensions per row
+	 * @param vectors the off-heap vector block
+	 * @param inverseNorms the inverse L2 norm of every row
+	 * @param rows the side table
+	 */
+	record Contents(int dimensions, MappedVectors vectors, float[] inverseNorms, SimpleVectorStoreIndex.Row[] rows) {
+	}
+
+	/**
+	 * Read-only, fixed-stride vector block backed by one or more mapped buffers. Each
+	 * buffer holds a whole number of rows, so a row never straddles two buffers.
+	 */
+	static final class MappedVectors {
+
+		private final FloatBuffer[] chunks;
+
+		private final int rowsPerChunk;
+
+		private final int dimensions;
+
+		private MappedVectors(FloatBuffer[] chunks, int rowsPerChunk, int dimensions) {
+			this.chunks = chunks;
+			this.rowsPerChunk = rowsPerChunk;
+			this.dimensions = dimensions;
+		}
+
+		private static MappedVectors map(Source source, long offset, int count, int dimensions) throws IOException {
+			if (count == 0 || dimensions == 0) {
+				return new MappedVectors(new FloatBuffer[0], 1, dimensions);
+			}
+			long rowBytes = (long) dimensions * Float.BYTES;
+			int rowsPerChunk = (int) Math.max(1, MAX_CHUNK_SIZE / rowBytes);
+			int chunkCount = (count + rowsPerChunk - 1) / rowsPerChunk;
+			FloatBuffer[] chunks = new FloatBuffer[chunkCount];
+			for (int c = 0; c < chunkCount; c++) {
+				int rows = Math.min(rowsPerChunk, count - c * rowsPerChunk);
+				chunks[c] = source.slice(offset + c * rowsPerChunk * rowBytes, Math.toIntExact(rows * rowBytes))
+					.order(ByteOrder.LITTLE_ENDIAN)
+					.asFloatBuffer();
+			}
+			return new MappedVectors(chunks, rowsPerChunk, dimensions);
+		}
+
+		/**
+		 * Computes the dot product of the query and the given row.
+		 * @param query the query vector
+		 * @param slot the row
+		 * @return the dot product
+		 */
+		float dot(float[] query, int slot) {
+			return EmbeddingKernels.dot(query, this.chunks[slot / this.rowsPerChunk],
+					(slot % this.rowsPerChunk) * this.dimensions, this.dimensions);
+		}
+
+		/**
+		 * Copies the given row to the heap.
+		 * @param slot the row
+		 * @return the row values
+		 */
+		float[] row(int slot) {
+			float[] row = new float[this.dimensions];
+			this.chunks[slot / this.rowsPerChunk].get((slot % this.rowsPerChunk) * this.dimensions, row);
+			return row;
+		}
+
+		/**
+		 * Copies the first {@code count} rows into a heap matrix.
+		 * @param target the row-major target matrix
+		 * @param count the number of rows to copy
+		 */
+		void copyTo(float[] target, int count) {
+			int copied = 0;
+			for (FloatBuffer chunk : this.chunks) {
+				int rows = Math.min(this.rowsPerChunk, count - copied);
+				if (rows <= 0) {
+					break;
+				}
+				chunk.get(0, target, copied * this.dimensions, rows * this.dimensions);
+				copied += rows;
+			}
+		}
+
+	}
+
+	/**
+	 * A byte range of the file, possibly larger than a single mapped buffer.
+	 */
+	private static final class Region {
+
+		private final ByteBuffer[] chunks;
+
+		private Region(ByteBuffer[] chunks) {
+			this.chunks = chunks;
+		}
+
+		static Region map(Source source, long offset, long length) throws IOException {
+			int chunkCount = (int) ((length + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+			ByteBuffer[] chunks = new ByteBuffer[chunkCount];
+			for (int c = 0; c < chunkCount; c++) {
+				long start = (long) c * MAX_CHUNK_SIZE;
+				chunks[c] = source.slice(offset + start, (int) Math.min(MAX_CHUNK_SIZE, length - start));
+			}
+			return new Region(chunks);
+		}
+
+		int readInt(long position) {
+			return ByteBuffer.wrap(read(position, Integer.BYTES)).order(ByteOrder.LITTLE_ENDIAN).getInt();
+		}
+
+		byte[] read(long position, int length) {
+			byte[] bytes = new byte[length];
+			int copied = 0;
+			while (copied < length) {
+				long absolute = position + copied;
+				ByteBuffer chunk = this.chunks[(int) (absolute / MAX_CHUNK_SIZE)];
+				int offset = (int) (absolute % MAX_CHUNK_SIZE);
+				int count = Math.min(length - copied, chunk.limit() - offset);
+				chunk.get(offset, bytes, copied, count);
+				copied += count;
+			}
+			return bytes;
+		}
+
+	}
+
+	/**
+	 * Document text decoded from the mapped side table on first access only.
+	 */
+	private static final class LazyText implements Supplier<String> {
+
+		private final Region region;
+
+		private final long position;
+
+		private final int length;
+
+		LazyText(Region region, long position, int length) {
+			this.region = region;
+			this.position = position;
+			this.length = length;
+		}
+
+		@Override
+		public String get() {
+			return new String(this.region.read(this.position, this.length), StandardCharsets.UTF_8);
+		}
+
+	}
+
+	/**
+	 * Streaming writer of binary store files.
+	 *
+	 * <p>
+	 * Vectors are written straight into a temporary file at their final position while
+	 * the side table is spooled into a second temporary file; {@link #commit()} appends
+	 * the norms and the side table, fills in the header and atomically moves the result
+	 * over the target. Closing an uncommitted writer discards everything.
+	 */
+	static final class Writer implements Closeable {
+
+		private final Path target;
+
+		private final Path file;
+
+		private final Path tableFile;
+
+		private final FileChannel channel;
+
+		private final FileChannel tableChannel;
+
+		private final ObjectMapper objectMapper;
+
+		private final ByteBuffer vectorBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+		private final ByteBuffer tableBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+		private float[] inverseNorms = new float[1024];
+
+		private int count;
+
+		private int dimensions = -1;
+
+		private boolean committed;
+
+		Writer(Path target, ObjectMapper objectMapper) throws IOException {
+			this.target = target.toAbsolutePath();
+			this.objectMapper = objectMapper;
+			Path directory = this.target.getParent();
+			String prefix = this.target.getFileName() + ".";
+			this.file = Files.createTempFile(directory, prefix, ".tmp");
+			this.tableFile = Files.createTempFile(directory, prefix, ".table.tmp");
+			this.channel = FileChannel.open(this.file, StandardOpenOption.WRITE, StandardOpenOption.READ);
+			this.tableChannel = FileChannel.open(this.tableFile, StandardOpenOption.WRITE, StandardOpenOption.READ);
+			this.channel.position(HEADER_SIZE);
+		}
+
+		/**
+		 * Appends a row.
+		 * @param id the document id
+		 * @param text the document text, or {@code null} if the document has none
+		 * @param metadata the document metadata
+		 * @param embedding the document embedding
+		 * @throws IOException if writing fails
+		 */
+		void append(String id, @Nullable String text, Map<String, Object> metadata, float[] embedding)
+				throws IOException {
+			Assert.state(!this.committed, "Writer already committed");
+			if (this.dimensions < 0) {
+				this.dimensions = embedding.length;
+			}
+			else if (this.dimensions != embedding.length) {
+				throw new IllegalArgumentException("Vectors lengths must be equal");
+			}
+			float norm = EmbeddingKernels.norm(embedding);
+			if (norm == 0) {
+				throw new IllegalArgumentException("Vectors cannot have zero norm");
+			}
+			if (this.count == this.inverseNorms.length) {
+				this.inverseNorms = Arrays.copyOf(this.inverseNorms, this.count * 2);
+			}
+			this.inverseNorms[this.count++] = 1.0f / norm;
+
+			for (float value : embedding) {
+				if (!this.vectorBuffer.hasRemaining()) {
+					flush(this.vectorBuffer, this.channel);
+				}
+				this.vectorBuffer.putFloat(value);
+			}
+
+			writeTableEntry(id.getBytes(StandardCharsets.UTF_8));
+			writeTableEntry((text != null) ? text.getBytes(StandardCharsets.UTF_8) : null);
+			writeTableEntry(this.objectMapper.writeValueAsBytes(metadata));
+		}
+
+		/**
+		 * Completes the file and atomically moves it over the target.
+		 * @throws IOException if writing or moving fails
+		 */
+		void commit() throws IOException {
+			flush(this.vectorBuffer, this.channel);
+			long normsOffset = this.channel.position();
+			ByteBuffer norms = ByteBuffer.allocate(this.count * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			norms.asFloatBuffer().put(this.inverseNorms, 0, this.count);
+			writeFully(norms, this.channel);
+
+			flush(this.tableBuffer, this.tableChannel);
+			long tableOffset = this.channel.position();
+			long tableLength = this.tableChannel.size();
+			long transferred = 0;
+			while (transferred < tableLength) {
+				transferred += this.tableChannel.transferTo(transferred, tableLength - transferred, this.channel);
+			}
+			this.channel.position(tableOffset + tableLength);
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			header.put(MAGIC)
+				.putInt(VERSION)
+				.putInt(Math.max(this.dimensions, 0))
+				.putLong(this.count)
+				.putLong(HEADER_SIZE)
+				.putLong(normsOffset)
+				.putLong(tableOffset)
+				.putLong(tableLength);
+			header.position(HEADER_SIZE).flip();
+			while (header.hasRemaining()) {
+				this.channel.write(header, header.position());
+			}
+			this.channel.force(true);
+			this.channel.close();
+			this.tableChannel.close();
+
+			try {
+				Files.move(this.file, this.target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException ex) {
+				Files.move(this.file, this.target, StandardCopyOption.REPLACE_EXISTING);
+			}
+			this.committed = true;
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				this.channel.close();
+				this.tableChannel.close();
+			}
+			finally {
+				Files.deleteIfExists(this.tableFile);
+				if (!this.committed) {
+					Files.deleteIfExists(this.file);
+				}
+			}
+		}
+
+		private void writeTableEntry(@Nullable byte[] bytes) throws IOException {
+			if (this.tableBuffer.remaining() < Integer.BYTES) {
+				flush(this.tableBuffer, this.tableChannel);
+			}
+			if (bytes == null) {
+				this.tableBuffer.putInt(NULL_LENGTH);
+				return;
+			}
+			this.tableBuffer.putInt(bytes.length);
+			if (bytes.length > this.tableBuffer.remaining()) {
+				flush(this.tableBuffer, this.tableChannel);
+				if (bytes.length > this.tableBuffer.capacity()) {
+					writeFully(ByteBuffer.wrap(bytes), this.tableChannel);
+					return;
+				}
+			}
+			this.tableBuffer.put(bytes);
+		}
+
+		private static void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+			buffer.flip();
+			writeFully(buffer, channel);
+			buffer.clear();
+		}
+
+		private static void writeFully(ByteBuffer buffer, FileChannel channel) throws IOException {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+
+	}
+
+}
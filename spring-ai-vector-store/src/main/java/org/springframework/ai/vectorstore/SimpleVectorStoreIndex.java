@@ -0,0 +1,916 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentMetadata;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionPredicateCompiler;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Storage engine backing the {@link SimpleVectorStore}.
+ *
+ * <p>
+ * All embeddings are kept as given in a single contiguous row-major {@code float[]}
+ * matrix, next to the inverse of their L2 norm. The cosine similarity of a row against a
+ * normalized query is then a dot product over a cache-friendly memory range, scaled by
+ * the inverse norm of the row. Ids, text and metadata live in a separate side table
+ * addressed by the same row slot, and only the rows that make it into the top-K result
+ * are materialized as {@link Document}s.
+ *
+ * <p>
+ * Deletes move the last row into the freed slot, keeping the matrix dense. Readers and
+ * writers are coordinated with a {@link ReadWriteLock}, so searches run concurrently with
+ * each other but never observe a partially written row.
+ *
+ * <p>
+ * Metadata keys can be declared as indexed. For each of them an inverted index maps every
+ * stored value to the {@link BitSet} of slots holding it, so the equality and {@code IN}
+ * clauses of a filter expression narrow the scan to candidate rows before any similarity
+ * is computed.
+ *
+ * <p>
+ * Optionally, every row is also kept as a compact {@link QuantizedVectors quantized}
+ * code. Scans then read the codes only, shortlist {@code rescoreFactor} times as many
+ * rows as requested, and rescore the shortlist exactly against the float vectors. As the
+ * float vectors are no longer scanned, a quantized index keeps them as separate rows
+ * rather than in the contiguous matrix, so that rows read from a mapped file are never
+ * copied to the heap. With a spill directory, the float vectors that are added or updated
+ * are appended to a {@link SpilledVectors scratch file} instead of being held on the
+ * heap, leaving just the codes there.
+ *
+ * <p>
+ * An index loaded from a {@link SimpleVectorStoreBinaryFormat binary file} scans the
+ * memory-mapped vector block in place. Without quantization, the first mutation copies
+ * the mapped rows into the heap matrix, after which the index behaves as if it had been
+ * built in memory. With quantization, only the rows that are added or updated are held on
+ * the heap, while all others keep being read from the file.
+ *
+ * @since 2.0.0
+ */
+final class SimpleVectorStoreIndex {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private static final double SCORE_TOLERANCE = 1e-5;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final int parallelism;
+
+	private final int minPartitionSize;
+
+	private final Executor executor;
+
+	private final Map<String, Integer> slotsById = new HashMap<>();
+
+	private final Map<String, Map<Object, BitSet>> metadataIndexes = new LinkedHashMap<>();
+
+	private final SimpleVectorStore.Quantization quantization;
+
+	private final int rescoreFactor;
+
+	private int dimensions = -1;
+
+	private int size;
+
+	private float[] vectors = new float[0];
+
+	private float[] inverseNorms = new float[0];
+
+	// the float vectors of a quantized index, held on the heap or read from the mapped
+	// row of the same slot
+	private float[][] heapRows = new float[0][];
+
+	private int[] mappedRows = new int[0];
+
+	// the rows of the spill file holding the float vectors of a quantized index, or -1
+	private int[] spilledRows = new int[0];
+
+	@Nullable
+	private final Path spillDirectory;
+
+	@Nullable
+	private SpilledVectors spilled;
+
+	private Row[] rows = new Row[0];
+
+	@Nullable
+	private SimpleVectorStoreBinaryFormat.MappedVectors mapped;
+
+	@Nullable
+	private QuantizedVectors quantized;
+
+	/**
+	 * Creates an index that scans on the calling thread only.
+	 */
+	SimpleVectorStoreIndex() {
+		this(1, Integer.MAX_VALUE, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates an index that may split scans into partitions scored concurrently.
+	 * @param parallelism the maximum number of partitions per scan
+	 * @param minPartitionSize the minimum number of rows per partition
+	 * @param executor the executor scoring all partitions but the first
+	 */
+	SimpleVectorStoreIndex(int parallelism, int minPartitionSize, Executor executor) {
+		this(parallelism, minPartitionSize, executor, Collections.emptySet());
+	}
+
+	/**
+	 * Creates an index that may split scans into partitions scored concurrently and keeps
+	 * inverted indexes of the given metadata keys.
+	 * @param parallelism the maximum number of partitions per scan
+	 * @param minPartitionSize the minimum number of rows per partition
+	 * @param executor the executor scoring all partitions but the first
+	 * @param indexedMetadataKeys the metadata keys to keep inverted indexes for
+	 */
+	SimpleVectorStoreIndex(int parallelism, int minPartitionSize, Executor executor,
+			Collection<String> indexedMetadataKeys) {
+		this(parallelism, minPartitionSize, executor, indexedMetadataKeys, SimpleVectorStore.Quantization.NONE, 1);
+	}
+
+	/**
+	 * Creates an index that may split scans into partitions scored concurrently, keeps
+	 * inverted indexes of the given metadata keys and optionally scans quantized codes.
+	 * @param parallelism the maximum number of partitions per scan
+	 * @param minPartitionSize the minimum number of rows per partition
+	 * @param executor the executor scoring all partitions but the first
+	 * @param indexedMetadataKeys the metadata keys to keep inverted indexes for
+	 * @param quantization the encoding of the scanned codes
+	 * @param rescoreFactor how many times {@code topK} rows are rescored exactly after a
+	 * quantized scan
+	 */
+	SimpleVectorStoreIndex(int parallelism, int minPartitionSize, Executor executor,
+			Collection<String> indexedMetadataKeys, SimpleVectorStore.Quantization quantization, int rescoreFactor) {
+		this(parallelism, minPartitionSize, executor, indexedMetadataKeys, quantization, rescoreFactor, null);
+	}
+
+	/**
+	 * Creates an index that may split scans into partitions scored concurrently, keeps
+	 * inverted indexes of the given metadata keys, optionally scans quantized codes and
+	 * spills the float vectors of a quantized index to a scratch file.
+	 * @param parallelism the maximum number of partitions per scan
+	 * @param minPartitionSize the minimum number of rows per partition
+	 * @param executor the executor scoring all partitions but the first
+	 * @param indexedMetadataKeys the metadata keys to keep inverted indexes for
+	 * @param quantization the encoding of the scanned codes
+	 * @param rescoreFactor how many times {@code topK} rows are rescored exactly after a
+	 * quantized scan
+	 * @param spillDirectory the directory of the scratch file holding the float vectors,
+	 * or {@code null} to keep them on the heap
+	 */
+	SimpleVectorStoreIndex(int parallelism, int minPartitionSize, Executor executor,
+			Collection<String> indexedMetadataKeys, SimpleVectorStore.Quantization quantization, int rescoreFactor,
+			@Nullable Path spillDirectory) {
+		Assert.isTrue(parallelism > 0, "parallelism must be greater than 0");
+		Assert.isTrue(minPartitionSize > 0, "minPartitionSize must be greater than 0");
+		Assert.notNull(executor, "executor must not be null");
+		Assert.noNullElements(indexedMetadataKeys, "indexedMetadataKeys must not contain null elements");
+		Assert.notNull(quantization, "quantization must not be null");
+		Assert.isTrue(rescoreFactor > 0, "rescoreFactor must be greater than 0");
+		Assert.isTrue(spillDirectory == null || quantization != SimpleVectorStore.Quantization.NONE,
+				"spillDirectory requires quantization");
+		this.parallelism = parallelism;
+		this.minPartitionSize = minPartitionSize;
+		this.executor = executor;
+		indexedMetadataKeys.forEach(key -> this.metadataIndexes.put(key, new HashMap<>()));
+		this.quantization = quantization;
+		this.rescoreFactor = rescoreFactor;
+		this.spillDirectory = spillDirectory;
+	}
+
+	/**
+	 * Inserts the given content, replacing any existing row with the same id.
+	 * @param content the content to index
+	 */
+	void put(SimpleVectorStoreContent content) {
+		float[] embedding = content.getEmbedding();
+		float norm = EmbeddingKernels.norm(embedding);
+		if (norm == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		Row row = Row.of(content.getId(), content.getText(), content.getMetadata());
+
+		this.lock.writeLock().lock();
+		try {
+			if (!isQuantized()) {
+				detachMapped();
+			}
+			if (this.dimensions < 0) {
+				this.dimensions = embedding.length;
+			}
+			else if (this.dimensions != embedding.length) {
+				throw new IllegalArgumentException("Vectors lengths must be equal");
+			}
+			Integer existing = this.slotsById.get(row.id());
+			int slot = (existing != null) ? existing : this.size;
+			if (existing == null) {
+				ensureCapacity(this.size + 1);
+				this.size++;
+				this.slotsById.put(row.id(), slot);
+			}
+			else {
+				unindexMetadata(slot, this.rows[slot]);
+			}
+			if (isQuantized()) {
+				holdRow(slot, embedding);
+			}
+			else {
+				System.arraycopy(embedding, 0, this.vectors, slot * this.dimensions, this.dimensions);
+			}
+			this.inverseNorms[slot] = 1.0f / norm;
+			this.rows[slot] = row;
+			indexMetadata(slot, row);
+			quantize(slot, embedding);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes the row with the given id, if present.
+	 * @param id the id of the row to remove
+	 * @return {@code true} if a row was removed
+	 */
+	boolean remove(String id) {
+		this.lock.writeLock().lock();
+		try {
+			if (!this.slotsById.containsKey(id)) {
+				return false;
+			}
+			if (!isQuantized()) {
+				detachMapped();
+			}
+			int slot = this.slotsById.remove(id);
+			int last = this.size - 1;
+			unindexMetadata(slot, this.rows[slot]);
+			if (slot != last) {
+				unindexMetadata(last, this.rows[last]);
+				if (isQuantized()) {
+					this.heapRows[slot] = this.heapRows[last];
+					this.mappedRows[slot] = this.mappedRows[last];
+					this.spilledRows[slot] = this.spilledRows[last];
+				}
+				else {
+					System.arraycopy(this.vectors, last * this.dimensions, this.vectors, slot * this.dimensions,
+							this.dimensions);
+				}
+				this.inverseNorms[slot] = this.inverseNorms[last];
+				this.rows[slot] = this.rows[last];
+				this.slotsById.put(this.rows[slot].id(), slot);
+				indexMetadata(slot, this.rows[slot]);
+				if (this.quantized != null) {
+					this.quantized.move(last, slot);
+				}
+			}
+			this.rows[last] = null;
+			if (isQuantized()) {
+				this.heapRows[last] = null;
+				this.spilledRows[last] = -1;
+				compactSpilled();
+			}
+			this.size = last;
+			return true;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Atomically replaces the whole content of the index.
+	 * @param contents the new content
+	 */
+	void replaceAll(Collection<SimpleVectorStoreContent> contents) {
+		SimpleVectorStoreIndex loaded = new SimpleVectorStoreIndex();
+		contents.forEach(loaded::put);
+
+		this.lock.writeLock().lock();
+		try {
+			this.slotsById.clear();
+			this.slotsById.putAll(loaded.slotsById);
+			this.dimensions = loaded.dimensions;
+			this.size = loaded.size;
+			this.inverseNorms = loaded.inverseNorms;
+			this.rows = loaded.rows;
+			this.mapped = null;
+			if (isQuantized()) {
+				this.vectors = new float[0];
+				this.heapRows = new float[loaded.rows.length][];
+				this.mappedRows = new int[loaded.rows.length];
+				this.spilledRows = new int[loaded.rows.length];
+				Arrays.fill(this.spilledRows, -1);
+				closeSpilled();
+				for (int slot = 0; slot < loaded.size; slot++) {
+					holdRow(slot, loaded.embedding(slot));
+				}
+			}
+			else {
+				this.vectors = loaded.vectors;
+			}
+			rebuildMetadataIndexes();
+			recalibrate();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Atomically replaces the whole content of the index with the content of a binary
+	 * store file. The vectors are scanned in place until the next mutation.
+	 * @param contents the content read from the file
+	 */
+	void replaceAll(SimpleVectorStoreBinaryFormat.Contents contents) {
+		Map<String, Integer> slots = new HashMap<>(contents.rows().length * 4 / 3 + 1);
+		for (int slot = 0; slot < contents.rows().length; slot++) {
+			slots.put(contents.rows()[slot].id(), slot);
+		}
+
+		this.lock.writeLock().lock();
+		try {
+			this.slotsById.clear();
+			this.slotsById.putAll(slots);
+			this.dimensions = (contents.rows().length > 0) ? contents.dimensions() : -1;
+			this.size = contents.rows().length;
+			this.vectors = new float[0];
+			this.inverseNorms = contents.inverseNorms();
+			this.rows = contents.rows();
+			this.mapped = contents.vectors();
+			if (isQuantized()) {
+				this.heapRows = new float[this.size][];
+				this.mappedRows = new int[this.size];
+				Arrays.setAll(this.mappedRows, slot -> slot);
+				this.spilledRows = new int[this.size];
+				Arrays.fill(this.spilledRows, -1);
+				closeSpilled();
+			}
+			rebuildMetadataIndexes();
+			recalibrate();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Streams every row to the given binary writer, holding the read lock so the written
+	 * file is a consistent snapshot.
+	 * @param writer the writer to append to
+	 * @throws IOException if writing fails
+	 */
+	void writeTo(SimpleVectorStoreBinaryFormat.Writer writer) throws IOException {
+		this.lock.readLock().lock();
+		try {
+			for (int slot = 0; slot < this.size; slot++) {
+				Row row = this.rows[slot];
+				writer.append(row.id(), row.text().get(), row.metadata(), embedding(slot));
+			}
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.size;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the content stored under the given id.
+	 * @param id the id of the content
+	 * @return the content, or {@code null} if none is stored under the id
+	 */
+	@Nullable
+	SimpleVectorStoreContent get(String id) {
+		this.lock.readLock().lock();
+		try {
+			Integer slot = this.slotsById.get(id);
+			if (slot == null) {
+				return null;
+			}
+			Row row = this.rows[slot];
+			return new SimpleVectorStoreContent(row.id(), row.text().get(), row.metadata(), embedding(slot));
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns a snapshot of all indexed content.
+	 * @return the indexed content in slot order
+	 */
+	List<SimpleVectorStoreContent> contents() {
+		this.lock.readLock().lock();
+		try {
+			List<SimpleVectorStoreContent> result = new ArrayList<>(this.size);
+			for (int slot = 0; slot < this.size; slot++) {
+				Row row = this.rows[slot];
+				result.add(new SimpleVectorStoreContent(row.id(), row.text().get(), row.metadata(), embedding(slot)));
+			}
+			return result;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Scores every row matching the filter against the query and returns the {@code topK}
+	 * best matches whose similarity is at least {@code similarityThreshold}.
+	 * @param query the query embedding, need not be normalized
+	 * @param topK the maximum number of results
+	 * @param similarityThreshold the minimum similarity score
+	 * @param metadataFilter predicate evaluated against each row's metadata, or
+	 * {@code null} to accept every row
+	 * @return the matching documents, ordered by descending similarity
+	 */
+	List<Document> search(float[] query, int topK, double similarityThreshold,
+			@Nullable Predicate<Map<String, Object>> metadataFilter) {
+		return search(query, topK, similarityThreshold, null, metadataFilter);
+	}
+
+	/**
+	 * Scores every row matching the filter against the query and returns the {@code topK}
+	 * best matches whose similarity is at least {@code similarityThreshold}. The equality
+	 * and {@code IN} clauses of the filter expression on indexed metadata keys restrict
+	 * the rows that are scored; the metadata filter is still applied to every candidate.
+	 * @param query the query embedding, need not be normalized
+	 * @param topK the maximum number of results
+	 * @param similarityThreshold the minimum similarity score
+	 * @param filterExpression the expression the metadata filter was compiled from, or
+	 * {@code null} if not available
+	 * @param metadataFilter predicate evaluated against each row's metadata, or
+	 * {@code null} to accept every row
+	 * @return the matching documents, ordered by descending similarity
+	 */
+	List<Document> search(float[] query, int topK, double similarityThreshold,
+			@Nullable Filter.Expression filterExpression, @Nullable Predicate<Map<String, Object>> metadataFilter) {
+		Assert.notNull(query, "Vectors must not be null");
+		float queryNorm = EmbeddingKernels.norm(query);
+		if (queryNorm == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		float[] normalizedQuery = EmbeddingKernels.scale(query, 1.0f / queryNorm);
+		if (topK == 0) {
+			return List.of();
+		}
+
+		this.lock.readLock().lock();
+		try {
+			if (this.size == 0) {
+				return List.of();
+			}
+			if (this.dimensions != normalizedQuery.length) {
+				throw new IllegalArgumentException("Vectors lengths must be equal");
+			}
+			BitSet candidates = candidates(filterExpression);
+			int k = Math.min(topK, this.size);
+			int scanned = (candidates != null) ? candidates.cardinality() : this.size;
+			if (scanned == 0) {
+				return List.of();
+			}
+			QuantizedVectors.Scorer scorer = null;
+			int shortlist = k;
+			if (this.quantized != null) {
+				scorer = this.quantized.scorer(normalizedQuery, this.inverseNorms);
+				shortlist = (int) Math.min(scanned, (long) k * this.rescoreFactor);
+			}
+			int partitions = Math.min(this.parallelism, scanned / this.minPartitionSize);
+			TopKCollector collector = (partitions > 1)
+					? parallelScan(normalizedQuery, shortlist, partitions, similarityThreshold, candidates,
+							metadataFilter, scorer)
+					: scan(normalizedQuery, 0, this.size, similarityThreshold, candidates, metadataFilter, scorer,
+							new TopKCollector(shortlist));
+			return materialize(normalizedQuery, collector, similarityThreshold, k, scorer != null);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Scores {@code partitions} contiguous ranges of rows concurrently and merges their
+	 * top-K collectors. Every partition is awaited before a failure is rethrown, so that
+	 * no partition still reads the rows once the caller releases the read lock. Callers
+	 * must hold the read lock.
+	 */
+	private TopKCollector parallelScan(float[] normalizedQuery, int k, int partitions, double similarityThreshold,
+			@Nullable BitSet candidates, @Nullable Predicate<Map<String, Object>> metadataFilter,
+			@Nullable QuantizedVectors.Scorer scorer) {
+		int rowsPerPartition = this.size / partitions;
+		List<CompletableFuture<TopKCollector>> futures = new ArrayList<>(partitions - 1);
+		for (int p = 1; p < partitions; p++) {
+			int from = p * rowsPerPartition;
+			int to = (p == partitions - 1) ? this.size : from + rowsPerPartition;
+			futures.add(CompletableFuture.supplyAsync(() -> scan(normalizedQuery, from, to, similarityThreshold,
+					candidates, metadataFilter, scorer, new TopKCollector(k)), this.executor));
+		}
+		TopKCollector collector;
+		try {
+			collector = scan(normalizedQuery, 0, rowsPerPartition, similarityThreshold, candidates, metadataFilter,
+					scorer, new TopKCollector(k));
+		}
+		finally {
+			CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(ex -> null).join();
+		}
+		for (CompletableFuture<TopKCollector> future : futures) {
+			try {
+				collector.merge(future.join());
+			}
+			catch (CompletionException ex) {
+				if (ex.getCause() instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				throw ex;
+			}
+		}
+		return collector;
+	}
+
+	/**
+	 * Scores the rows in {@code [fromSlot, toSlot)}, restricted to the candidate slots if
+	 * given, into the given collector. With a quantized scorer the approximate scores are
+	 * collected regardless of the threshold, which is only applied after rescoring.
+	 * Callers must hold the read lock.
+	 * @return the given collector
+	 */
+	private TopKCollector scan(float[] normalizedQuery, int fromSlot, int toSlot, double similarityThreshold,
+			@Nullable BitSet candidates, @Nullable Predicate<Map<String, Object>> metadataFilter,
+			@Nullable QuantizedVectors.Scorer scorer, TopKCollector collector) {
+		float[] matrix = this.vectors;
+		SimpleVectorStoreBinaryFormat.MappedVectors mappedMatrix = this.mapped;
+		float[] inverseNorms = this.inverseNorms;
+		int dims = this.dimensions;
+		// the scan score is single precision, leave room for the exact re-scoring
+		double threshold = (scorer != null) ? Double.NEGATIVE_INFINITY : similarityThreshold - SCORE_TOLERANCE;
+		int slot = (candidates != null) ? candidates.nextSetBit(fromSlot) : fromSlot;
+		for (; slot >= 0 && slot < toSlot; slot = (candidates != null) ? candidates.nextSetBit(slot + 1) : slot + 1) {
+			if (metadataFilter != null && !metadataFilter.test(this.rows[slot].metadata())) {
+				continue;
+			}
+			float score;
+			if (scorer != null) {
+				score = scorer.score(slot);
+			}
+			else if (mappedMatrix != null) {
+				score = mappedMatrix.dot(normalizedQuery, slot) * inverseNorms[slot];
+			}
+			else {
+				score = EmbeddingKernels.dot(normalizedQuery, matrix, slot * dims, dims) * inverseNorms[slot];
+			}
+			if (score >= threshold && score >= collector.minCompetitiveScore()) {
+				collector.offer(slot, score);
+			}
+		}
+		return collector;
+	}
+
+	/**
+	 * Turns the {@code topK} best winners of a scan into documents. The scores of an
+	 * exact scan are used as is, while the approximate scores of a quantized scan are
+	 * replaced by exact ones first. Callers must hold the read lock.
+	 */
+	private List<Document> materialize(float[] normalizedQuery, TopKCollector collector, double similarityThreshold,
+			int topK, boolean rescore) {
+		int[] slots = new int[collector.size()];
+		float[] scores = new float[collector.size()];
+		int count = collector.drainDescending(slots, scores);
+		List<Document> documents = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			double score = rescore ? exactScore(normalizedQuery, slots[i]) : scores[i];
+			if (score >= similarityThreshold) {
+				documents.add(this.rows[slots[i]].toDocument(score));
+			}
+		}
+		if (rescore) {
+			documents.sort(Comparator.comparing(Document::getScore).reversed());
+		}
+		return (documents.size() > topK) ? new ArrayList<>(documents.subList(0, topK)) : documents;
+	}
+
+	/**
+	 * Scores the float vector of the given slot of a quantized index as an exact scan
+	 * would, reading a mapped row in place. Callers must hold the read lock.
+	 */
+	private float exactScore(float[] normalizedQuery, int slot) {
+		if (this.heapRows[slot] == null && this.spilledRows[slot] < 0) {
+			return this.mapped.dot(normalizedQuery, this.mappedRows[slot]) * this.inverseNorms[slot];
+		}
+		return EmbeddingKernels.dot(normalizedQuery, embedding(slot), 0, this.dimensions) * this.inverseNorms[slot];
+	}
+
+	/**
+	 * Returns the float vector of the given slot. The rows of a quantized index are
+	 * returned as is and must not be modified. Callers must hold a lock.
+	 */
+	private float[] embedding(int slot) {
+		if (isQuantized()) {
+			float[] row = this.heapRows[slot];
+			if (row != null) {
+				return row;
+			}
+			return (this.spilledRows[slot] >= 0) ? this.spilled.row(this.spilledRows[slot])
+					: this.mapped.row(this.mappedRows[slot]);
+		}
+		if (this.mapped != null) {
+			return this.mapped.row(slot);
+		}
+		return Arrays.copyOfRange(this.vectors, slot * this.dimensions, (slot + 1) * this.dimensions);
+	}
+
+	private boolean isQuantized() {
+		return this.quantization != SimpleVectorStore.Quantization.NONE;
+	}
+
+	/**
+	 * Holds the float vector of a slot of a quantized index, in the spill file if any or
+	 * on the heap otherwise. Callers must hold the write lock.
+	 */
+	private void holdRow(int slot, float[] embedding) {
+		this.mappedRows[slot] = -1;
+		if (this.spillDirectory == null) {
+			this.heapRows[slot] = embedding;
+			this.spilledRows[slot] = -1;
+			return;
+		}
+		if (this.spilled == null) {
+			this.spilled = new SpilledVectors(this.spillDirectory, this.dimensions);
+		}
+		this.heapRows[slot] = null;
+		this.spilledRows[slot] = this.spilled.append(embedding);
+		compactSpilled();
+	}
+
+	/**
+	 * Copies the live rows of the spill file to a new one once dead rows, left behind by
+	 * updates and deletes, outnumber them. Callers must hold the write lock.
+	 */
+	private void compactSpilled() {
+		SpilledVectors current = this.spilled;
+		if (current == null || current.rowCount() <= 2 * this.size + INITIAL_CAPACITY) {
+			return;
+		}
+		SpilledVectors compacted = new SpilledVectors(this.spillDirectory, this.dimensions);
+		for (int slot = 0; slot < this.rows.length; slot++) {
+			if (this.spilledRows[slot] >= 0) {
+				this.spilledRows[slot] = compacted.append(current.row(this.spilledRows[slot]));
+			}
+		}
+		this.spilled = compacted;
+		current.close();
+	}
+
+	private void closeSpilled() {
+		if (this.spilled != null) {
+			this.spilled.close();
+			this.spilled = null;
+		}
+	}
+
+	/**
+	 * Encodes a new or updated row, recalibrating all codes whenever the index has
+	 * doubled in size since the last calibration. Callers must hold the write lock.
+	 */
+	private void quantize(int slot, float[] embedding) {
+		if (this.quantization == SimpleVectorStore.Quantization.NONE) {
+			return;
+		}
+		if (this.quantized == null || this.quantized.needsCalibration(this.size)) {
+			recalibrate();
+			return;
+		}
+		this.quantized.ensureCapacity(this.rows.length);
+		this.quantized.set(slot, embedding, this.inverseNorms[slot]);
+	}
+
+	/**
+	 * Calibrates and encodes all rows from scratch. Callers must hold the write lock.
+	 */
+	private void recalibrate() {
+		if (this.quantization == SimpleVectorStore.Quantization.NONE || this.size == 0) {
+			this.quantized = null;
+			return;
+		}
+		QuantizedVectors codes = new QuantizedVectors(this.quantization, this.dimensions);
+		codes.calibrate(this.size, this::embedding, this.inverseNorms);
+		codes.ensureCapacity(this.rows.length);
+		this.quantized = codes;
+	}
+
+	/**
+	 * Copies memory-mapped vectors into the heap matrix ahead of a mutation. Callers must
+	 * hold the write lock.
+	 */
+	private void detachMapped() {
+		SimpleVectorStoreBinaryFormat.MappedVectors mappedMatrix = this.mapped;
+		if (mappedMatrix == null) {
+			return;
+		}
+		float[] matrix = new float[Math.multiplyExact(this.rows.length, Math.max(this.dimensions, 0))];
+		mappedMatrix.copyTo(matrix, this.size);
+		this.vectors = matrix;
+		this.mapped = null;
+	}
+
+	/**
+	 * Derives the candidate slots of a filter expression from the metadata indexes. The
+	 * result is a superset of the matching rows, or {@code null} if the expression cannot
+	 * be narrowed down. Callers must hold the read lock.
+	 */
+	@Nullable
+	private BitSet candidates(@Nullable Filter.Operand operand) {
+		if (this.metadataIndexes.isEmpty()) {
+			return null;
+		}
+		if (operand instanceof Filter.Group group) {
+			return candidates(group.content());
+		}
+		if (!(operand instanceof Filter.Expression expression)) {
+			return null;
+		}
+		switch (expression.type()) {
+			case AND -> {
+				BitSet left = candidates(expression.left());
+				BitSet right = candidates(expression.right());
+				if (left == null || right == null) {
+					return (left != null) ? left : right;
+				}
+				left.and(right);
+				return left;
+			}
+			case OR -> {
+				BitSet left = candidates(expression.left());
+				BitSet right = candidates(expression.right());
+				if (left == null || right == null) {
+					return null;
+				}
+				left.or(right);
+				return left;
+			}
+			case EQ, IN -> {
+				if (!(expression.left() instanceof Filter.Key key)
+						|| !(expression.right() instanceof Filter.Value value)) {
+					return null;
+				}
+				Map<Object, BitSet> postings = this.metadataIndexes
+					.get(FilterExpressionPredicateCompiler.metadataKey(key));
+				if (postings == null) {
+					return null;
+				}
+				List<?> values = (value.value() instanceof List<?> list) ? list
+						: Collections.singletonList(value.value());
+				BitSet result = new BitSet(this.size);
+				for (Object candidate : values) {
+					Object normalized = FilterExpressionPredicateCompiler.metadataValue(candidate);
+					BitSet slots = (normalized != null) ? postings.get(postingKey(normalized)) : null;
+					if (slots != null) {
+						result.or(slots);
+					}
+				}
+				return result;
+			}
+			default -> {
+				return null;
+			}
+		}
+	}
+
+	private void indexMetadata(int slot, Row row) {
+		this.metadataIndexes.forEach((key, postings) -> {
+			Object value = row.metadata().get(key);
+			if (value != null) {
+				postings.computeIfAbsent(postingKey(value), v -> new BitSet()).set(slot);
+			}
+		});
+	}
+
+	private void unindexMetadata(int slot, Row row) {
+		this.metadataIndexes.forEach((key, postings) -> {
+			Object value = row.metadata().get(key);
+			if (value != null) {
+				Object postingKey = postingKey(value);
+				BitSet slots = postings.get(postingKey);
+				if (slots != null) {
+					slots.clear(slot);
+					if (slots.isEmpty()) {
+						postings.remove(postingKey);
+					}
+				}
+			}
+		});
+	}
+
+	private void rebuildMetadataIndexes() {
+		this.metadataIndexes.values().forEach(Map::clear);
+		for (int slot = 0; slot < this.size; slot++) {
+			indexMetadata(slot, this.rows[slot]);
+		}
+	}
+
+	/**
+	 * Maps numbers that filters consider equal, such as {@code 1} and {@code 1L}, to the
+	 * same index entry.
+	 */
+	private static Object postingKey(Object value) {
+		if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+			return ((Number) value).longValue();
+		}
+		if (value instanceof Number number) {
+			double doubleValue = number.doubleValue();
+			long longValue = (long) doubleValue;
+			if (doubleValue == longValue && longValue != Long.MAX_VALUE && longValue != Long.MIN_VALUE) {
+				return longValue;
+			}
+			return doubleValue;
+		}
+		return value;
+	}
+
+	private void ensureCapacity(int required) {
+		if (required <= this.rows.length) {
+			return;
+		}
+		int capacity = Math.max(INITIAL_CAPACITY, this.rows.length + (this.rows.length >> 1));
+		capacity = Math.max(capacity, required);
+		if (isQuantized()) {
+			this.heapRows = Arrays.copyOf(this.heapRows, capacity);
+			this.mappedRows = Arrays.copyOf(this.mappedRows, capacity);
+			int previousCapacity = this.spilledRows.length;
+			this.spilledRows = Arrays.copyOf(this.spilledRows, capacity);
+			Arrays.fill(this.spilledRows, previousCapacity, capacity, -1);
+		}
+		else {
+			this.vectors = Arrays.copyOf(this.vectors, Math.multiplyExact(capacity, this.dimensions));
+		}
+		this.inverseNorms = Arrays.copyOf(this.inverseNorms, capacity);
+		this.rows = Arrays.copyOf(this.rows, capacity);
+	}
+
+	/**
+	 * Side-table entry holding everything but the embedding of a stored document. The
+	 * text is supplied lazily so that rows loaded from a mapped file only decode it when
+	 * the document is returned.
+	 */
+	record Row(String id, Supplier<String> text, Map<String, Object> metadata) {
+
+		static Row of(String id, String text, Map<String, Object> metadata) {
+			return new Row(id, () -> text, metadata);
+		}
+
+		Document toDocument(double score) {
+			Map<String, Object> documentMetadata = new HashMap<>(this.metadata);
+			documentMetadata.put(DocumentMetadata.DISTANCE.value(), 1.0 - score);
+			return Document.builder().id(this.id).text(this.text.get()).metadata(documentMetadata).score(score).build();
+		}
+
+	}
+
+}
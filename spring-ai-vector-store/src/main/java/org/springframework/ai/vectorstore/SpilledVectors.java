@@ -0,0 +1,137 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.util.Assert;
+
+/**
+ * Scratch file holding the float vectors of a quantized {@link SimpleVectorStoreIndex},
+ * so that only their codes stay on the heap. Rows are appended and read back with
+ * positional reads, which the page cache serves for the shortlisted rows of a search.
+ *
+ * <p>
+ * Rows are never overwritten: an updated or deleted vector leaves its row behind until
+ * the index copies its live rows to a new file. The file is deleted when closed, or when
+ * the JVM exits otherwise; on most platforms it is even unlinked as soon as it is opened.
+ *
+ * @since 2.0.0
+ */
+final class SpilledVectors implements Closeable {
+
+	private final FileChannel channel;
+
+	private final int dimensions;
+
+	private final int rowBytes;
+
+	private int rowCount;
+
+	/**
+	 * Creates an empty scratch file in the given directory.
+	 * @param directory the directory of the file, created if it does not exist
+	 * @param dimensions the number of dimensions of the vectors
+	 */
+	SpilledVectors(Path directory, int dimensions) {
+		Assert.notNull(directory, "directory must not be null");
+		Assert.isTrue(dimensions > 0, "dimensions must be greater than 0");
+		this.dimensions = dimensions;
+		this.rowBytes = Math.multiplyExact(dimensions, Float.BYTES);
+		try {
+			Files.createDirectories(directory);
+			Path file = Files.createTempFile(directory, "simple-vector-store-", ".vectors");
+			this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+					StandardOpenOption.DELETE_ON_CLOSE);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to create a vector spill file in " + directory, ex);
+		}
+	}
+
+	/**
+	 * Appends the given vector. Callers must not append concurrently.
+	 * @param vector the vector
+	 * @return the row of the vector
+	 */
+	int append(float[] vector) {
+		Assert.isTrue(vector.length == this.dimensions, "Vectors lengths must be equal");
+		ByteBuffer buffer = ByteBuffer.allocate(this.rowBytes).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.asFloatBuffer().put(vector);
+		long position = (long) this.rowCount * this.rowBytes;
+		try {
+			while (buffer.hasRemaining()) {
+				this.channel.write(buffer, position + buffer.position());
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to spill a vector", ex);
+		}
+		return this.rowCount++;
+	}
+
+	/**
+	 * Reads the given row back to the heap.
+	 * @param row the row
+	 * @return the vector
+	 */
+	float[] row(int row) {
+		ByteBuffer buffer = ByteBuffer.allocate(this.rowBytes).order(ByteOrder.LITTLE_ENDIAN);
+		long position = (long) row * this.rowBytes;
+		try {
+			while (buffer.hasRemaining()) {
+				if (this.channel.read(buffer, position + buffer.position()) < 0) {
+					throw new EOFException("Unexpected end of the vector spill file at row " + row);
+				}
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read a spilled vector", ex);
+		}
+		float[] vector = new float[this.dimensions];
+		buffer.flip().asFloatBuffer().get(vector);
+		return vector;
+	}
+
+	/**
+	 * Returns the number of rows appended so far, live or not.
+	 * @return the number of rows
+	 */
+	int rowCount() {
+		return this.rowCount;
+	}
+
+	@Override
+	public void close() {
+		try {
+			this.channel.close();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to close the vector spill file", ex);
+		}
+	}
+
+}
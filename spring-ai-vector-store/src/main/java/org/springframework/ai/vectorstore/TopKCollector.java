@@ -0,0 +1,161 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import org.springframework.util.Assert;
+
+/**
+ * Bounded collector that keeps the {@code k} highest scoring row slots seen so far. It is
+ * backed by a binary min-heap over primitive arrays, so offering a candidate never
+ * allocates and costs {@code O(log k)} only when the candidate beats the current k-th
+ * best score.
+ *
+ * <p>
+ * Instances are not thread-safe; concurrent scans should use one collector per thread and
+ * {@link #merge(TopKCollector) merge} them afterwards.
+ *
+ * @since 2.0.0
+ */
+final class TopKCollector {
+
+	private final int capacity;
+
+	private final float[] scores;
+
+	private final int[] slots;
+
+	private int size;
+
+	TopKCollector(int capacity) {
+		Assert.isTrue(capacity > 0, "capacity must be greater than 0");
+		this.capacity = capacity;
+		this.scores = new float[capacity];
+		this.slots = new int[capacity];
+	}
+
+	/**
+	 * Offers a candidate to the collector.
+	 * @param slot the row slot of the candidate
+	 * @param score the similarity score of the candidate
+	 */
+	void offer(int slot, float score) {
+		if (this.size < this.capacity) {
+			this.scores[this.size] = score;
+			this.slots[this.size] = slot;
+			siftUp(this.size++);
+		}
+		else if (score > this.scores[0] || (score == this.scores[0] && slot < this.slots[0])) {
+			this.scores[0] = score;
+			this.slots[0] = slot;
+			siftDown(0);
+		}
+	}
+
+	/**
+	 * Returns the smallest score a new candidate must beat to be retained, or
+	 * {@link Float#NEGATIVE_INFINITY} while the collector is not yet full.
+	 * @return the current admission threshold
+	 */
+	float minCompetitiveScore() {
+		return (this.size < this.capacity) ? Float.NEGATIVE_INFINITY : this.scores[0];
+	}
+
+	/**
+	 * Offers every candidate retained by another collector to this one.
+	 * @param other the collector to merge
+	 */
+	void merge(TopKCollector other) {
+		for (int i = 0; i < other.size; i++) {
+			offer(other.slots[i], other.scores[i]);
+		}
+	}
+
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Drains the collector into the given arrays ordered by descending score. Ties are
+	 * broken by ascending slot so the result is deterministic.
+	 * @param outSlots receives the slots, must hold at least {@link #size()} entries
+	 * @param outScores receives the scores, must hold at least {@link #size()} entries
+	 * @return the number of drained entries
+	 */
+	int drainDescending(int[] outSlots, float[] outScores) {
+		int count = this.size;
+		for (int i = count - 1; i >= 0; i--) {
+			outSlots[i] = this.slots[0];
+			outScores[i] = this.scores[0];
+			this.size--;
+			if (this.size > 0) {
+				this.scores[0] = this.scores[this.size];
+				this.slots[0] = this.slots[this.size];
+				siftDown(0);
+			}
+		}
+		return count;
+	}
+
+	private void siftUp(int index) {
+		int i = index;
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (!less(i, parent)) {
+				break;
+			}
+			swap(i, parent);
+			i = parent;
+		}
+	}
+
+	private void siftDown(int index) {
+		int i = index;
+		while (true) {
+			int left = (i << 1) + 1;
+			if (left >= this.size) {
+				break;
+			}
+			int right = left + 1;
+			int smallest = (right < this.size && less(right, left)) ? right : left;
+			if (!less(smallest, i)) {
+				break;
+			}
+			swap(i, smallest);
+			i = smallest;
+		}
+	}
+
+	/**
+	 * Heap order: lower score first; on equal scores the higher slot is "smaller" so that
+	 * it is evicted first and lower slots win ties.
+	 */
+	private boolean less(int a, int b) {
+		float sa = this.scores[a];
+		float sb = this.scores[b];
+		return (sa < sb) || (sa == sb && this.slots[a] > this.slots[b]);
+	}
+
+	private void swap(int a, int b) {
+		float score = this.scores[a];
+		this.scores[a] = this.scores[b];
+		this.scores[b] = score;
+		int slot = this.slots[a];
+		this.slots[a] = this.slots[b];
+		this.slots[b] = slot;
+	}
+
+}
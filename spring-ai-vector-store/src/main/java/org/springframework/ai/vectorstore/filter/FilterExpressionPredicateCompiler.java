@@ -0,0 +1,252 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore.filter;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.springframework.ai.vectorstore.filter.Filter.Expression;
+import org.springframework.ai.vectorstore.filter.Filter.Operand;
+import org.springframework.expression.TypeComparator;
+import org.springframework.expression.spel.support.StandardTypeComparator;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+
+/**
+ * Compiles {@link Filter.Expression} trees into {@link Predicate}s evaluated directly
+ * against document metadata, for vector stores that filter in memory.
+ *
+ * <p>
+ * The predicates follow the semantics of the SpEL expressions produced by the
+ * {@link org.springframework.ai.vectorstore.filter.converter.SimpleVectorStoreFilterExpressionConverter}:
+ * numbers compare by value regardless of their type, {@link Date} values compare against
+ * their ISO-8601 UTC string representation, and ordering comparisons use the SpEL
+ * {@link StandardTypeComparator}. Unlike the converter, {@code ISNULL} and
+ * {@code ISNOTNULL} are supported and match missing keys as {@code null}.
+ *
+ * <p>
+ * Compiled predicates are stateless and thread-safe. The most recently used ones are
+ * cached by expression, so repeated searches with the same filter compile it only once.
+ *
+ * @since 2.0.0
+ */
+public final class FilterExpressionPredicateCompiler {
+
+	/**
+	 * Default number of compiled predicates kept in the cache.
+	 */
+	public static final int DEFAULT_CACHE_SIZE = 256;
+
+	private static final Pattern DATE_FORMAT_PATTERN = Pattern.compile("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}Z");
+
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'")
+		.withZone(ZoneOffset.UTC);
+
+	private static final TypeComparator TYPE_COMPARATOR = new StandardTypeComparator();
+
+	private final ConcurrentLruCache<Expression, Predicate<Map<String, Object>>> cache;
+
+	/**
+	 * Creates a compiler caching up to {@value #DEFAULT_CACHE_SIZE} predicates.
+	 */
+	public FilterExpressionPredicateCompiler() {
+		this(DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * Creates a compiler caching up to {@code cacheSize} predicates.
+	 * @param cacheSize the maximum number of cached predicates, {@code 0} to disable
+	 * caching
+	 */
+	public FilterExpressionPredicateCompiler(int cacheSize) {
+		Assert.isTrue(cacheSize >= 0, "cacheSize must not be negative");
+		this.cache = new ConcurrentLruCache<>(cacheSize, this::doCompile);
+	}
+
+	/**
+	 * Returns the metadata predicate of the given expression, compiling it on first use.
+	 * @param expression the filter expression
+	 * @return the predicate matching the metadata of the documents selected by the
+	 * expression
+	 */
+	public Predicate<Map<String, Object>> compile(Expression expression) {
+		Assert.notNull(expression, "Filter expression must not be null");
+		return this.cache.get(expression);
+	}
+
+	private Predicate<Map<String, Object>> doCompile(Expression expression) {
+		return compileOperand(expression);
+	}
+
+	private Predicate<Map<String, Object>> compileOperand(@Nullable Operand operand) {
+		if (operand instanceof Filter.Group group) {
+			return compileOperand(group.content());
+		}
+		if (operand instanceof Expression expression) {
+			return compileExpression(expression);
+		}
+		throw new IllegalArgumentException("Expected a boolean expression but got: " + operand);
+	}
+
+	private Predicate<Map<String, Object>> compileExpression(Expression expression) {
+		return switch (expression.type()) {
+			case AND -> compileOperand(expression.left()).and(compileOperand(expression.right()));
+			case OR -> compileOperand(expression.left()).or(compileOperand(expression.right()));
+			case NOT -> compileOperand(expression.left()).negate();
+			case ISNULL -> {
+				String key = key(expression);
+				yield metadata -> metadata.get(key) == null;
+			}
+			case ISNOTNULL -> {
+				String key = key(expression);
+				yield metadata -> metadata.get(key) != null;
+			}
+			case EQ -> {
+				String key = key(expression);
+				Object value = singleValue(expression);
+				yield metadata -> isEqual(metadata.get(key), value);
+			}
+			case NE -> {
+				String key = key(expression);
+				Object value = singleValue(expression);
+				yield metadata -> !isEqual(metadata.get(key), value);
+			}
+			case GT -> {
+				String key = key(expression);
+				Object value = singleValue(expression);
+				yield metadata -> TYPE_COMPARATOR.compare(metadata.get(key), value) > 0;
+			}
+			case GTE -> {
+				String key = key(expression);
+				Object value = singleValue(expression);
+				yield metadata -> TYPE_COMPARATOR.compare(metadata.get(key), value) >= 0;
+			}
+			case LT -> {
+				String key = key(expression);
+				Object value = singleValue(expression);
+				yield metadata -> TYPE_COMPARATOR.compare(metadata.get(key), value) < 0;
+			}
+			case LTE -> {
+				String key = key(expression);
+				Object value = singleValue(expression);
+				yield metadata -> TYPE_COMPARATOR.compare(metadata.get(key), value) <= 0;
+			}
+			case IN -> {
+				String key = key(expression);
+				Object[] values = listValue(expression);
+				yield metadata -> isAnyEqual(metadata.get(key), values);
+			}
+			case NIN -> {
+				String key = key(expression);
+				Object[] values = listValue(expression);
+				yield metadata -> !isAnyEqual(metadata.get(key), values);
+			}
+		};
+	}
+
+	/**
+	 * Returns the metadata key addressed by a filter key, without its optional quotes.
+	 * @param key the filter key
+	 * @return the metadata key
+	 */
+	public static String metadataKey(Filter.Key key) {
+		String identifier = key.key();
+		String trimmed = identifier.trim();
+		boolean quoted = trimmed.length() >= 2 && ((trimmed.startsWith("\"") && trimmed.endsWith("\""))
+				|| (trimmed.startsWith("'") && trimmed.endsWith("'")));
+		return quoted ? trimmed.substring(1, trimmed.length() - 1) : identifier;
+	}
+
+	/**
+	 * Brings a filter value into the representation it is compared against in stored
+	 * metadata: dates are compared as ISO-8601 UTC strings.
+	 * @param value the filter value
+	 * @return the value as compared against metadata
+	 */
+	@Nullable
+	public static Object metadataValue(@Nullable Object value) {
+		if (value instanceof Date date) {
+			return DATE_FORMAT.format(date.toInstant());
+		}
+		if (value instanceof String text && DATE_FORMAT_PATTERN.matcher(text).matches()) {
+			try {
+				return DATE_FORMAT.format(Instant.from(DATE_FORMAT.parse(text)));
+			}
+			catch (DateTimeParseException ex) {
+				throw new IllegalArgumentException("Invalid date type:" + text, ex);
+			}
+		}
+		return value;
+	}
+
+	private static String key(Expression expression) {
+		if (!(expression.left() instanceof Filter.Key key)) {
+			throw new IllegalArgumentException(
+					expression.type() + " expression must have a Key left argument: " + expression);
+		}
+		return metadataKey(key);
+	}
+
+	private static Object value(Expression expression) {
+		if (!(expression.right() instanceof Filter.Value value)) {
+			throw new IllegalArgumentException(
+					expression.type() + " expression must have a Value right argument: " + expression);
+		}
+		return value.value();
+	}
+
+	@Nullable
+	private static Object singleValue(Expression expression) {
+		return metadataValue(value(expression));
+	}
+
+	private static Object[] listValue(Expression expression) {
+		Object value = value(expression);
+		if (value instanceof List<?> list) {
+			return list.stream().map(FilterExpressionPredicateCompiler::metadataValue).toArray();
+		}
+		return new Object[] { metadataValue(value) };
+	}
+
+	private static boolean isAnyEqual(@Nullable Object actual, Object[] values) {
+		for (Object value : values) {
+			if (isEqual(actual, value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isEqual(@Nullable Object actual, @Nullable Object expected) {
+		if (actual == null || expected == null) {
+			return actual == expected;
+		}
+		if (actual instanceof Number && expected instanceof Number) {
+			return TYPE_COMPARATOR.compare(actual, expected) == 0;
+		}
+		return actual.equals(expected);
+	}
+
+}
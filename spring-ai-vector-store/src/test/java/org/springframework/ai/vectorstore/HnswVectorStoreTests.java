@@ -0,0 +1,295 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Recall and latency of the {@link HnswVectorStore}, using the exact
+ * {@link SimpleVectorStore} as ground truth.
+ */
+class HnswVectorStoreTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(HnswVectorStoreTests.class);
+
+	private static final int DIMENSIONS = 48;
+
+	private static final int DOCUMENTS = 5_000;
+
+	private static final int QUERIES = 100;
+
+	private static final int TOP_K = 10;
+
+	private RandomEmbeddingModel embeddingModel;
+
+	private List<Document> documents;
+
+	@BeforeEach
+	void setUp() {
+		this.embeddingModel = new RandomEmbeddingModel(DIMENSIONS);
+		this.documents = new ArrayList<>();
+		for (int i = 0; i < DOCUMENTS; i++) {
+			this.documents.add(Document.builder()
+				.id("doc-" + i)
+				.text("document " + i)
+				.metadata(Map.of("tenant", "tenant-" + (i % 20), "n", i))
+				.build());
+		}
+	}
+
+	@Test
+	void recallAgainstExactSearch() {
+		SimpleVectorStore exact = SimpleVectorStore.builder(this.embeddingModel).build();
+		HnswVectorStore hnsw = HnswVectorStore.builder(this.embeddingModel).build();
+		exact.add(this.documents);
+		hnsw.add(this.documents);
+
+		Recall recall = measureRecall(exact, hnsw, null);
+
+		logger.info("HNSW recall@{}: {} ({} us/query, exact scan {} us/query)", TOP_K, recall.recall(),
+				recall.approximateNanos() / QUERIES / 1000, recall.exactNanos() / QUERIES / 1000);
+		assertThat(recall.recall()).isGreaterThanOrEqualTo(0.95);
+	}
+
+	@Test
+	void recallGrowsWithEfSearch() {
+		SimpleVectorStore exact = SimpleVectorStore.builder(this.embeddingModel).build();
+		exact.add(this.documents);
+
+		double previous = 0;
+		for (int efSearch : new int[] { 10, 40, 160 }) {
+			HnswVectorStore hnsw = HnswVectorStore.builder(this.embeddingModel)
+				.m(8)
+				.efConstruction(64)
+				.efSearch(efSearch)
+				.build();
+			hnsw.add(this.documents);
+
+			Recall recall = measureRecall(exact, hnsw, null);
+			logger.info("efSearch={} recall@{}: {} ({} us/query)", efSearch, TOP_K, recall.recall(),
+					recall.approximateNanos() / QUERIES / 1000);
+			assertThat(recall.recall()).isGreaterThanOrEqualTo(previous - 0.01);
+			previous = recall.recall();
+		}
+		assertThat(previous).isGreaterThanOrEqualTo(0.95);
+	}
+
+	@Test
+	void filteredSearchReturnsOnlyMatchingDocumentsWithHighRecall() {
+		SimpleVectorStore exact = SimpleVectorStore.builder(this.embeddingModel).build();
+		HnswVectorStore hnsw = HnswVectorStore.builder(this.embeddingModel).build();
+		exact.add(this.documents);
+		hnsw.add(this.documents);
+
+		Recall recall = measureRecall(exact, hnsw, "tenant == 'tenant-3'");
+
+		assertThat(recall.recall()).isGreaterThanOrEqualTo(0.95);
+		List<Document> results = hnsw.similaritySearch(
+				SearchRequest.builder().query("query 0").topK(TOP_K).filterExpression("tenant == 'tenant-3'").build());
+		assertThat(results).hasSize(TOP_K)
+			.allSatisfy(d -> assertThat(d.getMetadata()).containsEntry("tenant", "tenant-3"));
+	}
+
+	@Test
+	void deletesAreNeverReturnedAndRecallSurvives() {
+		SimpleVectorStore exact = SimpleVectorStore.builder(this.embeddingModel).build();
+		HnswVectorStore hnsw = HnswVectorStore.builder(this.embeddingModel).build();
+		exact.add(this.documents);
+		hnsw.add(this.documents);
+
+		List<String> deleted = new ArrayList<>();
+		for (int i = 0; i < DOCUMENTS; i += 3) {
+			deleted.add("doc-" + i);
+		}
+		exact.delete(deleted);
+		hnsw.delete(deleted);
+		assertThat(hnsw.size()).isEqualTo(DOCUMENTS - deleted.size());
+
+		Recall recall = measureRecall(exact, hnsw, null);
+		assertThat(recall.recall()).isGreaterThanOrEqualTo(0.9);
+		for (int q = 0; q < QUERIES; q++) {
+			assertThat(hnsw.similaritySearch(SearchRequest.builder().query("query " + q).topK(TOP_K).build()))
+				.hasSize(TOP_K)
+				.extracting(Document::getId)
+				.doesNotContainAnyElementsOf(deleted);
+		}
+
+		// freed slots are reused by new documents
+		hnsw.add(List.of(Document.builder().id("doc-0").text("document 0").build()));
+		assertThat(hnsw.size()).isEqualTo(DOCUMENTS - deleted.size() + 1);
+		float[] reinserted = this.embeddingModel.embed("document 0");
+		this.embeddingModel.register("exact", reinserted);
+		assertThat(hnsw.similaritySearch(SearchRequest.builder().query("exact").topK(1).build()))
+			.extracting(Document::getId)
+			.containsExactly("doc-0");
+	}
+
+	@Test
+	void searchWithZeroTopKReturnsNoDocuments() {
+		HnswVectorStore hnsw = HnswVectorStore.builder(this.embeddingModel).build();
+		hnsw.add(this.documents.subList(0, 10));
+
+		assertThat(hnsw.similaritySearch(SearchRequest.builder().query("query 0").topK(0).build())).isEmpty();
+	}
+
+	@Test
+	void deleteByFilterExpression() {
+		HnswVectorStore hnsw = HnswVectorStore.builder(this.embeddingModel).build();
+		hnsw.add(this.documents.subList(0, 200));
+
+		hnsw.delete(new FilterExpressionBuilder().eq("tenant", "tenant-1").build());
+
+		assertThat(hnsw.size()).isEqualTo(190);
+		assertThat(hnsw.similaritySearch(SearchRequest.builder().query("query 1").topK(200).build())).isNotEmpty()
+			.noneSatisfy(d -> assertThat(d.getMetadata()).containsEntry("tenant", "tenant-1"));
+	}
+
+	@Test
+	void appliesSimilarityThresholdAndReplacesDocumentsWithSameId() {
+		HnswVectorStore small = HnswVectorStore.builder(new RandomEmbeddingModel(2) {
+			{
+				register("x", new float[] { 1f, 0f });
+				register("y", new float[] { 0f, 1f });
+			}
+		}).build();
+		small.add(List.of(Document.builder().id("1").text("x").build(), Document.builder().id("2").text("y").build()));
+
+		assertThat(small.similaritySearch(SearchRequest.builder().query("x").topK(5).similarityThreshold(0.9).build()))
+			.extracting(Document::getId)
+			.containsExactly("1");
+
+		small.add(List.of(Document.builder().id("1").text("y").build()));
+		assertThat(small.size()).isEqualTo(2);
+		assertThat(small.similaritySearch(SearchRequest.builder().query("y").topK(5).similarityThreshold(0.9).build()))
+			.extracting(Document::getId)
+			.containsExactlyInAnyOrder("1", "2");
+	}
+
+	@Test
+	void rejectsInvalidParameters() {
+		assertThatThrownBy(() -> HnswVectorStore.builder(this.embeddingModel).m(1))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> HnswVectorStore.builder(this.embeddingModel).efSearch(0))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> HnswVectorStore.builder(this.embeddingModel).efConstruction(0))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private Recall measureRecall(VectorStore exact, VectorStore approximate, String filter) {
+		int hits = 0;
+		int expectedTotal = 0;
+		long exactNanos = 0;
+		long approximateNanos = 0;
+		for (int q = 0; q < QUERIES; q++) {
+			SearchRequest.Builder request = SearchRequest.builder().query("query " + q).topK(TOP_K);
+			if (filter != null) {
+				request.filterExpression(filter);
+			}
+			SearchRequest searchRequest = request.build();
+
+			long start = System.nanoTime();
+			List<Document> expected = exact.similaritySearch(searchRequest);
+			exactNanos += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			List<Document> actual = approximate.similaritySearch(searchRequest);
+			approximateNanos += System.nanoTime() - start;
+
+			Set<String> expectedIds = new HashSet<>(expected.stream().map(Document::getId).toList());
+			expectedTotal += expectedIds.size();
+			hits += (int) actual.stream().map(Document::getId).filter(expectedIds::contains).count();
+		}
+		return new Recall((double) hits / expectedTotal, exactNanos, approximateNanos);
+	}
+
+	private record Recall(double recall, long exactNanos, long approximateNanos) {
+	}
+
+	/**
+	 * Embedding model returning a reproducible random vector for every text, unless a
+	 * vector has been registered for it.
+	 */
+	static class RandomEmbeddingModel implements EmbeddingModel {
+
+		private final int dimensions;
+
+		private final Map<String, float[]> registered = new ConcurrentHashMap<>();
+
+		RandomEmbeddingModel(int dimensions) {
+			this.dimensions = dimensions;
+		}
+
+		void register(String text, float[] embedding) {
+			this.registered.put(text, embedding);
+		}
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			List<Embedding> embeddings = new ArrayList<>();
+			for (int i = 0; i < request.getInstructions().size(); i++) {
+				embeddings.add(new Embedding(vectorFor(request.getInstructions().get(i)), i));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			return vectorFor(document.getText());
+		}
+
+		@Override
+		public int dimensions() {
+			return this.dimensions;
+		}
+
+		private float[] vectorFor(String text) {
+			float[] registeredVector = this.registered.get(text);
+			if (registeredVector != null) {
+				return registeredVector;
+			}
+			Random random = new Random(text.hashCode());
+			float[] vector = new float[this.dimensions];
+			for (int i = 0; i < this.dimensions; i++) {
+				vector[i] = (float) random.nextGaussian();
+			}
+			return vector;
+		}
+
+	}
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.HnswVectorStoreTests.RandomEmbeddingModel;
+import org.springframework.core.io.ByteArrayResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the binary persistence format of the {@link SimpleVectorStore}.
+ */
+class SimpleVectorStoreBinaryFormatTests {
+
+	@TempDir(cleanup = CleanupMode.ON_SUCCESS)
+	Path tempDir;
+
+	private RandomEmbeddingModel embeddingModel;
+
+	private SimpleVectorStore vectorStore;
+
+	@BeforeEach
+	void setUp() {
+		this.embeddingModel = new RandomEmbeddingModel(16);
+		this.vectorStore = SimpleVectorStore.builder(this.embeddingModel).build();
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			documents.add(Document.builder()
+				.id("doc-" + i)
+				.text("document " + i + " éè")
+				.metadata(Map.of("n", i, "tag", "t" + (i % 5)))
+				.build());
+		}
+		this.vectorStore.add(documents);
+	}
+
+	@Test
+	void binaryRoundTripReturnsSameResultsAsJson() {
+		File json = this.tempDir.resolve("store.json").toFile();
+		File binary = this.tempDir.resolve("store.bin").toFile();
+		this.vectorStore.save(json);
+		this.vectorStore.saveBinary(binary);
+
+		SimpleVectorStore fromJson = SimpleVectorStore.builder(this.embeddingModel).build();
+		fromJson.load(json);
+		SimpleVectorStore fromBinary = SimpleVectorStore.builder(this.embeddingModel).build();
+		fromBinary.load(binary);
+
+		assertThat(binary.length()).isLessThan(json.length());
+		for (int q = 0; q < 20; q++) {
+			SearchRequest request = SearchRequest.builder()
+				.query("query " + q)
+				.topK(5)
+				.filterExpression("tag == 't" + (q % 5) + "'")
+				.build();
+			assertThat(fromBinary.similaritySearch(request)).isEqualTo(fromJson.similaritySearch(request));
+		}
+	}
+
+	@Test
+	void mappedStoreCanBeMutatedAndSavedAgain() {
+		File binary = this.tempDir.resolve("store.bin").toFile();
+		this.vectorStore.saveBinary(binary);
+
+		SimpleVectorStore loaded = SimpleVectorStore.builder(this.embeddingModel).build();
+		loaded.load(binary);
+		loaded.delete(List.of("doc-0", "doc-1"));
+		this.embeddingModel.register("exact", this.embeddingModel.embed("document 7 éè"));
+		loaded.add(List.of(Document.builder().id("new").text("exact").build()));
+
+		// overwrite the file that is still mapped by the first store
+		loaded.saveBinary(binary);
+		SimpleVectorStore reloaded = SimpleVectorStore.builder(this.embeddingModel).build();
+		reloaded.load(binary);
+
+		List<Document> results = reloaded.similaritySearch(SearchRequest.builder().query("exact").topK(2).build());
+		assertThat(results).extracting(Document::getId).containsExactlyInAnyOrder("new", "doc-7");
+		assertThat(reloaded.similaritySearch(SearchRequest.builder().query("query").topK(500).build()))
+			.extracting(Document::getId)
+			.doesNotContain("doc-0", "doc-1");
+	}
+
+	@Test
+	void convertsJsonFileToBinary() {
+		File json = this.tempDir.resolve("store.json").toFile();
+		File binary = this.tempDir.resolve("converted.bin").toFile();
+		this.vectorStore.save(json);
+
+		SimpleVectorStore.convertToBinary(json, binary);
+
+		SimpleVectorStore loaded = SimpleVectorStore.builder(this.embeddingModel).build();
+		loaded.load(binary);
+		SearchRequest request = SearchRequest.builder().query("document 42 éè").topK(1).build();
+		assertThat(loaded.similaritySearch(request)).singleElement().satisfies(document -> {
+			assertThat(document.getId()).isEqualTo("doc-42");
+			assertThat(document.getText()).isEqualTo("document 42 éè");
+			assertThat(document.getMetadata()).containsEntry("n", 42).containsEntry("tag", "t2");
+		});
+	}
+
+	@Test
+	void loadsBinaryFromNonFileResource() throws IOException {
+		File binary = this.tempDir.resolve("store.bin").toFile();
+		this.vectorStore.saveBinary(binary);
+
+		SimpleVectorStore loaded = SimpleVectorStore.builder(this.embeddingModel).build();
+		loaded.load(new ByteArrayResource(Files.readAllBytes(binary.toPath())));
+
+		assertThat(loaded.similaritySearch(SearchRequest.builder().query("document 3 éè").topK(1).build()))
+			.extracting(Document::getId)
+			.containsExactly("doc-3");
+	}
+
+	@Test
+	void emptyStoreRoundTrip() {
+		File binary = this.tempDir.resolve("empty.bin").toFile();
+		SimpleVectorStore.builder(this.embeddingModel).build().saveBinary(binary);
+
+		SimpleVectorStore loaded = SimpleVectorStore.builder(this.embeddingModel).build();
+		loaded.load(binary);
+
+		assertThat(loaded.similaritySearch("anything")).isEmpty();
+		loaded.add(List.of(Document.builder().id("1").text("one").build()));
+		assertThat(loaded.similaritySearch("one")).extracting(Document::getId).containsExactly("1");
+	}
+
+	@Test
+	void missingTextRoundTrip() throws IOException {
+		Path binary = this.tempDir.resolve("store.bin");
+		try (SimpleVectorStoreBinaryFormat.Writer writer = new SimpleVectorStoreBinaryFormat.Writer(binary,
+				new ObjectMapper())) {
+			writer.append("a", null, Map.of("n", 1), new float[] { 1f, 0f });
+			writer.append("b", "", Map.of("n", 2), new float[] { 0f, 1f });
+			writer.append("c", "c", Map.of("n", 3), new float[] { 1f, 1f });
+			writer.commit();
+		}
+
+		SimpleVectorStoreIndex.Row[] rows = SimpleVectorStoreBinaryFormat.read(binary, new ObjectMapper()).rows();
+
+		assertThat(rows).extracting(SimpleVectorStoreIndex.Row::id).containsExactly("a", "b", "c");
+		assertThat(rows).extracting(row -> row.text().get()).containsExactly(null, "", "c");
+		assertThat(rows).extracting(row -> row.metadata().get("n")).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	void failedWriteLeavesExistingFileAndNoTemporaryFiles() throws IOException {
+		File binary = this.tempDir.resolve("store.bin").toFile();
+		this.vectorStore.saveBinary(binary);
+		byte[] before = Files.readAllBytes(binary.toPath());
+
+		try (SimpleVectorStoreBinaryFormat.Writer writer = new SimpleVectorStoreBinaryFormat.Writer(binary.toPath(),
+				new ObjectMapper())) {
+			writer.append("a", "a", Map.of(), new float[] { 1f, 2f });
+			assertThatThrownBy(() -> writer.append("b", "b", Map.of(), new float[] { 1f }))
+				.isInstanceOf(IllegalArgumentException.class);
+		}
+
+		assertThat(Files.readAllBytes(binary.toPath())).isEqualTo(before);
+		try (Stream<Path> files = Files.list(this.tempDir)) {
+			assertThat(files).extracting(path -> path.getFileName().toString()).containsExactly("store.bin");
+		}
+	}
+
+	@Test
+	void rejectsTruncatedFile() throws IOException {
+		File binary = this.tempDir.resolve("store.bin").toFile();
+		this.vectorStore.saveBinary(binary);
+		byte[] bytes = Files.readAllBytes(binary.toPath());
+		Files.write(binary.toPath(), Arrays.copyOf(bytes, bytes.length / 2));
+
+		SimpleVectorStore loaded = SimpleVectorStore.builder(this.embeddingModel).build();
+		assertThatThrownBy(() -> loaded.load(binary)).isInstanceOf(RuntimeException.class)
+			.hasCauseInstanceOf(IOException.class);
+	}
+
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentMetadata;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionPredicateCompiler;
+import org.springframework.ai.vectorstore.filter.FilterExpressionTextParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class SimpleVectorStoreIndexTests {
+
+	private static final int DIMENSIONS = 37;
+
+	private final Random random = new Random(42);
+
+	private final FilterExpressionTextParser parser = new FilterExpressionTextParser();
+
+	private final FilterExpressionPredicateCompiler compiler = new FilterExpressionPredicateCompiler();
+
+	@Test
+	void searchReturnsSameTopKAsExhaustiveSort() {
+		SimpleVectorStoreIndex index = new SimpleVectorStoreIndex();
+		List<SimpleVectorStoreContent> contents = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			SimpleVectorStoreContent content = new SimpleVectorStoreContent("id-" + i, "text-" + i, Map.of("n", i),
+					randomVector());
+			contents.add(content);
+			index.put(content);
+		}
+		float[] query = randomVector();
+
+		List<Document> results = index.search(query, 10, 0.0, null);
+
+		List<String> expected = contents.stream()
+			.sorted(Comparator
+				.comparingDouble((SimpleVectorStoreContent c) -> SimpleVectorStore.EmbeddingMath.cosineSimilarity(query,
+						c.getEmbedding()))
+				.reversed())
+			.filter(c -> SimpleVectorStore.EmbeddingMath.cosineSimilarity(query, c.getEmbedding()) >= 0.0)
+			.limit(10)
+			.map(SimpleVectorStoreContent::getId)
+			.toList();
+		assertThat(results).extracting(Document::getId).containsExactlyElementsOf(expected);
+		assertThat(results).isSortedAccordingTo(Comparator.comparing(Document::getScore).reversed());
+
+		Document best = results.get(0);
+		double expectedScore = SimpleVectorStore.EmbeddingMath.cosineSimilarity(query,
+				contents.get(Integer.parseInt(best.getId().substring(3))).getEmbedding());
+		assertThat(best.getScore()).isCloseTo(expectedScore, within(1e-5));
+		assertThat(best.getMetadata()).containsEntry("n", Integer.parseInt(best.getId().substring(3)))
+			.containsKey(DocumentMetadata.DISTANCE.value());
+	}
+
+	@Test
+	void parallelSearchMatchesSequentialSearch() {
+		SimpleVectorStoreIndex sequential = new SimpleVectorStoreIndex();
+		SimpleVectorStoreIndex parallel = new SimpleVectorStoreIndex(4, 100, ForkJoinPool.commonPool());
+		for (int i = 0; i < 1_003; i++) {
+			SimpleVectorStoreContent content = new SimpleVectorStoreContent("id-" + i, "text-" + i,
+					Map.of("even", i % 2 == 0), randomVector());
+			sequential.put(content);
+			parallel.put(content);
+		}
+		float[] query = randomVector();
+		Predicate<Map<String, Object>> filter = metadata -> Boolean.TRUE.equals(metadata.get("even"));
+
+		assertThat(parallel.search(query, 25, 0.1, filter)).extracting(Document::getId)
+			.containsExactlyElementsOf(sequential.search(query, 25, 0.1, filter).stream().map(Document::getId).toList())
+			.isNotEmpty();
+	}
+
+	@Test
+	void parallelSearchPropagatesFilterFailures() {
+		SimpleVectorStoreIndex parallel = new SimpleVectorStoreIndex(2, 1, Runnable::run);
+		parallel.put(new SimpleVectorStoreContent("a", "a", Map.of(), new float[] { 1f, 0f }));
+		parallel.put(new SimpleVectorStoreContent("b", "b", Map.of(), new float[] { 0f, 1f }));
+
+		assertThatThrownBy(() -> parallel.search(new float[] { 1f, 1f }, 1, 0.0, metadata -> {
+			throw new IllegalStateException("boom");
+		})).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+	}
+
+	@Test
+	void parallelSearchAwaitsAllPartitionsBeforeRethrowing() {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			SimpleVectorStoreIndex parallel = new SimpleVectorStoreIndex(2, 1, executor);
+			parallel.put(new SimpleVectorStoreContent("a", "a", Map.of("slow", false), new float[] { 1f, 0f }));
+			parallel.put(new SimpleVectorStoreContent("b", "b", Map.of("slow", true), new float[] { 0f, 1f }));
+			AtomicBoolean slowPartitionDone = new AtomicBoolean();
+
+			assertThatThrownBy(() -> parallel.search(new float[] { 1f, 1f }, 1, 0.0, metadata -> {
+				if (!(Boolean) metadata.get("slow")) {
+					throw new IllegalStateException("boom");
+				}
+				sleep(200);
+				slowPartitionDone.set(true);
+				return true;
+			})).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+			assertThat(slowPartitionDone).isTrue();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void searchWithZeroTopKReturnsNoDocuments() {
+		SimpleVectorStoreIndex sequential = new SimpleVectorStoreIndex();
+		SimpleVectorStoreIndex parallel = new SimpleVectorStoreIndex(2, 1, ForkJoinPool.commonPool());
+		for (SimpleVectorStoreIndex index : List.of(sequential, parallel)) {
+			index.put(new SimpleVectorStoreContent("a", "a", Map.of(), new float[] { 1f, 0f }));
+			index.put(new SimpleVectorStoreContent("b", "b", Map.of(), new float[] { 0f, 1f }));
+
+			assertThat(index.search(new float[] { 1f, 0f }, 0, 0.0, null)).isEmpty();
+		}
+	}
+
+	@Test
+	void searchAppliesThresholdAndMetadataFilter() {
+		SimpleVectorStoreIndex index = new SimpleVectorStoreIndex();
+		index.put(new SimpleVectorStoreContent("a", "a", Map.of("tenant", "x"), new float[] { 1f, 0f }));
+		index.put(new SimpleVectorStoreContent("b", "b", Map.of("tenant", "y"), new float[] { 1f, 0.1f }));
+		index.put(new SimpleVectorStoreContent("c", "c", Map.of("tenant", "x"), new float[] { 0f, 1f }));
+
+		assertThat(index.search(new float[] { 1f, 0f }, 5, 0.5, null)).extracting(Document::getId)
+			.containsExactly("a", "b");
+		assertThat(index.search(new float[] { 1f, 0f }, 5, 0.0, metadata -> "x".equals(metadata.get("tenant"))))
+			.extracting(Document::getId)
+			.containsExactly("a", "c");
+	}
+
+	@Test
+	void removeKeepsRemainingRowsAddressable() {
+		SimpleVectorStoreIndex index = new SimpleVectorStoreIndex();
+		index.put(new SimpleVectorStoreContent("a", "a", Map.of(), new float[] { 1f, 0f }));
+		index.put(new SimpleVectorStoreContent("b", "b", Map.of(), new float[] { 0f, 1f }));
+		index.put(new SimpleVectorStoreContent("c", "c", Map.of(), new float[] { 1f, 1f }));
+
+		assertThat(index.remove("a")).isTrue();
+		assertThat(index.remove("a")).isFalse();
+		assertThat(index.size()).isEqualTo(2);
+
+		assertThat(index.search(new float[] { 1f, 1f }, 1, 0.0, null)).extracting(Document::getId).containsExactly("c");
+		assertThat(index.remove("c")).isTrue();
+		assertThat(index.search(new float[] { 0f, 1f }, 5, 0.0, null)).extracting(Document::getId).containsExactly("b");
+	}
+
+	@Test
+	void putReplacesExistingRowAndContentsRestoresEmbedding() {
+		SimpleVectorStoreIndex index = new SimpleVectorStoreIndex();
+		index.put(new SimpleVectorStoreContent("a", "old", Map.of(), new float[] { 3f, 4f }));
+		index.put(new SimpleVectorStoreContent("a", "new", Map.of(), new float[] { 6f, 8f }));
+
+		assertThat(index.size()).isEqualTo(1);
+		SimpleVectorStoreContent content = index.contents().get(0);
+		assertThat(content.getText()).isEqualTo("new");
+		assertThat(content.getEmbedding()).containsExactly(new float[] { 6f, 8f }, within(1e-5f));
+	}
+
+	@Test
+	void metadataIndexRestrictsScanToCandidates() {
+		SimpleVectorStoreIndex indexed = new SimpleVectorStoreIndex(1, Integer.MAX_VALUE, ForkJoinPool.commonPool(),
+				List.of("tenant"));
+		SimpleVectorStoreIndex plain = new SimpleVectorStoreIndex();
+		for (int i = 0; i < 2_000; i++) {
+			SimpleVectorStoreContent content = new SimpleVectorStoreContent("id-" + i, "text-" + i,
+					Map.of("tenant", "tenant-" + (i % 100), "n", i), randomVector());
+			indexed.put(content);
+			plain.put(content);
+		}
+		Filter.Expression expression = this.parser.parse("tenant in ['tenant-3', 'tenant-7'] && n > 100");
+		Predicate<Map<String, Object>> filter = this.compiler.compile(expression);
+		AtomicInteger tested = new AtomicInteger();
+		Predicate<Map<String, Object>> countingFilter = metadata -> {
+			tested.incrementAndGet();
+			return filter.test(metadata);
+		};
+		float[] query = randomVector();
+
+		List<Document> results = indexed.search(query, 10, -1.0, expression, countingFilter);
+
+		assertThat(tested).hasValue(40);
+		assertThat(results).extracting(Document::getId)
+			.containsExactlyElementsOf(
+					plain.search(query, 10, -1.0, expression, filter).stream().map(Document::getId).toList())
+			.hasSize(10);
+	}
+
+	@Test
+	void metadataIndexFollowsUpdatesDeletesAndNumericTypes() {
+		SimpleVectorStoreIndex index = new SimpleVectorStoreIndex(1, Integer.MAX_VALUE, ForkJoinPool.commonPool(),
+				List.of("year"));
+		index.put(new SimpleVectorStoreContent("a", "a", Map.of("year", 2020), new float[] { 1f, 0f }));
+		index.put(new SimpleVectorStoreContent("b", "b", Map.of("year", 2021L), new float[] { 1f, 1f }));
+		index.put(new SimpleVectorStoreContent("c", "c", Map.of("year", 2020.0), new float[] { 0f, 1f }));
+		float[] query = { 1f, 1f };
+
+		assertThat(search(index, query, "year == 2020")).containsExactlyInAnyOrder("a", "c");
+
+		index.remove("a");
+		index.put(new SimpleVectorStoreContent("b", "b", Map.of("year", 2020), new float[] { 1f, 1f }));
+		assertThat(search(index, query, "year == 2020")).containsExactlyInAnyOrder("b", "c");
+		assertThat(search(index, query, "year == 2021")).isEmpty();
+		assertThat(search(index, query, "year == 2020 || year == 2021")).containsExactlyInAnyOrder("b", "c");
+
+		index.replaceAll(List.of(new SimpleVectorStoreContent("d", "d", Map.of("year", 2021), query)));
+		assertThat(search(index, query, "year in [2020, 2021]")).containsExactly("d");
+	}
+
+	@Test
+	void rejectsZeroNormAndDimensionMismatch() {
+		SimpleVectorStoreIndex index = new SimpleVectorStoreIndex();
+		assertThatThrownBy(() -> index.put(new SimpleVectorStoreContent("z", "z", Map.of(), new float[] { 0f, 0f })))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Vectors cannot have zero norm");
+
+		index.put(new SimpleVectorStoreContent("a", "a", Map.of(), new float[] { 1f, 0f }));
+		assertThatThrownBy(
+				() -> index.put(new SimpleVectorStoreContent("b", "b", Map.of(), new float[] { 1f, 0f, 0f })))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Vectors lengths must be equal");
+		assertThatThrownBy(() -> index.search(new float[] { 1f, 0f, 0f }, 1, 0.0, null))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Vectors lengths must be equal");
+	}
+
+	private List<String> search(SimpleVectorStoreIndex index, float[] query, String filter) {
+		Filter.Expression expression = this.parser.parse(filter);
+		return index.search(query, 10, -1.0, expression, this.compiler.compile(expression))
+			.stream()
+			.map(Document::getId)
+			.toList();
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private float[] randomVector() {
+		float[] vector = new float[DIMENSIONS];
+		for (int i = 0; i < DIMENSIONS; i++) {
+			vector[i] = this.random.nextFloat() * 2 - 1;
+		}
+		return vector;
+	}
+
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.HnswVectorStoreTests.RandomEmbeddingModel;
+import org.springframework.ai.vectorstore.SimpleVectorStore.Quantization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Recall of the quantized scans of the {@link SimpleVectorStore} against the exact scan.
+ */
+class SimpleVectorStoreQuantizationTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(SimpleVectorStoreQuantizationTests.class);
+
+	private static final int DOCUMENTS = 3_000;
+
+	private static final int QUERIES = 50;
+
+	private static final int TOP_K = 10;
+
+	@TempDir(cleanup = CleanupMode.ON_SUCCESS)
+	Path tempDir;
+
+	private RandomEmbeddingModel embeddingModel;
+
+	private List<Document> documents;
+
+	@BeforeEach
+	void setUp() {
+		this.embeddingModel = new RandomEmbeddingModel(64);
+		this.documents = new ArrayList<>();
+		for (int i = 0; i < DOCUMENTS; i++) {
+			this.documents.add(Document.builder()
+				.id("doc-" + i)
+				.text("document " + i)
+				.metadata(Map.of("tenant", "tenant-" + (i % 4)))
+				.build());
+		}
+	}
+
+	@Test
+	void int8SearchHasHighRecallAndExactScores() {
+		SimpleVectorStore exact = SimpleVectorStore.builder(this.embeddingModel).build();
+		SimpleVectorStore quantized = SimpleVectorStore.builder(this.embeddingModel)
+			.quantization(Quantization.INT8)
+			.build();
+		exact.add(this.documents);
+		quantized.add(this.documents);
+
+		double recall = recall(exact, quantized, null);
+
+		logger.info("INT8 recall@{}: {}", TOP_K, recall);
+		assertThat(recall).isGreaterThanOrEqualTo(0.95);
+		SearchRequest request = SearchRequest.builder().query("query 1").topK(TOP_K).build();
+		Document best = exact.similaritySearch(request).get(0);
+		assertThat(quantized.similaritySearch(request)).first().satisfies(document -> {
+			assertThat(document.getId()).isEqualTo(best.getId());
+			assertThat(document.getScore()).isCloseTo(best.getScore(), within(1e-12));
+		});
+	}
+
+	@Test
+	void binaryRecallGrowsWithRescoreFactor() {
+		SimpleVectorStore exact = SimpleVectorStore.builder(this.embeddingModel).build();
+		exact.add(this.documents);
+
+		double previous = 0;
+		for (int rescoreFactor : new int[] { 4, 16, 64 }) {
+			SimpleVectorStore quantized = SimpleVectorStore.builder(this.embeddingModel)
+				.quantization(Quantization.BINARY)
+				.rescoreFactor(rescoreFactor)
+				.build();
+			quantized.add(this.documents);
+
+			double recall = recall(exact, quantized, null);
+			logger.info("BINARY rescoreFactor={} recall@{}: {}", rescoreFactor, TOP_K, recall);
+			assertThat(recall).isGreaterThanOrEqualTo(previous);
+			previous = recall;
+		}
+		assertThat(previous).isGreaterThanOrEqualTo(0.9);
+	}
+
+	@Test
+	void quantizedSearchHonoursFiltersAndThreshold() {
+		SimpleVectorStore exact = SimpleVectorStore.builder(this.embeddingModel).build();
+		SimpleVectorStore quantized = SimpleVectorStore.builder(this.embeddingModel)
+			.quantization(Quantization.INT8)
+			.indexedMetadataKeys("tenant")
+			.build();
+		exact.add(this.documents);
+		quantized.add(this.documents);
+
+		assertThat(recall(exact, quantized, "tenant == 'tenant-2'")).isGreaterThanOrEqualTo(0.9);
+		SearchRequest request = SearchRequest.builder()
+			.query("query 3")
+			.topK(50)
+			.similarityThreshold(0.25)
+			.filterExpression("tenant == 'tenant-2'")
+			.build();
+		assertThat(quantized.similaritySearch(request)).isNotEmpty().allSatisfy(document -> {
+			assertThat(document.getScore()).isGreaterThanOrEqualTo(0.25);
+			assertThat(document.getMetadata()).containsEntry("tenant", "tenant-2");
+		});
+	}
+
+	@Test
+	void codesFollowUpdatesDeletesAndBinaryLoad() {
+		SimpleVectorStore quantized = SimpleVectorStore.builder(this.embeddingModel)
+			.quantization(Quantization.INT8)
+			.build();
+		quantized.add(this.documents);
+		quantized.delete(List.of("doc-0", "doc-1", "doc-2"));
+		this.embeddingModel.register("exact", this.embeddingModel.embed("document 1"));
+		quantized.add(List.of(Document.builder().id("doc-5").text("exact").build()));
+
+		assertThat(quantized.similaritySearch(SearchRequest.builder().query("exact").topK(1).build()))
+			.extracting(Document::getId)
+			.containsExactly("doc-5");
+
+		File file = this.tempDir.resolve("store.bin").toFile();
+		quantized.saveBinary(file);
+		SimpleVectorStore loaded = SimpleVectorStore.builder(this.embeddingModel)
+			.quantization(Quantization.BINARY)
+			.build();
+		loaded.load(file);
+		assertThat(loaded.similaritySearch(SearchRequest.builder().query("exact").topK(1).build()))
+			.extracting(Document::getId)
+			.containsExactly("doc-5");
+	}
+
+	@Test
+	void mappedQuantizedStoreCanBeMutatedWithoutLosingRows() {
+		File file = this.tempDir.resolve("store.bin").toFile();
+		SimpleVectorStore exact = SimpleVectorStore.builder(this.embeddingModel).build();
+		exact.add(this.documents);
+		exact.saveBinary(file);
+		SimpleVectorStore quantized = SimpleVectorStore.builder(this.embeddingModel)
+			.quantization(Quantization.INT8)
+			.build();
+		quantized.load(file);
+
+		List<String> deleted = List.of("doc-0", "doc-7", "doc-2999");
+		List<Document> added = List.of(Document.builder().id("doc-7").text("replacement").build(),
+				Document.builder().id("new").text("new document").build());
+		for (SimpleVectorStore store : List.of(exact, quantized)) {
+			store.delete(deleted);
+			store.add(added);
+		}
+
+		for (int q = 0; q < QUERIES; q++) {
+			SearchRequest request = SearchRequest.builder().query("query " + q).topK(TOP_K).build();
+			assertThat(quantized.similaritySearch(request)).extracting(Document::getId)
+				.containsExactlyElementsOf(exact.similaritySearch(request).stream().map(Document::getId).toList());
+		}
+		quantized.saveBinary(file);
+		SimpleVectorStore reloaded = SimpleVectorStore.builder(this.embeddingModel).build();
+		reloaded.load(file);
+		assertThat(reloaded.similaritySearch(SearchRequest.builder().query("replacement").topK(1).build()))
+			.singleElement()
+			.satisfies(document -> {
+				assertThat(document.getId()).isEqualTo("doc-7");
+				assertThat(document.getScore()).isCloseTo(1.0, within(1e-5));
+			});
+		for (String text : List.of("document 0", "document 2999", "query 0")) {
+			SearchRequest request = SearchRequest.builder().query(text).topK(TOP_K).build();
+			assertThat(reloaded.similaritySearch(request)).extracting(Document::getId)
+				.containsExactlyElementsOf(exact.similaritySearch(request).stream().map(Document::getId).toList())
+				.doesNotContain("doc-0", "doc-2999");
+		}
+	}
+
+	@Test
+	void spilledQuantizedStoreReadsFloatVectorsFromScratchFile() {
+		Path spillDirectory = this.tempDir.resolve("spill");
+		SimpleVectorStore exact = SimpleVectorStore.builder(this.embeddingModel).build();
+		SimpleVectorStore spilled = SimpleVectorStore.builder(this.embeddingModel)
+			.quantization(Quantization.INT8)
+			.spillDirectory(spillDirectory)
+			.build();
+		for (int round = 0; round < 3; round++) {
+			exact.add(this.documents);
+			spilled.add(this.documents);
+		}
+		exact.delete(List.of("doc-0", "doc-7"));
+		spilled.delete(List.of("doc-0", "doc-7"));
+
+		for (int q = 0; q < QUERIES; q++) {
+			SearchRequest request = SearchRequest.builder().query("query " + q).topK(TOP_K).build();
+			List<Document> expected = exact.similaritySearch(request);
+			List<Document> actual = spilled.similaritySearch(request);
+			assertThat(actual).extracting(Document::getId)
+				.containsExactlyElementsOf(expected.stream().map(Document::getId).toList());
+			for (int i = 0; i < actual.size(); i++) {
+				assertThat(actual.get(i).getScore()).isCloseTo(expected.get(i).getScore(), within(1e-6));
+			}
+		}
+	}
+
+	@Test
+	void rejectsSpillDirectoryWithoutQuantization() {
+		assertThatThrownBy(() -> SimpleVectorStore.builder(this.embeddingModel).spillDirectory(this.tempDir).build())
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("spillDirectory requires quantization");
+	}
+
+	@Test
+	void rejectsInvalidRescoreFactor() {
+		assertThatThrownBy(() -> SimpleVectorStore.builder(this.embeddingModel).rescoreFactor(0))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private double recall(VectorStore exact, VectorStore approximate, String filter) {
+		int hits = 0;
+		int total = 0;
+		for (int q = 0; q < QUERIES; q++) {
+			SearchRequest.Builder builder = SearchRequest.builder().query("query " + q).topK(TOP_K);
+			if (filter != null) {
+				builder.filterExpression(filter);
+			}
+			SearchRequest request = builder.build();
+			Set<String> expected = new HashSet<>(
+					exact.similaritySearch(request).stream().map(Document::getId).toList());
+			total += expected.size();
+			hits += (int) approximate.similaritySearch(request)
+				.stream()
+				.map(Document::getId)
+				.filter(expected::contains)
+				.count();
+		}
+		return (double) hits / total;
+	}
+
+}
@@ -80,6 +80,19 @@ class SimpleVectorStoreTests {
 		});
 	}
 
+	@Test
+	@SuppressWarnings("removal")
+	void shouldExposeStoredContentToSubclasses() {
+		this.vectorStore.add(List.of(Document.builder().id("1").text("first").build(),
+				Document.builder().id("2").text("second").build()));
+		this.vectorStore.delete(List.of("2"));
+
+		assertThat(this.vectorStore.store).containsOnlyKeys("1");
+		assertThat(this.vectorStore.store.get("1").getText()).isEqualTo("first");
+		assertThat(this.vectorStore.store.get("1").getEmbedding()).containsExactly(0.1f, 0.2f, 0.3f);
+		assertThatThrownBy(() -> this.vectorStore.store.remove("1")).isInstanceOf(UnsupportedOperationException.class);
+	}
+
 	@Test
 	void shouldAddMultipleDocuments() {
 		List<Document> docs = Arrays.asList(Document.builder().id("1").text("first").build(),
@@ -32,6 +32,7 @@ import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.vectorstore.filter.Filter;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -77,7 +78,8 @@ class SimpleVectorStoreWithFilterTests {
 			assertThat(result.getId()).isEqualTo("1");
 			assertThat(result.getText()).isEqualTo("test content");
 			assertThat(result.getMetadata()).hasSize(4);
-			assertThat(result.getMetadata()).containsEntry("distance", 2.220446049250313E-16);
+			assertThat(result.getMetadata()).hasEntrySatisfying("distance",
+					distance -> assertThat((Double) distance).isCloseTo(0.0, within(1e-6)));
 		});
 
 		results = this.vectorStore.similaritySearch(
@@ -92,7 +94,8 @@ class SimpleVectorStoreWithFilterTests {
 			assertThat(result.getId()).isEqualTo("1");
 			assertThat(result.getText()).isEqualTo("test content");
 			assertThat(result.getMetadata()).hasSize(4);
-			assertThat(result.getMetadata()).containsEntry("distance", 2.220446049250313E-16);
+			assertThat(result.getMetadata()).hasEntrySatisfying("distance",
+					distance -> assertThat((Double) distance).isCloseTo(0.0, within(1e-6)));
 		});
 
 		results = this.vectorStore.similaritySearch(SearchRequest.builder()
@@ -107,7 +110,8 @@ class SimpleVectorStoreWithFilterTests {
 			assertThat(result.getId()).isEqualTo("1");
 			assertThat(result.getText()).isEqualTo("test content");
 			assertThat(result.getMetadata()).hasSize(4);
-			assertThat(result.getMetadata()).containsEntry("distance", 2.220446049250313E-16);
+			assertThat(result.getMetadata()).hasEntrySatisfying("distance",
+					distance -> assertThat((Double) distance).isCloseTo(0.0, within(1e-6)));
 		});
 
 		results = this.vectorStore.similaritySearch(
@@ -123,7 +127,8 @@ class SimpleVectorStoreWithFilterTests {
 			assertThat(result.getId()).isEqualTo("1");
 			assertThat(result.getText()).isEqualTo("test content");
 			assertThat(result.getMetadata()).hasSize(4);
-			assertThat(result.getMetadata()).containsEntry("distance", 2.220446049250313E-16);
+			assertThat(result.getMetadata()).hasEntrySatisfying("distance",
+					distance -> assertThat((Double) distance).isCloseTo(0.0, within(1e-6)));
 		});
 
 		results = this.vectorStore.similaritySearch(SearchRequest.builder()
@@ -160,7 +165,8 @@ class SimpleVectorStoreWithFilterTests {
 			assertThat(result.getId()).isEqualTo("1");
 			assertThat(result.getText()).isEqualTo("first");
 			assertThat(result.getMetadata()).hasSize(4);
-			assertThat(result.getMetadata()).containsEntry("distance", 2.220446049250313E-16);
+			assertThat(result.getMetadata()).hasEntrySatisfying("distance",
+					distance -> assertThat((Double) distance).isCloseTo(0.0, within(1e-6)));
 		});
 
 		results = this.vectorStore
@@ -173,7 +179,8 @@ class SimpleVectorStoreWithFilterTests {
 			assertThat(result.getId()).isEqualTo("1");
 			assertThat(result.getText()).isEqualTo("first");
 			assertThat(result.getMetadata()).hasSize(4);
-			assertThat(result.getMetadata()).containsEntry("distance", 2.220446049250313E-16);
+			assertThat(result.getMetadata()).hasEntrySatisfying("distance",
+					distance -> assertThat((Double) distance).isCloseTo(0.0, within(1e-6)));
 		});
 
 		results = this.vectorStore.similaritySearch(
@@ -182,7 +189,8 @@ class SimpleVectorStoreWithFilterTests {
 			assertThat(result.getId()).isEqualTo("2");
 			assertThat(result.getText()).isEqualTo("second");
 			assertThat(result.getMetadata()).hasSize(4);
-			assertThat(result.getMetadata()).containsEntry("distance", 2.220446049250313E-16);
+			assertThat(result.getMetadata()).hasEntrySatisfying("distance",
+					distance -> assertThat((Double) distance).isCloseTo(0.0, within(1e-6)));
 		});
 
 		results = this.vectorStore.similaritySearch(SearchRequest.builder()
@@ -197,7 +205,8 @@ class SimpleVectorStoreWithFilterTests {
 			assertThat(result.getId()).isEqualTo("1");
 			assertThat(result.getText()).isEqualTo("first");
 			assertThat(result.getMetadata()).hasSize(4);
-			assertThat(result.getMetadata()).containsEntry("distance", 2.220446049250313E-16);
+			assertThat(result.getMetadata()).hasEntrySatisfying("distance",
+					distance -> assertThat((Double) distance).isCloseTo(0.0, within(1e-6)));
 		});
 
 		results = this.vectorStore.similaritySearch(
@@ -213,7 +222,8 @@ class SimpleVectorStoreWithFilterTests {
 			assertThat(result.getId()).isEqualTo("1");
 			assertThat(result.getText()).isEqualTo("first");
 			assertThat(result.getMetadata()).hasSize(4);
-			assertThat(result.getMetadata()).containsEntry("distance", 2.220446049250313E-16);
+			assertThat(result.getMetadata()).hasEntrySatisfying("distance",
+					distance -> assertThat((Double) distance).isCloseTo(0.0, within(1e-6)));
 		});
 
 		results = this.vectorStore.similaritySearch(SearchRequest.builder()
@@ -226,7 +236,8 @@ class SimpleVectorStoreWithFilterTests {
 			assertThat(result.getId()).isEqualTo("1");
 			assertThat(result.getText()).isEqualTo("first");
 			assertThat(result.getMetadata()).hasSize(4);
-			assertThat(result.getMetadata()).containsEntry("distance", 2.220446049250313E-16);
+			assertThat(result.getMetadata()).hasEntrySatisfying("distance",
+					distance -> assertThat((Double) distance).isCloseTo(0.0, within(1e-6)));
 		});
 
 		results = this.vectorStore.similaritySearch(SearchRequest.builder()
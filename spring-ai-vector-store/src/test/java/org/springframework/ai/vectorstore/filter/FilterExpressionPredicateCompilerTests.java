@@ -0,0 +1,135 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore.filter;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.ai.vectorstore.filter.Filter.Expression;
+import org.springframework.ai.vectorstore.filter.Filter.ExpressionType;
+import org.springframework.ai.vectorstore.filter.Filter.Key;
+import org.springframework.ai.vectorstore.filter.Filter.Value;
+import org.springframework.ai.vectorstore.filter.converter.SimpleVectorStoreFilterExpressionConverter;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the compiled predicates against the SpEL evaluation they replace.
+ */
+class FilterExpressionPredicateCompilerTests {
+
+	private static final List<Map<String, Object>> METADATA = List.of(
+			Map.of("country", "BG", "year", 2020, "activationDate", "1970-01-01T00:00:02Z", "enabled", true),
+			Map.of("country", "NL", "year", 2021L, "activationDate", "1970-01-01T00:00:03Z", "enabled", false),
+			Map.of("country", "KR", "year", 2022.0, "activationDate", "1970-01-01T00:00:04Z"),
+			Map.of("country", "US", "year", 2023, "genre", "drama"));
+
+	private final FilterExpressionTextParser parser = new FilterExpressionTextParser();
+
+	private final FilterExpressionPredicateCompiler compiler = new FilterExpressionPredicateCompiler();
+
+	@ParameterizedTest
+	@ValueSource(strings = { "country == 'BG'", "country != 'BG'", "year == 2020", "year > 2020", "year >= 2021",
+			"year < 2022", "year <= 2021", "country in ['BG', 'NL']", "country nin ['BG', 'NL']", "country in ['BG']",
+			"enabled == true", "country == 'BG' && year == 2020", "country == 'BG' || year > 2021",
+			"(country == 'BG' || country == 'NL') && year >= 2021", "NOT(country == 'BG')",
+			"NOT(country == 'BG' && year == 2020)", "activationDate >= '1970-01-01T00:00:03Z'", "'country' == 'KR'" })
+	void matchesSpelEvaluation(String filter) {
+		Expression expression = this.parser.parse(filter);
+		assertThat(matching(expression)).isEqualTo(matchingWithSpel(expression));
+	}
+
+	@Test
+	void comparesNumbersByValueAcrossTypes() {
+		assertThat(matching(this.parser.parse("year in [2020, 2021, 2022]"))).containsExactly(0, 1, 2);
+		assertThat(matching(this.parser.parse("year == 2022"))).containsExactly(2);
+	}
+
+	@Test
+	void comparesDatesAsIsoStrings() {
+		Expression expression = new Expression(ExpressionType.AND,
+				new Expression(ExpressionType.GTE, new Key("activationDate"), new Value(new Date(3000))),
+				new Expression(ExpressionType.LTE, new Key("activationDate"), new Value(new Date(4000))));
+
+		assertThat(matching(expression)).containsExactly(1, 2).isEqualTo(matchingWithSpel(expression));
+	}
+
+	@Test
+	void matchesNullAndMissingKeys() {
+		Map<String, Object> withNull = new HashMap<>();
+		withNull.put("genre", null);
+
+		assertThat(this.compiler.compile(this.parser.parse("genre IS NULL"))).accepts(withNull, Map.of("country", "BG"))
+			.rejects(Map.of("genre", "drama"));
+		assertThat(this.compiler.compile(this.parser.parse("genre IS NOT NULL"))).accepts(Map.of("genre", "drama"))
+			.rejects(withNull, Map.of());
+	}
+
+	@Test
+	void unquotesPaddedQuotedKeys() {
+		assertThat(FilterExpressionPredicateCompiler.metadataKey(new Key(" 'country' "))).isEqualTo("country");
+		assertThat(FilterExpressionPredicateCompiler.metadataKey(new Key("\t\"country\"\n"))).isEqualTo("country");
+		assertThat(FilterExpressionPredicateCompiler.metadataKey(new Key("'"))).isEqualTo("'");
+
+		Expression expression = new Expression(ExpressionType.EQ, new Key(" 'country' "), new Value("KR"));
+		assertThat(matching(expression)).containsExactly(2);
+	}
+
+	@Test
+	void cachesCompiledPredicatesByExpression() {
+		Predicate<Map<String, Object>> first = this.compiler
+			.compile(this.parser.parse("country == 'BG' && year > 2020"));
+		Predicate<Map<String, Object>> second = this.compiler
+			.compile(this.parser.parse("country == 'BG' && year > 2020"));
+
+		assertThat(second).isSameAs(first);
+	}
+
+	@Test
+	void rejectsExpressionWithoutKey() {
+		Expression expression = new Expression(ExpressionType.EQ, new Value("BG"), new Value("BG"));
+
+		assertThatThrownBy(() -> this.compiler.compile(expression)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private List<Integer> matching(Expression expression) {
+		Predicate<Map<String, Object>> predicate = this.compiler.compile(expression);
+		return IntStream.range(0, METADATA.size()).filter(i -> predicate.test(METADATA.get(i))).boxed().toList();
+	}
+
+	private List<Integer> matchingWithSpel(Expression expression) {
+		var spel = new SpelExpressionParser()
+			.parseExpression(new SimpleVectorStoreFilterExpressionConverter().convertExpression(expression));
+		return IntStream.range(0, METADATA.size()).filter(i -> {
+			StandardEvaluationContext context = new StandardEvaluationContext();
+			context.setVariable("metadata", METADATA.get(i));
+			return Boolean.TRUE.equals(spel.getValue(context, Boolean.class));
+		}).boxed().toList();
+	}
+
+}
@@ -482,16 +482,16 @@ public class MariaDBVectorStore extends AbstractObservationVectorStore implement
 		public Document mapRow(ResultSet rs, int rowNum) throws SQLException {
 			String id = rs.getString(1);
 			String content = rs.getString(2);
-			Map<String, Object> metadata = toMap(rs.getString(3));
+			String metadata = rs.getString(3);
 			float distance = rs.getFloat(4);
 
-			metadata.put("distance", distance);
-
+			// The metadata JSON is only parsed if the caller looks at it.
 			// @formatter:off
 			return Document.builder()
 					.id(id)
 					.text(content)
-					.metadata(metadata)
+					.lazyMetadata(() -> toMap(metadata))
+					.metadata("distance", distance)
 					.score(1.0 - distance)
 					.build(); // @formatter:on
 		}
@@ -358,8 +358,9 @@ public class OracleVectorStore extends AbstractObservationVectorStore implements
 					jsonPathFilter = String.format("where JSON_EXISTS( metadata, '%s' )\n", nativeFilterExpression);
 				}
 
+				// @formatter:off
 				final String sql = this.searchAccuracy == DEFAULT_SEARCH_ACCURACY ? String.format("""
-						select id, content, metadata, embedding, %sVECTOR_DISTANCE(embedding, ?, %s)%s as distance
+						select id, content, metadata, %sVECTOR_DISTANCE(embedding, ?, %s)%s as distance
 						from %s
 						%sorder by distance
 						fetch first %d rows only""",
@@ -369,7 +370,7 @@ public class OracleVectorStore extends AbstractObservationVectorStore implements
 						this.tableName, jsonPathFilter, request.getTopK())
 						: String.format(
 								"""
-										select id, content, metadata, embedding, %sVECTOR_DISTANCE(embedding, ?, %s)%s as distance
+										select id, content, metadata, %sVECTOR_DISTANCE(embedding, ?, %s)%s as distance
 										from %s
 										%sorder by distance
 										fetch APPROXIMATE first %d rows only WITH TARGET ACCURACY %d""",
@@ -377,6 +378,7 @@ public class OracleVectorStore extends AbstractObservationVectorStore implements
 								this.distanceType.name(),
 								this.distanceType == OracleVectorStore.OracleVectorStoreDistanceType.DOT ? ")/2" : "",
 								this.tableName, jsonPathFilter, request.getTopK(), this.searchAccuracy);
+				// @formatter:on
 
 				logger.debug("SQL query: {}", sql);
 
@@ -388,7 +390,7 @@ public class OracleVectorStore extends AbstractObservationVectorStore implements
 				}
 
 				final String sql = String.format("""
-						select id, content, metadata, embedding, %sVECTOR_DISTANCE(embedding, ?, %s)%s as distance
+						select id, content, metadata, %sVECTOR_DISTANCE(embedding, ?, %s)%s as distance
 						from %s
 						%sorder by distance
 						fetch EXACT first %d rows only""",
@@ -415,11 +417,12 @@ public class OracleVectorStore extends AbstractObservationVectorStore implements
 					jsonPathFilter = String.format(" and JSON_EXISTS( metadata, '%s' )", nativeFilterExpression);
 				}
 
+				// @formatter:off
 				final String sql = this.distanceType == OracleVectorStore.OracleVectorStoreDistanceType.DOT
 						? (this.searchAccuracy == DEFAULT_SEARCH_ACCURACY
 								? String.format(
 										"""
-												select id, content, metadata, embedding, (1+VECTOR_DISTANCE(embedding, ?, DOT))/2 as distance
+												select id, content, metadata, (1+VECTOR_DISTANCE(embedding, ?, DOT))/2 as distance
 												from %s
 												where VECTOR_DISTANCE(embedding, ?, DOT) <= ?%s
 												order by distance
@@ -427,7 +430,7 @@ public class OracleVectorStore extends AbstractObservationVectorStore implements
 										this.tableName, jsonPathFilter, request.getTopK())
 								: String.format(
 										"""
-												select id, content, metadata, embedding, (1+VECTOR_DISTANCE(embedding, ?, DOT))/2 as distance
+												select id, content, metadata, (1+VECTOR_DISTANCE(embedding, ?, DOT))/2 as distance
 												from %s
 												where VECTOR_DISTANCE(embedding, ?, DOT) <= ?%s
 												order by distance
@@ -438,7 +441,7 @@ public class OracleVectorStore extends AbstractObservationVectorStore implements
 						: (this.searchAccuracy == DEFAULT_SEARCH_ACCURACY
 								? String.format(
 										"""
-												select id, content, metadata, embedding, VECTOR_DISTANCE(embedding, ?, COSINE) as distance
+												select id, content, metadata, VECTOR_DISTANCE(embedding, ?, COSINE) as distance
 												from %s
 												where VECTOR_DISTANCE(embedding, ?, COSINE) <= ?%s
 												order by distance
@@ -446,12 +449,13 @@ public class OracleVectorStore extends AbstractObservationVectorStore implements
 										this.tableName, jsonPathFilter, request.getTopK())
 								: String.format(
 										"""
-												select id, content, metadata, embedding, VECTOR_DISTANCE(embedding, ?, COSINE) as distance
+												select id, content, metadata, VECTOR_DISTANCE(embedding, ?, COSINE) as distance
 												from %s
 												where VECTOR_DISTANCE(embedding, ?, COSINE) <= ?%s
 												order by distance
 												fetch APPROXIMATE first %d rows only WITH TARGET ACCURACY %d""",
 										this.tableName, jsonPathFilter, request.getTopK(), this.searchAccuracy));
+				// @formatter:on
 
 				logger.debug("SQL query: {}", sql);
 
@@ -629,14 +633,16 @@ public class OracleVectorStore extends AbstractObservationVectorStore implements
 
 		@Override
 		public Document mapRow(ResultSet rs, int rowNum) throws SQLException {
-			final Map<String, Object> metadata = getMap(rs.getObject(3, OracleJsonValue.class));
-			metadata.put(DocumentMetadata.DISTANCE.value(), rs.getDouble(5));
+			final OracleJsonValue metadata = rs.getObject(3, OracleJsonValue.class);
+			final double distance = rs.getDouble(4);
 
+			// The metadata JSON is only copied into a map if the caller looks at it.
 			return Document.builder()
 				.id(rs.getString(1))
 				.text(rs.getString(2))
-				.metadata(metadata)
-				.score(1 - rs.getDouble(5))
+				.lazyMetadata(() -> getMap(metadata))
+				.metadata(DocumentMetadata.DISTANCE.value(), distance)
+				.score(1 - distance)
 				.build();
 		}
 
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore.pgvector;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Encodes rows in the binary format of the PostgreSQL {@code COPY ... FROM STDIN (FORMAT
+ * binary)} command.
+ *
+ * <p>
+ * Only the types of the vector store columns are supported: {@code uuid},
+ * {@code integer}, {@code bigint}, {@code text}, {@code json} and the pgvector
+ * {@code vector} type, whose binary representation is the number of dimensions as a
+ * 16-bit integer, 16 unused bits and the components as 32-bit floats.
+ *
+ * @since 2.0.0
+ */
+final class PgBinaryCopyWriter {
+
+	private static final byte[] SIGNATURE = { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 };
+
+	private final DataOutputStream out;
+
+	PgBinaryCopyWriter(OutputStream out) throws IOException {
+		this.out = new DataOutputStream(out);
+		this.out.write(SIGNATURE);
+		// flags and header extension length
+		this.out.writeInt(0);
+		this.out.writeInt(0);
+	}
+
+	void startRow(int fieldCount) throws IOException {
+		this.out.writeShort(fieldCount);
+	}
+
+	/**
+	 * Writes an identifier as returned by {@code PgVectorStore#convertIdToPgType}.
+	 */
+	void writeId(Object id) throws IOException {
+		if (id instanceof UUID uuid) {
+			this.out.writeInt(16);
+			this.out.writeLong(uuid.getMostSignificantBits());
+			this.out.writeLong(uuid.getLeastSignificantBits());
+		}
+		else if (id instanceof Integer value) {
+			writeInt(value);
+		}
+		else if (id instanceof Long value) {
+			this.out.writeInt(8);
+			this.out.writeLong(value);
+		}
+		else {
+			writeText(id.toString());
+		}
+	}
+
+	void writeInt(int value) throws IOException {
+		this.out.writeInt(4);
+		this.out.writeInt(value);
+	}
+
+	/**
+	 * Writes a {@code text} or {@code json} value, both being sent as UTF-8 bytes.
+	 */
+	void writeText(@Nullable String value) throws IOException {
+		if (value == null) {
+			this.out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		this.out.writeInt(bytes.length);
+		this.out.write(bytes);
+	}
+
+	void writeVector(float[] vector) throws IOException {
+		this.out.writeInt(4 + 4 * vector.length);
+		this.out.writeShort(vector.length);
+		this.out.writeShort(0);
+		for (float component : vector) {
+			this.out.writeFloat(component);
+		}
+	}
+
+	/**
+	 * Writes the trailer and closes the underlying stream, which completes the copy.
+	 */
+	void finish() throws IOException {
+		this.out.writeShort(-1);
+		this.out.close();
+	}
+
+}
@@ -16,19 +16,29 @@
 
 package org.springframework.ai.vectorstore.pgvector;
 
+import java.io.IOException;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.pgvector.PGvector;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
 import org.postgresql.util.PGobject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,10 +59,12 @@ import org.springframework.ai.vectorstore.observation.AbstractObservationVectorS
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationContext;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SqlTypeValue;
 import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
@@ -117,6 +129,14 @@ import org.springframework.util.StringUtils;
  * }</pre>
  *
  * <p>
+ * Bulk ingestion can overlap the embedding of the next batch with the write of the
+ * current one by setting an {@link PgVectorStoreBuilder#ingestionExecutor(Executor)
+ * ingestion executor}, and write batches with a binary {@code COPY} into a temporary
+ * staging table, dropped on commit, followed by a single merge by enabling
+ * {@link PgVectorStoreBuilder#copyIngestion(boolean) copy ingestion}.
+ * </p>
+ *
+ * <p>
  * Database Requirements:
  * </p>
  * <ul>
@@ -176,6 +196,10 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 
 	private static final Logger logger = LoggerFactory.getLogger(PgVectorStore.class);
 
+	private static final String STAGING_TABLE_PREFIX = "spring_ai_staging_";
+
+	private static final AtomicLong STAGING_TABLE_COUNTER = new AtomicLong();
+
 	private static Map<PgDistanceType, VectorStoreSimilarityMetric> SIMILARITY_TYPE_MAPPING = Map.of(
 			PgDistanceType.COSINE_DISTANCE, VectorStoreSimilarityMetric.COSINE, PgDistanceType.EUCLIDEAN_DISTANCE,
 			VectorStoreSimilarityMetric.EUCLIDEAN, PgDistanceType.NEGATIVE_INNER_PRODUCT,
@@ -213,6 +237,11 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 
 	private final int maxDocumentBatchSize;
 
+	@Nullable
+	private final Executor ingestionExecutor;
+
+	private final boolean copyIngestion;
+
 	/**
 	 * @param builder {@link VectorStore.Builder} for pg vector store
 	 */
@@ -244,6 +273,8 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 		this.initializeSchema = builder.initializeSchema;
 		this.schemaValidator = new PgVectorSchemaValidator(this.jdbcTemplate);
 		this.maxDocumentBatchSize = builder.maxDocumentBatchSize;
+		this.ingestionExecutor = builder.ingestionExecutor;
+		this.copyIngestion = builder.copyIngestion;
 	}
 
 	public PgDistanceType getDistanceType() {
@@ -256,11 +287,70 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 
 	@Override
 	public void doAdd(List<Document> documents) {
-		List<float[]> embeddings = this.embeddingModel.embed(documents, EmbeddingOptions.builder().build(),
-				this.batchingStrategy);
-
 		List<List<Document>> batchedDocuments = batchDocuments(documents);
-		batchedDocuments.forEach(batchDocument -> insertOrUpdateBatch(batchDocument, documents, embeddings));
+		if (this.ingestionExecutor == null || batchedDocuments.size() < 2) {
+			List<float[]> embeddings = embed(documents);
+			int offset = 0;
+			for (List<Document> batch : batchedDocuments) {
+				writeBatch(batch, embeddings, offset);
+				offset += batch.size();
+			}
+			return;
+		}
+
+		// Embed the next batch while the current one is written.
+		CompletableFuture<List<float[]>> next = embedAsync(batchedDocuments.get(0));
+		for (int i = 0; i < batchedDocuments.size(); i++) {
+			List<float[]> embeddings = await(next);
+			next = (i + 1 < batchedDocuments.size()) ? embedAsync(batchedDocuments.get(i + 1)) : null;
+			try {
+				writeBatch(batchedDocuments.get(i), embeddings, 0);
+			}
+			catch (RuntimeException ex) {
+				if (next != null) {
+					next.cancel(true);
+				}
+				throw ex;
+			}
+		}
+	}
+
+	private List<float[]> embed(List<Document> documents) {
+		return this.embeddingModel.embed(documents, EmbeddingOptions.builder().build(), this.batchingStrategy);
+	}
+
+	private CompletableFuture<List<float[]>> embedAsync(List<Document> batch) {
+		return CompletableFuture.supplyAsync(() -> embed(batch), this.ingestionExecutor);
+	}
+
+	private static List<float[]> await(CompletableFuture<List<float[]>> future) {
+		try {
+			return future.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException("Failed to embed the documents", ex.getCause());
+		}
+		catch (CancellationException ex) {
+			throw new IllegalStateException("Embedding of the documents was cancelled", ex);
+		}
+	}
+
+	/**
+	 * Writes a batch of documents.
+	 * @param batch the documents to write
+	 * @param embeddings the embeddings, positionally matching the documents
+	 * @param offset the position of the embedding of the first document of the batch
+	 */
+	private void writeBatch(List<Document> batch, List<float[]> embeddings, int offset) {
+		if (this.copyIngestion) {
+			copyBatch(batch, embeddings, offset);
+		}
+		else {
+			insertOrUpdateBatch(batch, embeddings, offset);
+		}
 	}
 
 	private List<List<Document>> batchDocuments(List<Document> documents) {
@@ -271,7 +361,7 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 		return batches;
 	}
 
-	private void insertOrUpdateBatch(List<Document> batch, List<Document> documents, List<float[]> embeddings) {
+	private void insertOrUpdateBatch(List<Document> batch, List<float[]> embeddings, int offset) {
 		String sql = "INSERT INTO " + getFullyQualifiedTableName()
 				+ " (id, content, metadata, embedding) VALUES (?, ?, ?::jsonb, ?) " + "ON CONFLICT (id) DO "
 				+ "UPDATE SET content = ? , metadata = ?::jsonb , embedding = ? ";
@@ -285,7 +375,7 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 				var id = convertIdToPgType(document.getId());
 				var content = document.getText();
 				var json = toJson(document.getMetadata());
-				var embedding = embeddings.get(documents.indexOf(document));
+				var embedding = embeddings.get(offset + i);
 				var pGvector = new PGvector(embedding);
 
 				StatementCreatorUtils.setParameterValue(ps, 1, SqlTypeValue.TYPE_UNKNOWN, id);
@@ -304,6 +394,94 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 		});
 	}
 
+	/**
+	 * Streams the batch into a staging table with a binary {@code COPY} and merges it
+	 * into the vector table with a single statement. When a batch holds the same id
+	 * several times, the last document wins, as with the batched upsert. The staging
+	 * table is a temporary table of its own, dropped when the transaction commits, which
+	 * this method starts and commits unless the connection already takes part in one.
+	 */
+	private void copyBatch(List<Document> batch, List<float[]> embeddings, int offset) {
+		String stagingTable = STAGING_TABLE_PREFIX + Long.toHexString(STAGING_TABLE_COUNTER.incrementAndGet());
+		this.jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+			boolean autoCommit = connection.getAutoCommit();
+			if (autoCommit) {
+				connection.setAutoCommit(false);
+			}
+			try {
+				copyBatch(connection, stagingTable, batch, embeddings, offset);
+				if (autoCommit) {
+					connection.commit();
+				}
+			}
+			catch (SQLException | RuntimeException ex) {
+				if (autoCommit) {
+					connection.rollback();
+				}
+				throw ex;
+			}
+			finally {
+				if (autoCommit) {
+					connection.setAutoCommit(true);
+				}
+			}
+			return null;
+		});
+	}
+
+	private void copyBatch(Connection connection, String stagingTable, List<Document> batch, List<float[]> embeddings,
+			int offset) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute(String
+				.format("CREATE TEMP TABLE %s (id %s, content text, metadata json, embedding vector, ordinal integer) "
+						+ "ON COMMIT DROP", stagingTable, getStagingIdTypeName()));
+		}
+
+		PGCopyOutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class),
+				"COPY " + stagingTable + " (id, content, metadata, embedding, ordinal) FROM STDIN (FORMAT binary)");
+		try {
+			PgBinaryCopyWriter writer = new PgBinaryCopyWriter(copy);
+			for (int i = 0; i < batch.size(); i++) {
+				Document document = batch.get(i);
+				writer.startRow(5);
+				writer.writeId(convertIdToPgType(document.getId()));
+				writer.writeText(document.getText());
+				writer.writeText(toJson(document.getMetadata()));
+				writer.writeVector(embeddings.get(offset + i));
+				writer.writeInt(i);
+			}
+			writer.finish();
+		}
+		catch (IOException | RuntimeException ex) {
+			if (copy.isActive()) {
+				copy.cancelCopy();
+			}
+			if (ex instanceof IOException) {
+				throw new SQLException("Failed to copy the documents into " + stagingTable, ex);
+			}
+			throw (RuntimeException) ex;
+		}
+
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate(String.format("INSERT INTO %s (id, content, metadata, embedding) "
+					+ "SELECT DISTINCT ON (id) id, content, metadata, embedding FROM %s ORDER BY id, ordinal DESC "
+					+ "ON CONFLICT (id) DO UPDATE SET content = EXCLUDED.content, "
+					+ "metadata = EXCLUDED.metadata, embedding = EXCLUDED.embedding", getFullyQualifiedTableName(),
+					stagingTable));
+			// Within a surrounding transaction, do not keep the table until it commits
+			statement.execute("DROP TABLE " + stagingTable);
+		}
+	}
+
+	private String getStagingIdTypeName() {
+		return switch (getIdType()) {
+			case UUID -> "uuid";
+			case TEXT -> "text";
+			case INTEGER, SERIAL -> "integer";
+			case BIGSERIAL -> "bigint";
+		};
+	}
+
 	private String toJson(Map<String, Object> map) {
 		try {
 			return this.objectMapper.writeValueAsString(map);
@@ -575,17 +753,17 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 		// The Sentence transformers are NOT normalized:
 		// https://github.com/UKPLab/sentence-transformers/issues/233
 		EUCLIDEAN_DISTANCE("<->", "vector_l2_ops",
-				"SELECT *, embedding <-> ? AS distance FROM %s WHERE embedding <-> ? < ? %s ORDER BY distance LIMIT ? "),
+				"SELECT id, content, metadata, embedding <-> ? AS distance FROM %s WHERE embedding <-> ? < ? %s ORDER BY distance LIMIT ? "),
 
 		// NOTE: works only if vectors are normalized to length 1 (like OpenAI
 		// embeddings), use inner product for best performance.
 		// The Sentence transformers are NOT normalized:
 		// https://github.com/UKPLab/sentence-transformers/issues/233
 		NEGATIVE_INNER_PRODUCT("<#>", "vector_ip_ops",
-				"SELECT *, (1 + (embedding <#> ?)) AS distance FROM %s WHERE (1 + (embedding <#> ?)) < ? %s ORDER BY distance LIMIT ? "),
+				"SELECT id, content, metadata, (1 + (embedding <#> ?)) AS distance FROM %s WHERE (1 + (embedding <#> ?)) < ? %s ORDER BY distance LIMIT ? "),
 
 		COSINE_DISTANCE("<=>", "vector_cosine_ops",
-				"SELECT *, embedding <=> ? AS distance FROM %s WHERE embedding <=> ? < ? %s ORDER BY distance LIMIT ? ");
+				"SELECT id, content, metadata, embedding <=> ? AS distance FROM %s WHERE embedding <=> ? < ? %s ORDER BY distance LIMIT ? ");
 
 		public final String operator;
 
@@ -621,24 +799,21 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 		public Document mapRow(ResultSet rs, int rowNum) throws SQLException {
 			String id = rs.getString(COLUMN_ID);
 			String content = rs.getString(COLUMN_CONTENT);
-			PGobject pgMetadata = rs.getObject(COLUMN_METADATA, PGobject.class);
+			String metadata = rs.getObject(COLUMN_METADATA, PGobject.class).getValue();
 			Float distance = rs.getFloat(COLUMN_DISTANCE);
 
-			Map<String, Object> metadata = toMap(pgMetadata);
-			metadata.put(DocumentMetadata.DISTANCE.value(), distance);
-
+			// The metadata JSON is only parsed if the caller looks at it.
 			// @formatter:off
 			return Document.builder()
 				.id(id)
 				.text(content)
-				.metadata(metadata)
+				.lazyMetadata(() -> toMap(metadata))
+				.metadata(DocumentMetadata.DISTANCE.value(), distance)
 				.score(1.0 - distance)
 				.build(); // @formatter:on
 		}
 
-		private Map<String, Object> toMap(PGobject pgObject) {
-
-			String source = pgObject.getValue();
+		private Map<String, Object> toMap(String source) {
 			try {
 				return (Map<String, Object>) this.objectMapper.readValue(source, Map.class);
 			}
@@ -673,6 +848,11 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 
 		private int maxDocumentBatchSize = MAX_DOCUMENT_BATCH_SIZE;
 
+		@Nullable
+		private Executor ingestionExecutor;
+
+		private boolean copyIngestion = false;
+
 		private PgVectorStoreBuilder(JdbcTemplate jdbcTemplate, EmbeddingModel embeddingModel) {
 			super(embeddingModel);
 			Assert.notNull(jdbcTemplate, "JdbcTemplate must not be null");
@@ -729,6 +909,34 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 			return this;
 		}
 
+		/**
+		 * Sets the executor embedding the documents of the next batch of
+		 * {@link #maxDocumentBatchSize(int) maxDocumentBatchSize} documents while the
+		 * current batch is written, so that bulk loads are not bound by the sum of the
+		 * embedding and database round trips. Without an executor, all documents are
+		 * embedded before the first batch is written.
+		 * @param ingestionExecutor the executor running the embedding calls, or
+		 * {@code null} to embed on the calling thread
+		 * @return the builder instance
+		 */
+		public PgVectorStoreBuilder ingestionExecutor(@Nullable Executor ingestionExecutor) {
+			this.ingestionExecutor = ingestionExecutor;
+			return this;
+		}
+
+		/**
+		 * Sets whether batches are written with a binary {@code COPY} into a temporary
+		 * staging table followed by a merge into the vector table, instead of a batched
+		 * upsert. This is considerably faster for large loads but requires the
+		 * connections to be PostgreSQL JDBC driver connections.
+		 * @param copyIngestion whether to use {@code COPY} to write batches
+		 * @return the builder instance
+		 */
+		public PgVectorStoreBuilder copyIngestion(boolean copyIngestion) {
+			this.copyIngestion = copyIngestion;
+			return this;
+		}
+
 		public PgVectorStore build() {
 			return new PgVectorStore(this);
 		}
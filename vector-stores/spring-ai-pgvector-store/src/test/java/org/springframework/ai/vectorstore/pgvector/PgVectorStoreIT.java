@@ -277,6 +277,32 @@ public class PgVectorStoreIT extends BaseVectorStoreTests {
 			});
 	}
 
+	@ParameterizedTest(name = "{0} : {displayName} ")
+	@ValueSource(strings = { "UUID", "TEXT", "BIGSERIAL" })
+	public void addAndUpdateWithCopyIngestion(String idType) {
+		this.contextRunner.withPropertyValues("test.spring.ai.vectorstore.pgvector.copyIngestion=true")
+			.withPropertyValues("test.spring.ai.vectorstore.pgvector.idType=" + idType)
+			.run(context -> {
+				VectorStore vectorStore = context.getBean(VectorStore.class);
+				String id = idType.equals("UUID") ? new RandomIdGenerator().generateId() : "1";
+
+				vectorStore
+					.add(List.of(new Document(id, "Spring AI rocks!!", Map.of("meta1", "meta1")), new Document(id,
+							"The World is Big and Salvation Lurks Around the Corner", Map.of("meta2", "meta2"))));
+
+				List<Document> results = vectorStore
+					.similaritySearch(SearchRequest.builder().query("World").topK(5).build());
+
+				assertThat(results).hasSize(1);
+				assertThat(results.get(0).getText())
+					.isEqualTo("The World is Big and Salvation Lurks Around the Corner");
+				assertThat(results.get(0).getMetadata()).containsKeys("meta2", DocumentMetadata.DISTANCE.value())
+					.doesNotContainKey("meta1");
+
+				dropTable(context);
+			});
+	}
+
 	@ParameterizedTest(name = "Filter expression {0} should return {1} records ")
 	@MethodSource("provideFilters")
 	public void searchWithInFilter(String expression, Integer expectedRecords) {
@@ -495,6 +521,9 @@ public class PgVectorStoreIT extends BaseVectorStoreTests {
 		@Value("${test.spring.ai.vectorstore.pgvector.idType:UUID}")
 		PgIdType idType;
 
+		@Value("${test.spring.ai.vectorstore.pgvector.copyIngestion:false}")
+		boolean copyIngestion;
+
 		@Bean
 		public VectorStore vectorStore(JdbcTemplate jdbcTemplate, EmbeddingModel embeddingModel) {
 			return PgVectorStore.builder(jdbcTemplate, embeddingModel)
@@ -504,6 +533,7 @@ public class PgVectorStoreIT extends BaseVectorStoreTests {
 				.initializeSchema(this.initializeSchema)
 				.indexType(PgIndexType.HNSW)
 				.removeExistingVectorStoreTable(true)
+				.copyIngestion(this.copyIngestion)
 				.build();
 		}
 
@@ -16,7 +16,14 @@
 
 package org.springframework.ai.vectorstore.pgvector;
 
+import java.sql.PreparedStatement;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import com.pgvector.PGvector;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -30,12 +37,14 @@ import org.springframework.jdbc.core.JdbcTemplate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @author Muthukumaran Navaneethakrishnan
@@ -104,4 +113,40 @@ public class PgVectorStoreTests {
 			});
 	}
 
+	@Test
+	void shouldEmbedNextBatchWhileWritingWithIngestionExecutor() throws Exception {
+		var jdbcTemplate = mock(JdbcTemplate.class);
+		var embeddingModel = mock(EmbeddingModel.class);
+		when(embeddingModel.embed(anyList(), any(), any())).thenAnswer(invocation -> {
+			List<Document> batch = invocation.getArgument(0);
+			return batch.stream().map(document -> new float[] { Float.parseFloat(document.getText()) }).toList();
+		});
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			var pgVectorStore = PgVectorStore.builder(jdbcTemplate, embeddingModel)
+				.maxDocumentBatchSize(100)
+				.ingestionExecutor(executor)
+				.build();
+			var documents = IntStream.range(0, 250).mapToObj(i -> new Document(String.valueOf(i))).toList();
+
+			pgVectorStore.doAdd(documents);
+
+			verify(embeddingModel).embed(eq(documents.subList(0, 100)), any(), any());
+			verify(embeddingModel).embed(eq(documents.subList(100, 200)), any(), any());
+			verify(embeddingModel).embed(eq(documents.subList(200, 250)), any(), any());
+
+			var batchUpdateCaptor = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+			verify(jdbcTemplate, times(3)).batchUpdate(anyString(), batchUpdateCaptor.capture());
+			BatchPreparedStatementSetter lastBatch = batchUpdateCaptor.getAllValues().get(2);
+			assertThat(lastBatch.getBatchSize()).isEqualTo(50);
+
+			var preparedStatement = mock(PreparedStatement.class);
+			lastBatch.setValues(preparedStatement, 7);
+			verify(preparedStatement).setObject(4, new PGvector(new float[] { 207 }));
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
 }